@@ -0,0 +1,123 @@
+package tech.ydb.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.compression.NoCompressionCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import tech.ydb.proto.ValueProtos;
+import tech.ydb.proto.formats.YdbFormats;
+import tech.ydb.query.result.QueryResultPart;
+import tech.ydb.query.result.arrow.ApacheArrowCompressedPartsHandler;
+import tech.ydb.table.query.arrow.ApacheArrowData;
+import tech.ydb.table.query.arrow.ApacheArrowWriter;
+import tech.ydb.table.result.ResultSetReader;
+import tech.ydb.table.values.PrimitiveType;
+
+/**
+ * Writing of Apache Arrow batches for bulk upserts and reading of Apache Arrow result set parts, with every
+ * compression codec supported by the server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApacheArrowBenchmark {
+    @Param({ "1000", "10000" })
+    int rowsCount;
+
+    @Param({ "NO_COMPRESSION", "LZ4_FRAME", "ZSTD" })
+    String codecType;
+
+    private BufferAllocator allocator;
+    private CompressionCodec codec;
+    private ApacheArrowWriter writer;
+    private ValueProtos.ResultSet resultSet;
+
+    @Setup
+    public void setup() throws IOException {
+        allocator = new RootAllocator();
+        CompressionUtil.CodecType type = CompressionUtil.CodecType.valueOf(codecType);
+        codec = type == CompressionUtil.CodecType.NO_COMPRESSION ? NoCompressionCodec.INSTANCE
+                : CommonsCompressionFactory.INSTANCE.createCodec(type);
+
+        writer = ApacheArrowWriter.newSchema()
+                .addColumn("id", PrimitiveType.Int64)
+                .addColumn("name", PrimitiveType.Text)
+                .addNullableColumn("amount", PrimitiveType.Double)
+                .createWriter(allocator);
+
+        ApacheArrowData data = writeBatch();
+        resultSet = ValueProtos.ResultSet.newBuilder()
+                .addColumns(ValueProtos.Column.newBuilder().setName("id").setType(PrimitiveType.Int64.toPb()))
+                .addColumns(ValueProtos.Column.newBuilder().setName("name").setType(PrimitiveType.Text.toPb()))
+                .addColumns(ValueProtos.Column.newBuilder().setName("amount")
+                        .setType(PrimitiveType.Double.makeOptional().toPb()))
+                .setArrowFormatMeta(YdbFormats.ArrowFormatMeta.newBuilder().setSchema(data.getSchema()))
+                .setData(data.getData())
+                .build();
+    }
+
+    @TearDown
+    public void close() {
+        writer.close();
+        allocator.close();
+    }
+
+    private ApacheArrowData writeBatch() throws IOException {
+        ApacheArrowWriter.Batch batch = writer.createNewBatch(rowsCount);
+        for (int idx = 0; idx < rowsCount; idx++) {
+            ApacheArrowWriter.Row row = batch.writeNextRow();
+            row.writeInt64("id", idx);
+            row.writeText("name", "name-" + idx);
+            if (idx % 10 == 0) {
+                row.writeNull("amount");
+            } else {
+                row.writeDouble("amount", idx * 0.5);
+            }
+        }
+        return batch.buildBatch(codec);
+    }
+
+    @Benchmark
+    public ApacheArrowData write() throws IOException {
+        return writeBatch();
+    }
+
+    @Benchmark
+    public void read(Blackhole bh) {
+        new ApacheArrowCompressedPartsHandler(allocator) {
+            @Override
+            public void onNextPart(QueryResultPart part) {
+                ResultSetReader reader = part.getResultSetReader();
+                while (reader.next()) {
+                    bh.consume(reader.getColumn(0).getInt64());
+                    bh.consume(reader.getColumn(1).getText());
+                    if (reader.getColumn(2).isOptionalItemPresent()) {
+                        bh.consume(reader.getColumn(2).getDouble());
+                    }
+                }
+            }
+        }.onNextRawPart(0, resultSet);
+    }
+}
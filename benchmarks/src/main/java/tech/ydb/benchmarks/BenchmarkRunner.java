@@ -0,0 +1,61 @@
+package tech.ydb.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. Accepts the standard JMH command line options, but unlike the default JMH main
+ * class writes the results to {@code jmh-result.json} by default, so every run produces a machine-readable report
+ * which can be compared with the previous ones.
+ */
+public class BenchmarkRunner {
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+    // Apache Arrow needs direct access to java.nio buffers on JDK 9+
+    private static final String ARROW_JVM_ARG = "--add-opens=java.base/java.nio=ALL-UNNAMED";
+
+    private BenchmarkRunner() { }
+
+    public static void main(String[] args) throws RunnerException {
+        CommandLineOptions cmd;
+        try {
+            cmd = new CommandLineOptions(args);
+        } catch (CommandLineOptionException ex) {
+            System.err.println("Error parsing command line: " + ex.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListWithParams() || cmd.shouldListProfilers()
+                || cmd.shouldListResultFormats()) {
+            // help and listings are handled by the default JMH main class
+            try {
+                org.openjdk.jmh.Main.main(args);
+            } catch (Exception ex) {
+                throw new RunnerException("Cannot run JMH", ex);
+            }
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmd);
+        if (!cmd.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cmd.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+        if (!cmd.getJvmArgsAppend().hasValue() && !isJava8()) {
+            options.jvmArgsAppend(ARROW_JVM_ARG);
+        }
+
+        new Runner(options.build()).run();
+    }
+
+    private static boolean isJava8() {
+        return System.getProperty("java.specification.version", "").startsWith("1.");
+    }
+}
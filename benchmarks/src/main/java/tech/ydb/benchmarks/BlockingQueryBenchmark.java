@@ -0,0 +1,108 @@
+package tech.ydb.benchmarks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tech.ydb.common.transaction.TxMode;
+import tech.ydb.core.Result;
+import tech.ydb.core.grpc.GrpcTransport;
+import tech.ydb.core.impl.YdbSchedulerFactory;
+import tech.ydb.query.QueryClient;
+import tech.ydb.query.QuerySession;
+import tech.ydb.query.tools.QueryReader;
+import tech.ydb.table.query.Params;
+import tech.ydb.test.integration.fake.FakeYdbServer;
+
+/**
+ * Many clients which execute queries with {@link QueryReader#executeBlocking} against the in-process fake server
+ * with the fixed latency. Compares the bounded pool of platform threads with a virtual thread per client, the
+ * virtual mode requires JDK 21 or newer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BlockingQueryBenchmark {
+    private static final int PLATFORM_THREADS = 256;
+    private static final Duration LATENCY = Duration.ofMillis(5);
+
+    @Param({ "platform", "virtual" })
+    String threads;
+
+    // with 100000 clients the platform pool mostly queues the clients, while virtual threads run all of them
+    @Param({ "1000", "10000", "100000" })
+    int clientsCount;
+
+    private FakeYdbServer server;
+    private GrpcTransport transport;
+    private QueryClient client;
+    private ExecutorService executor;
+
+    @Setup
+    public void setup() throws IOException {
+        if ("virtual".equals(threads)) {
+            executor = YdbSchedulerFactory.createVirtualThreadExecutor();
+        } else {
+            executor = Executors.newFixedThreadPool(PLATFORM_THREADS);
+        }
+
+        server = FakeYdbServer.newBuilder()
+                .withLatency(LATENCY, Duration.ZERO)
+                .withResultSet(10, 10, 16)
+                .build();
+        transport = GrpcTransport.forConnectionString(server.connectionString()).build();
+        client = QueryClient.newClient(transport).sessionPoolMaxSize(clientsCount).build();
+    }
+
+    @TearDown
+    public void close() {
+        executor.shutdownNow();
+        client.close();
+        transport.close();
+        server.close();
+    }
+
+    private int executeQuery() throws InterruptedException {
+        try (QuerySession session = client.createSession(Duration.ofMinutes(1)).join().getValue()) {
+            Result<QueryReader> result = QueryReader.executeBlocking(session, "SELECT * FROM fake", TxMode.NONE,
+                    Params.empty());
+            return result.getValue().getResultSet(0).getRowCount();
+        }
+    }
+
+    @Benchmark
+    public long executeQueries() throws InterruptedException, ExecutionException {
+        List<Future<Integer>> futures = new ArrayList<>(clientsCount);
+        for (int idx = 0; idx < clientsCount; idx++) {
+            futures.add(executor.submit(this::executeQuery));
+        }
+
+        long rows = 0;
+        for (Future<Integer> future: futures) {
+            rows += future.get();
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,84 @@
+package tech.ydb.benchmarks;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tech.ydb.proto.ValueProtos;
+import tech.ydb.table.values.DecimalType;
+import tech.ydb.table.values.DecimalValue;
+import tech.ydb.table.values.proto.ProtoValue;
+
+/**
+ * Conversions of decimal values. Short values have the unscaled value which fits in 64 bits and use the long-only
+ * paths of {@link DecimalValue}, long values need all 128 bits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecimalValueBenchmark {
+    private static final DecimalType TYPE = DecimalType.of(35, 9);
+
+    @Param({ "12345.678901234", "-12345678901234567890.123456789" })
+    String text;
+
+    private BigDecimal bigDecimal;
+    private DecimalValue value;
+    private DecimalValue other;
+    private ValueProtos.Type typePb;
+    private ValueProtos.Value valuePb;
+
+    @Setup
+    public void setup() {
+        bigDecimal = new BigDecimal(text);
+        value = TYPE.newValue(text);
+        other = DecimalType.of(35, 3).newValue(bigDecimal.setScale(3, RoundingMode.DOWN));
+        typePb = TYPE.toPb();
+        valuePb = value.toPb();
+    }
+
+    @Benchmark
+    public DecimalValue parseString() {
+        return TYPE.newValue(text);
+    }
+
+    @Benchmark
+    public DecimalValue fromBigDecimal() {
+        return TYPE.newValue(bigDecimal);
+    }
+
+    @Benchmark
+    public BigDecimal toBigDecimal() {
+        return value.toBigDecimal();
+    }
+
+    @Benchmark
+    public String toText() {
+        return value.toString();
+    }
+
+    @Benchmark
+    public DecimalValue fromPb() {
+        return ProtoValue.toDecimal(typePb, valuePb);
+    }
+
+    @Benchmark
+    public int compareWithOtherScale() {
+        return value.compareTo(other);
+    }
+}
@@ -0,0 +1,89 @@
+package tech.ydb.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tech.ydb.core.grpc.BalancingSettings;
+import tech.ydb.core.grpc.GrpcRequestSettings;
+import tech.ydb.core.impl.pool.EndpointPool;
+import tech.ydb.core.impl.pool.EndpointRecord;
+
+/**
+ * Selection of the endpoint for every call of the transport, from one thread and under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndpointPoolBenchmark {
+    private static final GrpcRequestSettings DEFAULT = GrpcRequestSettings.newBuilder().build();
+    private static final GrpcRequestSettings PREFER_READY = GrpcRequestSettings.newBuilder()
+            .withPreferReadyChannel(true)
+            .build();
+    private static final GrpcRequestSettings PREFER_NODE = GrpcRequestSettings.newBuilder()
+            .withPreferredNodeID(2)
+            .build();
+
+    @Param({ "3", "100" })
+    int endpointsCount;
+
+    private EndpointPool pool;
+    private Set<String> ready;
+
+    @Setup
+    public void setup() {
+        List<EndpointRecord> records = new ArrayList<>();
+        Set<String> readyEndpoints = new HashSet<>();
+        for (int idx = 0; idx < endpointsCount; idx++) {
+            EndpointRecord record = new EndpointRecord("node-" + idx, 2135, idx + 1, "dc" + (idx % 3), null);
+            records.add(record);
+            if (idx % 2 == 0) {
+                readyEndpoints.add(record.getHostAndPort());
+            }
+        }
+
+        pool = new EndpointPool(BalancingSettings.defaultInstance());
+        pool.setNewState("dc0", records);
+        ready = Collections.unmodifiableSet(readyEndpoints);
+    }
+
+    @Benchmark
+    public EndpointRecord random() {
+        return pool.getEndpoint(Collections.emptySet(), DEFAULT);
+    }
+
+    @Benchmark
+    public EndpointRecord preferReady() {
+        return pool.getEndpoint(ready, PREFER_READY);
+    }
+
+    @Benchmark
+    public EndpointRecord preferNode() {
+        return pool.getEndpoint(ready, PREFER_NODE);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public EndpointRecord randomContended() {
+        return pool.getEndpoint(Collections.emptySet(), DEFAULT);
+    }
+}
@@ -0,0 +1,68 @@
+package tech.ydb.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tech.ydb.proto.ValueProtos;
+import tech.ydb.table.query.Params;
+import tech.ydb.table.values.ListValue;
+import tech.ydb.table.values.PrimitiveValue;
+import tech.ydb.table.values.StructValue;
+
+/**
+ * Conversion of query parameters to protobuf: a set of scalar parameters like in point queries and a single list
+ * parameter like in batch upserts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParamsBenchmark {
+    @Param({ "100", "10000" })
+    int listSize;
+
+    private Params batch;
+
+    @Setup
+    public void setup() {
+        StructValue[] rows = new StructValue[listSize];
+        for (int idx = 0; idx < listSize; idx++) {
+            rows[idx] = StructValue.of(
+                    "id", PrimitiveValue.newInt64(idx),
+                    "name", PrimitiveValue.newText("name-" + idx)
+            );
+        }
+        batch = Params.of("$rows", ListValue.of(rows));
+    }
+
+    @Benchmark
+    public Map<String, ValueProtos.TypedValue> scalars() {
+        return Params.create(6)
+                .put("$id", PrimitiveValue.newInt64(1))
+                .put("$name", PrimitiveValue.newText("name"))
+                .put("$amount", PrimitiveValue.newDouble(1.5))
+                .put("$flag", PrimitiveValue.newBool(true))
+                .put("$count", PrimitiveValue.newUint32(10))
+                .put("$payload", PrimitiveValue.newBytes(new byte[16]))
+                .toPb();
+    }
+
+    @Benchmark
+    public Map<String, ValueProtos.TypedValue> list() {
+        return batch.toPb();
+    }
+}
@@ -0,0 +1,84 @@
+package tech.ydb.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tech.ydb.proto.ValueProtos;
+import tech.ydb.table.values.ListValue;
+import tech.ydb.table.values.PrimitiveValue;
+import tech.ydb.table.values.StructValue;
+import tech.ydb.table.values.Value;
+import tech.ydb.table.values.proto.ProtoValue;
+
+/**
+ * Encoding of SDK values to protobuf and decoding of them back for a list of structs, which is the typical shape of
+ * query parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtoValueBenchmark {
+    @Param({ "10", "1000" })
+    int rowsCount;
+
+    private ListValue value;
+    private ValueProtos.Value valuePb;
+
+    @Setup
+    public void setup() {
+        StructValue[] rows = new StructValue[rowsCount];
+        for (int idx = 0; idx < rowsCount; idx++) {
+            rows[idx] = StructValue.of(
+                    "id", PrimitiveValue.newInt64(idx),
+                    "name", PrimitiveValue.newText("name-" + idx),
+                    "amount", PrimitiveValue.newDouble(idx * 0.5)
+            );
+        }
+
+        value = ListValue.of(rows);
+        valuePb = value.toPb();
+    }
+
+    @Benchmark
+    public ValueProtos.Value encode() {
+        return value.toPb();
+    }
+
+    @Benchmark
+    public ValueProtos.Value encodeRaw() {
+        ValueProtos.Value[] rows = new ValueProtos.Value[rowsCount];
+        for (int idx = 0; idx < rowsCount; idx++) {
+            // members are ordered by name like in StructType
+            rows[idx] = ProtoValue.struct(
+                    ProtoValue.fromDouble(idx * 0.5),
+                    ProtoValue.fromInt64(idx),
+                    ProtoValue.fromText("name-" + idx)
+            );
+        }
+        return ProtoValue.list(rows);
+    }
+
+    @Benchmark
+    public Value<?> decode() {
+        return ProtoValue.fromPb(value.getType(), valuePb);
+    }
+
+    @Benchmark
+    public ValueProtos.Type encodeType() {
+        return value.getType().toPb();
+    }
+}
@@ -0,0 +1,79 @@
+package tech.ydb.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import tech.ydb.proto.ValueProtos;
+import tech.ydb.table.result.ResultSetReader;
+import tech.ydb.table.result.impl.ProtoValueReaders;
+import tech.ydb.table.values.proto.ProtoType;
+import tech.ydb.table.values.proto.ProtoValue;
+
+/**
+ * Iteration over a protobuf result set with column access by index and by name.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultSetReaderBenchmark {
+    @Param({ "100", "10000" })
+    int rowsCount;
+
+    private ValueProtos.ResultSet resultSet;
+
+    @Setup
+    public void setup() {
+        ValueProtos.ResultSet.Builder rs = ValueProtos.ResultSet.newBuilder()
+                .addColumns(ValueProtos.Column.newBuilder().setName("id").setType(ProtoType.getInt64()))
+                .addColumns(ValueProtos.Column.newBuilder().setName("name").setType(ProtoType.getText()))
+                .addColumns(ValueProtos.Column.newBuilder().setName("amount").setType(ProtoType.getDouble()));
+        for (int idx = 0; idx < rowsCount; idx++) {
+            rs.addRows(ValueProtos.Value.newBuilder()
+                    .addItems(ProtoValue.fromInt64(idx))
+                    .addItems(ProtoValue.fromText("name-" + idx))
+                    .addItems(ProtoValue.fromDouble(idx * 0.5))
+            );
+        }
+        resultSet = rs.build();
+    }
+
+    @Benchmark
+    public void iterateByIndex(Blackhole bh) {
+        ResultSetReader reader = ProtoValueReaders.forResultSet(resultSet);
+        while (reader.next()) {
+            bh.consume(reader.getColumn(0).getInt64());
+            bh.consume(reader.getColumn(1).getText());
+            bh.consume(reader.getColumn(2).getDouble());
+        }
+    }
+
+    @Benchmark
+    public void iterateByName(Blackhole bh) {
+        ResultSetReader reader = ProtoValueReaders.forResultSet(resultSet);
+        while (reader.next()) {
+            bh.consume(reader.getColumn("id").getInt64());
+            bh.consume(reader.getColumn("name").getText());
+            bh.consume(reader.getColumn("amount").getDouble());
+        }
+    }
+
+    @Benchmark
+    public ResultSetReader createReader() {
+        return ProtoValueReaders.forResultSet(resultSet);
+    }
+}
@@ -0,0 +1,44 @@
+package tech.ydb.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import tech.ydb.topic.description.Codec;
+
+/**
+ * Generator of topic messages payload. Messages look like JSON events, so they have the compression ratio of real
+ * data instead of the ratio of zeros or random bytes.
+ */
+public class TopicPayload {
+    private static final String[] LEVELS = new String[] { "DEBUG", "INFO", "WARN", "ERROR" };
+
+    private TopicPayload() { }
+
+    public static int codecId(String name) {
+        switch (name) {
+            case "RAW":
+                return Codec.RAW;
+            case "GZIP":
+                return Codec.GZIP;
+            case "LZOP":
+                return Codec.LZOP;
+            case "ZSTD":
+                return Codec.ZSTD;
+            default:
+                throw new IllegalArgumentException("Unknown codec " + name);
+        }
+    }
+
+    public static byte[] create(int size, long seed) {
+        Random rnd = new Random(seed);
+        StringBuilder sb = new StringBuilder(size + 128);
+        while (sb.length() < size) {
+            sb.append("{\"ts\":").append(1700000000000L + rnd.nextInt(1000000))
+                    .append(",\"level\":\"").append(LEVELS[rnd.nextInt(LEVELS.length)])
+                    .append("\",\"user\":").append(rnd.nextInt(10000))
+                    .append(",\"message\":\"request processed in ").append(rnd.nextInt(500)).append(" ms\"}\n");
+        }
+        sb.setLength(size);
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
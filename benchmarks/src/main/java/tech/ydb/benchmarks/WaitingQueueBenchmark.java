@@ -0,0 +1,76 @@
+package tech.ydb.benchmarks;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tech.ydb.table.impl.pool.WaitingQueue;
+
+/**
+ * Acquire and release of pooled objects, which is the hot path of the session pools. With the pool smaller than the
+ * count of threads the contended benchmark also covers the queue of waiting acquires.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WaitingQueueBenchmark {
+    @Param({ "4", "50" })
+    int poolSize;
+
+    private WaitingQueue<Object> queue;
+
+    @Setup
+    public void setup() {
+        queue = new WaitingQueue<>(new WaitingQueue.Handler<Object>() {
+            @Override
+            public CompletableFuture<Object> create() {
+                return CompletableFuture.completedFuture(new Object());
+            }
+
+            @Override
+            public void destroy(Object object) {
+                // nothing to destroy
+            }
+        }, poolSize);
+    }
+
+    @TearDown
+    public void close() {
+        queue.close();
+    }
+
+    private Object acquireAndRelease() {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        queue.acquire(future);
+        Object object = future.join();
+        queue.release(object);
+        return object;
+    }
+
+    @Benchmark
+    public Object acquireRelease() {
+        return acquireAndRelease();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object acquireReleaseContended() {
+        return acquireAndRelease();
+    }
+}
@@ -0,0 +1,99 @@
+package tech.ydb.topic.read.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import tech.ydb.benchmarks.TopicPayload;
+import tech.ydb.proto.topic.YdbTopic.StreamReadMessage;
+import tech.ydb.topic.description.Codec;
+import tech.ydb.topic.description.CodecRegistry;
+
+/**
+ * Decoding of a batch of read messages. Messages are decoded in the caller thread, so the result includes the cost
+ * of the codec and of the copying of message data from protobuf.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageDecoderBenchmark {
+    private static final int BATCH_SIZE = 100;
+
+    @Param({ "RAW", "GZIP", "LZOP", "ZSTD" })
+    String codec;
+
+    @Param({ "256", "16384" })
+    int messageSize;
+
+    private MessageDecoder decoder;
+    private StreamReadMessage.ReadResponse.Batch batchPb;
+    private BatchMeta batchMeta;
+
+    @Setup
+    public void setup() throws IOException {
+        CodecRegistry registry = new CodecRegistry();
+        Codec impl = registry.getCodec(TopicPayload.codecId(codec));
+
+        StreamReadMessage.ReadResponse.Batch.Builder batch = StreamReadMessage.ReadResponse.Batch.newBuilder()
+                .setProducerId("benchmark")
+                .setCodec(impl.getId());
+        for (int idx = 0; idx < BATCH_SIZE; idx++) {
+            byte[] payload = TopicPayload.create(messageSize, idx);
+            ByteString encoded;
+            try (ByteString.Output out = ByteString.newOutput()) {
+                try (OutputStream os = impl.encode(out)) {
+                    os.write(payload);
+                }
+                encoded = out.toByteString();
+            }
+
+            batch.addMessageData(StreamReadMessage.ReadResponse.MessageData.newBuilder()
+                    .setOffset(idx)
+                    .setSeqNo(idx + 1)
+                    .setData(encoded)
+                    .setUncompressedSize(payload.length)
+            );
+        }
+
+        batchPb = batch.build();
+        batchMeta = new BatchMeta(batchPb);
+        decoder = new MessageDecoder(Long.MAX_VALUE, Runnable::run, registry);
+    }
+
+    @Benchmark
+    public void decodeBatch(Blackhole bh) {
+        List<MessageImpl> messages = new ArrayList<>(BATCH_SIZE);
+        for (StreamReadMessage.ReadResponse.MessageData data: batchPb.getMessageDataList()) {
+            OffsetsRangeImpl range = new OffsetsRangeImpl(data.getOffset(), data.getOffset() + 1);
+            messages.add(new MessageImpl(null, null, batchMeta, range, data));
+        }
+
+        Batch batch = new Batch(batchMeta, messages);
+        decoder.decode("benchmark", batch, () -> {
+            for (MessageImpl msg: batch.getMessages()) {
+                bh.consume(msg.getData());
+            }
+        });
+        // release the decoder buffer
+        batch.complete();
+    }
+}
@@ -0,0 +1,87 @@
+package tech.ydb.topic.write.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tech.ydb.benchmarks.TopicPayload;
+import tech.ydb.core.Status;
+import tech.ydb.topic.description.CodecRegistry;
+import tech.ydb.topic.settings.WriterSettings;
+import tech.ydb.topic.write.Message;
+import tech.ydb.topic.write.QueueOverflowException;
+import tech.ydb.topic.write.WriteAck;
+
+/**
+ * Full cycle of a batch of messages in the writer queue: enqueue with encoding, taking for sending and confirmation
+ * by the server ack. Messages are encoded in the caller thread, so the result includes the cost of the codec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WriterQueueBenchmark {
+    private static final int BATCH_SIZE = 100;
+
+    @Param({ "RAW", "GZIP", "LZOP", "ZSTD" })
+    String codec;
+
+    @Param({ "256", "16384" })
+    int messageSize;
+
+    private WriterQueue queue;
+    private byte[][] payloads;
+
+    @Setup
+    public void setup() {
+        WriterSettings settings = WriterSettings.newBuilder()
+                .setTopicPath("/local/benchmark")
+                .setCodec(TopicPayload.codecId(codec))
+                .setMaxSendBufferMessagesCount(BATCH_SIZE)
+                .setMaxSendBufferMemorySize(BATCH_SIZE * messageSize)
+                .build();
+        queue = new WriterQueue("benchmark", settings, new CodecRegistry(), Runnable::run, () -> { });
+
+        payloads = new byte[BATCH_SIZE][];
+        for (int idx = 0; idx < BATCH_SIZE; idx++) {
+            payloads[idx] = TopicPayload.create(messageSize, idx);
+        }
+    }
+
+    @TearDown
+    public void close() {
+        queue.close(Status.SUCCESS);
+    }
+
+    @Benchmark
+    public long writeBatch() throws QueueOverflowException {
+        for (byte[] payload: payloads) {
+            queue.tryEnqueue(Message.of(payload), null);
+        }
+
+        long encodedSize = 0;
+        long lastSeqNo = 0;
+        SentMessage msg = queue.nextMessageToSend();
+        while (msg != null) {
+            encodedSize += msg.getPb().getData().size();
+            lastSeqNo = msg.getSeqNo();
+            msg = queue.nextMessageToSend();
+        }
+
+        queue.confirmAck(new WriteAck(lastSeqNo, WriteAck.State.WRITTEN, null, null));
+        return encodedSize;
+    }
+}
@@ -41,6 +41,7 @@ class YdbRetryConfig implements RetryConfig {
             // Slow backoff
             case OVERLOADED:
             case CLIENT_RESOURCE_EXHAUSTED:
+            case CLIENT_REQUEST_REJECTED:
                 return slow;
 
             // Conditionally retryable statuses
@@ -80,6 +80,7 @@ public class RetryConfigTest {
         RetryPolicy slow = config.getStatusRetryPolicy(Status.of(StatusCode.OVERLOADED));
         Assert.assertNotNull(slow);
         Assert.assertEquals(slow, config.getStatusRetryPolicy(Status.of(StatusCode.CLIENT_RESOURCE_EXHAUSTED)));
+        Assert.assertEquals(slow, config.getStatusRetryPolicy(Status.of(StatusCode.CLIENT_REQUEST_REJECTED)));
     }
 
     @Test
@@ -107,6 +108,7 @@ public class RetryConfigTest {
         RetryPolicy slow = config.getStatusRetryPolicy(Status.of(StatusCode.OVERLOADED));
         Assert.assertNotNull(slow);
         Assert.assertEquals(slow, config.getStatusRetryPolicy(Status.of(StatusCode.CLIENT_RESOURCE_EXHAUSTED)));
+        Assert.assertEquals(slow, config.getStatusRetryPolicy(Status.of(StatusCode.CLIENT_REQUEST_REJECTED)));
     }
 
     @Test
@@ -43,6 +43,17 @@ public interface CoordinationClient {
      */
     CoordinationSession createSession(String path, CoordinationSessionSettings settings);
 
+    /**
+     * Creates a new multiplexer of logical coordination sessions.
+     * The multiplexer establishes one bidirectional grpc stream with a specific coordination node and shares it
+     * between all logical sessions created by {@link CoordinationSessionMultiplexer#createSession()}.
+     *
+     * @param path full path to coordination node
+     * @param settings coordination session settings of the physical session
+     * @return new instance of coordination session multiplexer
+     */
+    CoordinationSessionMultiplexer createSessionMultiplexer(String path, CoordinationSessionSettings settings);
+
     /**
      * Creates a new coordination node.
      *
@@ -95,6 +106,16 @@ public interface CoordinationClient {
         return createSession(path, CoordinationSessionSettings.newBuilder().build());
     }
 
+    /**
+     * Creates a new multiplexer of logical coordination sessions with default settings.
+     *
+     * @param path full path to coordination node
+     * @return new instance of coordination session multiplexer
+     */
+    default CoordinationSessionMultiplexer createSessionMultiplexer(String path) {
+        return createSessionMultiplexer(path, CoordinationSessionSettings.newBuilder().build());
+    }
+
     /**
      * Creates a new coordination node.
      *
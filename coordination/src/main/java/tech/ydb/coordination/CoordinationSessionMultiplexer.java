@@ -0,0 +1,47 @@
+package tech.ydb.coordination;
+
+import java.util.concurrent.CompletableFuture;
+
+import tech.ydb.core.Status;
+
+/**
+ * Multiplexer of many lightweight logical coordination sessions over one physical session. All logical sessions
+ * share one bidirectional grpc stream, one queue of pending requests and one reconnect/restore logic.
+ * <p>
+ * Ownership of semaphores is tracked locally: a semaphore is owned by at most one logical session at a time. Other
+ * logical sessions which try to acquire the same semaphore wait in the local queue, and when the owner releases the
+ * semaphore, it is handed over to the next waiter without server requests if the parameters of acquiring are the same.
+ */
+public interface CoordinationSessionMultiplexer extends AutoCloseable {
+
+    /**
+     * Establish the physical session. Logical sessions call it implicitly on their {@code connect()}
+     * @return Future with status of operation
+     */
+    CompletableFuture<Status> connect();
+
+    /**
+     * Creates a new logical session. The logical session doesn't open its own grpc stream and shares the physical
+     * session with all other logical sessions of this multiplexer. Stopping of the logical session releases all its
+     * semaphores but doesn't stop the physical session
+     * @return new logical coordination session
+     */
+    CoordinationSession createSession();
+
+    /**
+     * Current state of the physical session
+     * @return state of the physical session
+     */
+    CoordinationSession.State getState();
+
+    /**
+     * Stop the physical session. All semaphores acquired by logical sessions will be released by server
+     * @return Future with status of operation
+     */
+    CompletableFuture<Status> stop();
+
+    @Override
+    default void close() {
+        stop().join();
+    }
+}
@@ -6,6 +6,7 @@ import java.util.concurrent.CompletableFuture;
 
 import tech.ydb.coordination.CoordinationClient;
 import tech.ydb.coordination.CoordinationSession;
+import tech.ydb.coordination.CoordinationSessionMultiplexer;
 import tech.ydb.coordination.description.NodeConfig;
 import tech.ydb.coordination.settings.CoordinationNodeSettings;
 import tech.ydb.coordination.settings.CoordinationSessionSettings;
@@ -57,6 +58,11 @@ class ClientImpl implements CoordinationClient {
         return new SessionImpl(rpc, Clock.systemUTC(), validatePath(path), settings);
     }
 
+    @Override
+    public CoordinationSessionMultiplexer createSessionMultiplexer(String path, CoordinationSessionSettings settings) {
+        return new MultiplexerImpl(rpc, Clock.systemUTC(), validatePath(path), settings);
+    }
+
     @Override
     public CompletableFuture<Status> createNode(String path, CoordinationNodeSettings settings) {
         CreateNodeRequest request = CreateNodeRequest.newBuilder()
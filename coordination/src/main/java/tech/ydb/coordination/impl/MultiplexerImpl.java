@@ -0,0 +1,433 @@
+package tech.ydb.coordination.impl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tech.ydb.coordination.CoordinationSession;
+import tech.ydb.coordination.CoordinationSessionMultiplexer;
+import tech.ydb.coordination.SemaphoreLease;
+import tech.ydb.coordination.description.SemaphoreDescription;
+import tech.ydb.coordination.description.SemaphoreWatcher;
+import tech.ydb.coordination.settings.CoordinationSessionSettings;
+import tech.ydb.coordination.settings.DescribeSemaphoreMode;
+import tech.ydb.coordination.settings.WatchSemaphoreMode;
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+
+class MultiplexerImpl implements CoordinationSessionMultiplexer {
+    private static final Logger logger = LoggerFactory.getLogger(MultiplexerImpl.class);
+
+    private final SessionImpl physical;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, LocalSemaphore> semaphores = new ConcurrentHashMap<>();
+
+    private CompletableFuture<Status> connectFuture = null;
+
+    MultiplexerImpl(Rpc rpc, Clock clock, String nodePath, CoordinationSessionSettings settings) {
+        this(new SessionImpl(rpc, clock, nodePath, settings), rpc.getScheduler());
+    }
+
+    MultiplexerImpl(SessionImpl physical, ScheduledExecutorService scheduler) {
+        this.physical = physical;
+        this.scheduler = scheduler;
+        this.physical.addStateListener(this::onPhysicalStateChanged);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Status> connect() {
+        boolean needConnect = connectFuture == null || connectFuture.isCompletedExceptionally()
+                || (connectFuture.isDone() && !connectFuture.join().isSuccess());
+        if (needConnect) {
+            connectFuture = physical.connect();
+        }
+        return connectFuture;
+    }
+
+    @Override
+    public CoordinationSession createSession() {
+        return new LogicalSession();
+    }
+
+    @Override
+    public CoordinationSession.State getState() {
+        return physical.getState();
+    }
+
+    @Override
+    public CompletableFuture<Status> stop() {
+        return physical.stop();
+    }
+
+    @Override
+    public String toString() {
+        return "Multiplexer{" + physical + ", semaphores=" + semaphores.size() + "}";
+    }
+
+    private void onPhysicalStateChanged(CoordinationSession.State state) {
+        if (state != CoordinationSession.State.LOST && state != CoordinationSession.State.CLOSED) {
+            return;
+        }
+
+        // all semaphores of physical session are released by server
+        for (LocalSemaphore sem : semaphores.values()) {
+            synchronized (sem) {
+                sem.owner = null;
+                sem.ownerRequest = null;
+                for (AcquireRequest waiter : sem.waiters) {
+                    waiter.complete(Result.fail(Status.of(StatusCode.BAD_SESSION)));
+                }
+                sem.waiters.clear();
+                semaphores.remove(sem.name, sem);
+            }
+        }
+    }
+
+    private CompletableFuture<Result<SemaphoreLease>> acquire(AcquireRequest req) {
+        while (true) {
+            LocalSemaphore sem = semaphores.computeIfAbsent(req.name, LocalSemaphore::new);
+            synchronized (sem) {
+                if (semaphores.get(req.name) != sem) {
+                    continue; // semaphore was removed concurrently
+                }
+
+                if ((sem.owner == null && sem.releasing == null) || sem.owner == req.session) {
+                    sem.owner = req.session;
+                    sem.ownerRequest = req;
+                    sendAcquire(sem, req);
+                } else {
+                    logger.trace("{} waits for local release of semaphore {}", req.session, req.name);
+                    sem.waiters.add(req);
+                    req.scheduleTimeout(sem);
+                }
+                return req.future;
+            }
+        }
+    }
+
+    private void sendAcquire(LocalSemaphore sem, AcquireRequest req) {
+        req.sendToServer().whenComplete((res, th) -> {
+            Result<SemaphoreLease> result = res != null ? res : Result.error("Cannot acquire semaphore", th);
+            synchronized (sem) {
+                if (sem.ownerRequest != req) {
+                    // logical session released the semaphore before the response was received
+                    req.complete(Result.fail(Status.of(StatusCode.CLIENT_CANCELLED)));
+                    return;
+                }
+
+                if (result.isSuccess()) {
+                    req.complete(Result.success(new LogicalLease(req.session, req.name)));
+                    return;
+                }
+
+                sem.owner = null;
+                sem.ownerRequest = null;
+                req.complete(result);
+                promoteNextWaiter(sem);
+            }
+        });
+    }
+
+    // must be called under the lock of semaphore
+    private AcquireRequest pollWaiter(LocalSemaphore sem) {
+        AcquireRequest next = sem.waiters.poll();
+        while (next != null && next.future.isDone()) {
+            next = sem.waiters.poll();
+        }
+        return next;
+    }
+
+    // must be called under the lock of semaphore
+    private void promoteNextWaiter(LocalSemaphore sem) {
+        AcquireRequest next = pollWaiter(sem);
+        if (next == null) {
+            semaphores.remove(sem.name, sem);
+            return;
+        }
+
+        sem.owner = next.session;
+        sem.ownerRequest = next;
+        sendAcquire(sem, next);
+    }
+
+    private CompletableFuture<Boolean> release(LogicalSession session, String name) {
+        LocalSemaphore sem = semaphores.get(name);
+        if (sem == null) {
+            return CompletableFuture.completedFuture(Boolean.FALSE);
+        }
+
+        synchronized (sem) {
+            if (sem.owner != session) {
+                return CompletableFuture.completedFuture(Boolean.FALSE);
+            }
+
+            AcquireRequest prev = sem.ownerRequest;
+            AcquireRequest next = pollWaiter(sem);
+            if (next != null) {
+                sem.owner = next.session;
+                sem.ownerRequest = next;
+                if (prev != null && prev.future.isDone() && next.hasSameParams(prev)) {
+                    // physical session already owns the semaphore with the same parameters
+                    logger.trace("{} hands over semaphore {} to {}", session, name, next.session);
+                    next.complete(Result.success(new LogicalLease(next.session, name)));
+                } else {
+                    // repeated acquire overrides parameters without releasing
+                    sendAcquire(sem, next);
+                }
+                return CompletableFuture.completedFuture(Boolean.TRUE);
+            }
+
+            sem.owner = null;
+            sem.ownerRequest = null;
+            // release must be sent before any new acquire of the same semaphore, so the semaphore stays in the map
+            // and new acquires wait in its queue until the release is completed
+            CompletableFuture<Boolean> releaseFuture = physical.releaseSemaphore(name);
+            sem.releasing = releaseFuture;
+            releaseFuture.whenComplete((res, th) -> onReleased(sem, releaseFuture));
+            return releaseFuture;
+        }
+    }
+
+    private void onReleased(LocalSemaphore sem, CompletableFuture<Boolean> releaseFuture) {
+        synchronized (sem) {
+            if (sem.releasing != releaseFuture) {
+                return;
+            }
+            sem.releasing = null;
+            if (sem.owner == null) {
+                promoteNextWaiter(sem);
+            }
+        }
+    }
+
+    private void cancelWaiting(LogicalSession session, LocalSemaphore sem) {
+        synchronized (sem) {
+            sem.waiters.removeIf(req -> {
+                if (req.session != session) {
+                    return false;
+                }
+                req.complete(Result.fail(Status.of(StatusCode.CLIENT_CANCELLED)));
+                return true;
+            });
+        }
+    }
+
+    private static class LocalSemaphore {
+        private final String name;
+        private final Deque<AcquireRequest> waiters = new ArrayDeque<>();
+
+        private LogicalSession owner = null;
+        private AcquireRequest ownerRequest = null;
+        private CompletableFuture<Boolean> releasing = null;
+
+        LocalSemaphore(String name) {
+            this.name = name;
+        }
+    }
+
+    private class AcquireRequest {
+        private final LogicalSession session;
+        private final String name;
+        private final long count;
+        private final boolean ephemeral;
+        private final byte[] data;
+        private final long deadlineNanos;
+        private final CompletableFuture<Result<SemaphoreLease>> future = new CompletableFuture<>();
+
+        private ScheduledFuture<?> timer = null;
+
+        AcquireRequest(LogicalSession session, String name, long count, boolean ephemeral, byte[] data,
+                Duration timeout) {
+            this.session = session;
+            this.name = name;
+            this.count = count;
+            this.ephemeral = ephemeral;
+            this.data = data;
+            this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+        }
+
+        boolean hasSameParams(AcquireRequest other) {
+            return count == other.count && ephemeral == other.ephemeral && Arrays.equals(data, other.data);
+        }
+
+        void scheduleTimeout(LocalSemaphore sem) {
+            long timeoutNanos = deadlineNanos - System.nanoTime();
+            timer = scheduler.schedule(() -> {
+                synchronized (sem) {
+                    if (sem.waiters.remove(this)) {
+                        complete(Result.fail(Status.of(StatusCode.TIMEOUT)));
+                    }
+                }
+            }, Math.max(0, timeoutNanos), TimeUnit.NANOSECONDS);
+        }
+
+        CompletableFuture<Result<SemaphoreLease>> sendToServer() {
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            // the time spent in the local queue is subtracted from the timeout
+            Duration timeout = Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+            if (ephemeral) {
+                return physical.acquireEphemeralSemaphore(name, count < 0, data, timeout);
+            }
+            return physical.acquireSemaphore(name, count, data, timeout);
+        }
+
+        void complete(Result<SemaphoreLease> result) {
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            future.complete(result);
+        }
+    }
+
+    private class LogicalLease implements SemaphoreLease {
+        private final LogicalSession session;
+        private final String name;
+
+        LogicalLease(LogicalSession session, String name) {
+            this.session = session;
+            this.name = name;
+        }
+
+        @Override
+        public String getSemaphoreName() {
+            return name;
+        }
+
+        @Override
+        public CoordinationSession getSession() {
+            return session;
+        }
+
+        @Override
+        public CompletableFuture<Void> release() {
+            return MultiplexerImpl.this.release(session, name).thenApply(r -> null);
+        }
+    }
+
+    private class LogicalSession implements CoordinationSession {
+        private final List<Consumer<State>> listeners = new ArrayList<>();
+        private volatile boolean isStopped = false;
+
+        @Override
+        public CompletableFuture<Status> connect() {
+            if (isStopped) {
+                return CompletableFuture.completedFuture(Status.of(StatusCode.BAD_REQUEST));
+            }
+            return MultiplexerImpl.this.connect();
+        }
+
+        @Override
+        public CompletableFuture<Status> stop() {
+            if (isStopped) {
+                return CompletableFuture.completedFuture(Status.SUCCESS);
+            }
+            isStopped = true;
+
+            List<CompletableFuture<Boolean>> releases = new ArrayList<>();
+            for (LocalSemaphore sem : semaphores.values()) {
+                cancelWaiting(this, sem);
+                releases.add(release(this, sem.name));
+            }
+
+            synchronized (listeners) {
+                for (Consumer<State> listener : listeners) {
+                    physical.removeStateListener(listener);
+                    listener.accept(State.CLOSED);
+                }
+                listeners.clear();
+            }
+
+            return CompletableFuture.allOf(releases.toArray(new CompletableFuture<?>[0]))
+                    .thenApply(v -> Status.SUCCESS);
+        }
+
+        @Override
+        public long getId() {
+            return physical.getId();
+        }
+
+        @Override
+        public State getState() {
+            return isStopped ? State.CLOSED : physical.getState();
+        }
+
+        @Override
+        public void addStateListener(Consumer<State> listener) {
+            if (listener != null) {
+                synchronized (listeners) {
+                    listeners.add(listener);
+                }
+                physical.addStateListener(listener);
+            }
+        }
+
+        @Override
+        public void removeStateListener(Consumer<State> listener) {
+            synchronized (listeners) {
+                listeners.remove(listener);
+            }
+            physical.removeStateListener(listener);
+        }
+
+        @Override
+        public CompletableFuture<Status> createSemaphore(String name, long limit, byte[] data) {
+            return physical.createSemaphore(name, limit, data);
+        }
+
+        @Override
+        public CompletableFuture<Status> updateSemaphore(String name, byte[] data) {
+            return physical.updateSemaphore(name, data);
+        }
+
+        @Override
+        public CompletableFuture<Status> deleteSemaphore(String name, boolean force) {
+            return physical.deleteSemaphore(name, force);
+        }
+
+        @Override
+        public CompletableFuture<Result<SemaphoreLease>> acquireSemaphore(String name, long count, byte[] data,
+                Duration timeout) {
+            return acquire(new AcquireRequest(this, name, count, false, data, timeout));
+        }
+
+        @Override
+        public CompletableFuture<Result<SemaphoreLease>> acquireEphemeralSemaphore(String name, boolean exclusive,
+                byte[] data, Duration timeout) {
+            return acquire(new AcquireRequest(this, name, exclusive ? -1L : 1L, true, data, timeout));
+        }
+
+        @Override
+        public CompletableFuture<Result<SemaphoreDescription>> describeSemaphore(String name,
+                DescribeSemaphoreMode mode) {
+            return physical.describeSemaphore(name, mode);
+        }
+
+        @Override
+        public CompletableFuture<Result<SemaphoreWatcher>> watchSemaphore(String name,
+                DescribeSemaphoreMode describeMode, WatchSemaphoreMode watchMode) {
+            return physical.watchSemaphore(name, describeMode, watchMode);
+        }
+
+        @Override
+        public String toString() {
+            return "LogicalSession{" + Integer.toHexString(hashCode()) + ", " + physical + "}";
+        }
+    }
+}
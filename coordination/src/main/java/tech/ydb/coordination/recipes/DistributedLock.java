@@ -0,0 +1,185 @@
+package tech.ydb.coordination.recipes;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tech.ydb.coordination.CoordinationSession;
+import tech.ydb.coordination.SemaphoreLease;
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+
+/**
+ * Reentrant distributed lock based on a persistent coordination semaphore with limit 1. Repeated locking by the
+ * same instance only increments the local hold count and doesn't make any requests to the server, the semaphore is
+ * released when the hold count drops to zero.
+ * <p>
+ * Every successful acquisition of the semaphore increments the fencing token stored in the semaphore data. The token
+ * must be passed to the protected resource, which rejects requests with tokens smaller than already seen ones.
+ * <p>
+ * The server releases the semaphores of a lost session, so when the session becomes {@code LOST} or {@code CLOSED}
+ * the lock drops its lease and the hold count, and the next {@link #lock(Duration)} acquires the semaphore again
+ * with a new fencing token.
+ */
+public class DistributedLock {
+    private static final Logger logger = LoggerFactory.getLogger(DistributedLock.class);
+
+    private final CoordinationSession session;
+    private final String semaphoreName;
+    private final Consumer<CoordinationSession.State> stateListener = this::onSessionStateChanged;
+
+    private volatile boolean isCreated = false;
+    private int holdCount = 0;
+    private long fencingToken = 0;
+    private SemaphoreLease lease = null;
+    private CompletableFuture<Result<Long>> acquiring = null;
+
+    public DistributedLock(CoordinationSession session, String semaphoreName) {
+        this.session = session;
+        this.semaphoreName = semaphoreName;
+    }
+
+    /**
+     * Acquires the lock. If the lock is already held by this instance, the hold count is incremented locally
+     * @param timeout maximal time of waiting in the queue of semaphore
+     * @return future with fencing token of the current ownership
+     */
+    public synchronized CompletableFuture<Result<Long>> lock(Duration timeout) {
+        if (lease != null) {
+            holdCount++;
+            return CompletableFuture.completedFuture(Result.success(fencingToken));
+        }
+
+        CompletableFuture<Result<Long>> future = acquiring;
+        if (future == null) {
+            resetLease();
+            CompletableFuture<Result<Long>> created = acquireLease(timeout);
+            acquiring = created;
+            created.whenComplete((res, th) -> onAcquired(created));
+            future = created;
+        }
+
+        return future.thenApply(res -> {
+            if (res.isSuccess()) {
+                synchronized (this) {
+                    holdCount++;
+                }
+            }
+            return res;
+        });
+    }
+
+    /**
+     * Decrements the hold count and releases the semaphore when it drops to zero
+     * @return future with true if the semaphore was released
+     */
+    public CompletableFuture<Boolean> unlock() {
+        SemaphoreLease toRelease;
+        synchronized (this) {
+            if (holdCount == 0) {
+                throw new IllegalStateException("Lock " + semaphoreName + " is not held by this instance");
+            }
+            holdCount--;
+            if (holdCount > 0) {
+                return CompletableFuture.completedFuture(Boolean.FALSE);
+            }
+            toRelease = lease;
+            lease = null;
+        }
+
+        session.removeStateListener(stateListener);
+        if (toRelease == null) {
+            return CompletableFuture.completedFuture(Boolean.FALSE);
+        }
+        return toRelease.release().thenApply(v -> Boolean.TRUE);
+    }
+
+    public synchronized boolean isLocked() {
+        return lease != null && holdCount > 0;
+    }
+
+    public synchronized int getHoldCount() {
+        return holdCount;
+    }
+
+    /**
+     * @return fencing token of the current ownership or of the last one
+     */
+    public synchronized long getFencingToken() {
+        return fencingToken;
+    }
+
+    public String getSemaphoreName() {
+        return semaphoreName;
+    }
+
+    private synchronized void onAcquired(CompletableFuture<Result<Long>> future) {
+        if (acquiring == future) {
+            acquiring = null;
+        }
+    }
+
+    private void onSessionStateChanged(CoordinationSession.State state) {
+        if (state == CoordinationSession.State.LOST || state == CoordinationSession.State.CLOSED) {
+            session.removeStateListener(stateListener);
+            resetLease();
+        }
+    }
+
+    private synchronized void resetLease() {
+        // lease of the lost session is not valid anymore
+        if (lease != null) {
+            logger.warn("lock {} was lost with session {}", semaphoreName, session);
+        }
+        lease = null;
+        holdCount = 0;
+    }
+
+    private CompletableFuture<Status> ensureCreated() {
+        if (isCreated) {
+            return CompletableFuture.completedFuture(Status.SUCCESS);
+        }
+        return FencingToken.createSemaphore(session, semaphoreName).thenApply(status -> {
+            isCreated = status.isSuccess();
+            return status;
+        });
+    }
+
+    private CompletableFuture<Result<Long>> acquireLease(Duration timeout) {
+        return ensureCreated().thenCompose(created -> {
+            if (!created.isSuccess()) {
+                return CompletableFuture.completedFuture(Result.<SemaphoreLease>fail(created));
+            }
+            return session.acquireSemaphore(semaphoreName, 1, null, timeout);
+        }).thenCompose(res -> {
+            if (!res.isSuccess()) {
+                return CompletableFuture.completedFuture(res.map(l -> 0L));
+            }
+
+            SemaphoreLease acquired = res.getValue();
+            return FencingToken.increment(session, semaphoreName).thenCompose(token -> {
+                if (!token.isSuccess()) {
+                    logger.warn("lock {} cannot update fencing token, got {}", semaphoreName, token.getStatus());
+                    return acquired.release().thenApply(v -> token);
+                }
+
+                synchronized (this) {
+                    lease = acquired;
+                    fencingToken = token.getValue();
+                }
+                session.addStateListener(stateListener);
+                if (!session.getState().isActive()) {
+                    // session was lost before the listener was added
+                    onSessionStateChanged(CoordinationSession.State.LOST);
+                    return CompletableFuture.completedFuture(Result.<Long>fail(Status.of(StatusCode.BAD_SESSION)));
+                }
+                logger.debug("lock {} acquired with fencing token {}", semaphoreName, token.getValue());
+                return CompletableFuture.completedFuture(token);
+            });
+        }).exceptionally(th -> Result.fail(Status.of(StatusCode.CLIENT_INTERNAL_ERROR).withCause(th)));
+    }
+}
@@ -0,0 +1,56 @@
+package tech.ydb.coordination.recipes;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+import tech.ydb.coordination.CoordinationSession;
+import tech.ydb.coordination.settings.DescribeSemaphoreMode;
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+
+/**
+ * Monotonic fencing token stored in the data of the persistent semaphore. Only the current owner of the semaphore
+ * increments the token, so every new owner gets a bigger value than all previous ones.
+ */
+final class FencingToken {
+    private FencingToken() { }
+
+    static long decode(byte[] data) {
+        if (data == null || data.length != Long.BYTES) {
+            return 0;
+        }
+        return ByteBuffer.wrap(data).getLong();
+    }
+
+    static byte[] encode(long token) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(token).array();
+    }
+
+    static CompletableFuture<Status> createSemaphore(CoordinationSession session, String name) {
+        return session.createSemaphore(name, 1, null).thenApply(status -> {
+            if (status.getCode() == StatusCode.ALREADY_EXISTS) {
+                return Status.SUCCESS;
+            }
+            return status;
+        });
+    }
+
+    /**
+     * Reads the current token and writes the next one. Must be called only by the owner of the semaphore
+     */
+    static CompletableFuture<Result<Long>> increment(CoordinationSession session, String name) {
+        return session.describeSemaphore(name, DescribeSemaphoreMode.DATA_ONLY).thenCompose(res -> {
+            if (!res.isSuccess()) {
+                return CompletableFuture.completedFuture(res.map(d -> 0L));
+            }
+            long next = decode(res.getValue().getData()) + 1;
+            return session.updateSemaphore(name, encode(next)).thenApply(status -> {
+                if (!status.isSuccess()) {
+                    return Result.<Long>fail(status);
+                }
+                return Result.success(next);
+            });
+        });
+    }
+}
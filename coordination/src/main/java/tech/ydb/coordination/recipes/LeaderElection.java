@@ -0,0 +1,340 @@
+package tech.ydb.coordination.recipes;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tech.ydb.coordination.CoordinationSession;
+import tech.ydb.coordination.SemaphoreLease;
+import tech.ydb.coordination.description.SemaphoreDescription;
+import tech.ydb.coordination.description.SemaphoreWatcher;
+import tech.ydb.coordination.settings.DescribeSemaphoreMode;
+import tech.ydb.coordination.settings.WatchSemaphoreMode;
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+
+/**
+ * Leader election based on a persistent coordination semaphore with limit 1. Every participant waits in the queue of
+ * the semaphore, the owner of the semaphore is the leader. Participants watch the owners of the semaphore, so the
+ * current leader and its data are available locally without polling of the server.
+ * <p>
+ * Every new leader increments the epoch stored in the semaphore data. The epoch can be used as a fencing token for
+ * resources protected by the leader.
+ * <p>
+ * The participant keeps contending while it is started: failed requests are retried with a delay and the lost
+ * session is requeued as soon as it is recovered.
+ */
+public class LeaderElection implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(LeaderElection.class);
+    private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final CoordinationSession session;
+    private final String semaphoreName;
+    private final byte[] data;
+    private final ScheduledExecutorService scheduler;
+    private final boolean isOwnScheduler;
+    private final List<Consumer<Boolean>> listeners = new CopyOnWriteArrayList<>();
+    private final Consumer<CoordinationSession.State> stateListener = this::onSessionStateChanged;
+
+    private volatile boolean isStarted = false;
+    private volatile boolean isStopped = false;
+    private volatile SemaphoreLease lease = null;
+    private volatile long epoch = 0;
+    private volatile SemaphoreDescription.Session leader = null;
+    // every chain of watches has its own generation, only the chain of the current generation is re-armed
+    private final AtomicLong watchGeneration = new AtomicLong(0);
+
+    // guarded by this
+    private boolean isContending = false;
+    private ScheduledFuture<?> retryFuture = null;
+
+    /**
+     * Creates a new participant of leader election
+     * @param session coordination session
+     * @param semaphoreName name of semaphore used for election
+     * @param data data of the participant, it is visible to all other participants when it becomes the leader
+     */
+    public LeaderElection(CoordinationSession session, String semaphoreName, byte[] data) {
+        this(session, semaphoreName, data, null);
+    }
+
+    /**
+     * Creates a new participant of leader election
+     * @param session coordination session
+     * @param semaphoreName name of semaphore used for election
+     * @param data data of the participant, it is visible to all other participants when it becomes the leader
+     * @param scheduler scheduler for delayed retries, if null the participant creates its own one
+     */
+    public LeaderElection(CoordinationSession session, String semaphoreName, byte[] data,
+            ScheduledExecutorService scheduler) {
+        this.session = session;
+        this.semaphoreName = semaphoreName;
+        this.data = data;
+        this.isOwnScheduler = scheduler == null;
+        this.scheduler = isOwnScheduler ? Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ydb-leader-election-" + semaphoreName);
+            t.setDaemon(true);
+            return t;
+        }) : scheduler;
+    }
+
+    /**
+     * Starts participating in the election. The returned future is completed when the participant is queued, not
+     * when it becomes the leader
+     * @return future with status of operation
+     */
+    public synchronized CompletableFuture<Status> start() {
+        if (isStopped) {
+            throw new IllegalStateException("Leader election " + semaphoreName + " is already stopped");
+        }
+        if (isStarted) {
+            throw new IllegalStateException("Leader election " + semaphoreName + " is already started");
+        }
+        isStarted = true;
+
+        return FencingToken.createSemaphore(session, semaphoreName).thenApply(status -> {
+            if (!status.isSuccess()) {
+                logger.warn("leader election {} cannot create semaphore, got {}", semaphoreName, status);
+                return status;
+            }
+            session.addStateListener(stateListener);
+            watchLeader(watchGeneration.incrementAndGet());
+            contend();
+            return Status.SUCCESS;
+        });
+    }
+
+    public void addListener(Consumer<Boolean> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<Boolean> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return true if this participant is the current leader. Never makes requests to the server
+     */
+    public boolean isLeader() {
+        return lease != null && session.getState().isActive();
+    }
+
+    /**
+     * @return epoch of current leadership of this participant or of the last observed one
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * @return data of the current leader or null if there is no leader
+     */
+    public byte[] getLeaderData() {
+        SemaphoreDescription.Session local = leader;
+        return local != null ? local.getData() : null;
+    }
+
+    /**
+     * @return id of the session of the current leader or -1 if there is no leader
+     */
+    public long getLeaderSessionId() {
+        SemaphoreDescription.Session local = leader;
+        return local != null ? local.getId() : -1;
+    }
+
+    /**
+     * Gives up the leadership and stops participating in the election
+     * @return future with status of operation
+     */
+    public CompletableFuture<Status> stop() {
+        boolean isWaiting;
+        synchronized (this) {
+            if (isStopped) {
+                return CompletableFuture.completedFuture(Status.SUCCESS);
+            }
+            isStopped = true;
+            isWaiting = isContending;
+            if (retryFuture != null) {
+                retryFuture.cancel(false);
+                retryFuture = null;
+            }
+        }
+
+        session.removeStateListener(stateListener);
+        if (isOwnScheduler) {
+            scheduler.shutdown();
+        }
+
+        SemaphoreLease current = lease;
+        if (current != null) {
+            setLease(null);
+            return current.release().thenApply(v -> Status.SUCCESS);
+        }
+
+        if (!isWaiting || !session.getState().isActive()) {
+            return CompletableFuture.completedFuture(Status.SUCCESS);
+        }
+
+        // the waiting request stays in the queue until WAIT_TIMEOUT, so it is overridden by the request without
+        // timeout, which leaves the queue at once
+        return session.acquireSemaphore(semaphoreName, 1, data, Duration.ZERO).thenCompose(res -> {
+            if (!res.isSuccess()) {
+                return CompletableFuture.completedFuture(Status.SUCCESS);
+            }
+            return res.getValue().release().thenApply(v -> Status.SUCCESS);
+        });
+    }
+
+    @Override
+    public void close() {
+        stop().join();
+    }
+
+    private void contend() {
+        synchronized (this) {
+            if (isStopped || isContending || lease != null) {
+                return;
+            }
+            isContending = true;
+            retryFuture = null;
+        }
+
+        session.acquireSemaphore(semaphoreName, 1, data, WAIT_TIMEOUT).whenComplete((res, th) -> {
+            if (res != null && res.isSuccess() && isStopped) {
+                Status cancelled = Status.of(StatusCode.CLIENT_CANCELLED);
+                res.getValue().release().whenComplete((v, th2) -> onContendFailed(cancelled));
+                return;
+            }
+
+            if (res != null && res.isSuccess()) {
+                onElected(res.getValue());
+                return;
+            }
+
+            Status status = res != null ? res.getStatus() : Status.of(StatusCode.CLIENT_INTERNAL_ERROR).withCause(th);
+            onContendFailed(status);
+        });
+    }
+
+    private void onContendFailed(Status status) {
+        synchronized (this) {
+            isContending = false;
+        }
+
+        if (isStopped) {
+            return;
+        }
+
+        if (status.getCode() == StatusCode.TIMEOUT) {
+            contend();
+            return;
+        }
+
+        // the state of session is checked after reset of isContending, so the recovery of session is not missed
+        if (!session.getState().isActive()) {
+            logger.debug("leader election {} waits for the session recovery, got {}", semaphoreName, status);
+            return;
+        }
+
+        logger.warn("leader election {} cannot acquire semaphore, got {}, retry in {}", semaphoreName, status,
+                RETRY_DELAY);
+        synchronized (this) {
+            if (!isStopped && retryFuture == null) {
+                retryFuture = scheduler.schedule(this::contend, RETRY_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void onElected(SemaphoreLease elected) {
+        FencingToken.increment(session, semaphoreName).whenComplete((res, th) -> {
+            if (res == null || !res.isSuccess()) {
+                Status status = res != null ? res.getStatus()
+                        : Status.of(StatusCode.CLIENT_INTERNAL_ERROR).withCause(th);
+                logger.warn("leader election {} cannot update epoch, got {}", semaphoreName, status);
+                elected.release().whenComplete((v, th2) -> onContendFailed(status));
+                return;
+            }
+
+            synchronized (this) {
+                if (!isStopped && session.getState().isActive()) {
+                    epoch = res.getValue();
+                    isContending = false;
+                    logger.debug("leader election {} elected session {} with epoch {}", semaphoreName, session,
+                            epoch);
+                    setLease(elected);
+                    return;
+                }
+            }
+
+            // the participant is stopped or the session was lost while the epoch was updated
+            elected.release().whenComplete((v, th2) -> onContendFailed(Status.of(StatusCode.BAD_SESSION)));
+        });
+    }
+
+    private void watchLeader(long generation) {
+        if (isStopped || generation != watchGeneration.get() || !session.getState().isActive()) {
+            return;
+        }
+
+        session.watchSemaphore(semaphoreName, DescribeSemaphoreMode.WITH_OWNERS, WatchSemaphoreMode.WATCH_OWNERS)
+                .whenComplete((res, th) -> onWatchResult(generation, res, th));
+    }
+
+    private void onWatchResult(long generation, Result<SemaphoreWatcher> res, Throwable th) {
+        if (generation != watchGeneration.get()) {
+            // the watch was replaced by the new one after reconnect
+            return;
+        }
+        if (res == null || !res.isSuccess()) {
+            logger.debug("leader election {} cannot watch semaphore, got {}", semaphoreName,
+                    res != null ? res.getStatus() : th);
+            return;
+        }
+
+        SemaphoreWatcher watcher = res.getValue();
+        List<SemaphoreDescription.Session> owners = watcher.getDescription().getOwnersList();
+        leader = owners.isEmpty() ? null : owners.get(0);
+        if (!isLeader()) {
+            epoch = FencingToken.decode(watcher.getDescription().getData());
+        }
+
+        watcher.getChangedFuture().whenComplete((changed, th2) -> watchLeader(generation));
+    }
+
+    private void onSessionStateChanged(CoordinationSession.State state) {
+        if (state == CoordinationSession.State.RECONNECTED) {
+            // watches are not restored after reconnect, the chain of the previous watch is stopped
+            watchLeader(watchGeneration.incrementAndGet());
+        }
+        if (state == CoordinationSession.State.CONNECTED || state == CoordinationSession.State.RECONNECTED) {
+            // requeue the participant if the session was lost, otherwise it is no-op
+            contend();
+        }
+        if (state == CoordinationSession.State.LOST || state == CoordinationSession.State.CLOSED) {
+            setLease(null);
+        }
+    }
+
+    private void setLease(SemaphoreLease newLease) {
+        boolean wasLeader = lease != null;
+        lease = newLease;
+        boolean isLeader = newLease != null;
+        if (wasLeader != isLeader) {
+            for (Consumer<Boolean> listener : listeners) {
+                listener.accept(isLeader);
+            }
+        }
+    }
+}
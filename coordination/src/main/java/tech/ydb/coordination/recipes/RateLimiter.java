@@ -0,0 +1,294 @@
+package tech.ydb.coordination.recipes;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tech.ydb.coordination.CoordinationSession;
+import tech.ydb.coordination.SemaphoreLease;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+
+/**
+ * Distributed rate limiter based on a coordination semaphore. The limit of the semaphore is the global count of
+ * permits per period. Every instance leases a block of tokens from the semaphore and hands them out locally without
+ * any locks and requests to server. The whole leased block becomes available again at the start of every period.
+ * <p>
+ * The size of the block follows the consumption rate of the instance: it grows in background when the local tokens
+ * are about to run out and is adjusted to the smoothed consumption rate at the end of every period. Smaller blocks
+ * give better global accuracy, bigger ones reduce the count of requests to the coordination service.
+ * <p>
+ * The semaphore must be created before the rate limiter is started, for example
+ * {@code session.createSemaphore(name, permitsPerPeriod)}. The session must not use this semaphore for other purposes.
+ * If the session is lost, the rate limiter has no tokens until the session is connected again and the block is
+ * leased again.
+ */
+public class RateLimiter implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    private final CoordinationSession session;
+    private final String semaphoreName;
+    private final RateLimiterSettings settings;
+    private final ScheduledExecutorService scheduler;
+    private final boolean isOwnScheduler;
+
+    private final AtomicLong available = new AtomicLong(0);
+    private final LongAdder consumed = new LongAdder();
+    private final AtomicBoolean isUpdating = new AtomicBoolean(false);
+    private final AtomicBoolean isStarted = new AtomicBoolean(false);
+    private final AtomicBoolean isClosed = new AtomicBoolean(false);
+    private final Consumer<CoordinationSession.State> stateListener = this::onSessionStateChanged;
+
+    private volatile long leased = 0;
+    private volatile double rate;
+    private volatile SemaphoreLease lease = null;
+    private volatile ScheduledFuture<?> periodFuture = null;
+
+    public RateLimiter(CoordinationSession session, String semaphoreName, RateLimiterSettings settings) {
+        this.session = session;
+        this.semaphoreName = semaphoreName;
+        this.settings = settings;
+        this.isOwnScheduler = settings.getScheduler() == null;
+        this.scheduler = isOwnScheduler ? Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ydb-rate-limiter-" + semaphoreName);
+            t.setDaemon(true);
+            return t;
+        }) : settings.getScheduler();
+        this.rate = settings.getInitialBlockSize();
+    }
+
+    public RateLimiter(CoordinationSession session, String semaphoreName) {
+        this(session, semaphoreName, RateLimiterSettings.newBuilder().build());
+    }
+
+    /**
+     * Leases the initial block of tokens and starts the background refilling
+     * @return future with status of operation
+     */
+    public CompletableFuture<Status> start() {
+        if (isClosed.get()) {
+            throw new IllegalStateException("Rate limiter " + semaphoreName + " is already closed");
+        }
+        if (isStarted.get() || !isUpdating.compareAndSet(false, true)) {
+            throw new IllegalStateException("Rate limiter " + semaphoreName + " is already started");
+        }
+
+        session.addStateListener(stateListener);
+        return leaseInitialBlock().thenApply(status -> {
+            if (!status.isSuccess()) {
+                session.removeStateListener(stateListener);
+                return status;
+            }
+
+            if (isStarted.compareAndSet(false, true)) {
+                long periodMs = settings.getPeriod().toMillis();
+                periodFuture = scheduler.scheduleAtFixedRate(this::nextPeriod, periodMs, periodMs,
+                        TimeUnit.MILLISECONDS);
+                logger.debug("rate limiter {} started with block of {} tokens", semaphoreName, leased);
+            }
+            return status;
+        });
+    }
+
+    /**
+     * Takes one permit if it is available locally. Never waits and never makes requests to the server
+     * @return true if the permit was taken
+     */
+    public boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    /**
+     * Takes the given count of permits if they are available locally. Never waits and never makes requests to the
+     * server
+     * @param permits count of permits
+     * @return true if the permits were taken
+     */
+    public boolean tryAcquire(long permits) {
+        while (true) {
+            long current = available.get();
+            if (current < permits) {
+                refill();
+                return false;
+            }
+
+            if (available.compareAndSet(current, current - permits)) {
+                consumed.add(permits);
+                if (current - permits < leased * settings.getRefillThreshold()) {
+                    refill();
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return count of tokens leased from the semaphore
+     */
+    public long getLeasedCount() {
+        return leased;
+    }
+
+    /**
+     * @return count of tokens which are available in the current period
+     */
+    public long getAvailablePermits() {
+        return Math.max(0, available.get());
+    }
+
+    /**
+     * @return smoothed count of permits consumed per period
+     */
+    public double getConsumptionRate() {
+        return rate;
+    }
+
+    public CompletableFuture<Void> stop() {
+        if (!isClosed.compareAndSet(false, true)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        session.removeStateListener(stateListener);
+        ScheduledFuture<?> local = periodFuture;
+        if (local != null) {
+            local.cancel(false);
+        }
+        if (isOwnScheduler) {
+            scheduler.shutdown();
+        }
+
+        available.set(0);
+        SemaphoreLease current = lease;
+        lease = null;
+        if (current == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return current.release();
+    }
+
+    @Override
+    public void close() {
+        stop().join();
+    }
+
+    private void refill() {
+        if (lease == null || isClosed.get() || !isUpdating.compareAndSet(false, true)) {
+            return;
+        }
+
+        long current = leased;
+        long max = settings.getMaxBlockSize();
+        long next = current > max / 2 ? max : Math.max(current * 2, settings.getMinBlockSize());
+        if (next <= current) {
+            isUpdating.set(false);
+            return;
+        }
+
+        updateLease(current, next);
+    }
+
+    private void nextPeriod() {
+        long used = consumed.sumThenReset();
+        double alpha = settings.getSmoothingFactor();
+        rate = alpha * used + (1 - alpha) * rate;
+
+        // all leased tokens are available again
+        available.set(leased);
+
+        if (isClosed.get() || !isUpdating.compareAndSet(false, true)) {
+            return;
+        }
+
+        if (lease == null) {
+            // the lease was lost together with the session, try to lease the block again
+            if (session.getState().isConnected()) {
+                leaseInitialBlock();
+            } else {
+                isUpdating.set(false);
+            }
+            return;
+        }
+
+        long current = leased;
+        double estimated = Math.ceil(rate * (1 + settings.getHeadroom()));
+        long target = Math.max(settings.getMinBlockSize(), Math.min(settings.getMaxBlockSize(), (long) estimated));
+        if (target == current) {
+            isUpdating.set(false);
+            return;
+        }
+
+        updateLease(current, target);
+    }
+
+    private void onSessionStateChanged(CoordinationSession.State state) {
+        if (state == CoordinationSession.State.LOST || state == CoordinationSession.State.CLOSED) {
+            // the server releases all semaphores of the lost session
+            if (lease != null) {
+                logger.warn("rate limiter {} lost the lease of {} tokens with session state {}", semaphoreName,
+                        leased, state);
+            }
+            lease = null;
+            leased = 0;
+            available.set(0);
+            return;
+        }
+
+        if (state.isConnected() && lease == null && isStarted.get() && !isClosed.get()
+                && isUpdating.compareAndSet(false, true)) {
+            leaseInitialBlock();
+        }
+    }
+
+    private CompletableFuture<Status> leaseInitialBlock() {
+        long block = settings.getInitialBlockSize();
+        return session.acquireSemaphore(semaphoreName, block, null, settings.getAcquireTimeout()).handle((res, th) -> {
+            try {
+                if (th != null) {
+                    logger.warn("rate limiter {} cannot lease {} tokens", semaphoreName, block, th);
+                    return Status.of(StatusCode.CLIENT_INTERNAL_ERROR).withCause(th);
+                }
+                if (!res.isSuccess()) {
+                    logger.warn("rate limiter {} cannot lease {} tokens, got {}", semaphoreName, block,
+                            res.getStatus());
+                    return res.getStatus();
+                }
+                if (isClosed.get()) {
+                    res.getValue().release();
+                    return Status.of(StatusCode.CLIENT_CANCELLED);
+                }
+
+                lease = res.getValue();
+                leased = block;
+                available.set(block);
+                return Status.SUCCESS;
+            } finally {
+                isUpdating.set(false);
+            }
+        });
+    }
+
+    private void updateLease(long current, long next) {
+        SemaphoreLease owned = lease;
+        // repeated acquire changes the count of tokens owned by the session, it must never wait in the queue
+        session.acquireSemaphore(semaphoreName, next, null, Duration.ZERO).whenComplete((res, th) -> {
+            if (res != null && res.isSuccess() && !isClosed.get() && lease == owned) {
+                leased = next;
+                available.addAndGet(next - current);
+                logger.trace("rate limiter {} changed block from {} to {} tokens", semaphoreName, current, next);
+            } else {
+                logger.trace("rate limiter {} cannot change block from {} to {} tokens", semaphoreName, current, next);
+            }
+            isUpdating.set(false);
+        });
+    }
+}
@@ -0,0 +1,191 @@
+package tech.ydb.coordination.recipes;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+
+public class RateLimiterSettings {
+    public static final Duration DEFAULT_PERIOD = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_ACQUIRE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final Duration period;
+    private final long minBlockSize;
+    private final long maxBlockSize;
+    private final long initialBlockSize;
+    private final double refillThreshold;
+    private final double smoothingFactor;
+    private final double headroom;
+    private final Duration acquireTimeout;
+    private final ScheduledExecutorService scheduler;
+
+    private RateLimiterSettings(Builder builder) {
+        this.period = builder.period;
+        this.minBlockSize = builder.minBlockSize;
+        this.maxBlockSize = builder.maxBlockSize;
+        this.initialBlockSize = Math.max(builder.minBlockSize, Math.min(builder.maxBlockSize, builder.initialBlock));
+        this.refillThreshold = builder.refillThreshold;
+        this.smoothingFactor = builder.smoothingFactor;
+        this.headroom = builder.headroom;
+        this.acquireTimeout = builder.acquireTimeout;
+        this.scheduler = builder.scheduler;
+    }
+
+    public Duration getPeriod() {
+        return period;
+    }
+
+    public long getMinBlockSize() {
+        return minBlockSize;
+    }
+
+    public long getMaxBlockSize() {
+        return maxBlockSize;
+    }
+
+    public long getInitialBlockSize() {
+        return initialBlockSize;
+    }
+
+    public double getRefillThreshold() {
+        return refillThreshold;
+    }
+
+    public double getSmoothingFactor() {
+        return smoothingFactor;
+    }
+
+    public double getHeadroom() {
+        return headroom;
+    }
+
+    public Duration getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    public ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Duration period = DEFAULT_PERIOD;
+        private long minBlockSize = 1;
+        private long maxBlockSize = Long.MAX_VALUE;
+        private long initialBlock = 1;
+        private double refillThreshold = 0.25d;
+        private double smoothingFactor = 0.5d;
+        private double headroom = 0.2d;
+        private Duration acquireTimeout = DEFAULT_ACQUIRE_TIMEOUT;
+        private ScheduledExecutorService scheduler = null;
+
+        /**
+         * Set the period of the rate limiter. Every instance may spend the count of tokens acquired on the semaphore
+         * once per period, so the limit of the semaphore is the global count of permits per period.
+         *
+         * @param period duration of one period
+         * @return settings builder
+         */
+        public Builder withPeriod(Duration period) {
+            if (period == null || period.isZero() || period.isNegative()) {
+                throw new IllegalArgumentException("Rate limiter period must be positive");
+            }
+            this.period = period;
+            return this;
+        }
+
+        /**
+         * Set the bounds of the count of tokens which one instance can lease from the semaphore. Small blocks give
+         * better global accuracy, big blocks reduce the count of requests to the coordination service.
+         *
+         * @param min minimal count of leased tokens
+         * @param max maximal count of leased tokens
+         * @return settings builder
+         */
+        public Builder withBlockSize(long min, long max) {
+            if (min <= 0 || max < min) {
+                throw new IllegalArgumentException("Invalid block size bounds [" + min + ", " + max + "]");
+            }
+            this.minBlockSize = min;
+            this.maxBlockSize = max;
+            return this;
+        }
+
+        public Builder withInitialBlockSize(long size) {
+            this.initialBlock = size;
+            return this;
+        }
+
+        /**
+         * Set the fraction of the leased block after which the rate limiter starts background refill. Default value
+         * is 0.25
+         *
+         * @param threshold fraction of the block in range [0, 1]
+         * @return settings builder
+         */
+        public Builder withRefillThreshold(double threshold) {
+            if (threshold < 0 || threshold > 1) {
+                throw new IllegalArgumentException("Refill threshold must be in range [0, 1]");
+            }
+            this.refillThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Set the smoothing factor of exponential moving average of the consumption rate. Default value is 0.5
+         *
+         * @param factor weight of the last period in range (0, 1]
+         * @return settings builder
+         */
+        public Builder withSmoothingFactor(double factor) {
+            if (factor <= 0 || factor > 1) {
+                throw new IllegalArgumentException("Smoothing factor must be in range (0, 1]");
+            }
+            this.smoothingFactor = factor;
+            return this;
+        }
+
+        /**
+         * Set the additional fraction of tokens which is leased over the estimated consumption. Default value is 0.2
+         *
+         * @param headroom additional fraction of the block
+         * @return settings builder
+         */
+        public Builder withHeadroom(double headroom) {
+            if (headroom < 0) {
+                throw new IllegalArgumentException("Headroom must not be negative");
+            }
+            this.headroom = headroom;
+            return this;
+        }
+
+        /**
+         * Set the timeout of the initial lease of the semaphore. Background refills never wait in the queue of the
+         * semaphore
+         *
+         * @param timeout timeout of the initial lease
+         * @return settings builder
+         */
+        public Builder withAcquireTimeout(Duration timeout) {
+            this.acquireTimeout = timeout;
+            return this;
+        }
+
+        /**
+         * Set the scheduler for the background tasks. If not set, rate limiter creates its own single thread
+         * scheduler and stops it on close.
+         *
+         * @param scheduler scheduler for the background tasks
+         * @return settings builder
+         */
+        public Builder withScheduler(ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public RateLimiterSettings build() {
+            return new RateLimiterSettings(this);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package tech.ydb.coordination.impl;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import tech.ydb.coordination.CoordinationSession;
+import tech.ydb.coordination.SemaphoreLease;
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+
+public class MultiplexerTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final SessionImpl physical = Mockito.mock(SessionImpl.class);
+    private final SemaphoreLease physicalLease = Mockito.mock(SemaphoreLease.class);
+    private final ScheduledExecutorService scheduler = Mockito.mock(ScheduledExecutorService.class);
+
+    @Before
+    public void setUp() {
+        Mockito.when(physical.connect()).thenReturn(CompletableFuture.completedFuture(Status.SUCCESS));
+        Mockito.when(physical.releaseSemaphore(Mockito.anyString()))
+                .thenReturn(CompletableFuture.completedFuture(Boolean.TRUE));
+        Mockito.when(physical.acquireSemaphore(Mockito.anyString(), Mockito.anyLong(), Mockito.any(), Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(Result.success(physicalLease)));
+    }
+
+    @Test
+    public void localHandoverTest() {
+        MultiplexerImpl mux = new MultiplexerImpl(physical, scheduler);
+        CoordinationSession s1 = mux.createSession();
+        CoordinationSession s2 = mux.createSession();
+
+        Assert.assertEquals(Status.SUCCESS, s1.connect().join());
+        Assert.assertEquals(Status.SUCCESS, s2.connect().join());
+        Mockito.verify(physical, Mockito.times(1)).connect();
+
+        CompletableFuture<Result<SemaphoreLease>> f1 = s1.acquireSemaphore("sem", 1, TIMEOUT);
+        CompletableFuture<Result<SemaphoreLease>> f2 = s2.acquireSemaphore("sem", 1, TIMEOUT);
+
+        Assert.assertTrue(f1.isDone());
+        Assert.assertFalse(f2.isDone());
+        Assert.assertSame(s1, f1.join().getValue().getSession());
+
+        // release of the first lease hands the semaphore over to the second session without requests to server
+        f1.join().getValue().release().join();
+        Assert.assertTrue(f2.isDone());
+        Assert.assertSame(s2, f2.join().getValue().getSession());
+        Mockito.verify(physical, Mockito.times(1))
+                .acquireSemaphore(Mockito.anyString(), Mockito.anyLong(), Mockito.any(), Mockito.any());
+        Mockito.verify(physical, Mockito.never()).releaseSemaphore(Mockito.anyString());
+
+        f2.join().getValue().release().join();
+        Mockito.verify(physical, Mockito.times(1)).releaseSemaphore("sem");
+    }
+
+    @Test
+    public void differentParamsTest() {
+        MultiplexerImpl mux = new MultiplexerImpl(physical, scheduler);
+        CoordinationSession s1 = mux.createSession();
+        CoordinationSession s2 = mux.createSession();
+
+        CompletableFuture<Result<SemaphoreLease>> f1 = s1.acquireSemaphore("sem", 1, TIMEOUT);
+        CompletableFuture<Result<SemaphoreLease>> f2 = s2.acquireSemaphore("sem", 3, TIMEOUT);
+        Assert.assertFalse(f2.isDone());
+
+        // repeated acquire overrides the count of tokens
+        f1.join().getValue().release().join();
+        Assert.assertTrue(f2.join().isSuccess());
+        Mockito.verify(physical).acquireSemaphore(Mockito.eq("sem"), Mockito.eq(3L), Mockito.any(), Mockito.any());
+        Mockito.verify(physical, Mockito.never()).releaseSemaphore(Mockito.anyString());
+    }
+
+    @Test
+    public void stopLogicalSessionTest() {
+        MultiplexerImpl mux = new MultiplexerImpl(physical, scheduler);
+        CoordinationSession s1 = mux.createSession();
+        CoordinationSession s2 = mux.createSession();
+
+        Assert.assertTrue(s1.acquireSemaphore("sem1", 1, TIMEOUT).join().isSuccess());
+        Assert.assertTrue(s2.acquireSemaphore("sem2", 1, TIMEOUT).join().isSuccess());
+        CompletableFuture<Result<SemaphoreLease>> waiting = s1.acquireSemaphore("sem2", 1, TIMEOUT);
+        Assert.assertFalse(waiting.isDone());
+
+        Assert.assertEquals(Status.SUCCESS, s1.stop().join());
+        Assert.assertEquals(CoordinationSession.State.CLOSED, s1.getState());
+        Assert.assertEquals(StatusCode.CLIENT_CANCELLED, waiting.join().getStatus().getCode());
+
+        Mockito.verify(physical).releaseSemaphore("sem1");
+        Mockito.verify(physical, Mockito.never()).releaseSemaphore("sem2");
+        Mockito.verify(physical, Mockito.never()).stop();
+    }
+
+    @Test
+    public void acquireWaitsForReleaseTest() {
+        MultiplexerImpl mux = new MultiplexerImpl(physical, scheduler);
+        CoordinationSession s1 = mux.createSession();
+        CoordinationSession s2 = mux.createSession();
+
+        Assert.assertTrue(s1.acquireSemaphore("sem", 1, TIMEOUT).join().isSuccess());
+
+        CompletableFuture<Boolean> release = new CompletableFuture<>();
+        Mockito.when(physical.releaseSemaphore("sem")).thenReturn(release);
+        CompletableFuture<Result<SemaphoreLease>> lease = s1.acquireSemaphore("sem", 1, TIMEOUT);
+        CompletableFuture<Void> released = lease.join().getValue().release();
+        Assert.assertFalse(released.isDone());
+
+        // new acquire is not sent until the server confirms the release
+        CompletableFuture<Result<SemaphoreLease>> f2 = s2.acquireSemaphore("sem", 1, TIMEOUT);
+        Assert.assertFalse(f2.isDone());
+        Mockito.verify(physical, Mockito.times(2))
+                .acquireSemaphore(Mockito.anyString(), Mockito.anyLong(), Mockito.any(), Mockito.any());
+
+        release.complete(Boolean.TRUE);
+        Assert.assertTrue(released.isDone());
+        Assert.assertTrue(f2.isDone());
+        Assert.assertSame(s2, f2.join().getValue().getSession());
+
+        InOrder order = Mockito.inOrder(physical);
+        order.verify(physical).releaseSemaphore("sem");
+        order.verify(physical).acquireSemaphore(Mockito.eq("sem"), Mockito.anyLong(), Mockito.any(), Mockito.any());
+    }
+}
@@ -0,0 +1,116 @@
+package tech.ydb.coordination.recipes;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import tech.ydb.coordination.CoordinationSession;
+import tech.ydb.coordination.SemaphoreLease;
+import tech.ydb.coordination.description.SemaphoreDescription;
+import tech.ydb.coordination.settings.DescribeSemaphoreMode;
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+
+public class DistributedLockTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final CoordinationSession session = Mockito.mock(CoordinationSession.class);
+    private final SemaphoreLease lease = Mockito.mock(SemaphoreLease.class);
+    private final SemaphoreDescription description = Mockito.mock(SemaphoreDescription.class);
+
+    @Before
+    public void setUp() {
+        Mockito.when(session.getState()).thenReturn(CoordinationSession.State.CONNECTED);
+        Mockito.when(session.createSemaphore("lock", 1, null))
+                .thenReturn(CompletableFuture.completedFuture(Status.of(StatusCode.ALREADY_EXISTS)));
+        Mockito.when(session.acquireSemaphore("lock", 1, null, TIMEOUT))
+                .thenReturn(CompletableFuture.completedFuture(Result.success(lease)));
+        Mockito.when(session.describeSemaphore("lock", DescribeSemaphoreMode.DATA_ONLY))
+                .thenReturn(CompletableFuture.completedFuture(Result.success(description)));
+        Mockito.when(session.updateSemaphore(Mockito.eq("lock"), Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(Status.SUCCESS));
+        Mockito.when(lease.release()).thenReturn(CompletableFuture.completedFuture(null));
+        Mockito.when(description.getData()).thenReturn(FencingToken.encode(41));
+    }
+
+    @Test
+    public void reentrantLockTest() {
+        DistributedLock lock = new DistributedLock(session, "lock");
+
+        Assert.assertEquals(Long.valueOf(42), lock.lock(TIMEOUT).join().getValue());
+        Assert.assertEquals(Long.valueOf(42), lock.lock(TIMEOUT).join().getValue());
+        Assert.assertTrue(lock.isLocked());
+        Assert.assertEquals(2, lock.getHoldCount());
+
+        // second lock doesn't make any requests
+        Mockito.verify(session, Mockito.times(1)).acquireSemaphore("lock", 1, null, TIMEOUT);
+        Mockito.verify(session).updateSemaphore("lock", FencingToken.encode(42));
+
+        Assert.assertFalse(lock.unlock().join());
+        Mockito.verify(lease, Mockito.never()).release();
+        Assert.assertTrue(lock.unlock().join());
+        Mockito.verify(lease).release();
+        Assert.assertFalse(lock.isLocked());
+
+        Assert.assertThrows(IllegalStateException.class, lock::unlock);
+    }
+
+    @Test
+    public void failedAcquireTest() {
+        Mockito.when(session.acquireSemaphore("lock", 1, null, TIMEOUT))
+                .thenReturn(CompletableFuture.completedFuture(Result.fail(Status.of(StatusCode.TIMEOUT))));
+        DistributedLock lock = new DistributedLock(session, "lock");
+
+        Assert.assertEquals(StatusCode.TIMEOUT, lock.lock(TIMEOUT).join().getStatus().getCode());
+        Assert.assertFalse(lock.isLocked());
+        Assert.assertEquals(0, lock.getHoldCount());
+        Mockito.verify(session, Mockito.never()).updateSemaphore(Mockito.anyString(), Mockito.any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void lostSessionTest() {
+        DistributedLock lock = new DistributedLock(session, "lock");
+        Assert.assertEquals(Long.valueOf(42), lock.lock(TIMEOUT).join().getValue());
+
+        ArgumentCaptor<Consumer<CoordinationSession.State>> listener = ArgumentCaptor.forClass(Consumer.class);
+        Mockito.verify(session).addStateListener(listener.capture());
+
+        Mockito.when(session.getState()).thenReturn(CoordinationSession.State.LOST);
+        listener.getValue().accept(CoordinationSession.State.LOST);
+        Assert.assertFalse(lock.isLocked());
+        Assert.assertEquals(0, lock.getHoldCount());
+        Mockito.verify(session).removeStateListener(listener.getValue());
+
+        // lock of the lost session must be acquired again even after reconnect
+        Mockito.when(session.getState()).thenReturn(CoordinationSession.State.RECONNECTED);
+        Mockito.when(description.getData()).thenReturn(FencingToken.encode(42));
+        Assert.assertEquals(Long.valueOf(43), lock.lock(TIMEOUT).join().getValue());
+        Assert.assertTrue(lock.isLocked());
+        Mockito.verify(session, Mockito.times(2)).acquireSemaphore("lock", 1, null, TIMEOUT);
+        Mockito.verify(session, Mockito.times(1)).createSemaphore("lock", 1, null);
+
+        Assert.assertTrue(lock.unlock().join());
+        Mockito.verify(session, Mockito.times(2)).removeStateListener(listener.getValue());
+    }
+
+    @Test
+    public void lostBeforeListenerTest() {
+        DistributedLock lock = new DistributedLock(session, "lock");
+        Mockito.when(session.acquireSemaphore("lock", 1, null, TIMEOUT)).thenAnswer(inv -> {
+            Mockito.when(session.getState()).thenReturn(CoordinationSession.State.LOST);
+            return CompletableFuture.completedFuture(Result.success(lease));
+        });
+
+        Assert.assertEquals(StatusCode.BAD_SESSION, lock.lock(TIMEOUT).join().getStatus().getCode());
+        Assert.assertFalse(lock.isLocked());
+        Assert.assertEquals(0, lock.getHoldCount());
+    }
+}
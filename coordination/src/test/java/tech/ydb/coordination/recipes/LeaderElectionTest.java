@@ -0,0 +1,255 @@
+package tech.ydb.coordination.recipes;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import tech.ydb.coordination.CoordinationSession;
+import tech.ydb.coordination.SemaphoreLease;
+import tech.ydb.coordination.description.SemaphoreChangedEvent;
+import tech.ydb.coordination.description.SemaphoreDescription;
+import tech.ydb.coordination.description.SemaphoreWatcher;
+import tech.ydb.coordination.settings.DescribeSemaphoreMode;
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+
+public class LeaderElectionTest {
+    private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(60);
+    private static final byte[] DATA = new byte[] { 0x01 };
+
+    private final CoordinationSession session = Mockito.mock(CoordinationSession.class);
+    private final SemaphoreLease lease = Mockito.mock(SemaphoreLease.class);
+    private final SemaphoreDescription description = Mockito.mock(SemaphoreDescription.class);
+    private final ScheduledExecutorService scheduler = Mockito.mock(ScheduledExecutorService.class);
+    private final List<Boolean> changes = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() {
+        Mockito.when(session.getState()).thenReturn(CoordinationSession.State.CONNECTED);
+        Mockito.when(session.createSemaphore("leader", 1, null))
+                .thenReturn(CompletableFuture.completedFuture(Status.SUCCESS));
+        Mockito.when(session.watchSemaphore(Mockito.eq("leader"), Mockito.any(), Mockito.any()))
+                .thenReturn(new CompletableFuture<>());
+        Mockito.when(session.acquireSemaphore("leader", 1, DATA, WAIT_TIMEOUT))
+                .thenReturn(CompletableFuture.completedFuture(Result.success(lease)));
+        Mockito.when(session.describeSemaphore("leader", DescribeSemaphoreMode.DATA_ONLY))
+                .thenReturn(CompletableFuture.completedFuture(Result.success(description)));
+        Mockito.when(session.updateSemaphore(Mockito.eq("leader"), Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(Status.SUCCESS));
+        Mockito.when(lease.release()).thenReturn(CompletableFuture.completedFuture(null));
+        Mockito.when(description.getData()).thenReturn(FencingToken.encode(41));
+    }
+
+    private LeaderElection start() {
+        LeaderElection election = new LeaderElection(session, "leader", DATA, scheduler);
+        election.addListener(changes::add);
+        Assert.assertTrue(election.start().join().isSuccess());
+        return election;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Consumer<CoordinationSession.State> stateListener() {
+        ArgumentCaptor<Consumer<CoordinationSession.State>> listener = ArgumentCaptor.forClass(Consumer.class);
+        Mockito.verify(session).addStateListener(listener.capture());
+        return listener.getValue();
+    }
+
+    private void changeState(CoordinationSession.State state) {
+        Mockito.when(session.getState()).thenReturn(state);
+        stateListener().accept(state);
+    }
+
+    @Test
+    public void electedTest() {
+        LeaderElection election = start();
+
+        Assert.assertTrue(election.isLeader());
+        Assert.assertEquals(42, election.getEpoch());
+        Assert.assertEquals(1, changes.size());
+        Assert.assertTrue(changes.get(0));
+
+        Assert.assertTrue(election.stop().join().isSuccess());
+        Assert.assertFalse(election.isLeader());
+        Assert.assertFalse(changes.get(1));
+        Mockito.verify(lease).release();
+        Mockito.verify(session).removeStateListener(stateListener());
+    }
+
+    @Test
+    public void timeoutTest() {
+        Mockito.when(session.acquireSemaphore("leader", 1, DATA, WAIT_TIMEOUT)).thenReturn(
+                CompletableFuture.completedFuture(Result.fail(Status.of(StatusCode.TIMEOUT))),
+                CompletableFuture.completedFuture(Result.success(lease))
+        );
+        LeaderElection election = start();
+
+        // the participant is queued again without delay
+        Assert.assertTrue(election.isLeader());
+        Mockito.verify(session, Mockito.times(2)).acquireSemaphore("leader", 1, DATA, WAIT_TIMEOUT);
+        Mockito.verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    public void retryAfterErrorTest() {
+        Mockito.when(session.acquireSemaphore("leader", 1, DATA, WAIT_TIMEOUT)).thenReturn(
+                CompletableFuture.completedFuture(Result.fail(Status.of(StatusCode.OVERLOADED))),
+                CompletableFuture.completedFuture(Result.success(lease))
+        );
+        LeaderElection election = start();
+        Assert.assertFalse(election.isLeader());
+
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(scheduler).schedule(retry.capture(), Mockito.eq(1000L), Mockito.eq(TimeUnit.MILLISECONDS));
+
+        retry.getValue().run();
+        Assert.assertTrue(election.isLeader());
+        Assert.assertEquals(42, election.getEpoch());
+        Mockito.verify(session, Mockito.times(2)).acquireSemaphore("leader", 1, DATA, WAIT_TIMEOUT);
+    }
+
+    @Test
+    public void epochFailureTest() {
+        Mockito.when(session.updateSemaphore(Mockito.eq("leader"), Mockito.any())).thenReturn(
+                CompletableFuture.completedFuture(Status.of(StatusCode.UNAVAILABLE)),
+                CompletableFuture.completedFuture(Status.SUCCESS)
+        );
+        LeaderElection election = start();
+
+        // semaphore is released and the participant is queued again after delay
+        Assert.assertFalse(election.isLeader());
+        Assert.assertTrue(changes.isEmpty());
+        Mockito.verify(lease).release();
+
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(scheduler).schedule(retry.capture(), Mockito.anyLong(), Mockito.any());
+        retry.getValue().run();
+        Assert.assertTrue(election.isLeader());
+    }
+
+    @Test
+    public void lostSessionTest() {
+        LeaderElection election = start();
+        Assert.assertTrue(election.isLeader());
+
+        changeState(CoordinationSession.State.LOST);
+        Assert.assertFalse(election.isLeader());
+        Assert.assertFalse(changes.get(1));
+
+        // the participant is queued again when the session is recovered
+        Mockito.when(description.getData()).thenReturn(FencingToken.encode(43));
+        changeState(CoordinationSession.State.RECONNECTED);
+        Assert.assertTrue(election.isLeader());
+        Assert.assertEquals(44, election.getEpoch());
+        Assert.assertTrue(changes.get(2));
+        Mockito.verify(session, Mockito.times(2)).acquireSemaphore("leader", 1, DATA, WAIT_TIMEOUT);
+        Mockito.verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    public void lostWhileWaitingTest() {
+        CompletableFuture<Result<SemaphoreLease>> waiting = new CompletableFuture<>();
+        Mockito.when(session.acquireSemaphore("leader", 1, DATA, WAIT_TIMEOUT)).thenReturn(
+                waiting,
+                CompletableFuture.completedFuture(Result.success(lease))
+        );
+        LeaderElection election = start();
+
+        // the waiting request fails with the session, the participant waits for the recovery without retries
+        Mockito.when(session.getState()).thenReturn(CoordinationSession.State.LOST);
+        stateListener().accept(CoordinationSession.State.LOST);
+        waiting.complete(Result.fail(Status.of(StatusCode.BAD_SESSION)));
+        Assert.assertFalse(election.isLeader());
+        Mockito.verifyNoInteractions(scheduler);
+
+        changeState(CoordinationSession.State.RECONNECTING);
+        Mockito.verify(session, Mockito.times(1)).acquireSemaphore("leader", 1, DATA, WAIT_TIMEOUT);
+
+        changeState(CoordinationSession.State.RECONNECTED);
+        Assert.assertTrue(election.isLeader());
+        Mockito.verify(session, Mockito.times(2)).acquireSemaphore("leader", 1, DATA, WAIT_TIMEOUT);
+    }
+
+    @Test
+    public void reconnectWhileWaitingTest() {
+        CompletableFuture<Result<SemaphoreLease>> waiting = new CompletableFuture<>();
+        Mockito.when(session.acquireSemaphore("leader", 1, DATA, WAIT_TIMEOUT)).thenReturn(waiting);
+        LeaderElection election = start();
+
+        // the waiting request survives reconnect, so the participant must not be queued twice
+        changeState(CoordinationSession.State.RECONNECTED);
+        Mockito.verify(session, Mockito.times(1)).acquireSemaphore("leader", 1, DATA, WAIT_TIMEOUT);
+
+        waiting.complete(Result.success(lease));
+        Assert.assertTrue(election.isLeader());
+    }
+
+    @Test
+    public void rewatchAfterReconnectTest() {
+        CompletableFuture<Result<SemaphoreChangedEvent>> firstChanged = new CompletableFuture<>();
+        CompletableFuture<Result<SemaphoreChangedEvent>> secondChanged = new CompletableFuture<>();
+        Mockito.when(session.watchSemaphore(Mockito.eq("leader"), Mockito.any(), Mockito.any())).thenReturn(
+                CompletableFuture.completedFuture(Result.success(new SemaphoreWatcher(description, firstChanged))),
+                CompletableFuture.completedFuture(Result.success(new SemaphoreWatcher(description, secondChanged))),
+                new CompletableFuture<>()
+        );
+        start();
+        Mockito.verify(session, Mockito.times(1)).watchSemaphore(Mockito.eq("leader"), Mockito.any(), Mockito.any());
+
+        changeState(CoordinationSession.State.RECONNECTED);
+        Mockito.verify(session, Mockito.times(2)).watchSemaphore(Mockito.eq("leader"), Mockito.any(), Mockito.any());
+
+        // the watch before reconnect is not re-armed, so the count of watch chains doesn't grow
+        firstChanged.complete(Result.fail(Status.of(StatusCode.BAD_SESSION)));
+        Mockito.verify(session, Mockito.times(2)).watchSemaphore(Mockito.eq("leader"), Mockito.any(), Mockito.any());
+
+        secondChanged.complete(Result.success(Mockito.mock(SemaphoreChangedEvent.class)));
+        Mockito.verify(session, Mockito.times(3)).watchSemaphore(Mockito.eq("leader"), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void stopWhileWaitingTest() {
+        CompletableFuture<Result<SemaphoreLease>> waiting = new CompletableFuture<>();
+        Mockito.when(session.acquireSemaphore("leader", 1, DATA, WAIT_TIMEOUT)).thenReturn(waiting);
+        Mockito.when(session.acquireSemaphore("leader", 1, DATA, Duration.ZERO))
+                .thenReturn(CompletableFuture.completedFuture(Result.fail(Status.of(StatusCode.TIMEOUT))));
+        LeaderElection election = start();
+
+        // the waiting request is replaced by the request without timeout
+        Assert.assertTrue(election.stop().join().isSuccess());
+        Mockito.verify(session).acquireSemaphore("leader", 1, DATA, Duration.ZERO);
+
+        // if the semaphore is acquired anyway, it is released at once
+        waiting.complete(Result.success(lease));
+        Assert.assertFalse(election.isLeader());
+        Assert.assertTrue(changes.isEmpty());
+        Mockito.verify(lease).release();
+        Mockito.verify(session, Mockito.never()).describeSemaphore(Mockito.anyString(), Mockito.any());
+        Mockito.verify(session, Mockito.times(1)).acquireSemaphore("leader", 1, DATA, WAIT_TIMEOUT);
+    }
+
+    @Test
+    public void stopBeforeRetryTest() {
+        Mockito.when(session.acquireSemaphore("leader", 1, DATA, WAIT_TIMEOUT))
+                .thenReturn(CompletableFuture.completedFuture(Result.fail(Status.of(StatusCode.UNAVAILABLE))));
+        LeaderElection election = start();
+
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(scheduler).schedule(retry.capture(), Mockito.anyLong(), Mockito.any());
+
+        Assert.assertTrue(election.stop().join().isSuccess());
+        retry.getValue().run();
+        Mockito.verify(session, Mockito.times(1)).acquireSemaphore("leader", 1, DATA, WAIT_TIMEOUT);
+        Mockito.verify(session, Mockito.never()).acquireSemaphore("leader", 1, DATA, Duration.ZERO);
+    }
+}
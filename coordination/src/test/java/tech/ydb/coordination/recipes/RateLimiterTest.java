@@ -0,0 +1,182 @@
+package tech.ydb.coordination.recipes;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import tech.ydb.coordination.CoordinationSession;
+import tech.ydb.coordination.SemaphoreLease;
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+
+public class RateLimiterTest {
+    private final CoordinationSession session = Mockito.mock(CoordinationSession.class);
+    private final SemaphoreLease lease = Mockito.mock(SemaphoreLease.class);
+    private final ScheduledExecutorService scheduler = Mockito.mock(ScheduledExecutorService.class);
+
+    @Before
+    public void setUp() {
+        Mockito.when(lease.release()).thenReturn(CompletableFuture.completedFuture(null));
+        mockAcquire(Result.success(lease));
+    }
+
+    private void mockAcquire(Result<SemaphoreLease> result) {
+        Mockito.when(session.acquireSemaphore(Mockito.eq("limiter"), Mockito.anyLong(), Mockito.any(),
+                Mockito.any(Duration.class))).thenReturn(CompletableFuture.completedFuture(result));
+    }
+
+    private Runnable capturePeriodTask() {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(scheduler).scheduleAtFixedRate(task.capture(), Mockito.eq(1000L), Mockito.eq(1000L),
+                Mockito.eq(TimeUnit.MILLISECONDS));
+        return task.getValue();
+    }
+
+    private RateLimiter createLimiter() {
+        return new RateLimiter(session, "limiter", RateLimiterSettings.newBuilder()
+                .withBlockSize(1, 16)
+                .withInitialBlockSize(4)
+                .withScheduler(scheduler)
+                .build());
+    }
+
+    @Test
+    public void localAcquireAndRefillTest() {
+        RateLimiter limiter = createLimiter();
+        Assert.assertEquals(Status.SUCCESS, limiter.start().join());
+        Assert.assertEquals(4, limiter.getLeasedCount());
+        Assert.assertEquals(4, limiter.getAvailablePermits());
+
+        Assert.assertTrue(limiter.tryAcquire());
+        Assert.assertTrue(limiter.tryAcquire(2));
+        Mockito.verify(session, Mockito.times(1))
+                .acquireSemaphore(Mockito.eq("limiter"), Mockito.anyLong(), Mockito.any(), Mockito.any());
+
+        // last token triggers background refill
+        Assert.assertTrue(limiter.tryAcquire());
+        Mockito.verify(session).acquireSemaphore("limiter", 8, null, Duration.ZERO);
+        Assert.assertEquals(8, limiter.getLeasedCount());
+        Assert.assertEquals(4, limiter.getAvailablePermits());
+
+        Assert.assertFalse(limiter.tryAcquire(5));
+
+        limiter.close();
+        Mockito.verify(lease).release();
+        Assert.assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    public void blockAdaptationTest() {
+        RateLimiter limiter = createLimiter();
+        Assert.assertEquals(Status.SUCCESS, limiter.start().join());
+        Runnable nextPeriod = capturePeriodTask();
+
+        for (int idx = 0; idx < 4; idx++) {
+            Assert.assertTrue(limiter.tryAcquire());
+        }
+        Assert.assertEquals(8, limiter.getLeasedCount());
+
+        // rate = 0.5 * 4 + 0.5 * 4, block = 4 * 1.2
+        nextPeriod.run();
+        Mockito.verify(session).acquireSemaphore("limiter", 5, null, Duration.ZERO);
+        Assert.assertEquals(4d, limiter.getConsumptionRate(), 1e-6);
+        Assert.assertEquals(5, limiter.getLeasedCount());
+        Assert.assertEquals(5, limiter.getAvailablePermits());
+
+        // no consumption - block is reduced to minimal size
+        nextPeriod.run();
+        nextPeriod.run();
+        nextPeriod.run();
+        Assert.assertEquals(1, limiter.getLeasedCount());
+
+        limiter.close();
+    }
+
+    @Test
+    public void failedRefillTest() {
+        RateLimiter limiter = createLimiter();
+        Assert.assertEquals(Status.SUCCESS, limiter.start().join());
+
+        mockAcquire(Result.fail(Status.of(StatusCode.TIMEOUT)));
+        for (int idx = 0; idx < 4; idx++) {
+            Assert.assertTrue(limiter.tryAcquire());
+        }
+        Assert.assertFalse(limiter.tryAcquire());
+
+        Assert.assertEquals(4, limiter.getLeasedCount());
+        Assert.assertEquals(0, limiter.getAvailablePermits());
+
+        limiter.close();
+    }
+
+    @Test
+    public void failedStartTest() {
+        CompletableFuture<Result<SemaphoreLease>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new RuntimeException("stream is broken"));
+        Mockito.when(session.acquireSemaphore(Mockito.eq("limiter"), Mockito.anyLong(), Mockito.any(),
+                Mockito.any(Duration.class))).thenReturn(failed);
+
+        RateLimiter limiter = createLimiter();
+        Status status = limiter.start().join();
+        Assert.assertEquals(StatusCode.CLIENT_INTERNAL_ERROR, status.getCode());
+        Assert.assertEquals(0, limiter.getLeasedCount());
+
+        // limiter can be started again after failure
+        mockAcquire(Result.success(lease));
+        Assert.assertEquals(Status.SUCCESS, limiter.start().join());
+        Assert.assertEquals(4, limiter.getLeasedCount());
+
+        // refill works after failed start
+        for (int idx = 0; idx < 4; idx++) {
+            Assert.assertTrue(limiter.tryAcquire());
+        }
+        Assert.assertEquals(8, limiter.getLeasedCount());
+
+        limiter.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void lostSessionTest() {
+        RateLimiter limiter = createLimiter();
+        Assert.assertEquals(Status.SUCCESS, limiter.start().join());
+        Runnable nextPeriod = capturePeriodTask();
+
+        ArgumentCaptor<Consumer<CoordinationSession.State>> listener = ArgumentCaptor.forClass(Consumer.class);
+        Mockito.verify(session).addStateListener(listener.capture());
+
+        Assert.assertTrue(limiter.tryAcquire());
+        listener.getValue().accept(CoordinationSession.State.LOST);
+
+        Assert.assertEquals(0, limiter.getLeasedCount());
+        Assert.assertEquals(0, limiter.getAvailablePermits());
+        Assert.assertFalse(limiter.tryAcquire());
+
+        // session is not connected yet, new period doesn't make requests
+        Mockito.when(session.getState()).thenReturn(CoordinationSession.State.RECONNECTING);
+        nextPeriod.run();
+        Mockito.verify(session, Mockito.times(1)).acquireSemaphore(Mockito.eq("limiter"), Mockito.anyLong(),
+                Mockito.any(), Mockito.any());
+        Assert.assertFalse(limiter.tryAcquire());
+
+        // block is leased again after reconnect
+        Mockito.when(session.getState()).thenReturn(CoordinationSession.State.RECONNECTED);
+        listener.getValue().accept(CoordinationSession.State.RECONNECTED);
+        Mockito.verify(session, Mockito.times(2)).acquireSemaphore(Mockito.eq("limiter"), Mockito.eq(4L),
+                Mockito.isNull(), Mockito.any());
+        Assert.assertEquals(4, limiter.getLeasedCount());
+        Assert.assertTrue(limiter.tryAcquire());
+
+        limiter.close();
+        Mockito.verify(session).removeStateListener(listener.getValue());
+    }
+}
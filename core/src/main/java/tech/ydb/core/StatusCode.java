@@ -62,13 +62,17 @@ public enum StatusCode {
     CLIENT_DEADLINE_EXPIRED(INTERNAL_CLIENT_FIRST + 30),
 
     /** Unknown GRPC side client error */
-    CLIENT_GRPC_ERROR(INTERNAL_CLIENT_FIRST + 40);
+    CLIENT_GRPC_ERROR(INTERNAL_CLIENT_FIRST + 40),
+
+    /** Request was not sent to server because it was rejected by client side admission control */
+    CLIENT_REQUEST_REJECTED(INTERNAL_CLIENT_FIRST + 50);
 
     private static final EnumSet<StatusCode> RETRYABLE_STATUSES = EnumSet.of(
             ABORTED,
             UNAVAILABLE,
             OVERLOADED,
             CLIENT_RESOURCE_EXHAUSTED,
+            CLIENT_REQUEST_REJECTED,
             BAD_SESSION,
             SESSION_BUSY
     );
@@ -0,0 +1,117 @@
+package tech.ydb.core.grpc;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Settings of client side admission control of unary calls. The transport tracks the latency of every method and
+ * rejects the requests which remaining deadline is smaller than the expected latency of the method. Also every
+ * endpoint has an adaptive limit of concurrent requests, which is decreased when the latency grows over its
+ * long-term average and increased while the latency is stable. Rejected requests are completed with
+ * {@link tech.ydb.core.StatusCode#CLIENT_REQUEST_REJECTED} without sending to the server.
+ */
+public class AdmissionSettings {
+    private final double latencyQuantile;
+    private final int minLatencySamples;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+
+    private AdmissionSettings(Builder builder) {
+        this.latencyQuantile = builder.latencyQuantile;
+        this.minLatencySamples = builder.minLatencySamples;
+        this.initialLimit = builder.initialLimit;
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static AdmissionSettings defaultInstance() {
+        return new Builder().build();
+    }
+
+    public double getLatencyQuantile() {
+        return latencyQuantile;
+    }
+
+    public int getMinLatencySamples() {
+        return minLatencySamples;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    @Override
+    public String toString() {
+        return "AdmissionSettings{latencyQuantile=" + latencyQuantile + ", minLatencySamples=" + minLatencySamples +
+                ", initialLimit=" + initialLimit + ", minLimit=" + minLimit + ", maxLimit=" + maxLimit + "}";
+    }
+
+    public static final class Builder {
+        private double latencyQuantile = 0.5;
+        private int minLatencySamples = 20;
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 1000;
+
+        /**
+         * Set quantile of the method latency which is used as the expected duration of the request. The request is
+         * rejected if its remaining deadline is smaller than this value. Default value is 0.5 (median)
+         *
+         * @param quantile quantile of the latency, must be in range (0, 1)
+         * @return this builder instance
+         */
+        public Builder withLatencyQuantile(double quantile) {
+            Preconditions.checkArgument(quantile > 0 && quantile < 1, "quantile(%s) must be in range (0, 1)",
+                    quantile);
+            this.latencyQuantile = quantile;
+            return this;
+        }
+
+        /**
+         * Set minimal count of completed requests of the method before its requests can be rejected by the
+         * deadline. Default value is 20
+         *
+         * @param count count of samples
+         * @return this builder instance
+         */
+        public Builder withMinLatencySamples(int count) {
+            Preconditions.checkArgument(count > 0, "count(%s) must be positive", count);
+            this.minLatencySamples = count;
+            return this;
+        }
+
+        /**
+         * Set bounds of the adaptive limit of concurrent requests to one endpoint.
+         *
+         * @param initial initial limit of the new endpoint
+         * @param min minimal value of the limit
+         * @param max maximal value of the limit
+         * @return this builder instance
+         */
+        public Builder withConcurrencyLimit(int initial, int min, int max) {
+            Preconditions.checkArgument(min > 0, "min limit(%s) must be positive", min);
+            Preconditions.checkArgument(min <= initial && initial <= max,
+                    "initial limit(%s) must be in range [%s, %s]", initial, min, max);
+            this.initialLimit = initial;
+            this.minLimit = min;
+            this.maxLimit = max;
+            return this;
+        }
+
+        public AdmissionSettings build() {
+            return new AdmissionSettings(this);
+        }
+    }
+}
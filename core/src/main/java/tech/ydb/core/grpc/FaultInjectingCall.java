@@ -0,0 +1,284 @@
+package tech.ydb.core.grpc;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.Message;
+import io.grpc.Attributes;
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.Deadline;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tech.ydb.core.StatusCode;
+import tech.ydb.proto.OperationProtos;
+import tech.ydb.proto.StatusCodesProtos.StatusIds;
+
+/**
+ * Client call with injected faults. Events of the original call are held back until the injected latency expires
+ * and then are delivered to the listener in the original order. Failed calls are not sent to the server at all.
+ * @param <ReqT> type of call request
+ * @param <RespT> type of call response
+ */
+class FaultInjectingCall<ReqT, RespT> extends ClientCall<ReqT, RespT> {
+    private static final Logger logger = LoggerFactory.getLogger(FaultInjectingCall.class);
+
+    private final MethodDescriptor<ReqT, RespT> method;
+    private final Executor callExecutor;
+    private final Deadline deadline;
+    private final ScheduledExecutorService scheduler;
+    private final ClientCall<ReqT, RespT> delegate; // null if the call is failed by injector
+    private final long latencyNanos;
+    private final io.grpc.Status transportError;
+    private final StatusCode error;
+    private final long lifetimeNanos;
+
+    private final Queue<Runnable> events = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile ClientCall.Listener<RespT> listener = null;
+    private volatile boolean isReleased = false;
+    private volatile boolean isAborted = false;
+    // accessed only by the drain loop
+    private boolean isClosed = false;
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    FaultInjectingCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions,
+            ScheduledExecutorService scheduler, ClientCall<ReqT, RespT> delegate, long latencyNanos,
+            io.grpc.Status transportError, StatusCode error, long lifetimeNanos) {
+        this.method = method;
+        this.callExecutor = callOptions.getExecutor() != null ? callOptions.getExecutor()
+                : MoreExecutors.directExecutor();
+        this.deadline = callOptions.getDeadline();
+        this.scheduler = scheduler;
+        this.delegate = delegate;
+        this.latencyNanos = latencyNanos;
+        this.transportError = transportError;
+        this.error = error;
+        this.lifetimeNanos = lifetimeNanos;
+    }
+
+    @Override
+    public void start(ClientCall.Listener<RespT> responseListener, Metadata headers) {
+        this.listener = responseListener;
+
+        // failed calls are always completed asynchronously, like the real calls
+        if (latencyNanos > 0 || delegate == null) {
+            schedule(this::release, latencyNanos);
+        } else {
+            isReleased = true;
+        }
+
+        long deadlineNanos = deadline != null ? deadline.timeRemaining(TimeUnit.NANOSECONDS) : Long.MAX_VALUE;
+        if (deadlineNanos < latencyNanos) {
+            schedule(() -> abort(io.grpc.Status.DEADLINE_EXCEEDED
+                    .withDescription("Deadline exceeded because of injected latency")), deadlineNanos);
+        }
+
+        if (delegate == null) {
+            RespT response = error != null ? createErrorResponse(method, error) : null;
+            if (response != null) {
+                submit(() -> listener.onHeaders(new Metadata()));
+                submit(() -> listener.onMessage(response));
+                submit(() -> closeListener(io.grpc.Status.OK));
+            } else {
+                io.grpc.Status status = transportError != null ? transportError : io.grpc.Status.UNAVAILABLE
+                        .withDescription("Injected error " + error);
+                submit(() -> closeListener(status));
+            }
+            return;
+        }
+
+        if (lifetimeNanos >= 0) {
+            schedule(() -> abort(io.grpc.Status.UNAVAILABLE.withDescription("Injected stream disconnect")),
+                    lifetimeNanos);
+        }
+        delegate.start(new DelegateListener(), headers);
+    }
+
+    @Override
+    public void request(int numMessages) {
+        if (delegate != null) {
+            delegate.request(numMessages);
+        }
+    }
+
+    @Override
+    public void cancel(String message, Throwable cause) {
+        abort(io.grpc.Status.CANCELLED.withDescription(message).withCause(cause));
+    }
+
+    @Override
+    public void halfClose() {
+        if (delegate != null) {
+            delegate.halfClose();
+        }
+    }
+
+    @Override
+    public void sendMessage(ReqT message) {
+        if (delegate != null) {
+            delegate.sendMessage(message);
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return delegate != null && delegate.isReady();
+    }
+
+    @Override
+    public void setMessageCompression(boolean enabled) {
+        if (delegate != null) {
+            delegate.setMessageCompression(enabled);
+        }
+    }
+
+    @Override
+    public Attributes getAttributes() {
+        return delegate != null ? delegate.getAttributes() : Attributes.EMPTY;
+    }
+
+    private void schedule(Runnable action, long delayNanos) {
+        scheduler.schedule(action, Math.max(delayNanos, 0), TimeUnit.NANOSECONDS);
+    }
+
+    private void release() {
+        isReleased = true;
+        callExecutor.execute(this::drain);
+    }
+
+    private void abort(io.grpc.Status status) {
+        if (isAborted) {
+            return;
+        }
+        isAborted = true;
+
+        if (delegate != null) {
+            delegate.cancel(status.getDescription(), status.getCause());
+        }
+        if (listener == null) { // call was not started
+            return;
+        }
+
+        isReleased = true;
+        events.add(() -> closeListener(status));
+        callExecutor.execute(this::drain);
+    }
+
+    private void submit(Runnable event) {
+        // after abort only the abort event is delivered
+        events.add(() -> {
+            if (!isAborted) {
+                event.run();
+            }
+        });
+        drain();
+    }
+
+    private void drain() {
+        if (!isReleased || wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            Runnable event = events.poll();
+            while (event != null) {
+                try {
+                    event.run();
+                } catch (RuntimeException ex) {
+                    logger.warn("call listener of {} has thrown exception", method.getFullMethodName(), ex);
+                }
+                event = events.poll();
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void closeListener(io.grpc.Status status) {
+        if (!isClosed) {
+            isClosed = true;
+            listener.onClose(status, new Metadata());
+        }
+    }
+
+    /**
+     * Creates the response with the given status for methods which responses have the field {@code status} or the
+     * field {@code operation}
+     */
+    @SuppressWarnings("unchecked")
+    static <RespT> RespT createErrorResponse(MethodDescriptor<?, RespT> method, StatusCode code) {
+        MethodDescriptor.Marshaller<RespT> marshaller = method.getResponseMarshaller();
+        if (!(marshaller instanceof MethodDescriptor.PrototypeMarshaller)) {
+            return null;
+        }
+        Object prototype = ((MethodDescriptor.PrototypeMarshaller<RespT>) marshaller).getMessagePrototype();
+        if (!(prototype instanceof Message)) {
+            return null;
+        }
+
+        Message.Builder builder = ((Message) prototype).newBuilderForType();
+        Descriptors.Descriptor type = builder.getDescriptorForType();
+
+        Descriptors.FieldDescriptor status = type.findFieldByName("status");
+        if (status != null && status.getJavaType() == Descriptors.FieldDescriptor.JavaType.ENUM) {
+            Descriptors.EnumValueDescriptor value = status.getEnumType().findValueByNumber(code.getCode());
+            if (value == null) {
+                return null;
+            }
+            return (RespT) builder.setField(status, value).build();
+        }
+
+        Descriptors.FieldDescriptor operation = type.findFieldByName("operation");
+        if (operation != null && operation.getJavaType() == Descriptors.FieldDescriptor.JavaType.MESSAGE
+                && operation.getMessageType().equals(OperationProtos.Operation.getDescriptor())) {
+            StatusIds.StatusCode value = StatusIds.StatusCode.forNumber(code.getCode());
+            if (value == null) {
+                return null;
+            }
+            OperationProtos.Operation op = OperationProtos.Operation.newBuilder()
+                    .setReady(true)
+                    .setStatus(value)
+                    .build();
+            return (RespT) builder.setField(operation, op).build();
+        }
+
+        return null;
+    }
+
+    private class DelegateListener extends ClientCall.Listener<RespT> {
+        @Override
+        public void onHeaders(Metadata headers) {
+            submit(() -> listener.onHeaders(headers));
+        }
+
+        @Override
+        public void onMessage(RespT message) {
+            submit(() -> listener.onMessage(message));
+        }
+
+        @Override
+        public void onReady() {
+            submit(() -> listener.onReady());
+        }
+
+        @Override
+        public void onClose(io.grpc.Status status, Metadata trailers) {
+            submit(() -> {
+                if (!isClosed) {
+                    isClosed = true;
+                    listener.onClose(status, trailers);
+                }
+            });
+        }
+    }
+}
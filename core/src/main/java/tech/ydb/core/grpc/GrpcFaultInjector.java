@@ -0,0 +1,198 @@
+package tech.ydb.core.grpc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.google.common.base.Preconditions;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.MethodDescriptor;
+
+import tech.ydb.core.StatusCode;
+
+/**
+ * Client interceptor which injects latency, errors and stream disconnects into gRPC calls, it is intended for
+ * testing of timeouts, retries and balancing without a real cluster. The injector is installed to every channel of
+ * the transport by {@link GrpcTransportBuilder#addChannelInitializer}:
+ * <pre>{@code
+ * GrpcFaultInjector injector = GrpcFaultInjector.newBuilder(42)
+ *         .addRule(GrpcFaultRule.newBuilder()
+ *                 .forMethod("Ydb.Query.V1.QueryService")
+ *                 .withLatency(Duration.ofMillis(5), Duration.ofMillis(20))
+ *                 .withErrorRate(0.05, StatusCode.OVERLOADED)
+ *                 .build())
+ *         .build();
+ * GrpcTransport transport = GrpcTransport.forConnectionString(connectionString)
+ *         .addChannelInitializer(injector)
+ *         .build();
+ * }</pre>
+ * Every call uses the first matching rule, calls without matching rules are not changed. All random decisions are
+ * taken from one generator with the given seed, so the same sequence of calls gets the same faults.
+ */
+public class GrpcFaultInjector implements ClientInterceptor, Consumer<ManagedChannelBuilder<?>>, AutoCloseable {
+    private final List<GrpcFaultRule> rules;
+    private final Random random;
+    private final ScheduledExecutorService scheduler;
+    private final boolean isSchedulerOwner;
+
+    private final AtomicLong callsCount = new AtomicLong();
+    private final AtomicLong delayedCount = new AtomicLong();
+    private final AtomicLong errorsCount = new AtomicLong();
+    private final AtomicLong disconnectsCount = new AtomicLong();
+
+    private GrpcFaultInjector(Builder builder) {
+        this.rules = Collections.unmodifiableList(new ArrayList<>(builder.rules));
+        this.random = new Random(builder.seed);
+        this.isSchedulerOwner = builder.scheduler == null;
+        this.scheduler = isSchedulerOwner ? createScheduler() : builder.scheduler;
+    }
+
+    private static ScheduledExecutorService createScheduler() {
+        int threads = Math.max(Runtime.getRuntime().availableProcessors() / 2, 2);
+        return Executors.newScheduledThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "ydb-fault-injector");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static Builder newBuilder(long seed) {
+        return new Builder(seed);
+    }
+
+    /**
+     * @return count of calls which have matched any rule
+     */
+    public long getCallsCount() {
+        return callsCount.get();
+    }
+
+    /**
+     * @return count of calls with injected latency
+     */
+    public long getDelayedCallsCount() {
+        return delayedCount.get();
+    }
+
+    /**
+     * @return count of calls with injected server or transport errors
+     */
+    public long getErrorsCount() {
+        return errorsCount.get();
+    }
+
+    /**
+     * @return count of streams with injected disconnects
+     */
+    public long getDisconnectsCount() {
+        return disconnectsCount.get();
+    }
+
+    @Override
+    public void accept(ManagedChannelBuilder<?> channelBuilder) {
+        channelBuilder.intercept(this);
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+            CallOptions callOptions, Channel next) {
+        GrpcFaultRule rule = findRule(method.getFullMethodName(), next.authority());
+        if (rule == null) {
+            return next.newCall(method, callOptions);
+        }
+
+        boolean isStream = method.getType() != MethodDescriptor.MethodType.UNARY;
+        long latencyNanos;
+        io.grpc.Status transportError;
+        StatusCode error;
+        long lifetimeNanos;
+        synchronized (random) {
+            latencyNanos = rule.nextLatencyNanos(random);
+            transportError = rule.nextTransportError(random);
+            error = transportError == null ? rule.nextError(random) : null;
+            lifetimeNanos = isStream ? rule.nextStreamLifetimeNanos(random) : -1;
+        }
+
+        callsCount.incrementAndGet();
+        if (latencyNanos > 0) {
+            delayedCount.incrementAndGet();
+        }
+
+        if (transportError != null || error != null) {
+            errorsCount.incrementAndGet();
+            return new FaultInjectingCall<>(method, callOptions, scheduler, null, latencyNanos, transportError, error,
+                    -1);
+        }
+
+        if (lifetimeNanos >= 0) {
+            disconnectsCount.incrementAndGet();
+        }
+        ClientCall<ReqT, RespT> delegate = next.newCall(method, callOptions);
+        return new FaultInjectingCall<>(method, callOptions, scheduler, delegate, latencyNanos, null, null,
+                lifetimeNanos);
+    }
+
+    private GrpcFaultRule findRule(String fullMethodName, String authority) {
+        for (GrpcFaultRule rule: rules) {
+            if (rule.matches(fullMethodName, authority)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        if (isSchedulerOwner) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public static final class Builder {
+        private final long seed;
+        private final List<GrpcFaultRule> rules = new ArrayList<>();
+        private ScheduledExecutorService scheduler = null;
+
+        private Builder(long seed) {
+            this.seed = seed;
+        }
+
+        /**
+         * Add the rule of faults. Rules are checked in the order of adding.
+         *
+         * @param rule rule of faults
+         * @return this builder instance
+         */
+        public Builder addRule(GrpcFaultRule rule) {
+            Preconditions.checkArgument(rule != null, "rule must be not null");
+            this.rules.add(rule);
+            return this;
+        }
+
+        /**
+         * Set scheduler for delayed responses and disconnects. By default the injector creates its own scheduler,
+         * which is stopped by {@link GrpcFaultInjector#close()}.
+         *
+         * @param scheduler scheduler of delayed actions
+         * @return this builder instance
+         */
+        public Builder withScheduler(ScheduledExecutorService scheduler) {
+            Preconditions.checkArgument(scheduler != null, "scheduler must be not null");
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public GrpcFaultInjector build() {
+            return new GrpcFaultInjector(this);
+        }
+    }
+}
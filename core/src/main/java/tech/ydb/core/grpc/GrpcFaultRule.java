@@ -0,0 +1,232 @@
+package tech.ydb.core.grpc;
+
+import java.time.Duration;
+import java.util.Random;
+
+import com.google.common.base.Preconditions;
+
+import tech.ydb.core.StatusCode;
+import tech.ydb.proto.StatusCodesProtos.StatusIds;
+
+/**
+ * Description of faults which {@link GrpcFaultInjector} injects into the matching calls. A rule may be limited by
+ * the method and by the endpoint, a rule without limits matches every call.
+ */
+public class GrpcFaultRule {
+    private final String method;
+    private final String endpoint;
+
+    private final long minLatencyNanos;
+    private final long maxLatencyNanos;
+    private final double latencySpikeRate;
+    private final long latencySpikeNanos;
+
+    private final double errorRate;
+    private final StatusCode errorCode;
+    private final double transportErrorRate;
+    private final io.grpc.Status.Code transportErrorCode;
+
+    private final double disconnectRate;
+    private final long maxStreamLifetimeNanos;
+
+    private GrpcFaultRule(Builder builder) {
+        this.method = builder.method;
+        this.endpoint = builder.endpoint;
+        this.minLatencyNanos = builder.minLatency.toNanos();
+        this.maxLatencyNanos = builder.maxLatency.toNanos();
+        this.latencySpikeRate = builder.latencySpikeRate;
+        this.latencySpikeNanos = builder.latencySpike.toNanos();
+        this.errorRate = builder.errorRate;
+        this.errorCode = builder.errorCode;
+        this.transportErrorRate = builder.transportErrorRate;
+        this.transportErrorCode = builder.transportErrorCode;
+        this.disconnectRate = builder.disconnectRate;
+        this.maxStreamLifetimeNanos = builder.maxStreamLifetime.toNanos();
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    boolean matches(String fullMethodName, String authority) {
+        if (method != null && !method.equals(fullMethodName) && !fullMethodName.startsWith(method + "/")) {
+            return false;
+        }
+        return endpoint == null || endpoint.equals(authority);
+    }
+
+    long nextLatencyNanos(Random rnd) {
+        long latency = minLatencyNanos;
+        if (maxLatencyNanos > minLatencyNanos) {
+            latency += (long) (rnd.nextDouble() * (maxLatencyNanos - minLatencyNanos));
+        }
+        if (latencySpikeRate > 0 && rnd.nextDouble() < latencySpikeRate) {
+            latency += latencySpikeNanos;
+        }
+        return latency;
+    }
+
+    io.grpc.Status nextTransportError(Random rnd) {
+        if (transportErrorRate > 0 && rnd.nextDouble() < transportErrorRate) {
+            return io.grpc.Status.fromCode(transportErrorCode).withDescription("Injected transport error");
+        }
+        return null;
+    }
+
+    StatusCode nextError(Random rnd) {
+        if (errorRate > 0 && rnd.nextDouble() < errorRate) {
+            return errorCode;
+        }
+        return null;
+    }
+
+    long nextStreamLifetimeNanos(Random rnd) {
+        if (disconnectRate > 0 && rnd.nextDouble() < disconnectRate) {
+            return (long) (rnd.nextDouble() * maxStreamLifetimeNanos);
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "GrpcFaultRule{method=" + method + ", endpoint=" + endpoint + "}";
+    }
+
+    public static final class Builder {
+        private String method = null;
+        private String endpoint = null;
+        private Duration minLatency = Duration.ZERO;
+        private Duration maxLatency = Duration.ZERO;
+        private double latencySpikeRate = 0;
+        private Duration latencySpike = Duration.ZERO;
+        private double errorRate = 0;
+        private StatusCode errorCode = StatusCode.OVERLOADED;
+        private double transportErrorRate = 0;
+        private io.grpc.Status.Code transportErrorCode = io.grpc.Status.Code.UNAVAILABLE;
+        private double disconnectRate = 0;
+        private Duration maxStreamLifetime = Duration.ZERO;
+
+        private Builder() { }
+
+        /**
+         * Limit the rule by the method. The method may be specified by the full name like
+         * {@code Ydb.Table.V1.TableService/ExecuteDataQuery} or by the service name like
+         * {@code Ydb.Table.V1.TableService} to match all methods of the service. By default the rule matches all
+         * methods.
+         *
+         * @param fullName full name of the method or the name of the service
+         * @return this builder instance
+         */
+        public Builder forMethod(String fullName) {
+            Preconditions.checkArgument(fullName != null && !fullName.isEmpty(), "method must be not empty");
+            this.method = fullName;
+            return this;
+        }
+
+        /**
+         * Limit the rule by the endpoint. By default the rule matches all endpoints.
+         *
+         * @param hostAndPort authority of the endpoint in the form {@code host:port}
+         * @return this builder instance
+         */
+        public Builder forEndpoint(String hostAndPort) {
+            Preconditions.checkArgument(hostAndPort != null && !hostAndPort.isEmpty(), "endpoint must be not empty");
+            this.endpoint = hostAndPort;
+            return this;
+        }
+
+        /**
+         * Set additional latency of the responses. The latency of every call is a random value uniformly distributed
+         * in range [min, max). The latency is counted from the start of the call and the responses received earlier
+         * are held back, if the call has a deadline that expires before the latency, it is completed with
+         * {@code DEADLINE_EXCEEDED}.
+         *
+         * @param min minimal additional latency
+         * @param max maximal additional latency
+         * @return this builder instance
+         */
+        public Builder withLatency(Duration min, Duration max) {
+            Preconditions.checkArgument(min != null && !min.isNegative(), "min latency must be non-negative");
+            Preconditions.checkArgument(max != null && max.compareTo(min) >= 0,
+                    "max latency(%s) must be not less than min latency(%s)", max, min);
+            this.minLatency = min;
+            this.maxLatency = max;
+            return this;
+        }
+
+        /**
+         * Set rare long delays of the responses, like the delays of an overloaded or a swapping node. A spike is
+         * added to the latency configured by {@link #withLatency(Duration, Duration)}.
+         *
+         * @param rate probability of the spike, value in range [0, 1]
+         * @param spike additional latency of the call with the spike
+         * @return this builder instance
+         */
+        public Builder withLatencySpikes(double rate, Duration spike) {
+            Preconditions.checkArgument(rate >= 0 && rate <= 1, "spike rate(%s) must be in range [0, 1]", rate);
+            Preconditions.checkArgument(spike != null && !spike.isNegative(), "spike must be non-negative");
+            this.latencySpikeRate = rate;
+            this.latencySpike = spike;
+            return this;
+        }
+
+        /**
+         * Set probability of the server errors. The failed call is not sent to the server, the client gets the
+         * response with the given status code, as if the server has returned it. Only the methods which responses
+         * have a status or an operation support such errors, other methods get the transport error
+         * {@code UNAVAILABLE} instead.
+         *
+         * @param rate probability of the error, value in range [0, 1]
+         * @param code status code of the injected errors, must be a server status code like
+         * {@link StatusCode#OVERLOADED}
+         * @return this builder instance
+         */
+        public Builder withErrorRate(double rate, StatusCode code) {
+            Preconditions.checkArgument(rate >= 0 && rate <= 1, "error rate(%s) must be in range [0, 1]", rate);
+            Preconditions.checkArgument(code != null && code != StatusCode.SUCCESS
+                    && StatusIds.StatusCode.forNumber(code.getCode()) != null,
+                    "error code must be a server status code, but got %s", code);
+            this.errorRate = rate;
+            this.errorCode = code;
+            return this;
+        }
+
+        /**
+         * Set probability of the transport errors, like a lost connection. The failed call is not sent to the server
+         * and is completed with the given gRPC status.
+         *
+         * @param rate probability of the error, value in range [0, 1]
+         * @param code gRPC code of the injected errors
+         * @return this builder instance
+         */
+        public Builder withTransportErrorRate(double rate, io.grpc.Status.Code code) {
+            Preconditions.checkArgument(rate >= 0 && rate <= 1, "error rate(%s) must be in range [0, 1]", rate);
+            Preconditions.checkArgument(code != null && code != io.grpc.Status.Code.OK,
+                    "transport error code must be not OK");
+            this.transportErrorRate = rate;
+            this.transportErrorCode = code;
+            return this;
+        }
+
+        /**
+         * Set probability of the disconnects of streaming calls. The disconnected stream is cancelled and the client
+         * gets the transport error {@code UNAVAILABLE} after a random time in range [0, maxLifetime).
+         *
+         * @param rate probability of the stream disconnect, value in range [0, 1]
+         * @param maxLifetime maximal lifetime of the disconnected stream
+         * @return this builder instance
+         */
+        public Builder withStreamDisconnects(double rate, Duration maxLifetime) {
+            Preconditions.checkArgument(rate >= 0 && rate <= 1, "disconnect rate(%s) must be in range [0, 1]", rate);
+            Preconditions.checkArgument(maxLifetime != null && !maxLifetime.isNegative(),
+                    "max lifetime must be non-negative");
+            this.disconnectRate = rate;
+            this.maxStreamLifetime = maxLifetime;
+            return this;
+        }
+
+        public GrpcFaultRule build() {
+            return new GrpcFaultRule(this);
+        }
+    }
+}
@@ -26,6 +26,7 @@ import tech.ydb.core.impl.YdbTransportImpl;
 import tech.ydb.core.impl.auth.GrpcAuthRpc;
 import tech.ydb.core.impl.pool.ChannelFactoryLoader;
 import tech.ydb.core.impl.pool.ManagedChannelFactory;
+import tech.ydb.core.metrics.Meter;
 import tech.ydb.core.tracing.NoopTracer;
 import tech.ydb.core.tracing.Tracer;
 import tech.ydb.core.utils.Version;
@@ -90,6 +91,8 @@ public class GrpcTransportBuilder {
     private GrpcCompression compression = GrpcCompression.NO_COMPRESSION;
     private InitMode initMode = InitMode.SYNC;
     private Tracer tracer = NoopTracer.getInstance();
+    private Meter meter = Meter.NOOP;
+    private AdmissionSettings admissionSettings = null;
 
     /**
      * can cause leaks https://github.com/grpc/grpc-java/issues/9340
@@ -201,6 +204,14 @@ public class GrpcTransportBuilder {
         return tracer;
     }
 
+    public Meter getMeter() {
+        return meter;
+    }
+
+    public AdmissionSettings getAdmissionSettings() {
+        return admissionSettings;
+    }
+
     public ManagedChannelFactory getManagedChannelFactory() {
         if (channelFactoryBuilder == null) {
             channelFactoryBuilder = ChannelFactoryLoader.load();
@@ -390,6 +401,18 @@ public class GrpcTransportBuilder {
         return this;
     }
 
+    /**
+     * Runs callbacks of gRPC calls on virtual threads instead of the transport threads. Requires JDK 21 or newer.
+     *
+     * @return this builder instance
+     * @throws UnsupportedOperationException if the current JVM doesn't support virtual threads
+     * @see YdbSchedulerFactory#createVirtualThreadExecutor()
+     */
+    public GrpcTransportBuilder withVirtualThreadCallExecutor() {
+        this.callExecutor = YdbSchedulerFactory.createVirtualThreadExecutor();
+        return this;
+    }
+
     public GrpcTransportBuilder withGrpcRetry(boolean enabled) {
         this.grpcRetry = enabled;
         return this;
@@ -429,6 +452,31 @@ public class GrpcTransportBuilder {
         return this;
     }
 
+    /**
+     * Enables client side metrics of gRPC calls: latency, setup time by phase, calls in progress, sent and received
+     * bytes and completed calls by status. All metrics have attributes with the called method and the endpoint.
+     *
+     * @param meter metrics implementation
+     * @return this builder instance
+     */
+    public GrpcTransportBuilder withMeter(Meter meter) {
+        this.meter = Objects.requireNonNull(meter, "meter is null");
+        return this;
+    }
+
+    /**
+     * Enables client side admission control of unary calls. Requests which cannot be completed before their deadline
+     * and requests over the adaptive concurrency limit of the endpoint are rejected without sending to the server.
+     * See {@link AdmissionSettings} for details
+     *
+     * @param settings settings of admission control
+     * @return this builder instance
+     */
+    public GrpcTransportBuilder withAdmissionControl(AdmissionSettings settings) {
+        this.admissionSettings = Objects.requireNonNull(settings, "admission settings is null");
+        return this;
+    }
+
     /**
      * Appends an extra build info string to the SDK build info reported to the server via the
      * {@code x-ydb-sdk-build-info} header. The provided value is concatenated to the existing build info using
@@ -2,6 +2,7 @@ package tech.ydb.core.impl;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -30,7 +31,9 @@ import tech.ydb.core.grpc.GrpcTransport;
 import tech.ydb.core.grpc.GrpcTransportBuilder;
 import tech.ydb.core.grpc.YdbHeaders;
 import tech.ydb.core.impl.auth.AuthCallOptions;
+import tech.ydb.core.impl.call.AdmissionController;
 import tech.ydb.core.impl.call.EmptyStream;
+import tech.ydb.core.impl.call.GrpcCallMetrics;
 import tech.ydb.core.impl.call.GrpcStatusHandler;
 import tech.ydb.core.impl.call.ReadStreamCall;
 import tech.ydb.core.impl.call.ReadWriteStreamCall;
@@ -56,13 +59,19 @@ public abstract class BaseGrpcTransport implements GrpcTransport {
     private final AtomicBoolean isClosed = new AtomicBoolean(false);
 
     protected final EndpointRecord serverEndpoint;
+    private final GrpcCallMetrics callMetrics; // null if metrics are disabled
+    private final AdmissionController admission; // null if admission control is disabled
 
     protected BaseGrpcTransport(GrpcTransportBuilder builder) {
         this.serverEndpoint = getDiscoveryEndpoint(builder);
+        this.callMetrics = GrpcCallMetrics.create(builder.getMeter());
+        this.admission = AdmissionController.create(builder.getAdmissionSettings(), builder.getMeter());
     }
 
     protected BaseGrpcTransport(EndpointRecord serverEndpoint) {
         this.serverEndpoint = serverEndpoint;
+        this.callMetrics = null;
+        this.admission = null;
     }
 
     protected abstract AuthCallOptions getAuthCallOptions();
@@ -77,6 +86,21 @@ public abstract class BaseGrpcTransport implements GrpcTransport {
         // nothing to shutdown
     }
 
+    /**
+     * Drops the per endpoint state of the transport for the endpoints which have left the pool
+     * @param removed removed endpoints
+     */
+    protected void onEndpointsRemoved(Collection<EndpointRecord> removed) {
+        for (EndpointRecord endpoint : removed) {
+            if (callMetrics != null) {
+                callMetrics.removeEndpoint(endpoint.getHostAndPort());
+            }
+            if (admission != null) {
+                admission.removeEndpoint(endpoint.getHostAndPort());
+            }
+        }
+    }
+
     @Override
     public void close() {
         if (isClosed.compareAndSet(false, true)) {
@@ -117,6 +141,7 @@ public abstract class BaseGrpcTransport implements GrpcTransport {
 
         String traceId = settings.getTraceId();
         try {
+            long startedAt = System.nanoTime();
             GrpcChannel channel = getChannel(settings);
             EndpointRecord endpoint = channel.getEndpoint();
             CallOptions options = prepareCallOptions(settings);
@@ -124,14 +149,40 @@ public abstract class BaseGrpcTransport implements GrpcTransport {
                 return CompletableFuture.completedFuture(deadlineExpiredResult(method, settings));
             }
 
-            ClientCall<ReqT, RespT> call = channel.getReadyChannel().newCall(method, options);
+            // rejected requests must be cheap, so the admission is checked before the creation of the call
+            AdmissionController.Permit permit = null;
+            if (admission != null) {
+                Result<AdmissionController.Permit> admitted = admission.admit(
+                        method, endpoint.getHostAndPort(), options.getDeadline());
+                if (!admitted.isSuccess()) {
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("UnaryCall[{}] rejected with {}", traceId, admitted.getStatus());
+                    }
+                    return CompletableFuture.completedFuture(Result.fail(admitted.getStatus()));
+                }
+                permit = admitted.getValue();
+            }
+
+            ClientCall<ReqT, RespT> call;
+            Metadata metadata;
+            try {
+                call = newCall(channel, method, options, startedAt);
+                metadata = makeMetadataFromSettings(method, settings, endpoint);
+            } catch (RuntimeException ex) {
+                if (permit != null) {
+                    permit.cancel();
+                }
+                throw ex;
+            }
+            if (permit != null) {
+                call = permit.wrap(call);
+            }
             ChannelStatusHandler handler = new ChannelStatusHandler(channel, settings);
 
             if (logger.isTraceEnabled()) {
                 logger.trace("UnaryCall[{}] with method {} and endpoint {} created",
                         traceId, method.getFullMethodName(), endpoint.getHostAndPort());
             }
-            Metadata metadata = makeMetadataFromSettings(settings, endpoint);
             return new UnaryCall<>(traceId, endpoint.getHostAndPort(), call, handler, settings.getSpan())
                     .startCall(request, metadata);
         } catch (UnexpectedResultException ex) {
@@ -156,6 +207,7 @@ public abstract class BaseGrpcTransport implements GrpcTransport {
 
         String traceId = settings.getTraceId();
         try {
+            long startedAt = System.nanoTime();
             GrpcChannel channel = getChannel(settings);
             EndpointRecord endpoint = channel.getEndpoint();
             CallOptions options = prepareCallOptions(settings);
@@ -163,7 +215,7 @@ public abstract class BaseGrpcTransport implements GrpcTransport {
                 return new EmptyStream<>(deadlineExpiredStatus(method, settings));
             }
 
-            ClientCall<ReqT, RespT> call = channel.getReadyChannel().newCall(method, options);
+            ClientCall<ReqT, RespT> call = newCall(channel, method, options, startedAt);
             ChannelStatusHandler handler = new ChannelStatusHandler(channel, settings);
 
             if (logger.isTraceEnabled()) {
@@ -172,7 +224,7 @@ public abstract class BaseGrpcTransport implements GrpcTransport {
                 );
             }
 
-            Metadata metadata = makeMetadataFromSettings(settings, endpoint);
+            Metadata metadata = makeMetadataFromSettings(method, settings, endpoint);
             GrpcFlowControl flowCtrl = settings.getFlowControl();
             return new ReadStreamCall<>(traceId, endpoint.getHostAndPort(), call, flowCtrl, request, metadata, handler,
                     settings.getSpan());
@@ -198,6 +250,7 @@ public abstract class BaseGrpcTransport implements GrpcTransport {
 
         String traceId = settings.getTraceId();
         try {
+            long startedAt = System.nanoTime();
             GrpcChannel channel = getChannel(settings);
             EndpointRecord endpoint = channel.getEndpoint();
             CallOptions options = prepareCallOptions(settings);
@@ -205,7 +258,7 @@ public abstract class BaseGrpcTransport implements GrpcTransport {
                 return new EmptyStream<>(deadlineExpiredStatus(method, settings));
             }
 
-            ClientCall<ReqT, RespT> call = channel.getReadyChannel().newCall(method, options);
+            ClientCall<ReqT, RespT> call = newCall(channel, method, options, startedAt);
             ChannelStatusHandler hdlr = new ChannelStatusHandler(channel, settings);
 
             if (logger.isTraceEnabled()) {
@@ -214,7 +267,7 @@ public abstract class BaseGrpcTransport implements GrpcTransport {
                 );
             }
 
-            Metadata metadata = makeMetadataFromSettings(settings, endpoint);
+            Metadata metadata = makeMetadataFromSettings(method, settings, endpoint);
             GrpcFlowControl flowCtrl = settings.getFlowControl();
             return new ReadWriteStreamCall<>(
                     traceId, endpoint.getHostAndPort(), call, flowCtrl, metadata, getAuthCallOptions(), hdlr
@@ -242,11 +295,25 @@ public abstract class BaseGrpcTransport implements GrpcTransport {
         return Status.of(StatusCode.CLIENT_DEADLINE_EXPIRED, Issue.of(message, Issue.Severity.ERROR));
     }
 
-    private Metadata makeMetadataFromSettings(GrpcRequestSettings settings, EndpointRecord endpoint) {
+    private <ReqT, RespT> ClientCall<ReqT, RespT> newCall(GrpcChannel channel, MethodDescriptor<ReqT, RespT> method,
+            CallOptions options, long startedAt) {
+        ClientCall<ReqT, RespT> call = channel.getReadyChannel().newCall(method, options);
+        if (callMetrics == null) {
+            return call;
+        }
+
+        String endpoint = channel.getEndpoint().getHostAndPort();
+        callMetrics.recordSetup(method, endpoint, "channel", System.nanoTime() - startedAt);
+        return callMetrics.instrument(method, endpoint, call);
+    }
+
+    private Metadata makeMetadataFromSettings(MethodDescriptor<?, ?> method, GrpcRequestSettings settings,
+            EndpointRecord endpoint) {
         Metadata metadata = new Metadata();
-        String token = getAuthCallOptions().getToken();
-        if (token != null) {
-            metadata.put(YdbHeaders.AUTH_TICKET, token);
+        long tokenStartedAt = System.nanoTime();
+        getAuthCallOptions().putToken(metadata);
+        if (callMetrics != null) {
+            callMetrics.recordSetup(method, endpoint.getHostAndPort(), "auth", System.nanoTime() - tokenStartedAt);
         }
         if (settings.getTraceId() != null) {
             metadata.put(YdbHeaders.TRACE_ID, settings.getTraceId());
@@ -1,10 +1,12 @@
 package tech.ydb.core.impl;
 
+import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
@@ -30,8 +32,42 @@ public class YdbSchedulerFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(YdbSchedulerFactory.class);
 
+    /** Executors.newVirtualThreadPerTaskExecutor() of JDK 21+ or null for older versions */
+    private static final Method VIRTUAL_EXECUTOR_FACTORY = findVirtualExecutorFactory();
+
     private YdbSchedulerFactory() { }
 
+    private static Method findVirtualExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException | SecurityException ex) {
+            return null;
+        }
+    }
+
+    public static boolean isVirtualThreadsSupported() {
+        return VIRTUAL_EXECUTOR_FACTORY != null;
+    }
+
+    /**
+     * Creates an executor which starts a new virtual thread for every task. Being passed to
+     * {@link tech.ydb.core.grpc.GrpcTransportBuilder#withCallExecutor} it moves all callbacks of gRPC calls from the
+     * transport threads to virtual threads, so callbacks may block without stalling the transport.
+     *
+     * @return new virtual thread per task executor
+     * @throws UnsupportedOperationException if the current JVM doesn't support virtual threads
+     */
+    public static ExecutorService createVirtualThreadExecutor() {
+        if (VIRTUAL_EXECUTOR_FACTORY == null) {
+            throw new UnsupportedOperationException("Virtual threads require JDK 21 or newer");
+        }
+        try {
+            return (ExecutorService) VIRTUAL_EXECUTOR_FACTORY.invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            throw new UnsupportedOperationException("Cannot create virtual thread executor", ex);
+        }
+    }
+
     public static ScheduledExecutorService createScheduler() {
         // default size of ydb shared scheduler
         int threads = Math.max(Runtime.getRuntime().availableProcessors() / 2, 2);
@@ -162,6 +162,7 @@ public class YdbTransportImpl extends BaseGrpcTransport {
         @Override
         public CompletableFuture<Boolean> handleEndpoints(List<EndpointRecord> endpoints, String selfLocation) {
             List<EndpointRecord> removed = endpointPool.setNewState(selfLocation, endpoints);
+            onEndpointsRemoved(removed);
             return channelPool.removeChannels(removed);
         }
 
@@ -1,32 +1,55 @@
 package tech.ydb.core.impl.auth;
 
 import java.util.List;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import com.google.common.util.concurrent.MoreExecutors;
 import io.grpc.CallOptions;
+import io.grpc.Metadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import tech.ydb.auth.AuthIdentity;
 import tech.ydb.auth.AuthRpcProvider;
+import tech.ydb.auth.TokenAuthProvider;
 import tech.ydb.core.grpc.GrpcCompression;
 import tech.ydb.core.grpc.GrpcTransportBuilder;
+import tech.ydb.core.grpc.YdbHeaders;
 import tech.ydb.core.impl.pool.EndpointRecord;
 import tech.ydb.core.impl.pool.ManagedChannelFactory;
 
 /**
+ * Call options of the transport with the cached token of auth identity. The calls use the cached token and don't call
+ * the identity, only the first call waits for the token if it is not received yet. The cached token is refreshed in
+ * advance by the periodic task of one refresher thread shared by all transports, because the identity may block. The
+ * token of {@link TokenAuthProvider} never changes, so it is requested only once and is never refreshed. The token is
+ * put to the headers as the string, it is encoded by the marshaller of {@link YdbHeaders#AUTH_TICKET} for every call.
  *
  * @author Aleksandr Gorshenin
  */
 public class AuthCallOptions implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(AuthCallOptions.class);
+
+    /** Period of the background refresh of cached token */
+    private static final long REFRESH_PERIOD_MILLIS = 1000;
+
     private final AuthIdentity authIdentity;
     private final CallOptions callOptions;
     private final long readTimeoutMillis;
+    private final boolean isSharedRefresher;
+    private final ScheduledFuture<?> refreshFuture;
+
+    private volatile String ticket = null; // cached token
 
     public AuthCallOptions() {
         this.authIdentity = null;
         this.callOptions = CallOptions.DEFAULT;
         this.readTimeoutMillis = 0;
+        this.isSharedRefresher = false;
+        this.refreshFuture = null;
     }
 
     public AuthCallOptions(
@@ -34,6 +57,15 @@ public class AuthCallOptions implements AutoCloseable {
             List<EndpointRecord> endpoints,
             ManagedChannelFactory channelFactory,
             GrpcTransportBuilder builder) {
+        this(scheduler, endpoints, channelFactory, builder, null);
+    }
+
+    AuthCallOptions(
+            ScheduledExecutorService scheduler,
+            List<EndpointRecord> endpoints,
+            ManagedChannelFactory channelFactory,
+            GrpcTransportBuilder builder,
+            ScheduledExecutorService refresher) {
         CallOptions options = CallOptions.DEFAULT;
 
         AuthRpcProvider<? super GrpcAuthRpc> authProvider = builder.getAuthProvider();
@@ -54,20 +86,76 @@ public class AuthCallOptions implements AutoCloseable {
 
         this.callOptions = options;
         this.readTimeoutMillis = builder.getReadTimeoutMillis();
+        if (authIdentity == null || authProvider instanceof TokenAuthProvider) {
+            this.isSharedRefresher = false;
+            this.refreshFuture = null;
+        } else {
+            this.isSharedRefresher = refresher == null;
+            ScheduledExecutorService executor = isSharedRefresher ? SharedRefresher.acquire() : refresher;
+            this.refreshFuture = executor.scheduleWithFixedDelay(
+                    this::refreshInBackground,
+                    REFRESH_PERIOD_MILLIS,
+                    REFRESH_PERIOD_MILLIS,
+                    TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
     public void close() {
+        if (refreshFuture != null) {
+            refreshFuture.cancel(false);
+        }
+        if (isSharedRefresher) {
+            SharedRefresher.release();
+        }
         if (authIdentity != null) {
             authIdentity.close();
         }
     }
 
     public String getToken() {
-        if (authIdentity != null) {
-            return authIdentity.getToken();
+        return currentTicket();
+    }
+
+    /**
+     * Puts the auth ticket header with the cached token to the metadata
+     * @param headers metadata of the call
+     */
+    public void putToken(Metadata headers) {
+        String current = currentTicket();
+        if (current != null) {
+            headers.put(YdbHeaders.AUTH_TICKET, current);
+        }
+    }
+
+    private String currentTicket() {
+        if (authIdentity == null) {
+            return null;
+        }
+
+        String current = ticket;
+        if (current != null) {
+            return current;
+        }
+        // token is not received yet, the call cannot be sent without it
+        return refresh();
+    }
+
+    private void refreshInBackground() {
+        try {
+            refresh();
+        } catch (RuntimeException ex) {
+            // the previous token is used until the next successful refresh
+            logger.warn("background refresh of auth token failed", ex);
+        }
+    }
+
+    private String refresh() {
+        String token = authIdentity.getToken();
+        if (token != null) {
+            ticket = token;
         }
-        return null;
+        return token;
     }
 
     public CallOptions getGrpcCallOptions() {
@@ -77,4 +165,31 @@ public class AuthCallOptions implements AutoCloseable {
 
         return callOptions;
     }
+
+    /**
+     * One daemon thread for refresh tasks of all transports. The thread is started by the first transport with auth
+     * identity and is stopped when the last one is closed
+     */
+    private static class SharedRefresher {
+        private static ScheduledExecutorService executor = null;
+        private static int usersCount = 0;
+
+        static synchronized ScheduledExecutorService acquire() {
+            if (usersCount++ == 0) {
+                executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread t = new Thread(r, "ydb-auth-refresh");
+                    t.setDaemon(true);
+                    return t;
+                });
+            }
+            return executor;
+        }
+
+        static synchronized void release() {
+            if (--usersCount == 0) {
+                executor.shutdown();
+                executor = null;
+            }
+        }
+    }
 }
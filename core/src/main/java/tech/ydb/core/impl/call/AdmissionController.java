@@ -0,0 +1,406 @@
+package tech.ydb.core.impl.call;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import io.grpc.ClientCall;
+import io.grpc.Deadline;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+
+import tech.ydb.core.Issue;
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.grpc.AdmissionSettings;
+import tech.ydb.core.metrics.Attr;
+import tech.ydb.core.metrics.LongCounter;
+import tech.ydb.core.metrics.Meter;
+
+/**
+ * Client side admission control of unary calls. Every method has a decaying histogram of latencies of successful
+ * calls, a request is rejected if its remaining deadline is smaller than the expected latency of the method. Every
+ * endpoint has a gradient-style adaptive limit of concurrent calls: the limit is multiplied by the ratio between the
+ * long-term and the short-term latency, so it shrinks as soon as the server starts queueing requests and slowly
+ * grows back while the latency is stable.
+ */
+public final class AdmissionController {
+    private static final String PREFIX = "ydb.client.admission.";
+    private static final String METHOD_KEY = "rpc.method";
+    private static final String ENDPOINT_KEY = "ydb.endpoint";
+    private static final String REASON_KEY = "ydb.admission.reason";
+
+    private final AdmissionSettings settings;
+    private final LongCounter rejected;
+    // keys are full names of methods of the generated service descriptors, so the count of histograms is bounded
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    // limits of endpoints are removed when the endpoints leave the pool
+    private final Map<String, ConcurrencyLimit> limits = new ConcurrentHashMap<>();
+
+    private AdmissionController(AdmissionSettings settings, Meter meter) {
+        this.settings = settings;
+        this.rejected = meter.createCounter(PREFIX + "rejected", "{call}",
+                "Calls rejected by client side admission control, by reason.");
+
+        meter.createLongGauge(PREFIX + "limit", "{call}", "Adaptive limit of concurrent calls to the endpoint.", m -> {
+            for (ConcurrencyLimit limit : limits.values()) {
+                m.record(limit.getLimit(), limit.attrs);
+            }
+        });
+        meter.createLongGauge(PREFIX + "expected_latency", "us", "Expected latency of the method.", m -> {
+            for (LatencyHistogram histogram : latencies.values()) {
+                m.record(TimeUnit.NANOSECONDS.toMicros(histogram.quantile), histogram.attrs);
+            }
+        });
+    }
+
+    /**
+     * Creates admission controller
+     * @param settings settings of admission control
+     * @param meter meter implementation
+     * @return controller instance or null if settings are null and admission control is disabled
+     */
+    public static AdmissionController create(AdmissionSettings settings, Meter meter) {
+        if (settings == null) {
+            return null;
+        }
+        return new AdmissionController(settings, meter != null ? meter : Meter.NOOP);
+    }
+
+    /**
+     * Checks if the call can be started now. It is called before the creation of the call, so rejected requests
+     * don't create calls at all. The permit of admitted request holds the concurrency slot, it must be used to wrap
+     * the created call or cancelled if the call is not created.
+     *
+     * @param method called method
+     * @param endpoint endpoint of the call
+     * @param deadline deadline of the call or null
+     * @return permit of the call or failed result with {@link StatusCode#CLIENT_REQUEST_REJECTED} status
+     */
+    public Result<Permit> admit(MethodDescriptor<?, ?> method, String endpoint, Deadline deadline) {
+        String methodName = method.getFullMethodName();
+        LatencyHistogram histogram = latencyOf(methodName);
+        ConcurrencyLimit limit = limitOf(endpoint);
+
+        if (deadline != null && histogram.count.get() >= settings.getMinLatencySamples()) {
+            long remaining = deadline.timeRemaining(TimeUnit.NANOSECONDS);
+            long expected = histogram.quantile;
+            if (remaining < expected) {
+                rejected.add(1, limit.rejectAttrs(methodName, "deadline"));
+                return Result.fail(rejectedStatus("remaining deadline " + TimeUnit.NANOSECONDS.toMillis(remaining)
+                        + "ms is less than expected latency " + TimeUnit.NANOSECONDS.toMillis(expected)
+                        + "ms of method " + methodName));
+            }
+        }
+
+        if (!limit.tryAcquire()) {
+            rejected.add(1, limit.rejectAttrs(methodName, "concurrency"));
+            return Result.fail(rejectedStatus("limit of concurrent calls " + limit.getLimit() + " to endpoint "
+                    + endpoint + " is reached"));
+        }
+
+        return Result.success(new Permit(histogram, limit));
+    }
+
+    /**
+     * Removes the concurrency limit of the endpoint which has left the pool of endpoints. Calls in progress release
+     * their slots to the removed limit, a new limit starts from the initial value if the endpoint returns
+     * @param endpoint removed endpoint
+     */
+    public void removeEndpoint(String endpoint) {
+        limits.remove(endpoint);
+    }
+
+    long expectedLatency(String method) {
+        return latencyOf(method).quantile;
+    }
+
+    int concurrencyLimit(String endpoint) {
+        return limitOf(endpoint).getLimit();
+    }
+
+    void recordLatency(String method, long nanos) {
+        latencyOf(method).record(nanos);
+    }
+
+    private LatencyHistogram latencyOf(String method) {
+        LatencyHistogram histogram = latencies.get(method);
+        if (histogram == null) {
+            histogram = latencies.computeIfAbsent(method, LatencyHistogram::new);
+        }
+        return histogram;
+    }
+
+    private ConcurrencyLimit limitOf(String endpoint) {
+        ConcurrencyLimit limit = limits.get(endpoint);
+        if (limit == null) {
+            limit = limits.computeIfAbsent(endpoint, ConcurrencyLimit::new);
+        }
+        return limit;
+    }
+
+    private static Status rejectedStatus(String reason) {
+        String message = "Request was rejected by client admission control: " + reason;
+        return Status.of(StatusCode.CLIENT_REQUEST_REJECTED, Issue.of(message, Issue.Severity.ERROR));
+    }
+
+    private static boolean isOverloadSignal(io.grpc.Status.Code code) {
+        return code == io.grpc.Status.Code.DEADLINE_EXCEEDED || code == io.grpc.Status.Code.RESOURCE_EXHAUSTED;
+    }
+
+    /**
+     * Histogram with exponential buckets, which halves all counters after every {@link #WINDOW} samples, so the
+     * quantile follows the recent latency of the method.
+     */
+    private final class LatencyHistogram {
+        private static final long MIN_NANOS = 100_000; // 100 microseconds
+        private static final double BUCKET_RATIO = 1.25;
+        private static final int BUCKETS = 64; // up to 100us * 1.25^64 = ~160s
+        private static final int WINDOW = 1000;
+        private static final int UPDATE_EVERY = 16;
+
+        private final Attr[] attrs;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong count = new AtomicLong();
+        private volatile long quantile = 0;
+
+        LatencyHistogram(String method) {
+            this.attrs = new Attr[] {Attr.of(METHOD_KEY, method)};
+        }
+
+        void record(long nanos) {
+            buckets.incrementAndGet(bucketOf(nanos));
+            long total = count.incrementAndGet();
+            if (total % WINDOW == 0) {
+                decay();
+            }
+            if (total <= settings.getMinLatencySamples() || total % UPDATE_EVERY == 0) {
+                quantile = calculateQuantile(settings.getLatencyQuantile());
+            }
+        }
+
+        private synchronized void decay() {
+            for (int idx = 0; idx < BUCKETS; idx++) {
+                long value = buckets.get(idx);
+                buckets.addAndGet(idx, -value / 2);
+            }
+        }
+
+        private long calculateQuantile(double q) {
+            long total = 0;
+            for (int idx = 0; idx < BUCKETS; idx++) {
+                total += buckets.get(idx);
+            }
+
+            long rank = (long) Math.ceil(total * q);
+            long sum = 0;
+            for (int idx = 0; idx < BUCKETS; idx++) {
+                sum += buckets.get(idx);
+                if (sum >= rank && sum > 0) {
+                    return upperBound(idx);
+                }
+            }
+            return upperBound(BUCKETS - 1);
+        }
+
+        private int bucketOf(long nanos) {
+            if (nanos <= MIN_NANOS) {
+                return 0;
+            }
+            int idx = (int) Math.ceil(Math.log((double) nanos / MIN_NANOS) / Math.log(BUCKET_RATIO));
+            return Math.min(idx, BUCKETS - 1);
+        }
+
+        private long upperBound(int bucket) {
+            return (long) (MIN_NANOS * Math.pow(BUCKET_RATIO, bucket));
+        }
+    }
+
+    /**
+     * Gradient limit of concurrent calls. The short-term latency is compared with the long-term one, the limit is
+     * decreased when the short-term latency exceeds the long-term one more than {@link #TOLERANCE} times and grows
+     * by the square root of itself otherwise. Calls which ended by deadline or resource exhaustion decrease the limit
+     * immediately.
+     */
+    private final class ConcurrencyLimit {
+        private static final double TOLERANCE = 1.5;
+        private static final double SHORT_ALPHA = 0.1;
+        private static final double LONG_ALPHA = 0.01;
+        private static final double SMOOTHING = 0.2;
+        private static final double BACKOFF_RATIO = 0.9;
+
+        private final String endpoint;
+        private final Attr[] attrs;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Map<String, Attr[]> rejectAttrs = new ConcurrentHashMap<>();
+
+        private volatile double limit;
+        // latencies are updated under lock of the object
+        private double shortRtt = 0;
+        private double longRtt = 0;
+
+        ConcurrencyLimit(String endpoint) {
+            this.endpoint = endpoint;
+            this.attrs = new Attr[] {Attr.of(ENDPOINT_KEY, endpoint)};
+            this.limit = settings.getInitialLimit();
+        }
+
+        int getLimit() {
+            return (int) limit;
+        }
+
+        Attr[] rejectAttrs(String method, String reason) {
+            return rejectAttrs.computeIfAbsent(reason + ':' + method, key -> new Attr[] {
+                Attr.of(METHOD_KEY, method), Attr.of(ENDPOINT_KEY, endpoint), Attr.of(REASON_KEY, reason)
+            });
+        }
+
+        boolean tryAcquire() {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= getLimit()) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        synchronized void release(long rttNanos, int inFlightAtStart, io.grpc.Status.Code code) {
+            inFlight.decrementAndGet();
+
+            if (isOverloadSignal(code)) {
+                limit = Math.max(settings.getMinLimit(), limit * BACKOFF_RATIO);
+                return;
+            }
+            if (code != io.grpc.Status.Code.OK) {
+                return;
+            }
+
+            if (longRtt == 0) {
+                shortRtt = rttNanos;
+                longRtt = rttNanos;
+                return;
+            }
+
+            shortRtt += SHORT_ALPHA * (rttNanos - shortRtt);
+            longRtt += LONG_ALPHA * (rttNanos - longRtt);
+            // after the overload long-term latency may be much bigger than current one, let it recover faster
+            if (longRtt > 2 * shortRtt) {
+                longRtt *= 0.95;
+            }
+
+            // don't increase the limit while it's not used
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+            if (gradient >= 1.0 && inFlightAtStart * 2 < limit) {
+                return;
+            }
+
+            double newLimit = limit * gradient + Math.sqrt(limit);
+            newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+            limit = Math.max(settings.getMinLimit(), Math.min(settings.getMaxLimit(), newLimit));
+        }
+    }
+
+    /**
+     * Concurrency slot of the admitted request
+     */
+    public final class Permit {
+        private final LatencyHistogram histogram;
+        private final ConcurrencyLimit limit;
+        private final AtomicBoolean isUsed = new AtomicBoolean(false);
+
+        private Permit(LatencyHistogram histogram, ConcurrencyLimit limit) {
+            this.histogram = histogram;
+            this.limit = limit;
+        }
+
+        /**
+         * Wraps the call to release the concurrency slot and to record the latency on its completion
+         * @param <ReqT> type of request
+         * @param <RespT> type of response
+         * @param call call of the admitted request, must be not started
+         * @return wrapped call
+         */
+        public <ReqT, RespT> ClientCall<ReqT, RespT> wrap(ClientCall<ReqT, RespT> call) {
+            if (!isUsed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Permit is already used");
+            }
+            return new AdmittedCall<>(histogram, limit, call);
+        }
+
+        /**
+         * Releases the concurrency slot if the call of the admitted request wasn't created
+         */
+        public void cancel() {
+            if (isUsed.compareAndSet(false, true)) {
+                limit.inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private final class AdmittedCall<ReqT, RespT> extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+        private final LatencyHistogram histogram;
+        private final ConcurrencyLimit limit;
+
+        AdmittedCall(LatencyHistogram histogram, ConcurrencyLimit limit, ClientCall<ReqT, RespT> delegate) {
+            super(delegate);
+            this.histogram = histogram;
+            this.limit = limit;
+        }
+
+        @Override
+        public void start(Listener<RespT> listener, Metadata headers) {
+            AdmittedListener<RespT> admitted = new AdmittedListener<>(histogram, limit, listener);
+            try {
+                super.start(admitted, headers);
+            } catch (RuntimeException ex) {
+                admitted.finish(io.grpc.Status.Code.UNKNOWN);
+                throw ex;
+            }
+        }
+    }
+
+    private final class AdmittedListener<RespT> extends ForwardingClientCallListener.SimpleForwardingClientCallListener<
+            RespT> {
+        private final LatencyHistogram histogram;
+        private final ConcurrencyLimit limit;
+        private final int inFlightAtStart;
+        private final long startedAt;
+        private boolean isFinished = false;
+
+        AdmittedListener(LatencyHistogram histogram, ConcurrencyLimit limit, ClientCall.Listener<RespT> delegate) {
+            super(delegate);
+            this.histogram = histogram;
+            this.limit = limit;
+            this.inFlightAtStart = limit.inFlight.get();
+            this.startedAt = System.nanoTime();
+        }
+
+        @Override
+        public void onClose(io.grpc.Status status, Metadata trailers) {
+            finish(status.getCode());
+            super.onClose(status, trailers);
+        }
+
+        synchronized void finish(io.grpc.Status.Code code) {
+            if (isFinished) {
+                return;
+            }
+            isFinished = true;
+            long latency = System.nanoTime() - startedAt;
+            if (code == io.grpc.Status.Code.OK) {
+                histogram.record(latency);
+            }
+            limit.release(latency, inFlightAtStart, code);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package tech.ydb.core.impl.call;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.protobuf.MessageLite;
+import io.grpc.ClientCall;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+
+import tech.ydb.core.metrics.Attr;
+import tech.ydb.core.metrics.DoubleHistogram;
+import tech.ydb.core.metrics.LongCounter;
+import tech.ydb.core.metrics.Meter;
+
+/**
+ * Client side metrics of gRPC calls with method and endpoint attributes. Calls are instrumented by a forwarding
+ * wrapper of {@link ClientCall}, so unary calls and both kinds of streams are measured in the same way. Attributes
+ * are built once per pair of method and endpoint, so the measurement of the call doesn't allocate anything except
+ * the wrappers.
+ */
+public final class GrpcCallMetrics {
+    private static final String PREFIX = "ydb.client.rpc.";
+    private static final String METHOD_KEY = "rpc.method";
+    private static final String ENDPOINT_KEY = "ydb.endpoint";
+    private static final String STATUS_KEY = "rpc.grpc.status_code";
+    private static final String PHASE_KEY = "ydb.rpc.phase";
+    private static final double NANOS_IN_SECOND = 1_000_000_000.0;
+
+    private final DoubleHistogram duration;
+    private final DoubleHistogram setupDuration;
+    private final LongCounter completed;
+    private final LongCounter sentBytes;
+    private final LongCounter receivedBytes;
+
+    private final Map<String, Map<String, CallStats>> stats = new ConcurrentHashMap<>();
+
+    private GrpcCallMetrics(Meter meter) {
+        this.duration = meter.createHistogram(PREFIX + "duration", "s", "Duration of gRPC calls from start to close.");
+        this.setupDuration = meter.createHistogram(PREFIX + "setup_duration", "s",
+                "Time spent before start of gRPC calls, by phase.");
+        this.completed = meter.createCounter(PREFIX + "completed", "{call}", "Completed gRPC calls by status.");
+        this.sentBytes = meter.createCounter(PREFIX + "sent_bytes", "By", "Serialized size of sent messages.");
+        this.receivedBytes = meter.createCounter(PREFIX + "received_bytes", "By",
+                "Serialized size of received messages.");
+
+        meter.createLongGauge(PREFIX + "active", "{call}", "Count of gRPC calls in progress.", m -> {
+            for (Map<String, CallStats> byEndpoint : stats.values()) {
+                for (CallStats call : byEndpoint.values()) {
+                    m.record(call.inFlight.get(), call.attrs);
+                }
+            }
+        });
+    }
+
+    /**
+     * Creates metrics of gRPC calls
+     * @param meter meter implementation
+     * @return metrics instance or null if the meter is {@link Meter#NOOP} and calls must not be instrumented
+     */
+    public static GrpcCallMetrics create(Meter meter) {
+        if (meter == null || meter == Meter.NOOP) {
+            return null;
+        }
+        return new GrpcCallMetrics(meter);
+    }
+
+    /**
+     * Records duration of a preparation phase of the call, like channel selection or token retrieval
+     * @param method called method
+     * @param endpoint endpoint of the call
+     * @param phase name of the phase
+     * @param nanos duration of the phase in nanoseconds
+     */
+    public void recordSetup(MethodDescriptor<?, ?> method, String endpoint, String phase, long nanos) {
+        CallStats call = statsOf(method, endpoint);
+        setupDuration.record(nanos / NANOS_IN_SECOND, call.phaseAttrs(phase));
+    }
+
+    public <ReqT, RespT> ClientCall<ReqT, RespT> instrument(MethodDescriptor<ReqT, RespT> method, String endpoint,
+            ClientCall<ReqT, RespT> call) {
+        return new MeasuredCall<>(statsOf(method, endpoint), call);
+    }
+
+    /**
+     * Removes the stats of the endpoint which has left the pool of endpoints. Calls in progress are still measured,
+     * but they are no longer reported by the gauge of active calls
+     * @param endpoint removed endpoint
+     */
+    public void removeEndpoint(String endpoint) {
+        for (Map<String, CallStats> byEndpoint : stats.values()) {
+            byEndpoint.remove(endpoint);
+        }
+    }
+
+    private CallStats statsOf(MethodDescriptor<?, ?> method, String endpoint) {
+        Map<String, CallStats> byEndpoint = stats.get(method.getFullMethodName());
+        if (byEndpoint == null) {
+            byEndpoint = stats.computeIfAbsent(method.getFullMethodName(), key -> new ConcurrentHashMap<>());
+        }
+        CallStats call = byEndpoint.get(endpoint);
+        if (call == null) {
+            call = byEndpoint.computeIfAbsent(endpoint, key -> new CallStats(method.getFullMethodName(), key));
+        }
+        return call;
+    }
+
+    private static long sizeOf(Object message) {
+        // serialized size is memoized by protobuf messages, so it is calculated only once
+        return message instanceof MessageLite ? ((MessageLite) message).getSerializedSize() : 0;
+    }
+
+    private static final class CallStats {
+        private final String method;
+        private final String endpoint;
+        private final Attr[] attrs;
+        private final AtomicLong inFlight = new AtomicLong();
+        private final Map<String, Attr[]> phases = new ConcurrentHashMap<>();
+        private final Map<io.grpc.Status.Code, Attr[]> statuses = new ConcurrentHashMap<>();
+
+        CallStats(String method, String endpoint) {
+            this.method = method;
+            this.endpoint = endpoint;
+            this.attrs = new Attr[] {Attr.of(METHOD_KEY, method), Attr.of(ENDPOINT_KEY, endpoint)};
+        }
+
+        Attr[] phaseAttrs(String phase) {
+            return phases.computeIfAbsent(phase, key -> new Attr[] {
+                Attr.of(METHOD_KEY, method), Attr.of(ENDPOINT_KEY, endpoint), Attr.of(PHASE_KEY, key)
+            });
+        }
+
+        Attr[] statusAttrs(io.grpc.Status.Code code) {
+            return statuses.computeIfAbsent(code, key -> new Attr[] {
+                Attr.of(METHOD_KEY, method), Attr.of(ENDPOINT_KEY, endpoint), Attr.of(STATUS_KEY, key.name())
+            });
+        }
+    }
+
+    private final class MeasuredCall<ReqT, RespT> extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+        private final CallStats call;
+
+        MeasuredCall(CallStats call, ClientCall<ReqT, RespT> delegate) {
+            super(delegate);
+            this.call = call;
+        }
+
+        @Override
+        public void start(Listener<RespT> listener, Metadata headers) {
+            call.inFlight.incrementAndGet();
+            MeasuredListener<RespT> measured = new MeasuredListener<>(call, listener, System.nanoTime());
+            try {
+                super.start(measured, headers);
+            } catch (RuntimeException ex) {
+                measured.finish(io.grpc.Status.Code.UNKNOWN);
+                throw ex;
+            }
+        }
+
+        @Override
+        public void sendMessage(ReqT message) {
+            sentBytes.add(sizeOf(message), call.attrs);
+            super.sendMessage(message);
+        }
+    }
+
+    private final class MeasuredListener<RespT> extends ForwardingClientCallListener.SimpleForwardingClientCallListener<
+            RespT> {
+        private final CallStats call;
+        private final long startedAt;
+        private boolean isFinished = false;
+
+        MeasuredListener(CallStats call, ClientCall.Listener<RespT> delegate, long startedAt) {
+            super(delegate);
+            this.call = call;
+            this.startedAt = startedAt;
+        }
+
+        @Override
+        public void onMessage(RespT message) {
+            receivedBytes.add(sizeOf(message), call.attrs);
+            super.onMessage(message);
+        }
+
+        @Override
+        public void onClose(io.grpc.Status status, Metadata trailers) {
+            finish(status.getCode());
+            super.onClose(status, trailers);
+        }
+
+        synchronized void finish(io.grpc.Status.Code code) {
+            if (isFinished) {
+                return;
+            }
+            isFinished = true;
+            call.inFlight.decrementAndGet();
+            duration.record((System.nanoTime() - startedAt) / NANOS_IN_SECOND, call.attrs);
+            completed.add(1L, call.statusAttrs(code));
+        }
+    }
+}
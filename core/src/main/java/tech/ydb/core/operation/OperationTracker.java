@@ -0,0 +1,348 @@
+package tech.ydb.core.operation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tech.ydb.core.metrics.DoubleHistogram;
+import tech.ydb.core.metrics.LongCounter;
+import tech.ydb.core.metrics.Meter;
+
+/**
+ * Shared tracker of long running operations. Unlike {@link OperationTray}, the tracker uses one timer for all
+ * operations and polls them with adaptive backoff: short operations are checked often, long ones are checked rarely.
+ * Operations which are due at the same time are fetched in one batch, the count of concurrent fetches is bounded.
+ */
+public class OperationTracker implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(OperationTracker.class);
+
+    private static final String METRICS_PREFIX = "ydb.operation.";
+
+    private final ScheduledExecutorService scheduler;
+    private final long initialDelayMs;
+    private final long maxDelayMs;
+    private final double multiplier;
+    private final int maxConcurrentFetches;
+    private final LongSupplier clock;
+
+    private final LongCounter fetchesCounter;
+    private final DoubleHistogram pollsHistogram;
+    private final DoubleHistogram durationHistogram;
+
+    private final PriorityQueue<Tracked<?>> queue = new PriorityQueue<>(
+            Comparator.comparingLong((Tracked<?> t) -> t.nextFetchAt)
+    );
+    private int inFlight = 0;
+    private ScheduledFuture<?> timer = null;
+    private long timerAt = Long.MAX_VALUE;
+    private boolean isClosed = false;
+
+    private OperationTracker(Builder builder) {
+        this.scheduler = builder.scheduler;
+        this.initialDelayMs = builder.initialDelay.toMillis();
+        this.maxDelayMs = builder.maxDelay.toMillis();
+        this.multiplier = builder.multiplier;
+        this.maxConcurrentFetches = builder.maxConcurrentFetches;
+        this.clock = builder.clock;
+
+        this.fetchesCounter = builder.meter.createCounter(METRICS_PREFIX + "fetches", "{request}",
+                "Count of operation status requests");
+        this.pollsHistogram = builder.meter.createHistogram(METRICS_PREFIX + "polls", "{request}",
+                "Count of status requests per completed operation");
+        this.durationHistogram = builder.meter.createHistogram(METRICS_PREFIX + "duration", "s",
+                "Time from the start of tracking to the completion of operation");
+        builder.meter.createLongGauge(METRICS_PREFIX + "tracked", "{operation}",
+                "Count of operations being tracked", m -> m.record(getTrackedCount()));
+    }
+
+    public static Builder newBuilder(ScheduledExecutorService scheduler) {
+        return new Builder(scheduler);
+    }
+
+    /**
+     * Starts tracking of the operation
+     *
+     * @param <T> type of the operation result
+     * @param operation operation to track
+     * @return future which is completed with the operation value when the operation is ready
+     */
+    public <T> CompletableFuture<T> track(Operation<T> operation) {
+        return track(operation, null);
+    }
+
+    /**
+     * Starts tracking of the operation
+     *
+     * @param <T> type of the operation result
+     * @param operation operation to track
+     * @param progress callback which is called after every fetch of not ready operation, may be {@code null}
+     * @return future which is completed with the operation value when the operation is ready
+     */
+    public <T> CompletableFuture<T> track(Operation<T> operation, Consumer<Operation<T>> progress) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (operation.isReady()) {
+            logger.debug("{} is already done", operation);
+            pollsHistogram.record(0);
+            future.complete(operation.getValue());
+            return future;
+        }
+
+        if (!(operation instanceof AsyncOperation)) {
+            logger.error("unknown type of {}", operation);
+            throw new IllegalArgumentException("Unknown type of operation");
+        }
+
+        long now = clock.getAsLong();
+        Tracked<T> tracked = new Tracked<>((AsyncOperation<T>) operation, progress, future, now, initialDelayMs);
+        synchronized (this) {
+            if (isClosed) {
+                throw new IllegalStateException("Operation tracker is already closed");
+            }
+            queue.add(tracked);
+            armTimer(now);
+        }
+        return future;
+    }
+
+    public synchronized int getTrackedCount() {
+        return queue.size() + inFlight;
+    }
+
+    @Override
+    public void close() {
+        List<Tracked<?>> cancelled;
+        synchronized (this) {
+            isClosed = true;
+            if (timer != null) {
+                timer.cancel(false);
+                timer = null;
+            }
+            cancelled = new ArrayList<>(queue);
+            queue.clear();
+        }
+
+        for (Tracked<?> tracked: cancelled) {
+            tracked.future.completeExceptionally(new CancellationException("Operation tracker is closed"));
+        }
+    }
+
+    // must be called under lock
+    private void armTimer(long now) {
+        Tracked<?> next = queue.peek();
+        if (isClosed || next == null || inFlight >= maxConcurrentFetches || next.nextFetchAt >= timerAt) {
+            return;
+        }
+
+        if (timer != null) {
+            timer.cancel(false);
+        }
+        timerAt = next.nextFetchAt;
+        timer = scheduler.schedule(this::fetchDue, Math.max(0, timerAt - now), TimeUnit.MILLISECONDS);
+    }
+
+    private void fetchDue() {
+        List<Tracked<?>> batch = new ArrayList<>();
+        synchronized (this) {
+            timer = null;
+            timerAt = Long.MAX_VALUE;
+            long now = clock.getAsLong();
+            while (!isClosed && inFlight < maxConcurrentFetches && !queue.isEmpty()
+                    && queue.peek().nextFetchAt <= now) {
+                batch.add(queue.poll());
+                inFlight++;
+            }
+            armTimer(now);
+        }
+
+        if (!batch.isEmpty()) {
+            logger.debug("fetch {} operation(s)", batch.size());
+        }
+        for (Tracked<?> tracked: batch) {
+            fetchesCounter.add(1);
+            tracked.fetch().whenComplete((res, th) -> onFetched(tracked, th));
+        }
+    }
+
+    private void onFetched(Tracked<?> tracked, Throwable th) {
+        long now = clock.getAsLong();
+        boolean keepTracking = tracked.handleFetch(th, now);
+
+        boolean isCancelled = false;
+        synchronized (this) {
+            inFlight--;
+            if (keepTracking) {
+                isCancelled = isClosed;
+                if (!isClosed) {
+                    queue.add(tracked);
+                }
+            }
+            // timer is not armed while all fetch slots are busy
+            armTimer(now);
+        }
+
+        if (isCancelled) {
+            tracked.future.completeExceptionally(new CancellationException("Operation tracker is closed"));
+        }
+        if (!keepTracking) {
+            pollsHistogram.record(tracked.polls);
+            durationHistogram.record((now - tracked.startedAt) / 1000.0d);
+        }
+    }
+
+    private class Tracked<T> {
+        private final AsyncOperation<T> operation;
+        private final Consumer<Operation<T>> progress;
+        private final CompletableFuture<T> future;
+        private final long startedAt;
+
+        private long delayMs;
+        private long nextFetchAt;
+        private int polls = 0;
+
+        Tracked(AsyncOperation<T> operation, Consumer<Operation<T>> progress, CompletableFuture<T> future,
+                long now, long delayMs) {
+            this.operation = operation;
+            this.progress = progress;
+            this.future = future;
+            this.startedAt = now;
+            this.delayMs = delayMs;
+            this.nextFetchAt = now + delayMs;
+        }
+
+        CompletableFuture<?> fetch() {
+            polls++;
+            return operation.fetch();
+        }
+
+        /**
+         * @return true if the operation must be fetched again
+         */
+        boolean handleFetch(Throwable th, long now) {
+            long elapsed = now - startedAt;
+            if (future.isDone()) { // future was cancelled by user
+                logger.debug("{} tracking is cancelled, {} ms elapsed", operation, elapsed);
+                return false;
+            }
+
+            if (th != null) {
+                logger.error("cannot fetch the operation {}, {} ms elapsed", operation, elapsed, th);
+                future.completeExceptionally(th);
+                return false;
+            }
+
+            if (operation.isReady()) {
+                logger.info("{} is done after {} fetches, {} ms elapsed", operation, polls, elapsed);
+                future.complete(operation.getValue());
+                return false;
+            }
+
+            if (progress != null) {
+                try {
+                    progress.accept(operation);
+                } catch (RuntimeException ex) {
+                    logger.warn("progress callback of {} throws exception", operation, ex);
+                }
+            }
+
+            delayMs = Math.min(maxDelayMs, Math.max(delayMs + 1, (long) (delayMs * multiplier)));
+            nextFetchAt = now + delayMs;
+            logger.debug("{} is not ready, next fetch in {} ms", operation, delayMs);
+            return true;
+        }
+    }
+
+    public static class Builder {
+        private final ScheduledExecutorService scheduler;
+        private Duration initialDelay = Duration.ofMillis(100);
+        private Duration maxDelay = Duration.ofSeconds(10);
+        private double multiplier = 1.5d;
+        private int maxConcurrentFetches = 16;
+        private Meter meter = Meter.NOOP;
+        private LongSupplier clock = System::currentTimeMillis;
+
+        private Builder(ScheduledExecutorService scheduler) {
+            Preconditions.checkArgument(scheduler != null, "scheduler must not be null");
+            this.scheduler = scheduler;
+        }
+
+        /**
+         * Set delay of the first fetch of the operation. Default value is 100 ms.
+         *
+         * @param delay delay of the first fetch
+         * @return builder
+         */
+        public Builder withInitialDelay(Duration delay) {
+            Preconditions.checkArgument(delay != null && !delay.isNegative() && !delay.isZero(),
+                    "initial delay must be positive");
+            this.initialDelay = delay;
+            return this;
+        }
+
+        /**
+         * Set maximal delay between fetches of the operation. Default value is 10 seconds.
+         *
+         * @param delay maximal delay between fetches
+         * @return builder
+         */
+        public Builder withMaxDelay(Duration delay) {
+            Preconditions.checkArgument(delay != null && !delay.isNegative() && !delay.isZero(),
+                    "max delay must be positive");
+            this.maxDelay = delay;
+            return this;
+        }
+
+        /**
+         * Set multiplier of the delay after every fetch of not ready operation. Default value is 1.5.
+         *
+         * @param multiplier multiplier of the delay
+         * @return builder
+         */
+        public Builder withBackoffMultiplier(double multiplier) {
+            Preconditions.checkArgument(multiplier >= 1.0d, "multiplier must be not less than 1");
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * Set maximal count of concurrent fetches. Default value is 16.
+         *
+         * @param count maximal count of concurrent fetches
+         * @return builder
+         */
+        public Builder withMaxConcurrentFetches(int count) {
+            Preconditions.checkArgument(count > 0, "max concurrent fetches must be positive");
+            this.maxConcurrentFetches = count;
+            return this;
+        }
+
+        public Builder withMeter(Meter meter) {
+            Preconditions.checkArgument(meter != null, "meter must not be null");
+            this.meter = meter;
+            return this;
+        }
+
+        Builder withClock(LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public OperationTracker build() {
+            Preconditions.checkArgument(initialDelay.compareTo(maxDelay) <= 0,
+                    "initial delay must not be greater than max delay");
+            return new OperationTracker(this);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package tech.ydb.core.grpc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.impl.MockedCall;
+import tech.ydb.proto.StatusCodesProtos.StatusIds;
+import tech.ydb.proto.discovery.DiscoveryProtos;
+import tech.ydb.proto.discovery.v1.DiscoveryServiceGrpc;
+import tech.ydb.proto.query.YdbQuery;
+import tech.ydb.proto.query.v1.QueryServiceGrpc;
+
+public class GrpcFaultInjectorTest {
+    private static final String ENDPOINT = "node-1:2135";
+
+    private static class TestChannel extends Channel {
+        private final String authority;
+        private final Supplier<ClientCall<?, ?>> calls;
+        private int callsCount = 0;
+
+        TestChannel(String authority, Supplier<ClientCall<?, ?>> calls) {
+            this.authority = authority;
+            this.calls = calls;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(MethodDescriptor<ReqT, RespT> method,
+                CallOptions callOptions) {
+            callsCount++;
+            return (ClientCall<ReqT, RespT>) calls.get();
+        }
+
+        @Override
+        public String authority() {
+            return authority;
+        }
+    }
+
+    private static class RecordingListener<T> extends ClientCall.Listener<T> {
+        private final List<T> messages = new ArrayList<>();
+        private final CompletableFuture<io.grpc.Status> status = new CompletableFuture<>();
+
+        @Override
+        public synchronized void onMessage(T message) {
+            Assert.assertFalse("message after close", status.isDone());
+            messages.add(message);
+        }
+
+        @Override
+        public void onClose(io.grpc.Status closeStatus, Metadata trailers) {
+            Assert.assertTrue("double close", status.complete(closeStatus));
+        }
+
+        io.grpc.Status awaitStatus() throws Exception {
+            return status.get(5, TimeUnit.SECONDS);
+        }
+
+        synchronized List<T> getMessages() {
+            return new ArrayList<>(messages);
+        }
+    }
+
+    private static <ReqT, RespT> RecordingListener<RespT> startCall(GrpcFaultInjector injector,
+            MethodDescriptor<ReqT, RespT> method, CallOptions options, Channel channel) {
+        RecordingListener<RespT> listener = new RecordingListener<>();
+        ClientCall<ReqT, RespT> call = injector.interceptCall(method, options, channel);
+        call.start(listener, new Metadata());
+        call.request(1);
+        call.halfClose();
+        return listener;
+    }
+
+    private static GrpcFaultInjector injector(GrpcFaultRule rule) {
+        return GrpcFaultInjector.newBuilder(42).addRule(rule).build();
+    }
+
+    @Test
+    public void operationErrorTest() throws Exception {
+        GrpcFaultRule rule = GrpcFaultRule.newBuilder().withErrorRate(1, StatusCode.OVERLOADED).build();
+        TestChannel channel = new TestChannel(ENDPOINT, () -> MockedCall.whoAmICall("user"));
+
+        try (GrpcFaultInjector injector = injector(rule)) {
+            RecordingListener<DiscoveryProtos.WhoAmIResponse> listener = startCall(injector,
+                    DiscoveryServiceGrpc.getWhoAmIMethod(), CallOptions.DEFAULT, channel);
+
+            Assert.assertEquals(io.grpc.Status.Code.OK, listener.awaitStatus().getCode());
+            Assert.assertEquals(1, listener.getMessages().size());
+            Assert.assertEquals(StatusIds.StatusCode.OVERLOADED,
+                    listener.getMessages().get(0).getOperation().getStatus());
+            Assert.assertTrue(listener.getMessages().get(0).getOperation().getReady());
+
+            Assert.assertEquals(0, channel.callsCount);
+            Assert.assertEquals(1, injector.getErrorsCount());
+        }
+    }
+
+    @Test
+    public void statusErrorTest() throws Exception {
+        GrpcFaultRule rule = GrpcFaultRule.newBuilder().withErrorRate(1, StatusCode.BAD_SESSION).build();
+        TestChannel channel = new TestChannel(ENDPOINT, MockedCall::neverAnswer);
+
+        try (GrpcFaultInjector injector = injector(rule)) {
+            RecordingListener<YdbQuery.CreateSessionResponse> listener = startCall(injector,
+                    QueryServiceGrpc.getCreateSessionMethod(), CallOptions.DEFAULT, channel);
+
+            Assert.assertEquals(io.grpc.Status.Code.OK, listener.awaitStatus().getCode());
+            Assert.assertEquals(1, listener.getMessages().size());
+            Assert.assertEquals(StatusIds.StatusCode.BAD_SESSION, listener.getMessages().get(0).getStatus());
+        }
+    }
+
+    @Test
+    public void transportErrorTest() throws Exception {
+        GrpcFaultRule rule = GrpcFaultRule.newBuilder()
+                .withTransportErrorRate(1, io.grpc.Status.Code.UNAVAILABLE)
+                .build();
+        TestChannel channel = new TestChannel(ENDPOINT, MockedCall::neverAnswer);
+
+        try (GrpcFaultInjector injector = injector(rule)) {
+            RecordingListener<YdbQuery.CreateSessionResponse> listener = startCall(injector,
+                    QueryServiceGrpc.getCreateSessionMethod(), CallOptions.DEFAULT, channel);
+
+            Assert.assertEquals(io.grpc.Status.Code.UNAVAILABLE, listener.awaitStatus().getCode());
+            Assert.assertTrue(listener.getMessages().isEmpty());
+            Assert.assertEquals(0, channel.callsCount);
+        }
+    }
+
+    @Test
+    public void latencyTest() throws Exception {
+        GrpcFaultRule rule = GrpcFaultRule.newBuilder()
+                .withLatency(Duration.ofMillis(100), Duration.ofMillis(100))
+                .build();
+        TestChannel channel = new TestChannel(ENDPOINT, () -> MockedCall.whoAmICall("user"));
+
+        try (GrpcFaultInjector injector = injector(rule)) {
+            long startedAt = System.nanoTime();
+            RecordingListener<DiscoveryProtos.WhoAmIResponse> listener = startCall(injector,
+                    DiscoveryServiceGrpc.getWhoAmIMethod(), CallOptions.DEFAULT, channel);
+
+            // response of mocked call is received immediately, but is held back by the injector
+            Assert.assertTrue(listener.getMessages().isEmpty());
+            Assert.assertEquals(io.grpc.Status.Code.OK, listener.awaitStatus().getCode());
+            Assert.assertTrue(System.nanoTime() - startedAt >= TimeUnit.MILLISECONDS.toNanos(100));
+            Assert.assertEquals(1, listener.getMessages().size());
+            Assert.assertEquals("user", listener.getMessages().get(0).getOperation().getResult()
+                    .unpack(DiscoveryProtos.WhoAmIResult.class).getUser());
+
+            Assert.assertEquals(1, channel.callsCount);
+            Assert.assertEquals(1, injector.getDelayedCallsCount());
+        }
+    }
+
+    @Test
+    public void deadlineTest() throws Exception {
+        GrpcFaultRule rule = GrpcFaultRule.newBuilder()
+                .withLatency(Duration.ofSeconds(30), Duration.ofSeconds(30))
+                .build();
+        TestChannel channel = new TestChannel(ENDPOINT, () -> MockedCall.whoAmICall("user"));
+
+        try (GrpcFaultInjector injector = injector(rule)) {
+            CallOptions options = CallOptions.DEFAULT.withDeadlineAfter(50, TimeUnit.MILLISECONDS);
+            RecordingListener<DiscoveryProtos.WhoAmIResponse> listener = startCall(injector,
+                    DiscoveryServiceGrpc.getWhoAmIMethod(), options, channel);
+
+            Assert.assertEquals(io.grpc.Status.Code.DEADLINE_EXCEEDED, listener.awaitStatus().getCode());
+            Assert.assertTrue(listener.getMessages().isEmpty());
+        }
+    }
+
+    @Test
+    public void streamDisconnectTest() throws Exception {
+        GrpcFaultRule rule = GrpcFaultRule.newBuilder()
+                .withStreamDisconnects(1, Duration.ofMillis(50))
+                .build();
+        TestChannel channel = new TestChannel(ENDPOINT, MockedCall::neverAnswer);
+
+        try (GrpcFaultInjector injector = injector(rule)) {
+            RecordingListener<YdbQuery.SessionState> listener = startCall(injector,
+                    QueryServiceGrpc.getAttachSessionMethod(), CallOptions.DEFAULT, channel);
+
+            Assert.assertEquals(io.grpc.Status.Code.UNAVAILABLE, listener.awaitStatus().getCode());
+            Assert.assertEquals(1, injector.getDisconnectsCount());
+
+            // unary calls are never disconnected
+            RecordingListener<DiscoveryProtos.WhoAmIResponse> unary = startCall(injector,
+                    DiscoveryServiceGrpc.getWhoAmIMethod(), CallOptions.DEFAULT,
+                    new TestChannel(ENDPOINT, () -> MockedCall.whoAmICall("user")));
+            Assert.assertEquals(io.grpc.Status.Code.OK, unary.awaitStatus().getCode());
+            Assert.assertEquals(1, injector.getDisconnectsCount());
+        }
+    }
+
+    @Test
+    public void ruleMatchingTest() {
+        ClientCall<?, ?> delegate = MockedCall.neverAnswer();
+        GrpcFaultRule rule = GrpcFaultRule.newBuilder()
+                .forMethod("Ydb.Query.V1.QueryService")
+                .forEndpoint(ENDPOINT)
+                .withLatency(Duration.ofMillis(10), Duration.ofMillis(10))
+                .build();
+
+        try (GrpcFaultInjector injector = injector(rule)) {
+            TestChannel node1 = new TestChannel(ENDPOINT, () -> delegate);
+            TestChannel node2 = new TestChannel("node-2:2135", () -> delegate);
+
+            Assert.assertSame(delegate, injector.interceptCall(DiscoveryServiceGrpc.getWhoAmIMethod(),
+                    CallOptions.DEFAULT, node1));
+            Assert.assertSame(delegate, injector.interceptCall(QueryServiceGrpc.getCreateSessionMethod(),
+                    CallOptions.DEFAULT, node2));
+            Assert.assertNotSame(delegate, injector.interceptCall(QueryServiceGrpc.getCreateSessionMethod(),
+                    CallOptions.DEFAULT, node1));
+
+            Assert.assertEquals(1, injector.getCallsCount());
+        }
+    }
+
+    @Test
+    public void seedTest() {
+        GrpcFaultRule rule = GrpcFaultRule.newBuilder()
+                .withTransportErrorRate(0.5, io.grpc.Status.Code.UNAVAILABLE)
+                .build();
+
+        List<Boolean> first = new ArrayList<>();
+        List<Boolean> second = new ArrayList<>();
+        try (GrpcFaultInjector injector1 = injector(rule)) {
+            try (GrpcFaultInjector injector2 = injector(rule)) {
+                for (int idx = 0; idx < 100; idx++) {
+                    TestChannel channel1 = new TestChannel(ENDPOINT, MockedCall::neverAnswer);
+                    injector1.interceptCall(QueryServiceGrpc.getCreateSessionMethod(), CallOptions.DEFAULT, channel1);
+                    first.add(channel1.callsCount == 0);
+
+                    TestChannel channel2 = new TestChannel(ENDPOINT, MockedCall::neverAnswer);
+                    injector2.interceptCall(QueryServiceGrpc.getCreateSessionMethod(), CallOptions.DEFAULT, channel2);
+                    second.add(channel2.callsCount == 0);
+                }
+                Assert.assertEquals(injector1.getErrorsCount(), injector2.getErrorsCount());
+                Assert.assertTrue(injector1.getErrorsCount() > 20 && injector1.getErrorsCount() < 80);
+            }
+        }
+        Assert.assertEquals(first, second);
+    }
+
+    @Test
+    public void builderValidationTest() {
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> GrpcFaultRule.newBuilder().withErrorRate(0.5, StatusCode.CLIENT_CANCELLED));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> GrpcFaultRule.newBuilder().withErrorRate(1.5, StatusCode.OVERLOADED));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> GrpcFaultRule.newBuilder().withLatency(Duration.ofSeconds(2), Duration.ofSeconds(1)));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> GrpcFaultRule.newBuilder().withTransportErrorRate(0.1, io.grpc.Status.Code.OK));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> GrpcFaultRule.newBuilder().forEndpoint(""));
+    }
+}
@@ -0,0 +1,110 @@
+package tech.ydb.core.impl.auth;
+
+import java.time.ZoneId;
+import java.util.Collections;
+
+import io.grpc.Metadata;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import tech.ydb.auth.AuthIdentity;
+import tech.ydb.auth.AuthRpcProvider;
+import tech.ydb.auth.TokenAuthProvider;
+import tech.ydb.core.grpc.GrpcTransport;
+import tech.ydb.core.grpc.GrpcTransportBuilder;
+import tech.ydb.core.grpc.YdbHeaders;
+import tech.ydb.core.impl.MockedClock;
+import tech.ydb.core.impl.MockedScheduler;
+import tech.ydb.core.impl.pool.EndpointRecord;
+import tech.ydb.core.impl.pool.ManagedChannelFactory;
+
+public class AuthCallOptionsTest {
+    private final MockedScheduler scheduler = new MockedScheduler(MockedClock.create(ZoneId.of("UTC")));
+    private final ManagedChannelFactory channelFactory = Mockito.mock(ManagedChannelFactory.class);
+    private final AuthIdentity identity = Mockito.mock(AuthIdentity.class);
+
+    private AuthCallOptions createOptions(AuthRpcProvider<? super GrpcAuthRpc> provider) {
+        GrpcTransportBuilder builder = GrpcTransport.forEndpoint("localhost:2136", "/local")
+                .withAuthProvider(provider);
+        return new AuthCallOptions(scheduler, Collections.singletonList(new EndpointRecord("localhost", 2136)),
+                channelFactory, builder, scheduler);
+    }
+
+    private AuthCallOptions createOptions() {
+        return createOptions(rpc -> identity);
+    }
+
+    @Test
+    public void noAuthTest() {
+        AuthCallOptions options = new AuthCallOptions();
+        Metadata headers = new Metadata();
+        options.putToken(headers);
+
+        Assert.assertNull(options.getToken());
+        Assert.assertFalse(headers.containsKey(YdbHeaders.AUTH_TICKET));
+        scheduler.hasNoTasks();
+    }
+
+    @Test
+    public void cachedTokenTest() {
+        Mockito.when(identity.getToken()).thenReturn("token1");
+
+        try (AuthCallOptions options = createOptions()) {
+            scheduler.hasTasksCount(1);
+
+            Metadata headers = new Metadata();
+            options.putToken(headers);
+            options.putToken(headers);
+            Assert.assertEquals("token1", options.getToken());
+            Assert.assertEquals("token1", headers.get(YdbHeaders.AUTH_TICKET));
+            // identity is called only once, next calls use the cached token
+            Mockito.verify(identity, Mockito.times(1)).getToken();
+
+            // the calls don't call the identity even if the token is changed, it is updated only by the refresher
+            Mockito.when(identity.getToken()).thenReturn("token2");
+            Assert.assertEquals("token1", options.getToken());
+            Mockito.verify(identity, Mockito.times(1)).getToken();
+
+            scheduler.runNextTask();
+            Mockito.verify(identity, Mockito.times(2)).getToken();
+
+            Metadata next = new Metadata();
+            options.putToken(next);
+            Assert.assertEquals("token2", next.get(YdbHeaders.AUTH_TICKET));
+            Mockito.verify(identity, Mockito.times(2)).getToken();
+        }
+
+        Mockito.verify(identity).close();
+        scheduler.hasNoTasks();
+    }
+
+    @Test
+    public void backgroundErrorTest() {
+        Mockito.when(identity.getToken()).thenReturn("token1");
+
+        try (AuthCallOptions options = createOptions()) {
+            Assert.assertEquals("token1", options.getToken());
+
+            Mockito.when(identity.getToken()).thenThrow(new RuntimeException("auth error"));
+            scheduler.runNextTask();
+
+            // task is still scheduled and the previous token is used
+            scheduler.hasTasksCount(1);
+            Assert.assertEquals("token1", options.getToken());
+        }
+    }
+
+    @Test
+    public void staticTokenTest() {
+        try (AuthCallOptions options = createOptions(new TokenAuthProvider("static"))) {
+            // static token is never refreshed
+            scheduler.hasNoTasks();
+
+            Metadata headers = new Metadata();
+            options.putToken(headers);
+            Assert.assertEquals("static", headers.get(YdbHeaders.AUTH_TICKET));
+            Assert.assertEquals("static", options.getToken());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package tech.ydb.core.impl.call;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.grpc.ClientCall;
+import io.grpc.Deadline;
+import io.grpc.Metadata;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import tech.ydb.core.Result;
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.grpc.AdmissionSettings;
+import tech.ydb.core.impl.MockedCall;
+import tech.ydb.core.metrics.Meter;
+import tech.ydb.proto.discovery.DiscoveryProtos;
+import tech.ydb.proto.discovery.v1.DiscoveryServiceGrpc;
+
+public class AdmissionControllerTest {
+    private static final String ENDPOINT = "localhost:2136";
+    private static final String METHOD = DiscoveryServiceGrpc.getWhoAmIMethod().getFullMethodName();
+
+    private static Result<ClientCall<DiscoveryProtos.WhoAmIRequest, DiscoveryProtos.WhoAmIResponse>> admit(
+            AdmissionController controller, Deadline deadline,
+            ClientCall<DiscoveryProtos.WhoAmIRequest, DiscoveryProtos.WhoAmIResponse> call) {
+        return controller.admit(DiscoveryServiceGrpc.getWhoAmIMethod(), ENDPOINT, deadline)
+                .map(permit -> permit.wrap(call));
+    }
+
+    @Test
+    public void disabledTest() {
+        Assert.assertNull(AdmissionController.create(null, Meter.NOOP));
+        Assert.assertNotNull(AdmissionController.create(AdmissionSettings.defaultInstance(), null));
+    }
+
+    @Test
+    public void deadlineRejectTest() {
+        AdmissionController controller = AdmissionController.create(AdmissionSettings.newBuilder()
+                .withMinLatencySamples(10)
+                .build(), Meter.NOOP);
+
+        // not enough samples to reject anything
+        for (int idx = 0; idx < 9; idx++) {
+            controller.recordLatency(METHOD, TimeUnit.MILLISECONDS.toNanos(50));
+        }
+        Assert.assertTrue(admit(controller, Deadline.after(1, TimeUnit.MILLISECONDS),
+                MockedCall.whoAmICall("user")).isSuccess());
+
+        controller.recordLatency(METHOD, TimeUnit.MILLISECONDS.toNanos(50));
+        long expected = controller.expectedLatency(METHOD);
+        Assert.assertTrue(expected >= TimeUnit.MILLISECONDS.toNanos(50));
+        Assert.assertTrue(expected < TimeUnit.MILLISECONDS.toNanos(70));
+
+        Result<?> rejected = admit(controller, Deadline.after(10, TimeUnit.MILLISECONDS),
+                MockedCall.whoAmICall("user"));
+        Assert.assertFalse(rejected.isSuccess());
+        Assert.assertEquals(StatusCode.CLIENT_REQUEST_REJECTED, rejected.getStatus().getCode());
+        Assert.assertTrue(rejected.getStatus().getCode().isRetryable(false));
+
+        Assert.assertTrue(admit(controller, Deadline.after(10, TimeUnit.SECONDS),
+                MockedCall.whoAmICall("user")).isSuccess());
+        Assert.assertTrue(admit(controller, null, MockedCall.whoAmICall("user")).isSuccess());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void concurrencyLimitTest() {
+        AdmissionController controller = AdmissionController.create(AdmissionSettings.newBuilder()
+                .withConcurrencyLimit(2, 1, 10)
+                .build(), Meter.NOOP);
+
+        AtomicReference<Runnable> completion = new AtomicReference<>();
+        Result<ClientCall<DiscoveryProtos.WhoAmIRequest, DiscoveryProtos.WhoAmIResponse>> first = admit(
+                controller, null, MockedCall.whoAmICall(completion::set, "user"));
+        Assert.assertTrue(first.isSuccess());
+        Assert.assertTrue(admit(controller, null, MockedCall.whoAmICall("user")).isSuccess());
+
+        Result<?> rejected = admit(controller, null, MockedCall.whoAmICall("user"));
+        Assert.assertEquals(StatusCode.CLIENT_REQUEST_REJECTED, rejected.getStatus().getCode());
+
+        ClientCall.Listener<DiscoveryProtos.WhoAmIResponse> listener = Mockito.mock(ClientCall.Listener.class);
+        first.getValue().start(listener, new Metadata());
+        Assert.assertFalse(admit(controller, null, MockedCall.whoAmICall("user")).isSuccess());
+
+        // completion of the call releases the slot
+        completion.get().run();
+        Mockito.verify(listener).onClose(Mockito.eq(io.grpc.Status.OK), Mockito.any());
+        Assert.assertTrue(admit(controller, null, MockedCall.whoAmICall("user")).isSuccess());
+    }
+
+    @Test
+    public void cancelledPermitTest() {
+        AdmissionController controller = AdmissionController.create(AdmissionSettings.newBuilder()
+                .withConcurrencyLimit(1, 1, 10)
+                .build(), Meter.NOOP);
+
+        Result<AdmissionController.Permit> permit = controller.admit(DiscoveryServiceGrpc.getWhoAmIMethod(),
+                ENDPOINT, null);
+        Assert.assertTrue(permit.isSuccess());
+        Assert.assertFalse(admit(controller, null, MockedCall.whoAmICall("user")).isSuccess());
+
+        // the call was not created, the slot is returned only once
+        permit.getValue().cancel();
+        permit.getValue().cancel();
+        Assert.assertThrows(IllegalStateException.class, () -> permit.getValue().wrap(MockedCall.whoAmICall("user")));
+        Assert.assertTrue(admit(controller, null, MockedCall.whoAmICall("user")).isSuccess());
+        Assert.assertFalse(admit(controller, null, MockedCall.whoAmICall("user")).isSuccess());
+    }
+
+    @Test
+    public void removeEndpointTest() {
+        AdmissionController controller = AdmissionController.create(AdmissionSettings.newBuilder()
+                .withConcurrencyLimit(1, 1, 10)
+                .build(), Meter.NOOP);
+
+        Assert.assertTrue(controller.admit(DiscoveryServiceGrpc.getWhoAmIMethod(), ENDPOINT, null).isSuccess());
+        Assert.assertFalse(controller.admit(DiscoveryServiceGrpc.getWhoAmIMethod(), ENDPOINT, null).isSuccess());
+
+        // the endpoint has left the pool, if it comes back it gets a new limit
+        controller.removeEndpoint(ENDPOINT);
+        Assert.assertTrue(controller.admit(DiscoveryServiceGrpc.getWhoAmIMethod(), ENDPOINT, null).isSuccess());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void overloadDecreasesLimitTest() {
+        AdmissionController controller = AdmissionController.create(AdmissionSettings.newBuilder()
+                .withConcurrencyLimit(10, 5, 20)
+                .build(), Meter.NOOP);
+
+        for (int idx = 0; idx < 10; idx++) {
+            ClientCall<DiscoveryProtos.WhoAmIRequest, DiscoveryProtos.WhoAmIResponse> call = Mockito.mock(
+                    ClientCall.class);
+            Mockito.doAnswer(inv -> {
+                ClientCall.Listener<?> listener = inv.getArgument(0);
+                listener.onClose(io.grpc.Status.DEADLINE_EXCEEDED, new Metadata());
+                return null;
+            }).when(call).start(Mockito.any(), Mockito.any());
+
+            Result<ClientCall<DiscoveryProtos.WhoAmIRequest, DiscoveryProtos.WhoAmIResponse>> admitted = admit(
+                    controller, null, call);
+            Assert.assertTrue(admitted.isSuccess());
+            admitted.getValue().start(Mockito.mock(ClientCall.Listener.class), new Metadata());
+        }
+
+        // limit is decreased to the minimal value, the latency of failed calls is not recorded
+        Assert.assertEquals(5, controller.concurrencyLimit(ENDPOINT));
+        Assert.assertEquals(0, controller.expectedLatency(METHOD));
+    }
+}
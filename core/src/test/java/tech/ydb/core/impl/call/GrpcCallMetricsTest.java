@@ -0,0 +1,134 @@
+package tech.ydb.core.impl.call;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import tech.ydb.core.impl.MockedCall;
+import tech.ydb.core.metrics.Attr;
+import tech.ydb.core.metrics.DoubleHistogram;
+import tech.ydb.core.metrics.LongCounter;
+import tech.ydb.core.metrics.LongMeasurement;
+import tech.ydb.core.metrics.Meter;
+import tech.ydb.proto.discovery.DiscoveryProtos;
+import tech.ydb.proto.discovery.v1.DiscoveryServiceGrpc;
+
+public class GrpcCallMetricsTest {
+    private static final String ENDPOINT = "localhost:2136";
+
+    private final Meter meter = Mockito.mock(Meter.class);
+    private final DoubleHistogram duration = Mockito.mock(DoubleHistogram.class);
+    private final DoubleHistogram setup = Mockito.mock(DoubleHistogram.class);
+    private final LongCounter completed = Mockito.mock(LongCounter.class);
+    private final LongCounter sent = Mockito.mock(LongCounter.class);
+    private final LongCounter received = Mockito.mock(LongCounter.class);
+    private final AtomicReference<Consumer<LongMeasurement>> active = new AtomicReference<>();
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Mockito.when(meter.createHistogram(Mockito.eq("ydb.client.rpc.duration"), Mockito.any(), Mockito.any()))
+                .thenReturn(duration);
+        Mockito.when(meter.createHistogram(Mockito.eq("ydb.client.rpc.setup_duration"), Mockito.any(), Mockito.any()))
+                .thenReturn(setup);
+        Mockito.when(meter.createCounter(Mockito.eq("ydb.client.rpc.completed"), Mockito.any(), Mockito.any()))
+                .thenReturn(completed);
+        Mockito.when(meter.createCounter(Mockito.eq("ydb.client.rpc.sent_bytes"), Mockito.any(), Mockito.any()))
+                .thenReturn(sent);
+        Mockito.when(meter.createCounter(Mockito.eq("ydb.client.rpc.received_bytes"), Mockito.any(), Mockito.any()))
+                .thenReturn(received);
+        Mockito.doAnswer(inv -> {
+            active.set(inv.getArgument(3, Consumer.class));
+            return null;
+        }).when(meter).createLongGauge(Mockito.eq("ydb.client.rpc.active"), Mockito.any(), Mockito.any(),
+                Mockito.any());
+    }
+
+    private long activeCalls() {
+        AtomicLong sum = new AtomicLong();
+        active.get().accept((value, attrs) -> sum.addAndGet(value));
+        return sum.get();
+    }
+
+    @Test
+    public void noopMeterTest() {
+        Assert.assertNull(GrpcCallMetrics.create(Meter.NOOP));
+        Assert.assertNull(GrpcCallMetrics.create(null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void unaryCallTest() {
+        GrpcCallMetrics metrics = GrpcCallMetrics.create(meter);
+        Assert.assertNotNull(metrics);
+
+        // completion of the call is deferred until the test runs it
+        AtomicReference<Runnable> completion = new AtomicReference<>();
+        ClientCall<DiscoveryProtos.WhoAmIRequest, DiscoveryProtos.WhoAmIResponse> call = metrics.instrument(
+                DiscoveryServiceGrpc.getWhoAmIMethod(), ENDPOINT, MockedCall.whoAmICall(completion::set, "user"));
+
+        ClientCall.Listener<DiscoveryProtos.WhoAmIResponse> listener = Mockito.mock(ClientCall.Listener.class);
+        DiscoveryProtos.WhoAmIRequest request = DiscoveryProtos.WhoAmIRequest.newBuilder()
+                .setIncludeGroups(true)
+                .build();
+        call.start(listener, new Metadata());
+        call.sendMessage(request);
+
+        Assert.assertEquals(1, activeCalls());
+        Mockito.verify(sent).add(Mockito.eq((long) request.getSerializedSize()), Mockito.any(Attr[].class));
+        Mockito.verifyNoInteractions(duration, completed, received);
+
+        completion.get().run();
+
+        Assert.assertEquals(0, activeCalls());
+        Mockito.verify(listener).onMessage(Mockito.any());
+        Mockito.verify(listener).onClose(Mockito.eq(io.grpc.Status.OK), Mockito.any());
+        Mockito.verify(received).add(Mockito.longThat(size -> size > 0), Mockito.any(Attr[].class));
+        Mockito.verify(duration).record(Mockito.anyDouble(), Mockito.any(Attr[].class));
+
+        ArgumentCaptor<Attr[]> attrs = ArgumentCaptor.forClass(Attr[].class);
+        Mockito.verify(completed).add(Mockito.eq(1L), attrs.capture());
+        Assert.assertEquals(3, attrs.getValue().length);
+        Assert.assertEquals(DiscoveryServiceGrpc.getWhoAmIMethod().getFullMethodName(), attrs.getValue()[0].getValue());
+        Assert.assertEquals(ENDPOINT, attrs.getValue()[1].getValue());
+        Assert.assertEquals("OK", attrs.getValue()[2].getValue());
+    }
+
+    @Test
+    public void setupPhaseTest() {
+        GrpcCallMetrics metrics = GrpcCallMetrics.create(meter);
+        Assert.assertNotNull(metrics);
+
+        metrics.recordSetup(DiscoveryServiceGrpc.getWhoAmIMethod(), ENDPOINT, "auth", 2_000_000L);
+
+        ArgumentCaptor<Attr[]> attrs = ArgumentCaptor.forClass(Attr[].class);
+        Mockito.verify(setup).record(Mockito.eq(0.002d), attrs.capture());
+        Assert.assertEquals("auth", attrs.getValue()[2].getValue());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void removeEndpointTest() {
+        GrpcCallMetrics metrics = GrpcCallMetrics.create(meter);
+        Assert.assertNotNull(metrics);
+
+        ClientCall.Listener<DiscoveryProtos.WhoAmIResponse> listener = Mockito.mock(ClientCall.Listener.class);
+        metrics.instrument(DiscoveryServiceGrpc.getWhoAmIMethod(), ENDPOINT,
+                MockedCall.whoAmICall(completion -> { }, "user")).start(listener, new Metadata());
+        metrics.instrument(DiscoveryServiceGrpc.getWhoAmIMethod(), "other:2136",
+                MockedCall.whoAmICall(completion -> { }, "user")).start(listener, new Metadata());
+        Assert.assertEquals(2, activeCalls());
+
+        // stats of the removed endpoint are not reported anymore
+        metrics.removeEndpoint("other:2136");
+        Assert.assertEquals(1, activeCalls());
+    }
+}
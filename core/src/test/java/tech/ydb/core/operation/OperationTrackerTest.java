@@ -0,0 +1,172 @@
+package tech.ydb.core.operation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+
+import tech.ydb.core.Result;
+
+public class OperationTrackerTest {
+    private final ScheduledExecutorService scheduler = Mockito.mock(ScheduledExecutorService.class);
+    private final AtomicLong clock = new AtomicLong(0);
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final List<Long> delays = new ArrayList<>();
+
+    @Before
+    public void prepare() {
+        Mockito.when(scheduler.schedule(Mockito.any(Runnable.class), Mockito.anyLong(), Mockito.any()))
+                .thenAnswer((InvocationOnMock iom) -> {
+                    scheduled.add(iom.getArgument(0, Runnable.class));
+                    delays.add(iom.getArgument(1, Long.class));
+                    return Mockito.mock(ScheduledFuture.class);
+                });
+    }
+
+    private OperationTracker.Builder tracker() {
+        return OperationTracker.newBuilder(scheduler)
+                .withInitialDelay(Duration.ofMillis(100))
+                .withMaxDelay(Duration.ofMillis(400))
+                .withBackoffMultiplier(2)
+                .withClock(clock::get);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AsyncOperation<String> operation(boolean... readyAfterFetch) {
+        AsyncOperation<String> op = Mockito.mock(AsyncOperation.class);
+        Boolean[] next = new Boolean[readyAfterFetch.length];
+        for (int idx = 0; idx < next.length; idx++) {
+            next[idx] = readyAfterFetch[idx];
+        }
+        Mockito.when(op.isReady()).thenReturn(false, next);
+        Mockito.when(op.getValue()).thenReturn("done");
+        Mockito.when(op.fetch()).thenReturn(CompletableFuture.completedFuture(Result.success(Boolean.TRUE)));
+        return op;
+    }
+
+    private void runScheduled(long delayMs) {
+        clock.addAndGet(delayMs);
+        Assert.assertEquals(1, scheduled.size());
+        Runnable task = scheduled.remove(0);
+        task.run();
+    }
+
+    @Test
+    public void adaptiveDelayTest() {
+        OperationTracker tracker = tracker().build();
+        // isReady: on track, then after every fetch
+        AsyncOperation<String> op = operation(false, false, false, true);
+        List<Operation<String>> progress = new ArrayList<>();
+
+        CompletableFuture<String> future = tracker.track(op, progress::add);
+        Assert.assertFalse(future.isDone());
+        Assert.assertEquals(1, tracker.getTrackedCount());
+
+        // delays grow from initial to max delay
+        long[] expected = new long[] { 100, 200, 400, 400 };
+        for (long delay: expected) {
+            Assert.assertEquals(Long.valueOf(delay), delays.get(delays.size() - 1));
+            runScheduled(delay);
+        }
+
+        Assert.assertEquals("done", future.join());
+        Assert.assertEquals(3, progress.size());
+        Assert.assertEquals(0, tracker.getTrackedCount());
+        Assert.assertTrue(scheduled.isEmpty());
+        Mockito.verify(op, Mockito.times(4)).fetch();
+    }
+
+    @Test
+    public void sharedTimerTest() {
+        OperationTracker tracker = tracker().build();
+        AsyncOperation<String> op1 = operation(true);
+        AsyncOperation<String> op2 = operation(true);
+
+        CompletableFuture<String> f1 = tracker.track(op1);
+        clock.addAndGet(50);
+        CompletableFuture<String> f2 = tracker.track(op2);
+
+        // the second operation doesn't create a new timer
+        Assert.assertEquals(1, scheduled.size());
+        runScheduled(50);
+        Assert.assertTrue(f1.isDone());
+        Assert.assertFalse(f2.isDone());
+
+        runScheduled(50);
+        Assert.assertTrue(f2.isDone());
+        Mockito.verify(scheduler)
+                .schedule(Mockito.any(Runnable.class), Mockito.eq(100L), Mockito.eq(TimeUnit.MILLISECONDS));
+        Mockito.verify(scheduler)
+                .schedule(Mockito.any(Runnable.class), Mockito.eq(50L), Mockito.eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void batchFetchTest() {
+        OperationTracker tracker = tracker().withMaxConcurrentFetches(2).build();
+        List<CompletableFuture<Result<Boolean>>> fetches = new ArrayList<>();
+        List<AsyncOperation<String>> ops = new ArrayList<>();
+        for (int idx = 0; idx < 3; idx++) {
+            AsyncOperation<String> op = operation(true);
+            CompletableFuture<Result<Boolean>> fetch = new CompletableFuture<>();
+            Mockito.when(op.fetch()).thenReturn(fetch);
+            fetches.add(fetch);
+            ops.add(op);
+            tracker.track(op);
+        }
+
+        // two operations are fetched in one batch, the third waits for a free slot
+        runScheduled(100);
+        Mockito.verify(ops.get(0)).fetch();
+        Mockito.verify(ops.get(1)).fetch();
+        Mockito.verify(ops.get(2), Mockito.never()).fetch();
+        Assert.assertTrue(scheduled.isEmpty());
+
+        fetches.get(0).complete(Result.success(Boolean.TRUE));
+        runScheduled(0);
+        Mockito.verify(ops.get(2)).fetch();
+    }
+
+    @Test
+    public void readyOperationTest() {
+        OperationTracker tracker = tracker().build();
+        @SuppressWarnings("unchecked")
+        AsyncOperation<String> op = Mockito.mock(AsyncOperation.class);
+        Mockito.when(op.isReady()).thenReturn(true);
+        Mockito.when(op.getValue()).thenReturn("ready");
+
+        Assert.assertEquals("ready", tracker.track(op).join());
+        Assert.assertTrue(scheduled.isEmpty());
+        Mockito.verify(op, Mockito.never()).fetch();
+    }
+
+    @Test
+    public void fetchErrorAndCloseTest() {
+        OperationTracker tracker = tracker().build();
+        AsyncOperation<String> failed = operation(false);
+        CompletableFuture<Result<Boolean>> fetch = new CompletableFuture<>();
+        fetch.completeExceptionally(new RuntimeException("fetch error"));
+        Mockito.when(failed.fetch()).thenReturn(fetch);
+
+        CompletableFuture<String> f1 = tracker.track(failed);
+        runScheduled(100);
+        CompletionException ex = Assert.assertThrows(CompletionException.class, f1::join);
+        Assert.assertEquals("fetch error", ex.getCause().getMessage());
+
+        CompletableFuture<String> f2 = tracker.track(operation(false));
+        tracker.close();
+        Assert.assertThrows(CancellationException.class, f2::join);
+        Assert.assertThrows(IllegalStateException.class, () -> tracker.track(operation(false)));
+    }
+}
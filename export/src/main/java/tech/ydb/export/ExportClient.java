@@ -7,6 +7,7 @@ import javax.annotation.WillNotClose;
 import tech.ydb.core.Result;
 import tech.ydb.core.grpc.GrpcTransport;
 import tech.ydb.core.operation.Operation;
+import tech.ydb.core.operation.OperationTracker;
 import tech.ydb.core.operation.OperationTray;
 import tech.ydb.export.impl.ExportClientImpl;
 import tech.ydb.export.impl.GrpcExportRpcImpl;
@@ -55,4 +56,17 @@ public interface ExportClient {
         return startExportToYt(host, token, settings)
                 .thenCompose(operation -> OperationTray.fetchOperation(operation, updateRateSeconds));
     }
+
+    default CompletableFuture<Result<ExportToS3Result>> exportToS3(
+            String endpoint, String bucket, String accessKey, String secretKey, ExportToS3Settings settings,
+            OperationTracker tracker
+    ) {
+        return startExportToS3(endpoint, bucket, accessKey, secretKey, settings).thenCompose(tracker::track);
+    }
+
+    default CompletableFuture<Result<ExportToYtResult>> exportToYt(
+            String host, String token, ExportToYtSettings settings, OperationTracker tracker
+    ) {
+        return startExportToYt(host, token, settings).thenCompose(tracker::track);
+    }
 }
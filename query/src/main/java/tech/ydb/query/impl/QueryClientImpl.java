@@ -34,7 +34,9 @@ public class QueryClientImpl implements QueryClient {
                 builder.sessionPoolMaxSize,
                 builder.sessionPoolIdleDuration,
                 builder.meter,
-                poolName
+                poolName,
+                builder.sessionPoolWarmUpParallelism,
+                builder.sessionPoolPredictiveSizing
         );
         this.scheduler = builder.transport.getScheduler();
         this.tracer = builder.transport.getTracer();
@@ -83,6 +85,8 @@ public class QueryClientImpl implements QueryClient {
         private Duration sessionPoolIdleDuration = Duration.ofMinutes(5);
         private String sessionPoolName = null;
         private Meter meter = Meter.NOOP;
+        private int sessionPoolWarmUpParallelism = 0;
+        private boolean sessionPoolPredictiveSizing = false;
 
         Builder(GrpcTransport transport) {
             Preconditions.checkArgument(transport != null, "transport is null");
@@ -142,6 +146,19 @@ public class QueryClientImpl implements QueryClient {
             return this;
         }
 
+        @Override
+        public Builder sessionPoolWarmUp(int parallelism) {
+            Preconditions.checkArgument(parallelism >= 0, "sessionPoolWarmUp(%s) is negative", parallelism);
+            this.sessionPoolWarmUpParallelism = parallelism;
+            return this;
+        }
+
+        @Override
+        public Builder sessionPoolPredictiveSizing(boolean enabled) {
+            this.sessionPoolPredictiveSizing = enabled;
+            return this;
+        }
+
         @Override
         public QueryClientImpl build() {
             return new QueryClientImpl(this);
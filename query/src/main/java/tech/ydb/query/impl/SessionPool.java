@@ -32,6 +32,7 @@ import tech.ydb.query.settings.CreateSessionSettings;
 import tech.ydb.query.settings.DeleteSessionSettings;
 import tech.ydb.table.SessionPoolStats;
 import tech.ydb.table.impl.pool.PoolMetrics;
+import tech.ydb.table.impl.pool.PoolSizer;
 import tech.ydb.table.impl.pool.WaitingQueue;
 
 
@@ -55,17 +56,26 @@ class SessionPool implements AutoCloseable {
     private static final AttachSessionSettings ATTACH_SETTINGS = AttachSessionSettings.newBuilder()
             .build();
 
+    private static final long SIZER_PERIOD_MILLIS = 500;
+
     private final int minSize;
     private final Clock clock;
     private final ScheduledExecutorService scheduler;
     private final WaitingQueue<PooledQuerySession> queue;
     private final ScheduledFuture<?> cleanerFuture;
+    private final ScheduledFuture<?> sizerFuture;
     private final StatsImpl stats = new StatsImpl();
     private final PoolMetrics metrics;
 
     @SuppressWarnings("checkstyle:ParameterNumber")
     SessionPool(Clock clock, QueryServiceRpc rpc, ScheduledExecutorService scheduler, int minSize, int maxSize,
                 Duration idleDuration, Meter meter, String poolName) {
+        this(clock, rpc, scheduler, minSize, maxSize, idleDuration, meter, poolName, 0, false);
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    SessionPool(Clock clock, QueryServiceRpc rpc, ScheduledExecutorService scheduler, int minSize, int maxSize,
+                Duration idleDuration, Meter meter, String poolName, int warmUpParallelism, boolean predictive) {
         this.minSize = minSize;
         this.clock = clock;
         this.scheduler = scheduler;
@@ -82,6 +92,23 @@ class SessionPool implements AutoCloseable {
                 minSize,
                 maxSize,
                 cleaner.periodMillis);
+
+        int parallelism = warmUpParallelism > 0 ? warmUpParallelism : Math.max(2, maxSize / 5);
+        PoolSizer sizer = new PoolSizer(queue, minSize, parallelism, stats.acquired::sum);
+        this.sizerFuture = predictive ? scheduler.scheduleAtFixedRate(
+                sizer,
+                SIZER_PERIOD_MILLIS,
+                SIZER_PERIOD_MILLIS,
+                TimeUnit.MILLISECONDS) : null;
+        if (warmUpParallelism > 0) {
+            sizer.warmUp(minSize).whenComplete((count, th) -> {
+                if (th != null) {
+                    logger.warn("QuerySession pool warm up failed", th);
+                } else {
+                    logger.info("QuerySession pool warm up created {} sessions", count);
+                }
+            });
+        }
     }
 
     public void updateMaxSize(int maxSize) {
@@ -96,6 +123,9 @@ class SessionPool implements AutoCloseable {
     public void close() {
         logger.info("closing QuerySession pool");
         cleanerFuture.cancel(false);
+        if (sizerFuture != null) {
+            sizerFuture.cancel(false);
+        }
         queue.close();
     }
 
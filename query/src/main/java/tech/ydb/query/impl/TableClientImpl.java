@@ -331,6 +331,18 @@ public class TableClientImpl implements TableClient {
             return this;
         }
 
+        @Override
+        public Builder sessionPoolWarmUp(int parallelism) {
+            query.sessionPoolWarmUp(parallelism);
+            return this;
+        }
+
+        @Override
+        public Builder sessionPoolPredictiveSizing(boolean enabled) {
+            query.sessionPoolPredictiveSizing(enabled);
+            return this;
+        }
+
         @Override
         public TableClientImpl build() {
             return new TableClientImpl(this);
@@ -10,6 +10,7 @@ import tech.ydb.core.Result;
 import tech.ydb.core.Status;
 import tech.ydb.core.grpc.GrpcTransport;
 import tech.ydb.core.operation.Operation;
+import tech.ydb.core.operation.OperationTracker;
 import tech.ydb.core.operation.OperationTray;
 import tech.ydb.query.script.impl.ScriptClientImpl;
 import tech.ydb.query.script.result.ScriptResultPart;
@@ -83,6 +84,17 @@ public interface ScriptClient {
         return OperationTray.fetchOperation(operation, fetchRateSeconds);
     }
 
+    /**
+     * Wait for script execution with the shared operation tracker and return status
+     *
+     * @param operation operation object returned when script started
+     * @param tracker tracker which polls the operation with adaptive delays
+     * @return future with result of script execution
+     */
+    default CompletableFuture<Status> fetchQueryScriptStatus(Operation<Status> operation, OperationTracker tracker) {
+        return tracker.track(operation);
+    }
+
     /**
      * Fetches script results incrementally.
      *
@@ -8,14 +8,22 @@ import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import javax.annotation.Nonnull;
 
+import tech.ydb.common.transaction.TxMode;
 import tech.ydb.core.Issue;
 import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.UnexpectedResultException;
+import tech.ydb.query.QuerySession;
 import tech.ydb.query.QueryStream;
 import tech.ydb.query.result.QueryInfo;
 import tech.ydb.query.result.QueryResultPart;
+import tech.ydb.query.settings.ExecuteQuerySettings;
+import tech.ydb.table.query.Params;
 import tech.ydb.table.result.ResultSetReader;
 import tech.ydb.table.result.ValueReader;
 import tech.ydb.table.values.Type;
@@ -56,6 +64,53 @@ public class QueryReader implements Iterable<ResultSetReader> {
         return stream.execute(collector).thenApply(res -> res.map(collector::toReader));
     }
 
+    /**
+     * Executes query and waits for all its result sets. The waiting parks the current thread without holding any
+     * monitors, so the method is suitable for virtual threads. If the current thread is interrupted, the query is
+     * cancelled.
+     *
+     * @param session session to execute query
+     * @param query text of query
+     * @param tx transaction mode
+     * @param params query parameters
+     * @param settings additional settings of query execution
+     * @return result with all result sets of the query
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    public static Result<QueryReader> executeBlocking(QuerySession session, String query, TxMode tx, Params params,
+            ExecuteQuerySettings settings) throws InterruptedException {
+        QueryStream stream = session.createQuery(query, tx, params, settings);
+        CompletableFuture<Result<QueryReader>> future = readFrom(stream);
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            stream.cancel();
+            throw ex;
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof UnexpectedResultException) {
+                return Result.fail(((UnexpectedResultException) cause).getStatus());
+            }
+            return Result.fail(Status.of(StatusCode.CLIENT_INTERNAL_ERROR).withCause(cause));
+        }
+    }
+
+    /**
+     * Executes query and waits for all its result sets, see
+     * {@link #executeBlocking(QuerySession, String, TxMode, Params, ExecuteQuerySettings)}
+     *
+     * @param session session to execute query
+     * @param query text of query
+     * @param tx transaction mode
+     * @param params query parameters
+     * @return result with all result sets of the query
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    public static Result<QueryReader> executeBlocking(QuerySession session, String query, TxMode tx, Params params)
+            throws InterruptedException {
+        return executeBlocking(session, query, tx, params, ExecuteQuerySettings.newBuilder().build());
+    }
+
     @Nonnull
     @Override
     public Iterator<ResultSetReader> iterator() {
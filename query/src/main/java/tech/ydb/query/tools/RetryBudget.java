@@ -0,0 +1,63 @@
+package tech.ydb.query.tools;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Token bucket which limits the count of retries of all {@link SessionRetryContext} which share it. Every failed
+ * attempt takes one token and every successful attempt returns {@code tokenRatio} tokens to the bucket. Retries are
+ * allowed only while the bucket is more than half full, so during a partial outage the clients stop retrying instead
+ * of multiplying the load on the remaining nodes.
+ */
+public final class RetryBudget {
+    // tokens are stored with three decimal digits of precision
+    private static final long SCALE = 1000;
+
+    private final long maxTokens;
+    private final long threshold;
+    private final long tokenRatio;
+    private final AtomicLong tokens;
+
+    private RetryBudget(int maxTokens, double tokenRatio) {
+        this.maxTokens = maxTokens * SCALE;
+        this.threshold = this.maxTokens / 2;
+        this.tokenRatio = (long) (tokenRatio * SCALE);
+        this.tokens = new AtomicLong(this.maxTokens);
+    }
+
+    /**
+     * Creates a new retry budget
+     * @param maxTokens capacity of the bucket
+     * @param tokenRatio count of tokens returned to the bucket by every successful attempt
+     * @return new retry budget
+     */
+    public static RetryBudget create(int maxTokens, double tokenRatio) {
+        Preconditions.checkArgument(maxTokens > 0, "maxTokens(%s) must be positive", maxTokens);
+        Preconditions.checkArgument(tokenRatio > 0, "tokenRatio(%s) must be positive", tokenRatio);
+        return new RetryBudget(maxTokens, tokenRatio);
+    }
+
+    /**
+     * Records the failed attempt and checks if the retry is allowed
+     * @return true if the next attempt may be started
+     */
+    public boolean tryRetry() {
+        long current = tokens.updateAndGet(value -> Math.max(0, value - SCALE));
+        return current > threshold;
+    }
+
+    /**
+     * Records the successful attempt
+     */
+    public void onSuccess() {
+        tokens.updateAndGet(value -> Math.min(maxTokens, value + tokenRatio));
+    }
+
+    /**
+     * @return current count of tokens in the bucket
+     */
+    public double getTokens() {
+        return (double) tokens.get() / SCALE;
+    }
+}
@@ -0,0 +1,288 @@
+package tech.ydb.query.tools;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.UnexpectedResultException;
+import tech.ydb.core.operation.Operation;
+import tech.ydb.query.script.ScriptClient;
+import tech.ydb.query.script.result.ScriptResultPart;
+import tech.ydb.query.script.settings.FetchScriptSettings;
+import tech.ydb.table.result.ResultSetReader;
+
+/**
+ * Streaming reader of script execution results. Every result set is fetched by its own chain of requests, the next
+ * page is requested as soon as the previous one is received, so the network round trip overlaps with the consuming
+ * of the current page. Received pages are kept in a bounded buffer, the fetching is paused while the buffer is full.
+ */
+public class ScriptResultReader implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ScriptResultReader.class);
+
+    private final ScriptClient client;
+    private final Operation<Status> operation;
+    private final int rowsLimit;
+    private final int bufferSize;
+    private final Duration requestTimeout;
+    private final Map<Long, ResultSetFetcher> fetchers = new LinkedHashMap<>();
+
+    private ScriptResultReader(Builder builder) {
+        this.client = builder.client;
+        this.operation = builder.operation;
+        this.rowsLimit = builder.rowsLimit;
+        this.bufferSize = builder.bufferSize;
+        this.requestTimeout = builder.requestTimeout;
+        for (long index: builder.resultSetIndexes) {
+            fetchers.put(index, new ResultSetFetcher(index));
+        }
+    }
+
+    public static Builder newBuilder(ScriptClient client, Operation<Status> operation) {
+        return new Builder(client, operation);
+    }
+
+    /**
+     * Starts fetching of all configured result sets in parallel
+     *
+     * @return this reader
+     */
+    public ScriptResultReader start() {
+        fetchers.values().forEach(ResultSetFetcher::start);
+        return this;
+    }
+
+    /**
+     * Returns blocking iterator over pages of the result set. Iterator throws {@link UnexpectedResultException} if
+     * fetching of the result set has failed
+     *
+     * @param resultSetIndex index of the result set
+     * @return iterator over pages of the result set
+     */
+    public Iterator<ResultSetReader> pages(long resultSetIndex) {
+        ResultSetFetcher fetcher = fetchers.get(resultSetIndex);
+        Preconditions.checkArgument(fetcher != null, "Result set %s is not configured to read", resultSetIndex);
+        fetcher.start();
+        return fetcher;
+    }
+
+    @Override
+    public void close() {
+        fetchers.values().forEach(ResultSetFetcher::close);
+    }
+
+    private class ResultSetFetcher implements Iterator<ResultSetReader> {
+        private final long index;
+        private final FetchScriptSettings settings;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition hasPages = lock.newCondition();
+        private final Queue<ResultSetReader> pages = new ArrayDeque<>();
+
+        // guarded by lock
+        private boolean isStarted = false;
+        private boolean isFetching = false;
+        private boolean isFinished = false;
+        private boolean isClosed = false;
+        private Status error = null;
+        private ScriptResultPart lastPart = null;
+
+        ResultSetFetcher(long index) {
+            this.index = index;
+            FetchScriptSettings.Builder builder = FetchScriptSettings.newBuilder()
+                    .withResultSetIndex(index)
+                    .withRowsLimit(rowsLimit);
+            if (requestTimeout != null) {
+                builder.withRequestTimeout(requestTimeout);
+            }
+            this.settings = builder.build();
+        }
+
+        void start() {
+            lock.lock();
+            try {
+                if (isStarted) {
+                    return;
+                }
+                isStarted = true;
+            } finally {
+                lock.unlock();
+            }
+            fetchNextIfNeeded();
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                isClosed = true;
+                pages.clear();
+                hasPages.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void fetchNextIfNeeded() {
+            ScriptResultPart previous;
+            lock.lock();
+            try {
+                if (isClosed || isFinished || isFetching || pages.size() >= bufferSize) {
+                    return;
+                }
+                isFetching = true;
+                previous = lastPart;
+            } finally {
+                lock.unlock();
+            }
+
+            logger.trace("fetch next page of result set {} for {}", index, operation);
+            client.fetchQueryScriptResult(operation, previous, settings).whenComplete(this::onPart);
+        }
+
+        private void onPart(Result<ScriptResultPart> result, Throwable th) {
+            lock.lock();
+            try {
+                isFetching = false;
+                if (th != null) {
+                    error = Status.of(StatusCode.CLIENT_INTERNAL_ERROR, th);
+                    isFinished = true;
+                } else if (!result.isSuccess()) {
+                    error = result.getStatus();
+                    isFinished = true;
+                } else {
+                    ScriptResultPart part = result.getValue();
+                    lastPart = part;
+                    if (!isClosed) {
+                        pages.add(part.getResultSetReader());
+                    }
+                    isFinished = part.getNextFetchToken() == null || part.getNextFetchToken().isEmpty();
+                }
+                hasPages.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            // prefetch the next page while the current one is consumed
+            fetchNextIfNeeded();
+        }
+
+        @Override
+        public boolean hasNext() {
+            lock.lock();
+            try {
+                while (pages.isEmpty() && !isFinished && !isClosed) {
+                    hasPages.await();
+                }
+                if (!pages.isEmpty()) {
+                    return true;
+                }
+                if (error != null) {
+                    throw new UnexpectedResultException("Cannot fetch result set " + index, error);
+                }
+                return false;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new UnexpectedResultException("Interrupted while waiting of result set " + index,
+                        Status.of(StatusCode.CLIENT_CANCELLED, ex));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public ResultSetReader next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Result set " + index + " has no more pages");
+            }
+
+            ResultSetReader page;
+            lock.lock();
+            try {
+                page = pages.poll();
+            } finally {
+                lock.unlock();
+            }
+
+            // a slot in the buffer is free now
+            fetchNextIfNeeded();
+            return page;
+        }
+    }
+
+    public static class Builder {
+        private final ScriptClient client;
+        private final Operation<Status> operation;
+        private long[] resultSetIndexes = new long[] { 0 };
+        private int rowsLimit = 0;
+        private int bufferSize = 2;
+        private Duration requestTimeout = null;
+
+        private Builder(ScriptClient client, Operation<Status> operation) {
+            Preconditions.checkArgument(client != null, "client must not be null");
+            Preconditions.checkArgument(operation != null, "operation must not be null");
+            this.client = client;
+            this.operation = operation;
+        }
+
+        /**
+         * Set indexes of result sets to read. Default value is the only result set with index {@code 0}
+         *
+         * @param indexes indexes of result sets
+         * @return builder
+         */
+        public Builder resultSetIndexes(long... indexes) {
+            Preconditions.checkArgument(indexes.length > 0, "at least one result set index must be set");
+            for (long index: indexes) {
+                Preconditions.checkArgument(index >= 0, "result set index must be non-negative");
+            }
+            this.resultSetIndexes = Arrays.copyOf(indexes, indexes.length);
+            return this;
+        }
+
+        /**
+         * Set maximum count of rows in one page. Default value is {@code 0} that means server default limit
+         *
+         * @param rowsLimit maximum count of rows in one page
+         * @return builder
+         */
+        public Builder rowsLimit(int rowsLimit) {
+            Preconditions.checkArgument(rowsLimit >= 0, "rowsLimit must be non-negative");
+            this.rowsLimit = rowsLimit;
+            return this;
+        }
+
+        /**
+         * Set maximum count of received but not consumed pages for every result set. Default value is {@code 2}
+         *
+         * @param pagesCount maximum count of buffered pages
+         * @return builder
+         */
+        public Builder bufferSize(int pagesCount) {
+            Preconditions.checkArgument(pagesCount > 0, "bufferSize must be positive");
+            this.bufferSize = pagesCount;
+            return this;
+        }
+
+        public Builder requestTimeout(Duration timeout) {
+            this.requestTimeout = timeout;
+            return this;
+        }
+
+        public ScriptResultReader build() {
+            return new ScriptResultReader(this);
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package tech.ydb.query.tools;
 
 import java.time.Duration;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
@@ -16,11 +19,15 @@ import javax.annotation.ParametersAreNonnullByDefault;
 
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.Context;
 
 import tech.ydb.core.Result;
 import tech.ydb.core.Status;
 import tech.ydb.core.StatusCode;
 import tech.ydb.core.UnexpectedResultException;
+import tech.ydb.core.metrics.Attr;
+import tech.ydb.core.metrics.LongCounter;
+import tech.ydb.core.metrics.Meter;
 import tech.ydb.core.tracing.Scope;
 import tech.ydb.core.tracing.Span;
 import tech.ydb.core.tracing.SpanKind;
@@ -38,6 +45,8 @@ public class SessionRetryContext {
     private static final String EXECUTE_SPAN_NAME = "ydb.RunWithRetry";
     private static final String EXECUTE_WITH_RETRY_SPAN_NAME = "ydb.Try";
     private static final String RETRY_BACKOFF_MS_ATTR = "ydb.retry.backoff_ms";
+    private static final String METRICS_PREFIX = "ydb.query.retry.";
+    private static final String STATUS_CODE_ATTR = METRICS_PREFIX + "status_code";
 
     private final QueryClient queryClient;
     private final Executor executor;
@@ -49,6 +58,12 @@ public class SessionRetryContext {
     private final int fastBackoffCeiling;
     private final boolean retryNotFound;
     private final boolean idempotent;
+    private final RetryBudget retryBudget;
+    private final long hedgingDelayMillis;
+
+    private final LongCounter retriesCounter;
+    private final LongCounter budgetExhaustedCounter;
+    private final LongCounter hedgedCounter;
 
     private SessionRetryContext(Builder b) {
         this.queryClient = b.queryClient;
@@ -61,6 +76,15 @@ public class SessionRetryContext {
         this.fastBackoffCeiling = b.fastBackoffCeiling;
         this.retryNotFound = b.retryNotFound;
         this.idempotent = b.idempotent;
+        this.retryBudget = b.retryBudget;
+        this.hedgingDelayMillis = b.idempotent ? b.hedgingDelayMillis : 0;
+
+        this.retriesCounter = b.meter.createCounter(METRICS_PREFIX + "attempts", "{attempt}",
+                "Total retried attempts.");
+        this.budgetExhaustedCounter = b.meter.createCounter(METRICS_PREFIX + "budget_exhausted", "{attempt}",
+                "Total retries rejected by the retry budget.");
+        this.hedgedCounter = b.meter.createCounter(METRICS_PREFIX + "hedged", "{attempt}",
+                "Total hedged attempts.");
     }
 
     public static Builder create(QueryClient sessionSupplier) {
@@ -70,12 +94,14 @@ public class SessionRetryContext {
     public <T> CompletableFuture<Result<T>> supplyResult(Function<QuerySession, CompletableFuture<Result<T>>> fn) {
         RetryableResultTask<T> task = new RetryableResultTask<>(fn);
         task.requestSession();
+        task.scheduleHedging();
         return task.getFuture();
     }
 
     public CompletableFuture<Status> supplyStatus(Function<QuerySession, CompletableFuture<Status>> fn) {
         RetryableStatusTask task = new RetryableStatusTask(fn);
         task.requestSession();
+        task.scheduleHedging();
         return task.getFuture();
     }
 
@@ -92,6 +118,14 @@ public class SessionRetryContext {
         return false;
     }
 
+    private static String exceptionCode(Throwable t) {
+        Throwable cause = FutureTools.unwrapCompletionException(t);
+        if (cause instanceof UnexpectedResultException) {
+            return ((UnexpectedResultException) cause).getStatus().getCode().name();
+        }
+        return cause.getClass().getSimpleName();
+    }
+
     private long backoffTimeMillisInternal(int retryNumber, long backoffSlotMillis, int backoffCeiling) {
         int slots = 1 << Math.min(retryNumber, backoffCeiling);
         long delay = backoffSlotMillis * slots;
@@ -123,6 +157,7 @@ public class SessionRetryContext {
             case NOT_FOUND:
             case OVERLOADED:
             case CLIENT_RESOURCE_EXHAUSTED:
+            case CLIENT_REQUEST_REJECTED:
             default:
                 // Slow backoff
                 return slowBackoffTimeMillis(retryNumber);
@@ -138,12 +173,24 @@ public class SessionRetryContext {
         return slowBackoffTimeMillis(retryNumber);
     }
 
+    private boolean tryRetryByBudget() {
+        if (retryBudget == null || retryBudget.tryRetry()) {
+            return true;
+        }
+        budgetExhaustedCounter.add(1L);
+        return false;
+    }
+
     /**
      * BASE RETRYABLE TASK
      */
     private abstract class BaseRetryableTask<R> implements Runnable {
         private final CompletableFuture<R> promise = new CompletableFuture<>();
         private final AtomicInteger retryNumber = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicBoolean isFinished = new AtomicBoolean(false);
+        // attempts in progress with contexts of their grpc calls, used only with hedging
+        private final Map<CompletableFuture<R>, Context.CancellableContext> attempts = new ConcurrentHashMap<>();
         private final Function<QuerySession, CompletableFuture<R>> fn;
         private final Tracer tracer;
         private final Span executeSpan;
@@ -157,6 +204,11 @@ public class SessionRetryContext {
             try (@SuppressWarnings("unused") Scope ignored = executeSpan.makeCurrent()) {
                 this.trySpan = tracer.startSpan(EXECUTE_WITH_RETRY_SPAN_NAME, SpanKind.INTERNAL);
             }
+
+            if (hedgingDelayMillis > 0) {
+                // the losing hedged attempt is not needed after completion of the task
+                promise.whenComplete((res, th) -> cancelAttempts());
+            }
         }
 
         CompletableFuture<R> getFuture() {
@@ -178,6 +230,7 @@ public class SessionRetryContext {
         }
 
         public void requestSession() {
+            inFlight.incrementAndGet();
             CompletableFuture<Result<QuerySession>> sessionFuture = createSessionWithRetrySpanParent();
             if (sessionFuture.isDone() && !sessionFuture.isCompletedExceptionally()) {
                 // faster than subscribing on future
@@ -201,9 +254,18 @@ public class SessionRetryContext {
             }
 
             final QuerySession session = sessionResult.getValue();
+            if (promise.isDone()) {
+                // session of the hedged attempt was received after completion of the task
+                session.close();
+                completeFailedAttempt();
+                return;
+            }
+
             try {
                 try (@SuppressWarnings("unused") Scope ignored = trySpan.makeCurrent()) {
-                    fn.apply(session).whenComplete((fnResult, fnException) -> {
+                    CompletableFuture<R> attempt = applyFn(session);
+                    attempt.whenComplete((fnResult, fnException) -> {
+                        attempts.remove(attempt);
                         try {
                             try (@SuppressWarnings("unused") Scope ignored1 = trySpan.makeCurrent()) {
                                 session.close();
@@ -215,9 +277,13 @@ public class SessionRetryContext {
 
                                 Status status = toStatus(fnResult);
                                 if (status.isSuccess()) {
+                                    inFlight.decrementAndGet();
+                                    if (retryBudget != null) {
+                                        retryBudget.onSuccess();
+                                    }
                                     if (promise.complete(fnResult)) {
                                         finishSpans(status, null);
-                                    } else {
+                                    } else if (promise.isCancelled()) {
                                         finishOnCancel();
                                     }
                                 } else {
@@ -236,6 +302,71 @@ public class SessionRetryContext {
             }
         }
 
+        private CompletableFuture<R> applyFn(QuerySession session) {
+            if (hedgingDelayMillis <= 0) {
+                return fn.apply(session);
+            }
+
+            // grpc calls of the attempt are bound to its own context, so they can be cancelled if another attempt wins
+            Context.CancellableContext ctx = Context.current().withCancellation();
+            CompletableFuture<R> attempt;
+            Context previous = ctx.attach();
+            try {
+                attempt = fn.apply(session);
+            } catch (RuntimeException ex) {
+                ctx.cancel(ex);
+                throw ex;
+            } finally {
+                ctx.detach(previous);
+            }
+
+            attempts.put(attempt, ctx);
+            if (promise.isDone()) {
+                cancelAttempts();
+            }
+            return attempt;
+        }
+
+        private void cancelAttempts() {
+            for (Map.Entry<CompletableFuture<R>, Context.CancellableContext> entry : attempts.entrySet()) {
+                if (attempts.remove(entry.getKey(), entry.getValue())) {
+                    entry.getValue().cancel(new CancellationException("Another hedged attempt is completed"));
+                    entry.getKey().cancel(false);
+                }
+            }
+        }
+
+        /**
+         * Starts the second attempt in parallel if the first one is not completed after the hedging delay. The
+         * second attempt uses another session of the pool, the first completed successful attempt wins and the
+         * other one is cancelled
+         */
+        void scheduleHedging() {
+            if (hedgingDelayMillis <= 0 || promise.isDone()) {
+                return;
+            }
+            queryClient.getScheduler().schedule(() -> {
+                if (promise.isDone() || retryNumber.get() > 0 || !tryRetryByBudget()) {
+                    return;
+                }
+                hedgedCounter.add(1L);
+                executor.execute(this::requestSession);
+            }, hedgingDelayMillis, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Returns true if the failed attempt was the last one in flight and the task must decide about the retry
+         */
+        private boolean completeFailedAttempt() {
+            boolean isLast = inFlight.decrementAndGet() <= 0;
+            if (promise.isCancelled()) {
+                finishOnCancel();
+                return false;
+            }
+            // result of another hedged attempt is already used or it is still in progress
+            return isLast && !promise.isDone();
+        }
+
         private void scheduleNext(long delayMillis) {
             if (promise.isCancelled()) {
                 finishOnCancel();
@@ -249,6 +380,10 @@ public class SessionRetryContext {
         }
 
         private void handleError(@Nonnull Status status, R result) {
+            if (!completeFailedAttempt()) {
+                return;
+            }
+
             // Check retrayable status
             if (!canRetry(status.getCode())) {
                 finishSpans(status, null);
@@ -257,7 +392,8 @@ public class SessionRetryContext {
             }
 
             int retry = retryNumber.incrementAndGet();
-            if (retry <= maxRetries) {
+            if (retry <= maxRetries && tryRetryByBudget()) {
+                retriesCounter.add(1L, Attr.of(STATUS_CODE_ATTR, status.getCode().name()));
                 long next = backoffTimeMillis(status.getCode(), retry);
                 finishTrySpan(status, null);
                 startNextRetrySpan(next);
@@ -269,6 +405,10 @@ public class SessionRetryContext {
         }
 
         private void handleException(@Nonnull Throwable ex) {
+            if (!completeFailedAttempt()) {
+                return;
+            }
+
             // Check retrayable execption
             if (!canRetry(ex)) {
                 finishSpans(null, ex);
@@ -277,7 +417,8 @@ public class SessionRetryContext {
             }
 
             int retry = retryNumber.incrementAndGet();
-            if (retry <= maxRetries) {
+            if (retry <= maxRetries && tryRetryByBudget()) {
+                retriesCounter.add(1L, Attr.of(STATUS_CODE_ATTR, exceptionCode(ex)));
                 long next = backoffTimeMillis(ex, retry);
                 finishTrySpan(null, ex);
                 startNextRetrySpan(next);
@@ -308,6 +449,9 @@ public class SessionRetryContext {
         }
 
         private void finishSpans(@Nullable Status status, Throwable throwable) {
+            if (!isFinished.compareAndSet(false, true)) {
+                return;
+            }
             Throwable unwrapped = FutureTools.unwrapCompletionException(throwable);
             finishTrySpan(status, throwable);
             executeSpan.setStatus(status, unwrapped);
@@ -368,6 +512,9 @@ public class SessionRetryContext {
         private int fastBackoffCeiling = 10;
         private boolean retryNotFound = true;
         private boolean idempotent = false;
+        private RetryBudget retryBudget = null;
+        private long hedgingDelayMillis = 0;
+        private Meter meter = Meter.NOOP;
 
         public Builder(QueryClient queryClient) {
             this.queryClient = queryClient;
@@ -420,6 +567,35 @@ public class SessionRetryContext {
             return this;
         }
 
+        /**
+         * Set the retry budget shared between several retry contexts. If the budget is exhausted, failed attempts
+         * are not retried even if {@code maxRetries} is not reached
+         * @param budget retry budget or null to disable the limitation
+         * @return builder
+         */
+        public Builder retryBudget(@Nullable RetryBudget budget) {
+            this.retryBudget = budget;
+            return this;
+        }
+
+        /**
+         * Enables hedged requests for idempotent operations. If the first attempt is not completed after the
+         * given delay (usually the p99 latency of the operation), the second attempt is started on another session.
+         * Hedged attempt is counted as a retry in the retry budget. Ignored if {@code idempotent} is not set
+         * @param delay delay before the hedged attempt, zero disables hedging
+         * @return builder
+         */
+        public Builder hedgingDelay(Duration delay) {
+            Preconditions.checkArgument(!delay.isNegative(), "hedgingDelay(%s) is negative", delay);
+            this.hedgingDelayMillis = delay.toMillis();
+            return this;
+        }
+
+        public Builder withMeter(Meter meter) {
+            this.meter = Objects.requireNonNull(meter);
+            return this;
+        }
+
         public SessionRetryContext build() {
             return new SessionRetryContext(this);
         }
@@ -0,0 +1,489 @@
+package tech.ydb.query.tools;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tech.ydb.common.transaction.TxMode;
+import tech.ydb.core.Issue;
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.metrics.Attr;
+import tech.ydb.core.metrics.DoubleHistogram;
+import tech.ydb.core.metrics.LongCounter;
+import tech.ydb.core.metrics.Meter;
+import tech.ydb.query.QueryClient;
+import tech.ydb.query.QuerySession;
+import tech.ydb.query.QueryTransaction;
+import tech.ydb.query.settings.ExecuteQuerySettings;
+import tech.ydb.table.query.Params;
+import tech.ydb.table.values.ListValue;
+import tech.ydb.table.values.StructValue;
+import tech.ydb.topic.TopicClient;
+import tech.ydb.topic.description.OffsetsRange;
+import tech.ydb.topic.read.AsyncReader;
+import tech.ydb.topic.read.Message;
+import tech.ydb.topic.read.PartitionOffsets;
+import tech.ydb.topic.read.PartitionSession;
+import tech.ydb.topic.read.events.DataReceivedEvent;
+import tech.ydb.topic.read.events.PartitionSessionClosedEvent;
+import tech.ydb.topic.read.events.ReadEventHandler;
+import tech.ydb.topic.read.events.ReaderClosedEvent;
+import tech.ydb.topic.read.events.StopPartitionSessionEvent;
+import tech.ydb.topic.settings.ReadEventHandlersSettings;
+import tech.ydb.topic.settings.ReaderSettings;
+import tech.ydb.topic.settings.UpdateOffsetsInTransactionSettings;
+
+/**
+ * Moves messages from a topic into a table. Messages of every partition are collected into micro batches by the
+ * count, the size or the age of the batch. Every batch is converted into a list of rows, which is written by one
+ * query together with the offsets of its messages in the same transaction, so each message is written exactly
+ * once. Partitions are processed in parallel by the handlers executor, while the batches of one partition are
+ * written in the order of reading. Reading of a partition is paused while its previous batch is being written, the
+ * pause doesn't hold a thread of the handlers executor.
+ * <p>
+ * The default query is {@code UPSERT INTO `table` SELECT * FROM AS_TABLE($rows)}, a custom query must use the
+ * {@code $rows} parameter of type {@code List<Struct>} created by the row mapper.
+ */
+@ParametersAreNonnullByDefault
+public class TopicIngestion {
+    private static final Logger logger = LoggerFactory.getLogger(TopicIngestion.class);
+    private static final String METRICS_PREFIX = "ydb.ingestion.";
+    private static final String STATUS_CODE_ATTR = METRICS_PREFIX + "status_code";
+    private static final String ROWS_PARAM = "$rows";
+    private static final Status READER_CLOSED = Status.of(StatusCode.CLIENT_INTERNAL_ERROR,
+            Issue.of("Topic reader was closed", Issue.Severity.ERROR));
+
+    private final QueryClient queryClient;
+    private final SessionRetryContext retryCtx;
+    private final AsyncReader reader;
+    private final String query;
+    private final Function<Message, StructValue> rowMapper;
+    private final int maxBatchMessages;
+    private final long maxBatchBytes;
+    private final long maxBatchDelayMillis;
+
+    private final LongCounter messagesCounter;
+    private final LongCounter bytesCounter;
+    private final DoubleHistogram batchDuration;
+    private final DoubleHistogram lagHistogram;
+
+    private final Map<Long, PartitionBatcher> partitions = new ConcurrentHashMap<>();
+    private final CompletableFuture<Status> stopFuture = new CompletableFuture<>();
+    private volatile boolean isStopping = false;
+
+    private TopicIngestion(Builder builder) {
+        this.queryClient = builder.queryClient;
+        this.retryCtx = SessionRetryContext.create(builder.queryClient)
+                .maxRetries(builder.maxRetries)
+                .withMeter(builder.meter)
+                .build();
+        this.query = builder.query != null ? builder.query
+                : "UPSERT INTO `" + builder.tablePath + "` SELECT * FROM AS_TABLE(" + ROWS_PARAM + ");";
+        this.rowMapper = builder.rowMapper;
+        this.maxBatchMessages = builder.maxBatchMessages;
+        this.maxBatchBytes = builder.maxBatchBytes;
+        this.maxBatchDelayMillis = builder.maxBatchDelay.toMillis();
+
+        ReadEventHandlersSettings.Builder handlers = ReadEventHandlersSettings.newBuilder()
+                .setEventHandler(new Handler());
+        if (builder.executor != null) {
+            handlers.setExecutor(builder.executor);
+        }
+        this.reader = builder.topicClient.createAsyncReader(builder.readerSettings, handlers.build());
+
+        this.messagesCounter = builder.meter.createCounter(METRICS_PREFIX + "messages", "{message}",
+                "Total messages written to the table.");
+        this.bytesCounter = builder.meter.createCounter(METRICS_PREFIX + "bytes", "By",
+                "Total size of messages written to the table.");
+        this.batchDuration = builder.meter.createHistogram(METRICS_PREFIX + "batch.duration", "s",
+                "Duration of writing of one batch including retries.");
+        this.lagHistogram = builder.meter.createHistogram(METRICS_PREFIX + "lag", "s",
+                "Time from writing of the oldest message of the batch to the topic to the batch commit.");
+    }
+
+    public static Builder newBuilder(QueryClient queryClient, TopicClient topicClient, ReaderSettings settings) {
+        return new Builder(Objects.requireNonNull(queryClient), Objects.requireNonNull(topicClient),
+                Objects.requireNonNull(settings));
+    }
+
+    /**
+     * Starts reading of the topic
+     * @return future which is completed when the ingestion is stopped by {@link #stop()}, by the error of writing or
+     * of the row mapper, or by the unexpected closing of the topic reader
+     */
+    public CompletableFuture<Status> start() {
+        reader.init().whenComplete((res, th) -> {
+            if (th != null) {
+                stopFuture.complete(Status.of(StatusCode.CLIENT_INTERNAL_ERROR, th));
+            }
+        });
+        return stopFuture;
+    }
+
+    /**
+     * Writes the collected batches and stops reading of the topic
+     * @return future of ingestion completion with the status of the first failed write or success
+     */
+    public CompletableFuture<Status> stop() {
+        isStopping = true;
+        List<CompletableFuture<Status>> flushes = new ArrayList<>();
+        for (PartitionBatcher batcher : partitions.values()) {
+            flushes.add(batcher.flush().handle((status, th) -> th != null
+                    ? Status.of(StatusCode.CLIENT_INTERNAL_ERROR, th)
+                    : status));
+        }
+
+        CompletableFuture.allOf(flushes.toArray(new CompletableFuture<?>[0]))
+                .thenCompose(v -> reader.shutdown())
+                .whenComplete((v, th) -> stopFuture.complete(firstFailure(flushes)));
+        return stopFuture;
+    }
+
+    private static Status firstFailure(List<CompletableFuture<Status>> flushes) {
+        for (CompletableFuture<Status> flush : flushes) {
+            Status status = flush.join();
+            if (!status.isSuccess()) {
+                return status;
+            }
+        }
+        return Status.SUCCESS;
+    }
+
+    private void fail(Status status) {
+        if (stopFuture.complete(status)) {
+            logger.error("topic ingestion failed with status {}", status);
+            reader.shutdown();
+        }
+    }
+
+    private CompletableFuture<Status> writeBatch(PartitionBatcher batcher, Batch batch) {
+        Params params = Params.of(ROWS_PARAM, ListValue.of(batch.rows.toArray(new StructValue[0])));
+        PartitionOffsets offsets = new PartitionOffsets(batcher.partition,
+                Collections.singletonList(OffsetsRange.of(batch.firstOffset, batch.lastOffset)));
+
+        long startedAt = System.nanoTime();
+        return retryCtx.supplyStatus(session -> writeInTx(session, params, offsets)).thenApply(status -> {
+            double duration = (System.nanoTime() - startedAt) / 1e9;
+            batchDuration.record(duration, Attr.of(STATUS_CODE_ATTR, status.getCode().name()));
+            if (status.isSuccess()) {
+                messagesCounter.add(batch.rows.size());
+                bytesCounter.add(batch.bytes);
+                Duration lag = Duration.between(batch.oldestWrittenAt, Instant.now());
+                lagHistogram.record(Math.max(0, lag.toMillis()) / 1000.0d);
+            } else if (batcher.isClosed) {
+                // offsets of the closed partition session cannot be committed, its messages will be read again
+                logger.info("topic ingestion dropped batch of closed partition session {}, got {}",
+                        batcher.partition, status);
+            } else {
+                fail(status);
+            }
+            return status;
+        });
+    }
+
+    private CompletableFuture<Status> writeInTx(QuerySession session, Params params, PartitionOffsets offsets) {
+        QueryTransaction tx = session.createNewTransaction(TxMode.SERIALIZABLE_RW);
+        ExecuteQuerySettings settings = ExecuteQuerySettings.newBuilder().build();
+        return tx.createQuery(query, false, params, settings).execute().thenCompose(res -> {
+            if (!res.isSuccess()) {
+                return CompletableFuture.completedFuture(res.getStatus());
+            }
+            return reader.updateOffsetsInTransaction(tx, offsets, UpdateOffsetsInTransactionSettings.newBuilder()
+                    .build());
+        }).thenCompose(status -> {
+            if (!status.isSuccess()) {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+                return CompletableFuture.completedFuture(status);
+            }
+            return tx.commit().thenApply(Result::getStatus);
+        });
+    }
+
+    private static class Batch {
+        private final List<StructValue> rows = new ArrayList<>();
+        private long bytes = 0;
+        private long firstOffset = -1;
+        private long lastOffset = -1;
+        private Instant oldestWrittenAt = null;
+    }
+
+    /**
+     * Collects messages of one partition session. Batches are written one after another, delivery of the next
+     * messages of the partition is postponed while one batch is being written and the next one is already full.
+     */
+    private class PartitionBatcher {
+        private final PartitionSession partition;
+        private volatile boolean isClosed = false;
+        private Batch batch = new Batch(); // guarded by this
+        private ScheduledFuture<?> timer = null; // guarded by this
+        // guarded by this
+        private CompletableFuture<Status> lastWrite = CompletableFuture.completedFuture(Status.SUCCESS);
+
+        PartitionBatcher(PartitionSession partition) {
+            this.partition = partition;
+        }
+
+        /**
+         * @return future which is completed when the next messages of the partition can be accepted
+         */
+        CompletableFuture<Void> add(DataReceivedEvent event) {
+            List<StructValue> rows = new ArrayList<>(event.getMessages().size());
+            try {
+                for (Message message : event.getMessages()) {
+                    rows.add(rowMapper.apply(message));
+                }
+            } catch (RuntimeException ex) {
+                fail(Status.of(StatusCode.CLIENT_INTERNAL_ERROR, ex,
+                        Issue.of("Row mapper failed: " + ex, Issue.Severity.ERROR)));
+                return CompletableFuture.completedFuture(null);
+            }
+
+            CompletableFuture<Status> previous = null;
+            synchronized (this) {
+                Batch current = batch;
+                for (int idx = 0; idx < rows.size(); idx++) {
+                    Message message = event.getMessages().get(idx);
+                    current.rows.add(rows.get(idx));
+                    current.bytes += message.getData().length;
+                    if (current.firstOffset < 0) {
+                        current.firstOffset = message.getRangeToCommit().getStart();
+                    }
+                    current.lastOffset = message.getRangeToCommit().getEnd();
+                    Instant writtenAt = message.getWrittenAt();
+                    if (current.oldestWrittenAt == null || writtenAt.isBefore(current.oldestWrittenAt)) {
+                        current.oldestWrittenAt = writtenAt;
+                    }
+                }
+
+                if (current.rows.size() >= maxBatchMessages || current.bytes >= maxBatchBytes) {
+                    previous = lastWrite;
+                    flushLocked();
+                } else if (timer == null && !current.rows.isEmpty()) {
+                    timer = queryClient.getScheduler().schedule(this::flushByTimer, maxBatchDelayMillis,
+                            TimeUnit.MILLISECONDS);
+                }
+            }
+
+            if (previous == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            // backpressure: don't read the next batch of the partition until the previous one is written
+            return previous.handle((status, th) -> null);
+        }
+
+        private void flushByTimer() {
+            flush();
+        }
+
+        synchronized CompletableFuture<Status> flush() {
+            flushLocked();
+            return lastWrite;
+        }
+
+        private void flushLocked() {
+            if (timer != null) {
+                timer.cancel(false);
+                timer = null;
+            }
+            if (batch.rows.isEmpty()) {
+                return;
+            }
+
+            Batch ready = batch;
+            batch = new Batch();
+            lastWrite = lastWrite.thenCompose(status -> {
+                if (!status.isSuccess()) {
+                    return CompletableFuture.completedFuture(status);
+                }
+                if (isClosed) {
+                    return CompletableFuture.completedFuture(Status.of(StatusCode.CLIENT_CANCELLED));
+                }
+                return writeBatch(this, ready);
+            });
+        }
+
+        synchronized void drop() {
+            isClosed = true;
+            if (timer != null) {
+                timer.cancel(false);
+                timer = null;
+            }
+            batch = new Batch();
+        }
+    }
+
+    private class Handler implements ReadEventHandler {
+        @Override
+        public void onMessages(DataReceivedEvent event) {
+            onMessagesAsync(event).join();
+        }
+
+        @Override
+        public CompletableFuture<Void> onMessagesAsync(DataReceivedEvent event) {
+            if (isStopping || stopFuture.isDone()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            PartitionSession partition = event.getPartitionSession();
+            return partitions.computeIfAbsent(partition.getId(), id -> new PartitionBatcher(partition)).add(event);
+        }
+
+        @Override
+        public void onStopPartitionSession(StopPartitionSessionEvent event) {
+            PartitionBatcher batcher = partitions.remove(event.getPartitionSessionId());
+            if (batcher == null) {
+                event.confirm();
+                return;
+            }
+            // offsets of the collected messages must be committed before the partition is released
+            batcher.flush().whenComplete((status, th) -> event.confirm());
+        }
+
+        @Override
+        public void onReaderClosed(ReaderClosedEvent event) {
+            // the reader is closed without stop(), for example by the non retryable error of the read stream
+            if (!isStopping && stopFuture.complete(READER_CLOSED)) {
+                logger.error("topic ingestion failed: topic reader was closed");
+            }
+        }
+
+        @Override
+        public void onPartitionSessionClosed(PartitionSessionClosedEvent event) {
+            // uncommitted messages will be read again by the new partition session
+            PartitionBatcher batcher = partitions.remove(event.getPartitionSession().getId());
+            if (batcher != null) {
+                batcher.drop();
+            }
+        }
+    }
+
+    @ParametersAreNonnullByDefault
+    public static final class Builder {
+        private final QueryClient queryClient;
+        private final TopicClient topicClient;
+        private final ReaderSettings readerSettings;
+        private String tablePath = null;
+        private String query = null;
+        private Function<Message, StructValue> rowMapper = null;
+        private int maxBatchMessages = 1000;
+        private long maxBatchBytes = 4 * 1024 * 1024; // 4 MB
+        private Duration maxBatchDelay = Duration.ofMillis(100);
+        private int maxRetries = 10;
+        private Executor executor = null;
+        private Meter meter = Meter.NOOP;
+
+        private Builder(QueryClient queryClient, TopicClient topicClient, ReaderSettings readerSettings) {
+            this.queryClient = queryClient;
+            this.topicClient = topicClient;
+            this.readerSettings = readerSettings;
+        }
+
+        /**
+         * Set table for the default upsert query
+         * @param path table path
+         * @return this builder instance
+         */
+        public Builder tablePath(String path) {
+            this.tablePath = Objects.requireNonNull(path);
+            return this;
+        }
+
+        /**
+         * Set custom query to write a batch, the query must use parameter {@code $rows} with the list of rows
+         * @param yql text of query
+         * @return this builder instance
+         */
+        public Builder query(String yql) {
+            this.query = Objects.requireNonNull(yql);
+            return this;
+        }
+
+        /**
+         * Set function which converts a message into a row. The function is called in the handler executor
+         * @param mapper row mapper
+         * @return this builder instance
+         */
+        public Builder rowMapper(Function<Message, StructValue> mapper) {
+            this.rowMapper = Objects.requireNonNull(mapper);
+            return this;
+        }
+
+        /**
+         * Set maximal count of messages in one batch. Default value is 1000
+         * @param value maximal count of messages
+         * @return this builder instance
+         */
+        public Builder maxBatchMessages(int value) {
+            Preconditions.checkArgument(value > 0, "maxBatchMessages(%s) must be positive", value);
+            this.maxBatchMessages = value;
+            return this;
+        }
+
+        /**
+         * Set maximal total size of message data in one batch. Default value is 4 MB
+         * @param value maximal size of batch in bytes
+         * @return this builder instance
+         */
+        public Builder maxBatchBytes(long value) {
+            Preconditions.checkArgument(value > 0, "maxBatchBytes(%s) must be positive", value);
+            this.maxBatchBytes = value;
+            return this;
+        }
+
+        /**
+         * Set maximal time which the first message waits in the batch. Default value is 100 ms
+         * @param value delay of the batch
+         * @return this builder instance
+         */
+        public Builder maxBatchDelay(Duration value) {
+            Preconditions.checkArgument(!value.isNegative(), "maxBatchDelay(%s) must be non negative", value);
+            this.maxBatchDelay = value;
+            return this;
+        }
+
+        public Builder maxRetries(int value) {
+            this.maxRetries = value;
+            return this;
+        }
+
+        /**
+         * Set executor of reader handlers. Its threads limit the count of partitions processed in parallel
+         * @param value handlers executor
+         * @return this builder instance
+         */
+        public Builder executor(Executor value) {
+            this.executor = Objects.requireNonNull(value);
+            return this;
+        }
+
+        public Builder withMeter(Meter value) {
+            this.meter = Objects.requireNonNull(value);
+            return this;
+        }
+
+        public TopicIngestion build() {
+            Preconditions.checkState(rowMapper != null, "rowMapper must be set");
+            Preconditions.checkState(tablePath != null || query != null, "tablePath or query must be set");
+            return new TopicIngestion(this);
+        }
+    }
+}
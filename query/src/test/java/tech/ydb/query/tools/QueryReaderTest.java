@@ -6,12 +6,20 @@ import java.util.concurrent.CompletableFuture;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.Mockito;
 
+import tech.ydb.common.transaction.TxMode;
 import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.UnexpectedResultException;
 import tech.ydb.proto.ValueProtos;
+import tech.ydb.query.QuerySession;
 import tech.ydb.query.QueryStream;
 import tech.ydb.query.result.QueryInfo;
 import tech.ydb.query.result.QueryResultPart;
+import tech.ydb.query.settings.ExecuteQuerySettings;
+import tech.ydb.table.query.Params;
 import tech.ydb.table.result.ResultSetReader;
 import tech.ydb.table.values.PrimitiveType;
 import tech.ydb.table.values.PrimitiveValue;
@@ -172,6 +180,58 @@ public class QueryReaderTest {
         return key - startKey;
     }
 
+    private static QuerySession mockSession(QueryStream stream) {
+        QuerySession session = Mockito.mock(QuerySession.class);
+        Mockito.when(session.createQuery(Mockito.eq("SELECT 1"), Mockito.eq(TxMode.NONE),
+                Mockito.any(Params.class), Mockito.any(ExecuteQuerySettings.class))).thenReturn(stream);
+        return session;
+    }
+
+    @Test
+    public void executeBlockingTest() throws InterruptedException {
+        TestStream stream = new TestStream();
+        stream.addPartRows(0, 0, 2);
+
+        Result<QueryReader> result = QueryReader.executeBlocking(mockSession(stream), "SELECT 1", TxMode.NONE,
+                Params.empty());
+        Assert.assertTrue(result.isSuccess());
+        Assert.assertEquals(1, result.getValue().getResultSetCount());
+        Assert.assertEquals(2, result.getValue().getResultSet(0).getRowCount());
+    }
+
+    @Test
+    public void executeBlockingErrorTest() throws InterruptedException {
+        Status status = Status.of(StatusCode.OVERLOADED);
+        QueryStream stream = Mockito.mock(QueryStream.class);
+        CompletableFuture<Result<QueryInfo>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new UnexpectedResultException("query failed", status));
+        Mockito.when(stream.execute(Mockito.any())).thenReturn(failed);
+
+        // the status of the failed stream is kept
+        Result<QueryReader> result = QueryReader.executeBlocking(mockSession(stream), "SELECT 1", TxMode.NONE,
+                Params.empty());
+        Assert.assertEquals(status, result.getStatus());
+
+        failed = new CompletableFuture<>();
+        failed.completeExceptionally(new RuntimeException("unexpected"));
+        Mockito.when(stream.execute(Mockito.any())).thenReturn(failed);
+
+        result = QueryReader.executeBlocking(mockSession(stream), "SELECT 1", TxMode.NONE, Params.empty());
+        Assert.assertEquals(StatusCode.CLIENT_INTERNAL_ERROR, result.getStatus().getCode());
+    }
+
+    @Test
+    public void interruptedExecuteBlockingTest() {
+        QueryStream stream = Mockito.mock(QueryStream.class);
+        Mockito.when(stream.execute(Mockito.any())).thenReturn(new CompletableFuture<>());
+        QuerySession session = mockSession(stream);
+
+        Thread.currentThread().interrupt();
+        Assert.assertThrows(InterruptedException.class,
+                () -> QueryReader.executeBlocking(session, "SELECT 1", TxMode.NONE, Params.empty()));
+        Mockito.verify(stream).cancel();
+    }
+
     private static class TestStream implements QueryStream {
         private final List<QueryResultPart> parts = new ArrayList<>();
 
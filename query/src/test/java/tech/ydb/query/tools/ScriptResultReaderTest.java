@@ -0,0 +1,145 @@
+package tech.ydb.query.tools;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.UnexpectedResultException;
+import tech.ydb.core.operation.Operation;
+import tech.ydb.query.script.ScriptClient;
+import tech.ydb.query.script.result.ScriptResultPart;
+import tech.ydb.query.script.settings.FetchScriptSettings;
+import tech.ydb.table.result.ResultSetReader;
+
+public class ScriptResultReaderTest {
+    @SuppressWarnings("unchecked")
+    private final Operation<Status> operation = Mockito.mock(Operation.class);
+    private final ScriptClient client = Mockito.mock(ScriptClient.class);
+    private final List<CompletableFuture<Result<ScriptResultPart>>> requests = new ArrayList<>();
+    private final List<FetchScriptSettings> settings = new ArrayList<>();
+    private final List<ScriptResultPart> previous = new ArrayList<>();
+
+    public ScriptResultReaderTest() {
+        Mockito.when(client.fetchQueryScriptResult(Mockito.eq(operation), Mockito.any(), Mockito.any()))
+                .thenAnswer(inv -> {
+                    previous.add(inv.getArgument(1, ScriptResultPart.class));
+                    settings.add(inv.getArgument(2, FetchScriptSettings.class));
+                    CompletableFuture<Result<ScriptResultPart>> future = new CompletableFuture<>();
+                    requests.add(future);
+                    return future;
+                });
+    }
+
+    private static ScriptResultPart part(ResultSetReader rs, String nextToken) {
+        ScriptResultPart part = Mockito.mock(ScriptResultPart.class);
+        Mockito.when(part.getResultSetReader()).thenReturn(rs);
+        Mockito.when(part.getNextFetchToken()).thenReturn(nextToken);
+        return part;
+    }
+
+    @Test
+    public void prefetchTest() {
+        ScriptResultReader reader = ScriptResultReader.newBuilder(client, operation)
+                .rowsLimit(100)
+                .bufferSize(2)
+                .build()
+                .start();
+        Assert.assertEquals(1, requests.size());
+        Assert.assertNull(previous.get(0));
+        Assert.assertEquals(100, settings.get(0).getRowsLimit());
+
+        ResultSetReader rs1 = Mockito.mock(ResultSetReader.class);
+        ResultSetReader rs2 = Mockito.mock(ResultSetReader.class);
+        ResultSetReader rs3 = Mockito.mock(ResultSetReader.class);
+        ScriptResultPart part1 = part(rs1, "token1");
+        ScriptResultPart part2 = part(rs2, "token2");
+
+        // the next page is requested right after the previous one is received
+        requests.get(0).complete(Result.success(part1));
+        Assert.assertEquals(2, requests.size());
+        Assert.assertSame(part1, previous.get(1));
+
+        // buffer is full, fetching is paused
+        requests.get(1).complete(Result.success(part2));
+        Assert.assertEquals(2, requests.size());
+
+        Iterator<ResultSetReader> pages = reader.pages(0);
+        Assert.assertSame(rs1, pages.next());
+        // the slot is free, fetching is resumed
+        Assert.assertEquals(3, requests.size());
+        Assert.assertSame(part2, previous.get(2));
+
+        requests.get(2).complete(Result.success(part(rs3, "")));
+        Assert.assertSame(rs2, pages.next());
+        Assert.assertSame(rs3, pages.next());
+        Assert.assertFalse(pages.hasNext());
+        Assert.assertThrows(NoSuchElementException.class, pages::next);
+        Assert.assertEquals(3, requests.size());
+    }
+
+    @Test
+    public void parallelResultSetsTest() {
+        ScriptResultReader reader = ScriptResultReader.newBuilder(client, operation)
+                .resultSetIndexes(0, 1)
+                .build()
+                .start();
+
+        // both result sets are fetched in parallel
+        Assert.assertEquals(2, requests.size());
+        Assert.assertEquals(0, settings.get(0).getResultSetIndex());
+        Assert.assertEquals(1, settings.get(1).getResultSetIndex());
+
+        ResultSetReader rs0 = Mockito.mock(ResultSetReader.class);
+        ResultSetReader rs1 = Mockito.mock(ResultSetReader.class);
+        requests.get(1).complete(Result.success(part(rs1, "")));
+        requests.get(0).complete(Result.success(part(rs0, "")));
+
+        Iterator<ResultSetReader> pages1 = reader.pages(1);
+        Assert.assertSame(rs1, pages1.next());
+        Assert.assertFalse(pages1.hasNext());
+
+        Iterator<ResultSetReader> pages0 = reader.pages(0);
+        Assert.assertSame(rs0, pages0.next());
+        Assert.assertFalse(pages0.hasNext());
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> reader.pages(2));
+    }
+
+    @Test
+    public void fetchErrorTest() {
+        ScriptResultReader reader = ScriptResultReader.newBuilder(client, operation).build();
+        Iterator<ResultSetReader> pages = reader.pages(0);
+        Assert.assertEquals(1, requests.size());
+
+        ResultSetReader rs = Mockito.mock(ResultSetReader.class);
+        requests.get(0).complete(Result.success(part(rs, "token")));
+        requests.get(1).complete(Result.fail(Status.of(StatusCode.UNAVAILABLE)));
+
+        // received pages are available before the error
+        Assert.assertSame(rs, pages.next());
+        UnexpectedResultException ex = Assert.assertThrows(UnexpectedResultException.class, pages::hasNext);
+        Assert.assertEquals(StatusCode.UNAVAILABLE, ex.getStatus().getCode());
+    }
+
+    @Test
+    public void closeTest() {
+        ScriptResultReader reader = ScriptResultReader.newBuilder(client, operation).build().start();
+        Iterator<ResultSetReader> pages = reader.pages(0);
+
+        reader.close();
+        requests.get(0).complete(Result.success(part(Mockito.mock(ResultSetReader.class), "token")));
+
+        // closed reader doesn't request new pages
+        Assert.assertEquals(1, requests.size());
+        Assert.assertFalse(pages.hasNext());
+    }
+}
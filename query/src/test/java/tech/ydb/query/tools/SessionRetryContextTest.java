@@ -0,0 +1,163 @@
+package tech.ydb.query.tools;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.grpc.Context;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.metrics.LongCounter;
+import tech.ydb.core.metrics.Meter;
+import tech.ydb.core.tracing.NoopTracer;
+import tech.ydb.query.QueryClient;
+import tech.ydb.query.QuerySession;
+
+public class SessionRetryContextTest {
+    private static final Status OVERLOADED = Status.of(StatusCode.OVERLOADED);
+
+    private final QueryClient client = Mockito.mock(QueryClient.class);
+    private final QuerySession session = Mockito.mock(QuerySession.class);
+    private final ScheduledExecutorService scheduler = Mockito.mock(ScheduledExecutorService.class);
+
+    @Before
+    public void setUp() {
+        Mockito.when(client.getTracer()).thenReturn(NoopTracer.getInstance());
+        Mockito.when(client.getScheduler()).thenReturn(scheduler);
+        Mockito.when(client.createSession(Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(Result.success(session)));
+        // run retries immediately
+        Mockito.when(scheduler.schedule(Mockito.any(Runnable.class), Mockito.anyLong(), Mockito.any()))
+                .thenAnswer(inv -> {
+                    inv.getArgument(0, Runnable.class).run();
+                    return Mockito.mock(ScheduledFuture.class);
+                });
+    }
+
+    @Test
+    public void retryBudgetTest() {
+        RetryBudget budget = RetryBudget.create(4, 0.5d);
+        SessionRetryContext ctx = SessionRetryContext.create(client)
+                .maxRetries(10)
+                .retryBudget(budget)
+                .build();
+
+        AtomicInteger cnt = new AtomicInteger();
+        Result<String> result = ctx.<String>supplyResult(s -> {
+            cnt.incrementAndGet();
+            return CompletableFuture.completedFuture(Result.fail(OVERLOADED));
+        }).join();
+
+        // 4 tokens, retries are allowed while bucket is more than half full
+        Assert.assertEquals(OVERLOADED, result.getStatus());
+        Assert.assertEquals(2, cnt.get());
+        Assert.assertEquals(2d, budget.getTokens(), 1e-6);
+
+        // success returns tokens to the bucket
+        Assert.assertTrue(ctx.supplyStatus(s -> CompletableFuture.completedFuture(Status.SUCCESS)).join().isSuccess());
+        Assert.assertEquals(2.5d, budget.getTokens(), 1e-6);
+    }
+
+    @Test
+    public void retryMetricsTest() {
+        Meter meter = Mockito.mock(Meter.class);
+        LongCounter attempts = Mockito.mock(LongCounter.class);
+        Mockito.when(meter.createCounter(Mockito.anyString(), Mockito.any(), Mockito.any()))
+                .thenReturn(LongCounter.NOOP);
+        Mockito.when(meter.createCounter(Mockito.eq("ydb.query.retry.attempts"), Mockito.any(), Mockito.any()))
+                .thenReturn(attempts);
+
+        SessionRetryContext ctx = SessionRetryContext.create(client)
+                .maxRetries(3)
+                .withMeter(meter)
+                .build();
+
+        Status status = ctx.supplyStatus(s -> CompletableFuture.completedFuture(OVERLOADED)).join();
+        Assert.assertEquals(OVERLOADED, status);
+        Mockito.verify(attempts, Mockito.times(3)).add(Mockito.eq(1L), Mockito.any());
+    }
+
+    @Test
+    public void hedgedRequestTest() {
+        ScheduledExecutorService manual = Mockito.mock(ScheduledExecutorService.class);
+        Mockito.when(client.getScheduler()).thenReturn(manual);
+
+        SessionRetryContext ctx = SessionRetryContext.create(client)
+                .idempotent(true)
+                .hedgingDelay(Duration.ofMillis(50))
+                .build();
+
+        CompletableFuture<Status> slow = new CompletableFuture<>();
+        AtomicReference<Context> slowContext = new AtomicReference<>();
+        AtomicInteger cnt = new AtomicInteger();
+        CompletableFuture<Status> result = ctx.supplyStatus(s -> {
+            if (cnt.incrementAndGet() == 1) {
+                slowContext.set(Context.current());
+                return slow;
+            }
+            return CompletableFuture.completedFuture(Status.SUCCESS);
+        });
+
+        Assert.assertFalse(result.isDone());
+        ArgumentCaptor<Runnable> hedge = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(manual).schedule(hedge.capture(), Mockito.eq(50L), Mockito.eq(TimeUnit.MILLISECONDS));
+
+        // second attempt wins, the first one is cancelled with its grpc calls
+        Assert.assertFalse(slowContext.get().isCancelled());
+        hedge.getValue().run();
+        Assert.assertEquals(2, cnt.get());
+        Assert.assertEquals(Status.SUCCESS, result.join());
+        Assert.assertTrue(slow.isCancelled());
+        Assert.assertTrue(slowContext.get().isCancelled());
+
+        Assert.assertFalse(slow.complete(OVERLOADED));
+        Assert.assertEquals(Status.SUCCESS, result.join());
+        Mockito.verify(manual, Mockito.times(1)).schedule(Mockito.any(Runnable.class), Mockito.anyLong(),
+                Mockito.any());
+        Mockito.verify(session, Mockito.times(2)).close();
+    }
+
+    @Test
+    public void hedgedSessionAfterCompletionTest() {
+        ScheduledExecutorService manual = Mockito.mock(ScheduledExecutorService.class);
+        Mockito.when(client.getScheduler()).thenReturn(manual);
+        CompletableFuture<Result<QuerySession>> slowSession = new CompletableFuture<>();
+        Mockito.when(client.createSession(Mockito.any())).thenReturn(
+                slowSession,
+                CompletableFuture.completedFuture(Result.success(session))
+        );
+
+        SessionRetryContext ctx = SessionRetryContext.create(client)
+                .idempotent(true)
+                .hedgingDelay(Duration.ofMillis(50))
+                .build();
+
+        AtomicInteger cnt = new AtomicInteger();
+        CompletableFuture<Status> result = ctx.supplyStatus(s -> {
+            cnt.incrementAndGet();
+            return CompletableFuture.completedFuture(Status.SUCCESS);
+        });
+
+        ArgumentCaptor<Runnable> hedge = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(manual).schedule(hedge.capture(), Mockito.eq(50L), Mockito.eq(TimeUnit.MILLISECONDS));
+        hedge.getValue().run();
+        Assert.assertEquals(Status.SUCCESS, result.join());
+
+        // the late session of the first attempt is returned to the pool without execution
+        QuerySession late = Mockito.mock(QuerySession.class);
+        slowSession.complete(Result.success(late));
+        Assert.assertEquals(1, cnt.get());
+        Mockito.verify(late).close();
+    }
+}
@@ -0,0 +1,295 @@
+package tech.ydb.query.tools;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import tech.ydb.common.transaction.TxMode;
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.tracing.NoopTracer;
+import tech.ydb.query.QueryClient;
+import tech.ydb.query.QuerySession;
+import tech.ydb.query.QueryStream;
+import tech.ydb.query.QueryTransaction;
+import tech.ydb.query.result.QueryInfo;
+import tech.ydb.table.query.Params;
+import tech.ydb.table.values.ListValue;
+import tech.ydb.table.values.PrimitiveValue;
+import tech.ydb.table.values.StructValue;
+import tech.ydb.topic.TopicClient;
+import tech.ydb.topic.description.OffsetsRange;
+import tech.ydb.topic.read.AsyncReader;
+import tech.ydb.topic.read.Message;
+import tech.ydb.topic.read.PartitionOffsets;
+import tech.ydb.topic.read.PartitionSession;
+import tech.ydb.topic.read.events.DataReceivedEvent;
+import tech.ydb.topic.read.events.PartitionSessionClosedEvent;
+import tech.ydb.topic.read.events.ReadEventHandler;
+import tech.ydb.topic.read.events.ReaderClosedEvent;
+import tech.ydb.topic.settings.ReadEventHandlersSettings;
+import tech.ydb.topic.settings.ReaderSettings;
+import tech.ydb.topic.settings.TopicReadSettings;
+
+public class TopicIngestionTest {
+    private static final PartitionSession PARTITION = new PartitionSession(1, 0, "/local/topic");
+
+    private final QueryClient queryClient = Mockito.mock(QueryClient.class);
+    private final QuerySession session = Mockito.mock(QuerySession.class);
+    private final QueryTransaction tx = Mockito.mock(QueryTransaction.class);
+    private final QueryStream stream = Mockito.mock(QueryStream.class);
+    private final ScheduledExecutorService scheduler = Mockito.mock(ScheduledExecutorService.class);
+    private final TopicClient topicClient = Mockito.mock(TopicClient.class);
+    private final AsyncReader reader = Mockito.mock(AsyncReader.class);
+
+    private final List<Params> writtenParams = new ArrayList<>();
+    private final List<PartitionOffsets> writtenOffsets = new ArrayList<>();
+    private ReadEventHandler handler;
+    private long nextOffset = 0;
+
+    @Before
+    public void setUp() {
+        Mockito.when(queryClient.getTracer()).thenReturn(NoopTracer.getInstance());
+        Mockito.when(queryClient.getScheduler()).thenReturn(scheduler);
+        Mockito.when(queryClient.createSession(Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(Result.success(session)));
+
+        Mockito.when(session.createNewTransaction(TxMode.SERIALIZABLE_RW)).thenReturn(tx);
+        Mockito.when(tx.createQuery(Mockito.anyString(), Mockito.eq(false), Mockito.any(), Mockito.any()))
+                .thenAnswer(inv -> {
+                    writtenParams.add(inv.getArgument(2, Params.class));
+                    return stream;
+                });
+        Mockito.when(stream.execute()).thenReturn(CompletableFuture.completedFuture(
+                Result.success(Mockito.mock(QueryInfo.class))));
+        Mockito.when(tx.commit()).thenReturn(CompletableFuture.completedFuture(
+                Result.success(Mockito.mock(QueryInfo.class))));
+
+        Mockito.when(topicClient.createAsyncReader(Mockito.any(), Mockito.any())).thenAnswer(inv -> {
+            handler = inv.getArgument(1, ReadEventHandlersSettings.class).getEventHandler();
+            return reader;
+        });
+        Mockito.when(reader.init()).thenReturn(CompletableFuture.completedFuture(null));
+        Mockito.when(reader.shutdown()).thenReturn(CompletableFuture.completedFuture(null));
+        Mockito.when(reader.updateOffsetsInTransaction(Mockito.eq(tx), Mockito.any(PartitionOffsets.class),
+                Mockito.any())).thenAnswer(inv -> {
+                    writtenOffsets.add(inv.getArgument(1, PartitionOffsets.class));
+                    return CompletableFuture.completedFuture(Status.SUCCESS);
+                });
+    }
+
+    private TopicIngestion.Builder ingestion() {
+        ReaderSettings settings = ReaderSettings.newBuilder()
+                .setConsumerName("consumer")
+                .addTopic(TopicReadSettings.newBuilder().setPath("/local/topic").build())
+                .build();
+        return TopicIngestion.newBuilder(queryClient, topicClient, settings)
+                .tablePath("/local/table")
+                .rowMapper(msg -> StructValue.of("offset", PrimitiveValue.newUint64(msg.getOffset())));
+    }
+
+    private DataReceivedEvent event(int messagesCount) {
+        List<Message> messages = new ArrayList<>();
+        for (int idx = 0; idx < messagesCount; idx++) {
+            long offset = nextOffset++;
+            Message msg = Mockito.mock(Message.class);
+            Mockito.when(msg.getOffset()).thenReturn(offset);
+            Mockito.when(msg.getData()).thenReturn(new byte[10]);
+            Mockito.when(msg.getWrittenAt()).thenReturn(Instant.now());
+            Mockito.when(msg.getRangeToCommit()).thenReturn(OffsetsRange.of(offset, offset + 1));
+            messages.add(msg);
+        }
+
+        DataReceivedEvent event = Mockito.mock(DataReceivedEvent.class);
+        Mockito.when(event.getMessages()).thenReturn(messages);
+        Mockito.when(event.getPartitionSession()).thenReturn(PARTITION);
+        return event;
+    }
+
+    private static int rowsCount(Params params) {
+        return ((ListValue) params.values().get("$rows")).size();
+    }
+
+    @Test
+    public void batchBySizeTest() {
+        TopicIngestion ingestion = ingestion()
+                .maxBatchMessages(3)
+                .build();
+        CompletableFuture<Status> future = ingestion.start();
+
+        handler.onMessages(event(2));
+        Assert.assertTrue(writtenParams.isEmpty());
+
+        handler.onMessages(event(2));
+        Assert.assertEquals(1, writtenParams.size());
+        Assert.assertEquals(4, rowsCount(writtenParams.get(0)));
+
+        // offsets of the batch are committed in the same transaction
+        Assert.assertEquals(1, writtenOffsets.size());
+        OffsetsRange range = writtenOffsets.get(0).getOffsets().get(0);
+        Assert.assertEquals(0, range.getStart());
+        Assert.assertEquals(4, range.getEnd());
+        Mockito.verify(tx).commit();
+
+        Assert.assertFalse(future.isDone());
+        Assert.assertEquals(Status.SUCCESS, ingestion.stop().join());
+        Mockito.verify(reader).shutdown();
+    }
+
+    @Test
+    public void batchByDelayTest() {
+        TopicIngestion ingestion = ingestion()
+                .maxBatchDelay(Duration.ofMillis(50))
+                .build();
+        ingestion.start();
+
+        ScheduledFuture<?> timer = Mockito.mock(ScheduledFuture.class);
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.doReturn(timer).when(scheduler).schedule(flush.capture(), Mockito.eq(50L),
+                Mockito.eq(TimeUnit.MILLISECONDS));
+
+        handler.onMessages(event(2));
+        handler.onMessages(event(1));
+        Assert.assertTrue(writtenParams.isEmpty());
+        // only the first message of the batch starts the timer
+        Mockito.verify(scheduler, Mockito.times(1)).schedule(Mockito.any(Runnable.class), Mockito.anyLong(),
+                Mockito.any());
+
+        flush.getValue().run();
+        Assert.assertEquals(1, writtenParams.size());
+        Assert.assertEquals(3, rowsCount(writtenParams.get(0)));
+    }
+
+    @Test
+    public void stopFlushesBatchesTest() {
+        TopicIngestion ingestion = ingestion().build();
+        ingestion.start();
+
+        handler.onMessages(event(5));
+        Assert.assertTrue(writtenParams.isEmpty());
+
+        Assert.assertEquals(Status.SUCCESS, ingestion.stop().join());
+        Assert.assertEquals(1, writtenParams.size());
+        Assert.assertEquals(5, rowsCount(writtenParams.get(0)));
+    }
+
+    @Test
+    public void writeErrorTest() {
+        Status schemeError = Status.of(StatusCode.SCHEME_ERROR);
+        Mockito.when(stream.execute()).thenReturn(CompletableFuture.completedFuture(Result.fail(schemeError)));
+
+        TopicIngestion ingestion = ingestion()
+                .maxBatchMessages(1)
+                .build();
+        CompletableFuture<Status> future = ingestion.start();
+
+        handler.onMessages(event(1));
+        Assert.assertEquals(schemeError, future.join());
+        Assert.assertTrue(writtenOffsets.isEmpty());
+        Mockito.verify(tx, Mockito.never()).commit();
+        Mockito.verify(reader).shutdown();
+    }
+
+    @Test
+    public void asyncPauseTest() {
+        CompletableFuture<Result<QueryInfo>> firstWrite = new CompletableFuture<>();
+        Mockito.when(stream.execute()).thenReturn(firstWrite, CompletableFuture.completedFuture(
+                Result.success(Mockito.mock(QueryInfo.class))));
+
+        TopicIngestion ingestion = ingestion()
+                .maxBatchMessages(1)
+                .build();
+        ingestion.start();
+
+        Assert.assertTrue(handler.onMessagesAsync(event(1)).isDone());
+        Assert.assertEquals(1, writtenParams.size());
+
+        // the next messages of the partition are postponed without blocking of the handler thread
+        CompletableFuture<Void> paused = handler.onMessagesAsync(event(1));
+        Assert.assertFalse(paused.isDone());
+        Assert.assertEquals(1, writtenParams.size());
+
+        firstWrite.complete(Result.success(Mockito.mock(QueryInfo.class)));
+        Assert.assertTrue(paused.isDone());
+        Assert.assertEquals(2, writtenParams.size());
+        Assert.assertEquals(2, writtenOffsets.size());
+    }
+
+    @Test
+    public void closedPartitionBatchTest() {
+        CompletableFuture<Result<QueryInfo>> write = new CompletableFuture<>();
+        Mockito.when(stream.execute()).thenReturn(write);
+        Mockito.when(reader.updateOffsetsInTransaction(Mockito.eq(tx), Mockito.any(PartitionOffsets.class),
+                Mockito.any())).thenReturn(CompletableFuture.completedFuture(Status.of(StatusCode.BAD_REQUEST)));
+
+        TopicIngestion ingestion = ingestion()
+                .maxBatchMessages(1)
+                .build();
+        CompletableFuture<Status> future = ingestion.start();
+
+        handler.onMessagesAsync(event(1));
+
+        // the partition session is closed while its batch is being written
+        PartitionSessionClosedEvent closed = Mockito.mock(PartitionSessionClosedEvent.class);
+        Mockito.when(closed.getPartitionSession()).thenReturn(PARTITION);
+        handler.onPartitionSessionClosed(closed);
+
+        // the batch is dropped, its messages will be read again by the new partition session
+        write.complete(Result.success(Mockito.mock(QueryInfo.class)));
+        Assert.assertFalse(future.isDone());
+        Mockito.verify(tx, Mockito.never()).commit();
+        Mockito.verify(reader, Mockito.never()).shutdown();
+    }
+
+    @Test
+    public void rowMapperErrorTest() {
+        TopicIngestion ingestion = ingestion()
+                .rowMapper(msg -> {
+                    throw new IllegalArgumentException("bad message");
+                })
+                .build();
+        CompletableFuture<Status> future = ingestion.start();
+
+        Assert.assertTrue(handler.onMessagesAsync(event(1)).isDone());
+        Assert.assertEquals(StatusCode.CLIENT_INTERNAL_ERROR, future.join().getCode());
+        Assert.assertTrue(writtenParams.isEmpty());
+        Mockito.verify(reader).shutdown();
+    }
+
+    @Test
+    public void readerClosedTest() {
+        TopicIngestion ingestion = ingestion().build();
+        CompletableFuture<Status> future = ingestion.start();
+
+        // the reader is closed by the non retryable error of the stream
+        handler.onReaderClosed(new ReaderClosedEvent());
+        Assert.assertEquals(StatusCode.CLIENT_INTERNAL_ERROR, future.join().getCode());
+    }
+
+    @Test
+    public void stopReturnsFlushErrorTest() {
+        Status overloaded = Status.of(StatusCode.OVERLOADED);
+        Mockito.when(stream.execute()).thenReturn(CompletableFuture.completedFuture(Result.fail(overloaded)));
+
+        TopicIngestion ingestion = ingestion()
+                .maxRetries(0)
+                .build();
+        ingestion.start();
+
+        handler.onMessages(event(2));
+        Assert.assertEquals(overloaded, ingestion.stop().join());
+        Mockito.verify(tx, Mockito.never()).commit();
+    }
+}
@@ -0,0 +1,108 @@
+package tech.ydb.scheme;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import tech.ydb.core.Result;
+import tech.ydb.scheme.description.DescribePathResult;
+
+/**
+ * Cache of {@link DescribePathResult} with time-to-live. One instance can be shared between several clients, see
+ * {@link SchemeClient.Builder#withDescribePathCache(DescribePathCache)}. Results are keyed by the database and the
+ * path, so clients of different databases don't see the results of each other. Only successful results are cached,
+ * concurrent requests of the same path share one request to the server.
+ */
+public class DescribePathCache {
+    private static final long DEFAULT_MAX_SIZE = 100_000;
+
+    private final ConcurrentMap<Key, CompletableFuture<Result<DescribePathResult>>> cache;
+
+    private DescribePathCache(Duration ttl, long maxSize) {
+        Cache<Key, CompletableFuture<Result<DescribePathResult>>> guavaCache = CacheBuilder.newBuilder()
+                .expireAfterWrite(ttl.toMillis(), TimeUnit.MILLISECONDS)
+                .maximumSize(maxSize)
+                .build();
+        this.cache = guavaCache.asMap();
+    }
+
+    public static DescribePathCache create(Duration ttl) {
+        return create(ttl, DEFAULT_MAX_SIZE);
+    }
+
+    public static DescribePathCache create(Duration ttl, long maxSize) {
+        Preconditions.checkArgument(ttl != null && !ttl.isNegative() && !ttl.isZero(), "ttl must be positive");
+        Preconditions.checkArgument(maxSize > 0, "maxSize must be positive");
+        return new DescribePathCache(ttl, maxSize);
+    }
+
+    /**
+     * Returns cached description of the path or loads it with the given loader
+     *
+     * @param database database of the client
+     * @param path path to describe
+     * @param loader function to load description of the path if it is absent in the cache
+     * @return future with description of the path
+     */
+    public CompletableFuture<Result<DescribePathResult>> get(String database, String path,
+            Function<String, CompletableFuture<Result<DescribePathResult>>> loader) {
+        Key key = new Key(database, path);
+        CompletableFuture<Result<DescribePathResult>> future = cache.computeIfAbsent(key, k -> loader.apply(path));
+        // the failed result is evicted before it is returned to the caller
+        return future.whenComplete((result, th) -> {
+            if (th != null || !result.isSuccess()) {
+                cache.remove(key, future);
+            }
+        });
+    }
+
+    public void put(String database, String path, DescribePathResult description) {
+        cache.put(new Key(database, path), CompletableFuture.completedFuture(Result.success(description)));
+    }
+
+    public void invalidate(String database, String path) {
+        cache.remove(new Key(database, path));
+    }
+
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    private static final class Key {
+        private final String database;
+        private final String path;
+
+        Key(String database, String path) {
+            this.database = database;
+            this.path = path;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Objects.equals(database, other.database) && Objects.equals(path, other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(database, path);
+        }
+    }
+}
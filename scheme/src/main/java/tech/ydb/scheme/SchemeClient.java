@@ -1,13 +1,17 @@
 package tech.ydb.scheme;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 
 import javax.annotation.WillNotClose;
 
+import com.google.common.base.Preconditions;
+
 import tech.ydb.core.Result;
 import tech.ydb.core.Status;
 import tech.ydb.core.grpc.GrpcTransport;
 import tech.ydb.scheme.description.DescribePathResult;
+import tech.ydb.scheme.description.Entry;
 import tech.ydb.scheme.description.ListDirectoryResult;
 import tech.ydb.scheme.impl.GrpcSchemeRpc;
 import tech.ydb.scheme.impl.SchemeClientImpl;
@@ -45,6 +49,21 @@ public interface SchemeClient extends AutoCloseable {
 
     CompletableFuture<Result<ListDirectoryResult>> listDirectory(String path);
 
+    /**
+     * Recursively walks the scheme tree under the given path. Directories are listed concurrently, but no more than
+     * {@code parallelism} requests are executed at once. The visitor is called with the full path of every found
+     * entry as soon as its parent directory is listed. Calls of the visitor are serialized.
+     *
+     * @param path  path to the root directory of walk, the root itself is not passed to the visitor
+     * @param visitor  consumer of the full path and the entry
+     * @param parallelism  maximum count of concurrent listDirectory requests
+     * @return future with status of the walk, it is completed with the first error
+     */
+    default CompletableFuture<Status> walk(String path, BiConsumer<String, Entry> visitor, int parallelism) {
+        Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+        return new SchemeTreeWalker(this, visitor, parallelism).walk(path);
+    }
+
     @Override
     void close();
 
@@ -53,6 +72,17 @@ public interface SchemeClient extends AutoCloseable {
      */
     interface Builder {
 
+        /**
+         * Set cache of describePath results. The cache may be shared between several clients.
+         * By default, results are not cached, builders which don't support the cache ignore it.
+         *
+         * @param cache  instance of the cache
+         * @return settings builder
+         */
+        default Builder withDescribePathCache(DescribePathCache cache) {
+            return this;
+        }
+
         SchemeClient build();
     }
 }
@@ -0,0 +1,96 @@
+package tech.ydb.scheme;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.scheme.description.Entry;
+import tech.ydb.scheme.description.EntryType;
+import tech.ydb.scheme.description.ListDirectoryResult;
+
+/**
+ * Recursive walk of the scheme tree with bounded count of concurrent listDirectory requests
+ */
+class SchemeTreeWalker {
+    private final SchemeClient client;
+    private final BiConsumer<String, Entry> visitor;
+    private final int parallelism;
+
+    private final Queue<String> pending = new ArrayDeque<>();
+    private final CompletableFuture<Status> result = new CompletableFuture<>();
+    private int inFlight = 0;
+
+    SchemeTreeWalker(SchemeClient client, BiConsumer<String, Entry> visitor, int parallelism) {
+        this.client = client;
+        this.visitor = visitor;
+        this.parallelism = parallelism;
+    }
+
+    CompletableFuture<Status> walk(String path) {
+        synchronized (this) {
+            pending.add(path);
+        }
+        listNext();
+        return result;
+    }
+
+    private void listNext() {
+        while (true) {
+            String path;
+            synchronized (this) {
+                if (result.isDone() || inFlight >= parallelism || pending.isEmpty()) {
+                    return;
+                }
+                path = pending.poll();
+                inFlight++;
+            }
+
+            client.listDirectory(path).whenComplete((res, th) -> {
+                onListed(path, res, th);
+                listNext();
+            });
+        }
+    }
+
+    private synchronized void onListed(String path, Result<ListDirectoryResult> res, Throwable th) {
+        inFlight--;
+        if (result.isDone()) {
+            return;
+        }
+
+        if (th != null) {
+            result.completeExceptionally(th);
+            return;
+        }
+        if (!res.isSuccess()) {
+            result.complete(res.getStatus());
+            return;
+        }
+
+        String prefix = path.endsWith("/") ? path : path + "/";
+        for (Entry child: res.getValue().getEntryChildren()) {
+            String childPath = prefix + child.getName();
+            try {
+                visitor.accept(childPath, child);
+            } catch (RuntimeException ex) {
+                result.complete(Status.of(StatusCode.CLIENT_INTERNAL_ERROR, ex));
+                return;
+            }
+            if (isDirectory(child.getType())) {
+                pending.add(childPath);
+            }
+        }
+
+        if (inFlight == 0 && pending.isEmpty()) {
+            result.complete(Status.SUCCESS);
+        }
+    }
+
+    private static boolean isDirectory(EntryType type) {
+        return type == EntryType.DIRECTORY || type == EntryType.DATABASE || type == EntryType.COLUMN_STORE;
+    }
+}
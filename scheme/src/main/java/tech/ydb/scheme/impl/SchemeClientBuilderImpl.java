@@ -1,5 +1,6 @@
 package tech.ydb.scheme.impl;
 
+import tech.ydb.scheme.DescribePathCache;
 import tech.ydb.scheme.SchemeClient;
 
 
@@ -10,11 +11,18 @@ import tech.ydb.scheme.SchemeClient;
 public class SchemeClientBuilderImpl implements SchemeClient.Builder {
 
     protected final SchemeRpc schemeRpc;
+    protected DescribePathCache describePathCache = null;
 
     public SchemeClientBuilderImpl(SchemeRpc schemeRpc) {
         this.schemeRpc = schemeRpc;
     }
 
+    @Override
+    public SchemeClientBuilderImpl withDescribePathCache(DescribePathCache cache) {
+        this.describePathCache = cache;
+        return this;
+    }
+
     @Override
     public SchemeClient build() {
         return new SchemeClientImpl(this);
@@ -9,6 +9,7 @@ import tech.ydb.core.Result;
 import tech.ydb.core.Status;
 import tech.ydb.core.grpc.GrpcRequestSettings;
 import tech.ydb.proto.scheme.SchemeOperationProtos;
+import tech.ydb.scheme.DescribePathCache;
 import tech.ydb.scheme.SchemeClient;
 import tech.ydb.scheme.description.DescribePathResult;
 import tech.ydb.scheme.description.ListDirectoryResult;
@@ -18,9 +19,11 @@ import tech.ydb.scheme.description.ListDirectoryResult;
  */
 public class SchemeClientImpl implements SchemeClient {
     private final SchemeRpc schemeRpc;
+    private final DescribePathCache cache;
 
     SchemeClientImpl(SchemeClientBuilderImpl builder) {
         this.schemeRpc = builder.schemeRpc;
+        this.cache = builder.describePathCache;
     }
 
     public static Builder newClient(SchemeRpc rpc) {
@@ -77,7 +80,8 @@ public class SchemeClientImpl implements SchemeClient {
                 .build();
         final GrpcRequestSettings grpcRequestSettings = GrpcRequestSettings.newBuilder().build();
         return schemeRpc
-                .makeDirectory(request, grpcRequestSettings);
+                .makeDirectory(request, grpcRequestSettings)
+                .whenComplete((status, th) -> invalidate(path));
     }
 
     @Override
@@ -87,11 +91,19 @@ public class SchemeClientImpl implements SchemeClient {
                 .setPath(path)
                 .build();
         final GrpcRequestSettings grpcRequestSettings = GrpcRequestSettings.newBuilder().build();
-        return schemeRpc.removeDirectory(request, grpcRequestSettings);
+        return schemeRpc.removeDirectory(request, grpcRequestSettings)
+                .whenComplete((status, th) -> invalidate(path));
     }
 
     @Override
     public CompletableFuture<Result<DescribePathResult>> describePath(String path) {
+        if (cache != null) {
+            return cache.get(schemeRpc.getDatabase(), path, this::describePathImpl);
+        }
+        return describePathImpl(path);
+    }
+
+    private CompletableFuture<Result<DescribePathResult>> describePathImpl(String path) {
         SchemeOperationProtos.DescribePathRequest request = SchemeOperationProtos.DescribePathRequest
                 .newBuilder()
                 .setPath(path)
@@ -111,7 +123,29 @@ public class SchemeClientImpl implements SchemeClient {
         final GrpcRequestSettings grpcRequestSettings = GrpcRequestSettings.newBuilder().build();
         return schemeRpc
                 .describeDirectory(request, grpcRequestSettings)
-                .thenApply(result -> result.map(ListDirectoryResult::new));
+                .thenApply(result -> {
+                    if (cache != null && result.isSuccess()) {
+                        // only the directory itself is cached, describePath doesn't return its children
+                        SchemeOperationProtos.DescribePathResult self = SchemeOperationProtos.DescribePathResult
+                                .newBuilder()
+                                .setSelf(result.getValue().getSelf())
+                                .build();
+                        cache.put(schemeRpc.getDatabase(), path, new DescribePathResult(self));
+                    }
+                    return result.map(ListDirectoryResult::new);
+                });
+    }
+
+    private void invalidate(String path) {
+        if (cache != null) {
+            String database = schemeRpc.getDatabase();
+            cache.invalidate(database, path);
+            // the listing of the parent directory is changed too
+            int idx = path.lastIndexOf('/');
+            if (idx > 0) {
+                cache.invalidate(database, path.substring(0, idx));
+            }
+        }
     }
 
     @Override
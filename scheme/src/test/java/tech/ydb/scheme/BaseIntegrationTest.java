@@ -1,5 +1,8 @@
 package tech.ydb.scheme;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.AfterClass;
@@ -114,4 +117,27 @@ public class BaseIntegrationTest {
         Status dirDelete = client.removeDirectory(basePath + "/" + dirName).join();
         Assert.assertTrue(dirDelete.isSuccess());
     }
+
+    @Test
+    public void walkTest() {
+        String basePath = transport.getDatabase() + "/walk_dir";
+        Assert.assertTrue(client.makeDirectories(basePath + "/a/b").join().isSuccess());
+        Assert.assertTrue(client.makeDirectories(basePath + "/a/c").join().isSuccess());
+        Assert.assertTrue(client.makeDirectories(basePath + "/d").join().isSuccess());
+
+        Map<String, EntryType> found = new HashMap<>();
+        Status status = client.walk(basePath, (path, entry) -> found.put(path, entry.getType()), 2).join();
+        Assert.assertTrue(status.isSuccess());
+        Assert.assertEquals(4, found.size());
+        for (String path: Arrays.asList("/a", "/a/b", "/a/c", "/d")) {
+            Assert.assertEquals(EntryType.DIRECTORY, found.get(basePath + path));
+        }
+
+        Status invalid = client.walk("/invalid-path", (path, entry) -> { }, 2).join();
+        Assert.assertEquals(StatusCode.SCHEME_ERROR, invalid.getCode());
+
+        for (String path: Arrays.asList("/a/b", "/a/c", "/a", "/d", "")) {
+            Assert.assertTrue(client.removeDirectory(basePath + path).join().isSuccess());
+        }
+    }
 }
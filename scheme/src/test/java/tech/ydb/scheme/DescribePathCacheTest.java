@@ -0,0 +1,171 @@
+package tech.ydb.scheme;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.proto.scheme.SchemeOperationProtos;
+import tech.ydb.scheme.description.DescribePathResult;
+import tech.ydb.scheme.description.EntryType;
+import tech.ydb.scheme.description.ListDirectoryResult;
+import tech.ydb.scheme.impl.SchemeClientImpl;
+import tech.ydb.scheme.impl.SchemeRpc;
+
+public class DescribePathCacheTest {
+    private static final String DIR = "/local/dir";
+
+    private final SchemeRpc rpc = Mockito.mock(SchemeRpc.class);
+    private final DescribePathCache cache = DescribePathCache.create(Duration.ofMinutes(1));
+
+    private SchemeClient client() {
+        Mockito.when(rpc.getDatabase()).thenReturn("/local");
+        return SchemeClientImpl.newClient(rpc).withDescribePathCache(cache).build();
+    }
+
+    private static SchemeOperationProtos.Entry entry(String name) {
+        return SchemeOperationProtos.Entry.newBuilder()
+                .setName(name)
+                .setType(SchemeOperationProtos.Entry.Type.DIRECTORY)
+                .build();
+    }
+
+    private static CompletableFuture<Result<SchemeOperationProtos.DescribePathResult>> described(String name) {
+        return CompletableFuture.completedFuture(Result.success(SchemeOperationProtos.DescribePathResult.newBuilder()
+                .setSelf(entry(name))
+                .build()));
+    }
+
+    private void verifyDescribes(int times) {
+        Mockito.verify(rpc, Mockito.times(times)).describePath(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void sharedCacheTest() {
+        Mockito.when(rpc.describePath(Mockito.any(), Mockito.any())).thenReturn(described("dir"));
+
+        SchemeClient client1 = client();
+        SchemeClient client2 = client();
+
+        Result<DescribePathResult> first = client1.describePath(DIR).join();
+        Assert.assertTrue(first.isSuccess());
+        Assert.assertEquals(1, cache.size());
+
+        // the second client reuses the cached result
+        Assert.assertSame(first, client2.describePath(DIR).join());
+        verifyDescribes(1);
+    }
+
+    @Test
+    public void differentDatabasesTest() {
+        SchemeRpc otherRpc = Mockito.mock(SchemeRpc.class);
+        Mockito.when(otherRpc.getDatabase()).thenReturn("/other");
+        Mockito.when(otherRpc.describePath(Mockito.any(), Mockito.any())).thenReturn(described("other"));
+        Mockito.when(rpc.describePath(Mockito.any(), Mockito.any())).thenReturn(described("dir"));
+
+        SchemeClient client = client();
+        SchemeClient otherClient = SchemeClientImpl.newClient(otherRpc).withDescribePathCache(cache).build();
+
+        // the same path of other database is not taken from the cache
+        Assert.assertEquals("dir", client.describePath(DIR).join().getValue().getEntry().getName());
+        Assert.assertEquals("other", otherClient.describePath(DIR).join().getValue().getEntry().getName());
+        Assert.assertEquals(2, cache.size());
+        verifyDescribes(1);
+        Mockito.verify(otherRpc).describePath(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void concurrentRequestsTest() {
+        CompletableFuture<Result<SchemeOperationProtos.DescribePathResult>> response = new CompletableFuture<>();
+        Mockito.when(rpc.describePath(Mockito.any(), Mockito.any())).thenReturn(response);
+
+        SchemeClient client = client();
+        CompletableFuture<Result<DescribePathResult>> first = client.describePath(DIR);
+        CompletableFuture<Result<DescribePathResult>> second = client.describePath(DIR);
+        verifyDescribes(1);
+
+        response.complete(described("dir").join());
+        Assert.assertSame(first.join(), second.join());
+    }
+
+    @Test
+    public void errorsAreNotCachedTest() {
+        Mockito.when(rpc.describePath(Mockito.any(), Mockito.any())).thenReturn(
+                CompletableFuture.completedFuture(Result.fail(Status.of(StatusCode.SCHEME_ERROR))),
+                described("dir")
+        );
+
+        SchemeClient client = client();
+        Assert.assertEquals(StatusCode.SCHEME_ERROR, client.describePath(DIR).join().getStatus().getCode());
+        // the failed result is already evicted when the caller gets it
+        Assert.assertEquals(0, cache.size());
+
+        Assert.assertTrue(client.describePath(DIR).join().isSuccess());
+        Assert.assertEquals(1, cache.size());
+        verifyDescribes(2);
+    }
+
+    @Test
+    public void listDirectoryCachesOnlySelfTest() {
+        Mockito.when(rpc.describeDirectory(Mockito.any(), Mockito.any())).thenReturn(CompletableFuture.completedFuture(
+                Result.success(SchemeOperationProtos.ListDirectoryResult.newBuilder()
+                        .setSelf(entry("dir"))
+                        .addChildren(entry("child"))
+                        .build())));
+
+        SchemeClient client = client();
+        Result<ListDirectoryResult> listed = client.listDirectory(DIR).join();
+        Assert.assertEquals(1, listed.getValue().getEntryChildren().size());
+
+        // describePath is served from the cache and doesn't contain children of the directory
+        DescribePathResult described = client.describePath(DIR).join().getValue();
+        Assert.assertEquals(DescribePathResult.class, described.getClass());
+        Assert.assertEquals("dir", described.getEntry().getName());
+        Assert.assertEquals(EntryType.DIRECTORY, described.getEntry().getType());
+        verifyDescribes(0);
+    }
+
+    @Test
+    public void makeDirectoryInvalidatesTest() {
+        Mockito.when(rpc.describePath(Mockito.any(), Mockito.any())).thenReturn(described("dir"));
+        Mockito.when(rpc.makeDirectory(Mockito.any(), Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(Status.SUCCESS));
+
+        SchemeClient client = client();
+        client.describePath(DIR).join();
+        client.describePath(DIR + "/child").join();
+        Assert.assertEquals(2, cache.size());
+
+        // both the new directory and its parent are evicted
+        Assert.assertTrue(client.makeDirectory(DIR + "/child").join().isSuccess());
+        Assert.assertEquals(0, cache.size());
+
+        client.describePath(DIR).join();
+        verifyDescribes(3);
+    }
+
+    @Test
+    public void removeDirectoryInvalidatesTest() {
+        Mockito.when(rpc.describePath(Mockito.any(), Mockito.any())).thenReturn(described("dir"));
+        Mockito.when(rpc.removeDirectory(Mockito.any(), Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(Status.SUCCESS));
+
+        SchemeClient client = client();
+        client.describePath("/local").join();
+        client.describePath(DIR).join();
+        client.describePath(DIR + "/child").join();
+        Assert.assertEquals(3, cache.size());
+
+        // the removed directory and its parent are evicted, other entries stay in the cache
+        Assert.assertTrue(client.removeDirectory(DIR + "/child").join().isSuccess());
+        Assert.assertEquals(1, cache.size());
+
+        client.describePath("/local").join();
+        verifyDescribes(3);
+    }
+}
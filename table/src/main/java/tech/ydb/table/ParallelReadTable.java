@@ -0,0 +1,558 @@
+package tech.ydb.table;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tech.ydb.common.retry.RetryConfig;
+import tech.ydb.common.retry.RetryPolicy;
+import tech.ydb.core.Issue;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.grpc.GrpcFlowControl;
+import tech.ydb.core.grpc.GrpcReadStream;
+import tech.ydb.proto.ValueProtos;
+import tech.ydb.table.description.KeyRange;
+import tech.ydb.table.description.TableDescription;
+import tech.ydb.table.query.ReadTablePart;
+import tech.ydb.table.settings.DescribeTableSettings;
+import tech.ydb.table.settings.ReadTableSettings;
+import tech.ydb.table.values.TupleValue;
+import tech.ydb.table.values.Value;
+import tech.ydb.table.values.proto.ProtoType;
+import tech.ydb.table.values.proto.ProtoValue;
+
+/**
+ * Reads the whole table by several concurrent {@link Session#executeReadTable} streams. The key range of the table
+ * is split by the partition bounds, which are received by {@link Session#describeTable}, and every partition is
+ * read by its own stream with a bounded buffer of parts. Parts are passed to the observer sequentially, either in
+ * the key order of partitions or in the order of arriving. A failed stream is retried by {@link RetryConfig} and
+ * continues the reading from the last received key.
+ * <p>
+ * Continuation needs the primary key columns in the result, so if the columns list is specified and doesn't contain
+ * all of them, a partition is retried only until its first part is received.
+ */
+@ParametersAreNonnullByDefault
+public class ParallelReadTable implements GrpcReadStream<ReadTablePart> {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelReadTable.class);
+
+    private final SessionSupplier sessionSupplier;
+    private final String tablePath;
+    private final int parallelism;
+    private final int bufferSize;
+    private final boolean ordered;
+    private final List<String> columns;
+    private final int batchLimitBytes;
+    private final int batchLimitRows;
+    private final Duration sessionTimeout;
+    private final RetryConfig retryConfig;
+
+    private final CompletableFuture<Status> finishFuture = new CompletableFuture<>();
+    private final AtomicBoolean isStarted = new AtomicBoolean(false);
+    private final AtomicBoolean isStopped = new AtomicBoolean(false);
+    private final AtomicInteger drainRequests = new AtomicInteger();
+
+    // state of delivery is changed only by the drain loop
+    private final List<RangeReader> active = new ArrayList<>();
+    private volatile Observer<ReadTablePart> observer;
+    private volatile List<KeyRange> ranges = null;
+    private volatile List<String> primaryKeys = Collections.emptyList();
+    private int nextRange = 0;
+
+    private ParallelReadTable(Builder builder) {
+        this.sessionSupplier = builder.sessionSupplier;
+        this.tablePath = builder.tablePath;
+        this.parallelism = builder.parallelism;
+        this.bufferSize = builder.bufferSize;
+        this.ordered = builder.ordered;
+        this.columns = builder.columns;
+        this.batchLimitBytes = builder.batchLimitBytes;
+        this.batchLimitRows = builder.batchLimitRows;
+        this.sessionTimeout = builder.sessionTimeout;
+        this.retryConfig = builder.retryConfig;
+    }
+
+    public static Builder newBuilder(SessionSupplier sessionSupplier, String tablePath) {
+        return new Builder(Objects.requireNonNull(sessionSupplier), Objects.requireNonNull(tablePath));
+    }
+
+    @Override
+    public CompletableFuture<Status> start(Observer<ReadTablePart> partObserver) {
+        if (!isStarted.compareAndSet(false, true)) {
+            throw new IllegalStateException("Parallel read of " + tablePath + " is already started");
+        }
+        this.observer = Objects.requireNonNull(partObserver);
+        new DescribeTask().run();
+        return finishFuture;
+    }
+
+    @Override
+    public void cancel() {
+        stop(Status.of(StatusCode.CLIENT_CANCELLED, Issue.of("Parallel read of " + tablePath + " was cancelled",
+                Issue.Severity.ERROR)));
+    }
+
+    private void stop(Status status) {
+        if (!isStopped.compareAndSet(false, true)) {
+            return;
+        }
+        // streams are cancelled by the drain loop
+        drain();
+        finishFuture.complete(status);
+    }
+
+    private void onDescribed(TableDescription description) {
+        List<KeyRange> keyRanges = description.getKeyRanges();
+        if (keyRanges == null || keyRanges.isEmpty()) {
+            // table without partition bounds is read by one stream
+            keyRanges = Collections.singletonList(new KeyRange(Optional.empty(), Optional.empty()));
+        }
+        logger.debug("parallel read of {} with {} partitions", tablePath, keyRanges.size());
+        this.primaryKeys = description.getPrimaryKeys();
+        this.ranges = keyRanges;
+        drain();
+    }
+
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+
+        do {
+            deliverParts();
+        } while (drainRequests.decrementAndGet() != 0);
+    }
+
+    private void deliverParts() {
+        while (true) {
+            if (isStopped.get()) {
+                for (RangeReader reader : active) {
+                    reader.cancel();
+                }
+                active.clear();
+                return;
+            }
+
+            List<KeyRange> keyRanges = ranges;
+            if (keyRanges == null) {
+                return; // table is not described yet
+            }
+
+            while (active.size() < parallelism && nextRange < keyRanges.size()) {
+                RangeReader reader = new RangeReader(keyRanges.get(nextRange++));
+                active.add(reader);
+                reader.run();
+            }
+
+            if (active.isEmpty()) {
+                finishFuture.complete(Status.SUCCESS);
+                return;
+            }
+
+            ReadTablePart part = ordered ? pollOrdered() : pollUnordered();
+            if (part == null) {
+                if (active.size() < parallelism && nextRange < keyRanges.size()) {
+                    continue; // some readers were finished
+                }
+                return;
+            }
+
+            try {
+                observer.onNext(part);
+            } catch (RuntimeException ex) {
+                logger.warn("parallel read of {} got observer problem", tablePath, ex);
+                stop(Status.of(StatusCode.CLIENT_INTERNAL_ERROR, ex,
+                        Issue.of("Observer exception: " + ex.getMessage(), Issue.Severity.ERROR)));
+            }
+        }
+    }
+
+    private ReadTablePart pollOrdered() {
+        while (!active.isEmpty()) {
+            RangeReader head = active.get(0);
+            ReadTablePart part = head.poll();
+            if (part != null) {
+                return part;
+            }
+            if (!head.isDone()) {
+                return null;
+            }
+            active.remove(0);
+        }
+        return null;
+    }
+
+    private ReadTablePart pollUnordered() {
+        Iterator<RangeReader> iter = active.iterator();
+        while (iter.hasNext()) {
+            RangeReader reader = iter.next();
+            ReadTablePart part = reader.poll();
+            if (part != null) {
+                return part;
+            }
+            if (reader.isDone()) {
+                iter.remove();
+            }
+        }
+        return null;
+    }
+
+    private static TupleValue toTuple(Value<?> value) {
+        return value instanceof TupleValue ? (TupleValue) value : TupleValue.of(value);
+    }
+
+    /**
+     * Runs the action with a new session and retries it by {@link RetryConfig}
+     */
+    private abstract class RetryableTask {
+        private long startedAt = System.currentTimeMillis();
+        private int retryNumber = 0;
+
+        protected abstract CompletableFuture<Status> execute(Session session);
+
+        protected abstract void onSuccess();
+
+        protected boolean canRetry() {
+            return true;
+        }
+
+        protected void resetRetries() {
+            retryNumber = 0;
+            startedAt = System.currentTimeMillis();
+        }
+
+        void run() {
+            if (isStopped.get()) {
+                return;
+            }
+
+            sessionSupplier.createSession(sessionTimeout).whenComplete((res, th) -> {
+                if (th != null) {
+                    onFailure(Status.of(StatusCode.CLIENT_INTERNAL_ERROR, th));
+                    return;
+                }
+                if (!res.isSuccess()) {
+                    onFailure(res.getStatus());
+                    return;
+                }
+
+                Session session = res.getValue();
+                CompletableFuture<Status> future;
+                try {
+                    future = execute(session);
+                } catch (RuntimeException ex) {
+                    session.close();
+                    onFailure(Status.of(StatusCode.CLIENT_INTERNAL_ERROR, ex));
+                    return;
+                }
+
+                future.whenComplete((status, ex) -> {
+                    session.close();
+                    Status result = ex != null ? Status.of(StatusCode.CLIENT_INTERNAL_ERROR, ex) : status;
+                    if (result.isSuccess()) {
+                        onSuccess();
+                    } else {
+                        onFailure(result);
+                    }
+                });
+            });
+        }
+
+        private void onFailure(Status status) {
+            if (isStopped.get()) {
+                return;
+            }
+
+            RetryPolicy policy = canRetry() ? retryConfig.getStatusRetryPolicy(status) : null;
+            long elapsed = System.currentTimeMillis() - startedAt;
+            long delay = policy != null ? policy.nextRetryMs(retryNumber++, elapsed) : -1;
+            if (delay < 0) {
+                logger.warn("parallel read of {} failed with {}", tablePath, status);
+                stop(status);
+                return;
+            }
+
+            logger.debug("parallel read of {} got {}, retry #{} in {} ms", tablePath, status, retryNumber, delay);
+            sessionSupplier.getScheduler().schedule(this::run, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private final class DescribeTask extends RetryableTask {
+        private volatile TableDescription description;
+
+        @Override
+        protected CompletableFuture<Status> execute(Session session) {
+            DescribeTableSettings settings = new DescribeTableSettings();
+            settings.setIncludeShardKeyBounds(true);
+            return session.describeTable(tablePath, settings).thenApply(result -> {
+                if (result.isSuccess()) {
+                    description = result.getValue();
+                }
+                return result.getStatus();
+            });
+        }
+
+        @Override
+        protected void onSuccess() {
+            onDescribed(description);
+        }
+    }
+
+    private final class RangeReader extends RetryableTask implements GrpcFlowControl {
+        private final KeyRange range;
+        private final Deque<ReadTablePart> buffer = new ArrayDeque<>(); // guarded by this
+
+        private IntConsumer requests = null; // guarded by this
+        private boolean isPaused = false; // guarded by this
+        private boolean isFinished = false; // guarded by this
+
+        private volatile TupleValue lastKey = null;
+        private volatile boolean hasParts = false;
+        private volatile GrpcReadStream<ReadTablePart> stream = null;
+
+        RangeReader(KeyRange range) {
+            this.range = range;
+        }
+
+        @Override
+        protected CompletableFuture<Status> execute(Session session) {
+            ReadTableSettings.Builder settings = ReadTableSettings.newBuilder()
+                    .orderedRead(true)
+                    .columns(columns)
+                    .batchLimitBytes(batchLimitBytes)
+                    .batchLimitRows(batchLimitRows)
+                    .withGrpcFlowControl(this);
+
+            TupleValue from = lastKey;
+            if (from != null) {
+                settings.fromKey(from, false);
+            } else {
+                range.getFrom().ifPresent(bound -> settings.fromKey(toTuple(bound.getValue()), bound.isInclusive()));
+            }
+            range.getTo().ifPresent(bound -> settings.toKey(toTuple(bound.getValue()), bound.isInclusive()));
+
+            GrpcReadStream<ReadTablePart> readStream = session.executeReadTable(tablePath, settings.build());
+            stream = readStream;
+            if (isStopped.get()) {
+                readStream.cancel();
+            }
+            return readStream.start(this::onPart);
+        }
+
+        @Override
+        protected boolean canRetry() {
+            // without the last key the partition can be read again only from its beginning
+            return !hasParts || lastKey != null;
+        }
+
+        @Override
+        protected void onSuccess() {
+            synchronized (this) {
+                isFinished = true;
+            }
+            drain();
+        }
+
+        @Override
+        public Call newCall(IntConsumer req) {
+            return new Call() {
+                @Override
+                public void onStart() {
+                    synchronized (RangeReader.this) {
+                        requests = req;
+                        isPaused = false;
+                    }
+                    req.accept(1);
+                }
+
+                @Override
+                public void onMessageRead() {
+                    synchronized (RangeReader.this) {
+                        if (buffer.size() >= bufferSize) {
+                            isPaused = true;
+                            return;
+                        }
+                    }
+                    req.accept(1);
+                }
+            };
+        }
+
+        private void onPart(ReadTablePart part) {
+            TupleValue key = lastKeyOf(part);
+            if (key != null) {
+                lastKey = key;
+            }
+            hasParts = true;
+            resetRetries();
+
+            synchronized (this) {
+                buffer.add(part);
+            }
+            drain();
+        }
+
+        private TupleValue lastKeyOf(ReadTablePart part) {
+            // only the last row is read from the proto, the reader of the part is left untouched for the observer
+            ValueProtos.ResultSet rs = part.getReadTableResponse().getResult().getResultSet();
+            if (rs.getRowsCount() == 0 || primaryKeys.isEmpty()) {
+                return lastKey;
+            }
+
+            ValueProtos.Value lastRow = rs.getRows(rs.getRowsCount() - 1);
+            List<Value<?>> values = new ArrayList<>(primaryKeys.size());
+            for (String key : primaryKeys) {
+                int idx = columnIndex(rs, key);
+                if (idx < 0) {
+                    return null;
+                }
+                ValueProtos.Column column = rs.getColumns(idx);
+                values.add(ProtoValue.fromPb(ProtoType.fromPb(column.getType()), lastRow.getItems(idx)));
+            }
+            return TupleValue.of(values);
+        }
+
+        private int columnIndex(ValueProtos.ResultSet rs, String name) {
+            for (int idx = 0; idx < rs.getColumnsCount(); idx++) {
+                if (name.equals(rs.getColumns(idx).getName())) {
+                    return idx;
+                }
+            }
+            return -1;
+        }
+
+        ReadTablePart poll() {
+            IntConsumer resume = null;
+            ReadTablePart part;
+            synchronized (this) {
+                part = buffer.poll();
+                if (part != null && isPaused && buffer.size() < bufferSize) {
+                    isPaused = false;
+                    resume = requests;
+                }
+            }
+            if (resume != null) {
+                resume.accept(1);
+            }
+            return part;
+        }
+
+        synchronized boolean isDone() {
+            return isFinished && buffer.isEmpty();
+        }
+
+        void cancel() {
+            GrpcReadStream<ReadTablePart> current = stream;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+
+    @ParametersAreNonnullByDefault
+    public static final class Builder {
+        private final SessionSupplier sessionSupplier;
+        private final String tablePath;
+        private int parallelism = 4;
+        private int bufferSize = 4;
+        private boolean ordered = false;
+        private List<String> columns = Collections.emptyList();
+        private int batchLimitBytes = 0;
+        private int batchLimitRows = 0;
+        private Duration sessionTimeout = Duration.ofSeconds(5);
+        private RetryConfig retryConfig = RetryConfig.newConfig()
+                .retryConditionallyRetryableErrors(true)
+                .retryNTimes(10);
+
+        private Builder(SessionSupplier sessionSupplier, String tablePath) {
+            this.sessionSupplier = sessionSupplier;
+            this.tablePath = tablePath;
+        }
+
+        /**
+         * Set count of concurrent streams. Default value is 4
+         * @param value count of streams
+         * @return this builder instance
+         */
+        public Builder parallelism(int value) {
+            Preconditions.checkArgument(value > 0, "parallelism(%s) must be positive", value);
+            this.parallelism = value;
+            return this;
+        }
+
+        /**
+         * Set count of parts which can be buffered for every stream. The stream doesn't request new parts from the
+         * server while its buffer is full. Default value is 4
+         * @param value size of the buffer
+         * @return this builder instance
+         */
+        public Builder bufferSize(int value) {
+            Preconditions.checkArgument(value > 0, "bufferSize(%s) must be positive", value);
+            this.bufferSize = value;
+            return this;
+        }
+
+        /**
+         * Set order of parts delivery. In ordered mode parts are passed to the observer in the key order, so the
+         * partition is delivered only after all previous partitions. Default value is false
+         * @param value true if parts must be ordered by the key
+         * @return this builder instance
+         */
+        public Builder ordered(boolean value) {
+            this.ordered = value;
+            return this;
+        }
+
+        public Builder columns(List<String> value) {
+            this.columns = ImmutableList.copyOf(value);
+            return this;
+        }
+
+        public Builder columns(String... value) {
+            this.columns = ImmutableList.copyOf(value);
+            return this;
+        }
+
+        public Builder batchLimitBytes(int value) {
+            this.batchLimitBytes = value;
+            return this;
+        }
+
+        public Builder batchLimitRows(int value) {
+            this.batchLimitRows = value;
+            return this;
+        }
+
+        public Builder sessionTimeout(Duration value) {
+            this.sessionTimeout = Objects.requireNonNull(value);
+            return this;
+        }
+
+        public Builder retryConfig(RetryConfig value) {
+            this.retryConfig = Objects.requireNonNull(value);
+            return this;
+        }
+
+        public ParallelReadTable build() {
+            return new ParallelReadTable(this);
+        }
+    }
+}
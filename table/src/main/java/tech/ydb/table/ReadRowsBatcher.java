@@ -0,0 +1,286 @@
+package tech.ydb.table;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import tech.ydb.core.Issue;
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.table.query.ReadRowsResult;
+import tech.ydb.table.result.ResultSetReader;
+import tech.ydb.table.settings.ReadRowsSettings;
+import tech.ydb.table.values.OptionalValue;
+import tech.ydb.table.values.StructType;
+import tech.ydb.table.values.StructValue;
+import tech.ydb.table.values.Value;
+
+/**
+ * Collects concurrent point lookups of one table into {@link Session#readRows} requests. The lookup waits until
+ * the batch reaches {@code maxBatchSize} keys or for {@code maxDelay} since the first key of the batch, then all
+ * keys are read by one request and the rows are distributed to the futures of the lookups. The same key requested
+ * several times in one batch is read only once.
+ * <p>
+ * Every key must contain all primary key columns of the table and have the same type as the first key of the
+ * batcher, the lookup of a key of other type fails with {@code BAD_REQUEST}. If the columns list is specified, the
+ * primary key columns are added to it to match the rows with keys.
+ */
+@ParametersAreNonnullByDefault
+public class ReadRowsBatcher {
+    private final SessionSupplier sessionSupplier;
+    private final SessionRetryContext retryCtx;
+    private final String tablePath;
+    private final List<String> columns;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+
+    private final Object lock = new Object();
+    private Map<List<Value<?>>, Lookup> batch = new LinkedHashMap<>(); // guarded by lock
+    private StructType keyType = null; // guarded by lock
+    private volatile List<String> keyColumns = null;
+
+    private ReadRowsBatcher(Builder builder) {
+        this.sessionSupplier = builder.sessionSupplier;
+        this.retryCtx = SessionRetryContext.create(builder.sessionSupplier)
+                .idempotent(true)
+                .maxRetries(builder.maxRetries)
+                .build();
+        this.tablePath = builder.tablePath;
+        this.columns = builder.columns;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.maxDelayNanos = builder.maxDelay.toNanos();
+    }
+
+    public static Builder newBuilder(SessionSupplier sessionSupplier, String tablePath) {
+        return new Builder(Objects.requireNonNull(sessionSupplier), Objects.requireNonNull(tablePath));
+    }
+
+    /**
+     * Reads the row with the given primary key
+     * @param key struct with all primary key columns
+     * @return future with the row as a struct of the read columns or an empty optional if the row doesn't exist
+     */
+    public CompletableFuture<Result<Optional<StructValue>>> readRow(StructValue key) {
+        Objects.requireNonNull(key, "key is null");
+        List<Value<?>> id = keyOf(key);
+
+        Map<List<Value<?>>, Lookup> ready = null;
+        Map<List<Value<?>>, Lookup> scheduled = null;
+        Lookup lookup;
+        synchronized (lock) {
+            if (keyType == null) {
+                keyType = key.getType();
+                keyColumns = memberNames(keyType);
+            } else if (!keyType.equals(key.getType())) {
+                // the key of other type would break the request of the whole batch
+                Issue issue = Issue.of("Key type " + key.getType() + " doesn't match the key type " + keyType,
+                        Issue.Severity.ERROR);
+                return CompletableFuture.completedFuture(Result.fail(Status.of(StatusCode.BAD_REQUEST, issue)));
+            }
+
+            lookup = batch.get(id);
+            if (lookup != null) {
+                return lookup.future;
+            }
+
+            lookup = new Lookup(key);
+            if (batch.isEmpty()) {
+                scheduled = batch;
+            }
+            batch.put(id, lookup);
+            if (batch.size() >= maxBatchSize) {
+                ready = batch;
+                batch = new LinkedHashMap<>();
+            }
+        }
+
+        if (ready != null) {
+            execute(ready);
+        } else if (scheduled != null) {
+            Map<List<Value<?>>, Lookup> first = scheduled;
+            sessionSupplier.getScheduler().schedule(() -> flush(first), maxDelayNanos, TimeUnit.NANOSECONDS);
+        }
+        return lookup.future;
+    }
+
+    /**
+     * Sends the current batch without waiting for its timer
+     */
+    public void flush() {
+        Map<List<Value<?>>, Lookup> current;
+        synchronized (lock) {
+            current = batch;
+        }
+        flush(current);
+    }
+
+    private void flush(Map<List<Value<?>>, Lookup> expected) {
+        synchronized (lock) {
+            // the batch was already sent by its size
+            if (batch != expected || batch.isEmpty()) {
+                return;
+            }
+            batch = new LinkedHashMap<>();
+        }
+        execute(expected);
+    }
+
+    private void execute(Map<List<Value<?>>, Lookup> lookups) {
+        List<String> keyNames = keyColumns;
+        ReadRowsSettings.ReadRowsSettingsBuilder settings = ReadRowsSettings.newBuilder();
+        for (Lookup lookup : lookups.values()) {
+            settings.addKey(lookup.key);
+        }
+
+        if (!columns.isEmpty()) {
+            settings.addColumns(columns);
+            for (String keyColumn : keyNames) {
+                if (!columns.contains(keyColumn)) {
+                    settings.addColumn(keyColumn);
+                }
+            }
+        }
+
+        ReadRowsSettings request = settings.build();
+        retryCtx.supplyResult(session -> session.readRows(tablePath, request)).whenComplete((result, th) -> {
+            if (th != null) {
+                Status status = Status.of(StatusCode.CLIENT_INTERNAL_ERROR, th);
+                lookups.values().forEach(lookup -> lookup.future.complete(Result.fail(status)));
+                return;
+            }
+            if (!result.isSuccess()) {
+                lookups.values().forEach(lookup -> lookup.future.complete(Result.fail(result.getStatus())));
+                return;
+            }
+
+            Map<List<Value<?>>, StructValue> rows = readRows(result.getValue(), keyNames);
+            for (Map.Entry<List<Value<?>>, Lookup> entry : lookups.entrySet()) {
+                StructValue row = rows.get(entry.getKey());
+                entry.getValue().future.complete(Result.success(Optional.ofNullable(row)));
+            }
+        });
+    }
+
+    private static Map<List<Value<?>>, StructValue> readRows(ReadRowsResult result, List<String> keyColumns) {
+        ResultSetReader rs = result.getResultSetReader();
+        Map<List<Value<?>>, StructValue> rows = new HashMap<>();
+        Map<String, Value<?>> members = new HashMap<>();
+        while (rs.next()) {
+            members.clear();
+            for (int idx = 0; idx < rs.getColumnCount(); idx++) {
+                members.put(rs.getColumnName(idx), rs.getColumn(idx).getValue());
+            }
+
+            List<Value<?>> id = new ArrayList<>(keyColumns.size());
+            for (String column : keyColumns) {
+                id.add(unwrap(members.get(column)));
+            }
+            rows.put(id, StructValue.of(members));
+        }
+        return rows;
+    }
+
+    private static List<String> memberNames(StructType type) {
+        List<String> names = new ArrayList<>(type.getMembersCount());
+        for (int idx = 0; idx < type.getMembersCount(); idx++) {
+            names.add(type.getMemberName(idx));
+        }
+        return names;
+    }
+
+    private static List<Value<?>> keyOf(StructValue key) {
+        Preconditions.checkArgument(key.getMembersCount() > 0, "key must have at least one column");
+        List<Value<?>> id = new ArrayList<>(key.getMembersCount());
+        for (int idx = 0; idx < key.getMembersCount(); idx++) {
+            id.add(unwrap(key.getMemberValue(idx)));
+        }
+        return Collections.unmodifiableList(id);
+    }
+
+    /** Values of nullable key columns are optional in the result, but keys may be passed without the wrapper */
+    private static Value<?> unwrap(Value<?> value) {
+        if (value instanceof OptionalValue && ((OptionalValue) value).isPresent()) {
+            return ((OptionalValue) value).get();
+        }
+        return value;
+    }
+
+    private static class Lookup {
+        private final StructValue key;
+        private final CompletableFuture<Result<Optional<StructValue>>> future = new CompletableFuture<>();
+
+        Lookup(StructValue key) {
+            this.key = key;
+        }
+    }
+
+    @ParametersAreNonnullByDefault
+    public static final class Builder {
+        private final SessionSupplier sessionSupplier;
+        private final String tablePath;
+        private List<String> columns = Collections.emptyList();
+        private int maxBatchSize = 100;
+        private Duration maxDelay = Duration.ofMillis(2);
+        private int maxRetries = 10;
+
+        private Builder(SessionSupplier sessionSupplier, String tablePath) {
+            this.sessionSupplier = sessionSupplier;
+            this.tablePath = tablePath;
+        }
+
+        public Builder columns(List<String> value) {
+            this.columns = ImmutableList.copyOf(value);
+            return this;
+        }
+
+        public Builder columns(String... value) {
+            this.columns = ImmutableList.copyOf(value);
+            return this;
+        }
+
+        /**
+         * Set count of keys which sends the batch immediately. Default value is 100
+         * @param value maximal count of keys in one request
+         * @return this builder instance
+         */
+        public Builder maxBatchSize(int value) {
+            Preconditions.checkArgument(value > 0, "maxBatchSize(%s) must be positive", value);
+            this.maxBatchSize = value;
+            return this;
+        }
+
+        /**
+         * Set maximal time which the first key of the batch waits for other keys. Default value is 2 ms
+         * @param value delay of the batch
+         * @return this builder instance
+         */
+        public Builder maxDelay(Duration value) {
+            Preconditions.checkArgument(!value.isNegative(), "maxDelay(%s) must be non negative", value);
+            this.maxDelay = value;
+            return this;
+        }
+
+        public Builder maxRetries(int value) {
+            this.maxRetries = value;
+            return this;
+        }
+
+        public ReadRowsBatcher build() {
+            return new ReadRowsBatcher(this);
+        }
+    }
+}
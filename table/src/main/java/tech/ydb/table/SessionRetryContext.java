@@ -132,6 +132,7 @@ public class SessionRetryContext {
             case NOT_FOUND:
             case OVERLOADED:
             case CLIENT_RESOURCE_EXHAUSTED:
+            case CLIENT_REQUEST_REJECTED:
             default:
                 // Slow backoff
                 return slowBackoffTimeMillis(retryNumber);
@@ -49,6 +49,22 @@ public interface TableClient extends SessionSupplier, AutoCloseable {
 
         Builder withMeter(tech.ydb.core.metrics.Meter meter, String poolName);
 
+        /**
+         * Enables the warm up of the session pool: right after the start the pool creates sessions up to its min
+         * size in background, with no more than {@code parallelism} concurrent CreateSession calls
+         * @param parallelism maximal count of sessions created at the same time, zero disables the warm up
+         * @return this builder instance
+         */
+        Builder sessionPoolWarmUp(int parallelism);
+
+        /**
+         * Enables the predictive sizing of the session pool: the pool tracks the count of used sessions, waiting
+         * requests and the acquire rate, and creates sessions ahead of the demand within its max size
+         * @param enabled true to enable predictive sizing
+         * @return this builder instance
+         */
+        Builder sessionPoolPredictiveSizing(boolean enabled);
+
         TableClient build();
     }
 }
@@ -145,6 +145,19 @@ public class PooledTableClient implements TableClient {
             return this;
         }
 
+        @Override
+        public Builder sessionPoolWarmUp(int parallelism) {
+            Preconditions.checkArgument(parallelism >= 0, "sessionPoolWarmUp(%s) is negative", parallelism);
+            this.sessionPoolOptions = sessionPoolOptions.withWarmUpParallelism(parallelism);
+            return this;
+        }
+
+        @Override
+        public Builder sessionPoolPredictiveSizing(boolean enabled) {
+            this.sessionPoolOptions = sessionPoolOptions.withPredictiveSizing(enabled);
+            return this;
+        }
+
         @Override
         public PooledTableClient build() {
             return new PooledTableClient(this);
@@ -0,0 +1,116 @@
+package tech.ydb.table.impl.pool;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates objects of {@link WaitingQueue} ahead of demand. {@link #warmUp} fills the queue at startup and
+ * {@link #run} is a periodic task which predicts the demand by the count of acquired and waiting objects and by the
+ * trend of the acquire rate, so a burst of requests finds ready objects instead of a storm of creations.
+ */
+public final class PoolSizer implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(PoolSizer.class);
+
+    /** Extra capacity over the predicted demand */
+    private static final double HEADROOM = 0.1;
+    /** Maximal ratio between short-term and long-term acquire rates */
+    private static final double MAX_GROWTH = 2.0;
+
+    private static final double SHORT_ALPHA = 0.5;
+    private static final double LONG_ALPHA = 0.1;
+    private static final double DEMAND_ALPHA = 0.3;
+
+    private final WaitingQueue<?> queue;
+    private final int minSize;
+    private final int parallelism;
+    private final LongSupplier acquiredTotal;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // state of predictor is changed only by the periodic task
+    private long lastAcquired;
+    private double shortRate = 0;
+    private double longRate = 0;
+    private double demand = 0;
+
+    public PoolSizer(WaitingQueue<?> queue, int minSize, int parallelism, LongSupplier acquiredTotal) {
+        Preconditions.checkArgument(parallelism > 0, "parallelism(%s) must be positive", parallelism);
+        this.queue = queue;
+        this.minSize = minSize;
+        this.parallelism = parallelism;
+        this.acquiredTotal = acquiredTotal;
+        this.lastAcquired = acquiredTotal.getAsLong();
+    }
+
+    /**
+     * Creates objects until the queue has {@code count} objects. Not more than {@code parallelism} objects are
+     * created at the same time, every worker stops after the first failure to avoid a storm of failed requests.
+     * @param count required count of objects
+     * @return future with the count of created objects
+     */
+    public CompletableFuture<Integer> warmUp(int count) {
+        int target = Math.min(count, queue.getTotalLimit());
+        AtomicInteger remaining = new AtomicInteger(target - queue.getTotalCount());
+        AtomicInteger created = new AtomicInteger();
+
+        int workers = Math.min(parallelism, Math.max(0, remaining.get()));
+        if (workers == 0) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        logger.info("warm up pool to {} objects with parallelism {}", target, workers);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[workers];
+        for (int idx = 0; idx < workers; idx++) {
+            futures[idx] = nextWarmUp(remaining, created);
+        }
+        return CompletableFuture.allOf(futures).thenApply(v -> created.get());
+    }
+
+    private CompletableFuture<Void> nextWarmUp(AtomicInteger remaining, AtomicInteger created) {
+        if (remaining.getAndDecrement() <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return queue.prepareNew().thenCompose(ok -> {
+            if (!ok) {
+                return CompletableFuture.completedFuture(null);
+            }
+            created.incrementAndGet();
+            return nextWarmUp(remaining, created);
+        });
+    }
+
+    @Override
+    public void run() {
+        try {
+            int missing = predictTarget() - queue.getTotalCount();
+            int count = Math.min(missing, parallelism - inFlight.get());
+            for (int idx = 0; idx < count; idx++) {
+                inFlight.incrementAndGet();
+                queue.prepareNew().whenComplete((ok, th) -> inFlight.decrementAndGet());
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("pool sizer problem", ex);
+        }
+    }
+
+    int predictTarget() {
+        long acquired = acquiredTotal.getAsLong();
+        long delta = acquired - lastAcquired;
+        lastAcquired = acquired;
+
+        shortRate += SHORT_ALPHA * (delta - shortRate);
+        longRate += LONG_ALPHA * (delta - longRate);
+
+        int busy = queue.getUsedCount() + queue.getWaitingCount();
+        demand = Math.max(busy, demand + DEMAND_ALPHA * (busy - demand));
+
+        double growth = longRate > 0 ? Math.min(MAX_GROWTH, shortRate / longRate) : 1.0;
+        int target = (int) Math.ceil(demand * Math.max(1.0, growth) * (1 + HEADROOM));
+        return Math.min(queue.getTotalLimit(), Math.max(minSize, target));
+    }
+}
@@ -42,11 +42,14 @@ public class SessionPool implements AutoCloseable {
             .setTimeout(Duration.ofSeconds(300))
             .setOperationTimeout(Duration.ofSeconds(299));
 
+    private static final long SIZER_PERIOD_MILLIS = 500;
+
     private final int minSize;
     private final Clock clock;
     private final ScheduledExecutorService scheduler;
     private final WaitingQueue<ClosableSession> queue;
     private final ScheduledFuture<?> keepAliveFuture;
+    private final ScheduledFuture<?> sizerFuture;
 
     private final StatsImpl stats = new StatsImpl();
     private final PoolMetrics metrics;
@@ -74,6 +77,25 @@ public class SessionPool implements AutoCloseable {
                 options.getMinSize(),
                 options.getMaxSize(),
                 keepAlive.periodMillis);
+
+        int parallelism = options.getWarmUpParallelism() > 0
+                ? options.getWarmUpParallelism()
+                : Math.max(2, options.getMaxSize() / 5);
+        PoolSizer sizer = new PoolSizer(queue, minSize, parallelism, stats.acquired::sum);
+        this.sizerFuture = options.isPredictiveSizing() ? scheduler.scheduleAtFixedRate(
+                sizer,
+                SIZER_PERIOD_MILLIS,
+                SIZER_PERIOD_MILLIS,
+                TimeUnit.MILLISECONDS) : null;
+        if (options.getWarmUpParallelism() > 0) {
+            sizer.warmUp(minSize).whenComplete((count, th) -> {
+                if (th != null) {
+                    logger.warn("session pool warm up failed", th);
+                } else {
+                    logger.info("session pool warm up created {} sessions", count);
+                }
+            });
+        }
     }
 
     public void updateMaxSize(int maxSize) {
@@ -85,6 +107,9 @@ public class SessionPool implements AutoCloseable {
         logger.info("closing session pool");
 
         keepAliveFuture.cancel(false);
+        if (sizerFuture != null) {
+            sizerFuture.cancel(false);
+        }
         queue.close();
     }
 
@@ -18,16 +18,30 @@ public final class SessionPoolOptions {
     private final int maxSize;
     private final long keepAliveTimeMillis;
     private final long maxIdleTimeMillis;
+    private final int warmUpParallelism;
+    private final boolean predictiveSizing;
 
     SessionPoolOptions(
         int minSize,
         int maxSize,
         long keepAliveTimeMillis,
         long maxIdleTimeMillis) {
+        this(minSize, maxSize, keepAliveTimeMillis, maxIdleTimeMillis, 0, false);
+    }
+
+    private SessionPoolOptions(
+        int minSize,
+        int maxSize,
+        long keepAliveTimeMillis,
+        long maxIdleTimeMillis,
+        int warmUpParallelism,
+        boolean predictiveSizing) {
         this.minSize = minSize;
         this.maxSize = maxSize;
         this.keepAliveTimeMillis = keepAliveTimeMillis;
         this.maxIdleTimeMillis = maxIdleTimeMillis;
+        this.warmUpParallelism = warmUpParallelism;
+        this.predictiveSizing = predictiveSizing;
     }
 
     int getMinSize() {
@@ -46,15 +60,41 @@ public final class SessionPoolOptions {
         return maxIdleTimeMillis;
     }
 
+    int getWarmUpParallelism() {
+        return warmUpParallelism;
+    }
+
+    boolean isPredictiveSizing() {
+        return predictiveSizing;
+    }
+
     public SessionPoolOptions withSize(int minSize, int maxSize) {
-        return new SessionPoolOptions(minSize, maxSize, keepAliveTimeMillis, maxIdleTimeMillis);
+        return new SessionPoolOptions(minSize, maxSize, keepAliveTimeMillis, maxIdleTimeMillis,
+                warmUpParallelism, predictiveSizing);
     }
 
     public SessionPoolOptions withKeepAliveTimeMillis(long timeMillis) {
-        return new SessionPoolOptions(minSize, maxSize, timeMillis, maxIdleTimeMillis);
+        return new SessionPoolOptions(minSize, maxSize, timeMillis, maxIdleTimeMillis,
+                warmUpParallelism, predictiveSizing);
     }
 
     public SessionPoolOptions withMaxIdleTimeMillis(long timeMillis) {
-        return new SessionPoolOptions(minSize, maxSize, keepAliveTimeMillis, timeMillis);
+        return new SessionPoolOptions(minSize, maxSize, keepAliveTimeMillis, timeMillis,
+                warmUpParallelism, predictiveSizing);
+    }
+
+    /**
+     * @param parallelism maximal count of sessions created at the same time during the warm up of the pool to its
+     * min size, zero disables the warm up
+     * @return new options
+     */
+    public SessionPoolOptions withWarmUpParallelism(int parallelism) {
+        return new SessionPoolOptions(minSize, maxSize, keepAliveTimeMillis, maxIdleTimeMillis,
+                parallelism, predictiveSizing);
+    }
+
+    public SessionPoolOptions withPredictiveSizing(boolean enabled) {
+        return new SessionPoolOptions(minSize, maxSize, keepAliveTimeMillis, maxIdleTimeMillis,
+                warmUpParallelism, enabled);
     }
 }
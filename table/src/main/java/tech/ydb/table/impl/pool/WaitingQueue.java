@@ -96,6 +96,32 @@ public class WaitingQueue<T> implements AutoCloseable {
         }
     }
 
+    /**
+     * Creates a new object in advance if the queue has not reached its limit. The created object is given to the
+     * next waiting acquire request or is put to the idle deque.
+     * @return future with true if the new object was created, or with false if the limit is reached or the creation
+     * has failed
+     */
+    public CompletableFuture<Boolean> prepareNew() {
+        if (stopped) {
+            return CompletableFuture.completedFuture(Boolean.FALSE);
+        }
+
+        CompletableFuture<T> prepared = new CompletableFuture<>();
+        if (!tryToCreateNewPending(prepared)) {
+            return CompletableFuture.completedFuture(Boolean.FALSE);
+        }
+
+        return prepared.handle((object, th) -> {
+            if (th != null) {
+                logger.debug("can't prepare new object", th);
+                return Boolean.FALSE;
+            }
+            release(object);
+            return Boolean.TRUE;
+        });
+    }
+
     public void release(T object) {
         if (!used.remove(object, object)) {
             if (!logger.isTraceEnabled()) {
@@ -0,0 +1,31 @@
+package tech.ydb.table.mapper;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Customizes mapping of the field by {@link RowMapper}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Column {
+    /**
+     * @return name of the column, the name of the field is used by default
+     */
+    String value() default "";
+
+    /**
+     * @return true if the field must be bound to parameter of not optional type. By default fields of reference types
+     * are bound as optional values
+     */
+    boolean notNull() default false;
+
+    /**
+     * @return true if the field must be ignored by mapper
+     */
+    boolean ignore() default false;
+}
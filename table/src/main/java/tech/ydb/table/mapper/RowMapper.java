@@ -0,0 +1,282 @@
+package tech.ydb.table.mapper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.cache.CacheBuilder;
+
+import tech.ydb.table.query.Params;
+import tech.ydb.table.result.ResultSetReader;
+import tech.ydb.table.values.Type;
+import tech.ydb.table.values.Value;
+
+/**
+ * Mapper of result set rows to java objects and of java objects to query parameters. The mapper uses all non static
+ * and non transient fields of the class and its superclasses, the class must have a constructor without arguments.
+ * Names of columns are the same as names of fields, it can be changed by {@link Column} annotation.
+ * <p>
+ * Column indexes and value accessors are resolved once per column layout of the result set, so the reading of rows
+ * uses only direct calls of {@link MethodHandle}s. Primitive fields are read from columns of the matching type without
+ * boxing. Mappers are cached per class, bindings are cached per column layout. Both caches are bounded and don't keep
+ * references to result sets.
+ * @param <T> type of mapped objects
+ */
+public final class RowMapper<T> {
+    private static final int MAX_MAPPERS = 1024;
+    private static final int MAX_BINDINGS = 64;
+    // weak keys don't prevent unloading of mapped classes
+    private static final Map<Class<?>, RowMapper<?>> MAPPERS = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(MAX_MAPPERS)
+            .<Class<?>, RowMapper<?>>build()
+            .asMap();
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final Class<T> clazz;
+    private final MethodHandle constructor;
+    private final Map<String, FieldMapping> fields;
+    private final Map<String, RowBinding> bindings = CacheBuilder.newBuilder()
+            .maximumSize(MAX_BINDINGS)
+            .<String, RowBinding>build()
+            .asMap();
+
+    private volatile ReaderBinding lastBinding = null;
+
+    private RowMapper(Class<T> clazz) {
+        this.clazz = clazz;
+        this.constructor = findConstructor(clazz);
+        this.fields = Collections.unmodifiableMap(findFields(clazz));
+    }
+
+    /**
+     * Returns the cached mapper of the class
+     * @param <T> type of mapped objects
+     * @param clazz class of mapped objects
+     * @return mapper of the class
+     * @throws IllegalArgumentException if the class cannot be mapped
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RowMapper<T> of(Class<T> clazz) {
+        return (RowMapper<T>) MAPPERS.computeIfAbsent(clazz, RowMapper::new);
+    }
+
+    public Class<T> getMappedClass() {
+        return clazz;
+    }
+
+    /**
+     * Maps the current row of the result set
+     * @param rs result set reader positioned on a row
+     * @return new object with values of the current row
+     */
+    public T readRow(ResultSetReader rs) {
+        // the columns of the reader never change, so the binding is resolved once per reader
+        ReaderBinding last = lastBinding;
+        if (last == null || last.reader.get() != rs) {
+            last = new ReaderBinding(rs, bind(rs));
+            lastBinding = last;
+        }
+        return last.binding.read(rs);
+    }
+
+    /**
+     * Maps all remaining rows of the result set
+     * @param rs result set reader
+     * @return list of new objects
+     */
+    public List<T> readAll(ResultSetReader rs) {
+        RowBinding binding = bind(rs);
+        List<T> list = new ArrayList<>(rs.getRowCount());
+        while (rs.next()) {
+            list.add(binding.read(rs));
+        }
+        return list;
+    }
+
+    /**
+     * Binds fields of the object to query parameters with names {@code $<column name>}
+     * @param obj object
+     * @return new query parameters
+     */
+    public Params toParams(T obj) {
+        Params params = Params.create(fields.size());
+        for (FieldMapping field : fields.values()) {
+            params.put("$" + field.column, field.writeValue(obj));
+        }
+        return params;
+    }
+
+    private RowBinding bind(ResultSetReader rs) {
+        int count = rs.getColumnCount();
+        StringBuilder layout = new StringBuilder();
+        for (int idx = 0; idx < count; idx++) {
+            layout.append(rs.getColumnName(idx)).append(':').append(rs.getColumnType(idx)).append(';');
+        }
+        return bindings.computeIfAbsent(layout.toString(), key -> new RowBinding(rs));
+    }
+
+    private static <T> MethodHandle findConstructor(Class<T> clazz) {
+        try {
+            Constructor<T> ctor = clazz.getDeclaredConstructor();
+            ctor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(ctor).asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException ex) {
+            throw new IllegalArgumentException("Class " + clazz.getName() + " must have a constructor without "
+                    + "arguments", ex);
+        }
+    }
+
+    private static Map<String, FieldMapping> findFields(Class<?> clazz) {
+        Map<String, FieldMapping> result = new HashMap<>();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                Column column = field.getAnnotation(Column.class);
+                if (column != null && column.ignore()) {
+                    continue;
+                }
+
+                FieldMapping mapping = new FieldMapping(field, column);
+                // fields of subclass hide fields of superclass
+                result.putIfAbsent(mapping.column, mapping);
+            }
+        }
+
+        if (result.isEmpty()) {
+            throw new IllegalArgumentException("Class " + clazz.getName() + " doesn't have fields to map");
+        }
+        return result;
+    }
+
+    private static final class FieldMapping {
+        private final Field field;
+        private final String column;
+        private final boolean notNull;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        // setter with the exact type of the field, used for the primitive fields
+        private final MethodHandle exactSetter;
+        private final Type type;
+        private final ValueConverters.Writer writer;
+
+        FieldMapping(Field field, Column annotation) {
+            this.field = field;
+            this.column = annotation != null && !annotation.value().isEmpty() ? annotation.value() : field.getName();
+            this.notNull = field.getType().isPrimitive() || (annotation != null && annotation.notNull());
+            this.type = ValueConverters.typeOf(field.getType());
+            this.writer = ValueConverters.writer(field.getType());
+
+            try {
+                field.setAccessible(true);
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                this.getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+                this.exactSetter = Modifier.isFinal(field.getModifiers()) ? null : lookup.unreflectSetter(field);
+                this.setter = exactSetter != null ? exactSetter.asType(SETTER_TYPE) : null;
+            } catch (IllegalAccessException | RuntimeException ex) {
+                throw new IllegalArgumentException("Field " + field + " is not accessible", ex);
+            }
+        }
+
+        Value<?> writeValue(Object obj) {
+            if (writer == null || type == null) {
+                throw new IllegalArgumentException("Unsupported type of field " + field);
+            }
+
+            Object value;
+            try {
+                value = getter.invokeExact(obj);
+            } catch (Throwable th) {
+                throw new IllegalStateException("Cannot read field " + field, th);
+            }
+
+            if (notNull) {
+                if (value == null) {
+                    throw new IllegalArgumentException("Field " + field + " is marked as not null but it is null");
+                }
+                return writer.write(value);
+            }
+            return value == null ? type.makeOptional().emptyValue() : writer.write(value).makeOptional();
+        }
+    }
+
+    private final class ReaderBinding {
+        // weak reference doesn't keep the result set after reading
+        private final WeakReference<ResultSetReader> reader;
+        private final RowBinding binding;
+
+        ReaderBinding(ResultSetReader reader, RowBinding binding) {
+            this.reader = new WeakReference<>(reader);
+            this.binding = binding;
+        }
+    }
+
+    private final class RowBinding {
+        private final int[] indexes;
+        private final ValueConverters.Setter[] setters;
+
+        RowBinding(ResultSetReader rs) {
+            List<Integer> columnIndexes = new ArrayList<>();
+            List<ValueConverters.Setter> columnSetters = new ArrayList<>();
+
+            for (int idx = 0; idx < rs.getColumnCount(); idx++) {
+                String name = rs.getColumnName(idx);
+                FieldMapping field = fields.get(name);
+                if (field == null || field.setter == null) {
+                    continue;
+                }
+
+                Type type = rs.getColumnType(idx);
+                Class<?> fieldType = field.field.getType();
+                ValueConverters.Setter setter = ValueConverters.primitiveSetter(type, fieldType, field.exactSetter);
+                if (setter == null) {
+                    ValueConverters.Reader reader = ValueConverters.reader(type, fieldType);
+                    if (reader == null) {
+                        throw new IllegalArgumentException("Cannot map column " + name + " of type " + type
+                                + " to field " + field.field);
+                    }
+                    MethodHandle objectSetter = field.setter;
+                    setter = (obj, r) -> {
+                        Object value = reader.read(r);
+                        if (value != null) {
+                            objectSetter.invokeExact(obj, value);
+                        }
+                    };
+                }
+                columnIndexes.add(idx);
+                columnSetters.add(setter);
+            }
+
+            this.indexes = columnIndexes.stream().mapToInt(Integer::intValue).toArray();
+            this.setters = columnSetters.toArray(new ValueConverters.Setter[0]);
+        }
+
+        @SuppressWarnings("unchecked")
+        T read(ResultSetReader rs) {
+            try {
+                Object obj = constructor.invokeExact();
+                for (int idx = 0; idx < indexes.length; idx++) {
+                    setters[idx].set(obj, rs.getColumn(indexes[idx]));
+                }
+                return (T) obj;
+            } catch (RuntimeException ex) {
+                throw ex;
+            } catch (Throwable th) {
+                throw new IllegalStateException("Cannot create instance of " + clazz.getName(), th);
+            }
+        }
+    }
+}
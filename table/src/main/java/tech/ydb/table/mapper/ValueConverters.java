@@ -0,0 +1,353 @@
+package tech.ydb.table.mapper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import tech.ydb.table.result.ValueReader;
+import tech.ydb.table.values.DecimalType;
+import tech.ydb.table.values.DecimalValue;
+import tech.ydb.table.values.OptionalType;
+import tech.ydb.table.values.PrimitiveType;
+import tech.ydb.table.values.PrimitiveValue;
+import tech.ydb.table.values.Type;
+import tech.ydb.table.values.Value;
+
+/**
+ * Conversions between YDB values and java objects. All conversions are chosen once per column or field, so reading
+ * and writing of values doesn't check any types.
+ */
+final class ValueConverters {
+    interface Reader {
+        Object read(ValueReader reader);
+    }
+
+    interface Writer {
+        Value<?> write(Object value);
+    }
+
+    interface Setter {
+        void set(Object obj, ValueReader reader) throws Throwable;
+    }
+
+    private ValueConverters() { }
+
+    static Class<?> box(Class<?> clazz) {
+        if (!clazz.isPrimitive()) {
+            return clazz;
+        }
+        if (clazz == boolean.class) {
+            return Boolean.class;
+        }
+        if (clazz == byte.class) {
+            return Byte.class;
+        }
+        if (clazz == short.class) {
+            return Short.class;
+        }
+        if (clazz == int.class) {
+            return Integer.class;
+        }
+        if (clazz == long.class) {
+            return Long.class;
+        }
+        if (clazz == float.class) {
+            return Float.class;
+        }
+        if (clazz == double.class) {
+            return Double.class;
+        }
+        throw new IllegalArgumentException("Unsupported primitive type " + clazz);
+    }
+
+    static Reader reader(Type columnType, Class<?> target) {
+        Class<?> boxed = box(target);
+        if (Value.class.isAssignableFrom(boxed)) {
+            return ValueReader::getValue;
+        }
+
+        if (columnType.getKind() == Type.Kind.OPTIONAL) {
+            Reader item = reader(((OptionalType) columnType).getItemType(), target);
+            return r -> r.isOptionalItemPresent() ? item.read(r.getOptionalItem()) : null;
+        }
+
+        if (columnType.getKind() == Type.Kind.DECIMAL) {
+            if (boxed == BigDecimal.class) {
+                return r -> r.getDecimal().toBigDecimal();
+            }
+            if (boxed == DecimalValue.class) {
+                return ValueReader::getDecimal;
+            }
+            if (boxed == String.class) {
+                return r -> r.getDecimal().toString();
+            }
+            return null;
+        }
+
+        if (columnType.getKind() != Type.Kind.PRIMITIVE) {
+            return null;
+        }
+
+        PrimitiveType type = (PrimitiveType) columnType;
+        Class<?> natural = naturalClass(type);
+        Reader reader = primitiveReader(type);
+        if (natural == null || reader == null) {
+            return null;
+        }
+        return adapt(reader, natural, boxed);
+    }
+
+    /**
+     * Returns the setter which reads the column value with the typed getter and writes it to the primitive field
+     * without boxing
+     * @param columnType type of the column
+     * @param target type of the field
+     * @param setter setter of the field
+     * @return setter of the field or null if the column is not of the natural type of the primitive field
+     */
+    static Setter primitiveSetter(Type columnType, Class<?> target, MethodHandle setter) {
+        if (!target.isPrimitive()) {
+            return null;
+        }
+
+        if (columnType.getKind() == Type.Kind.OPTIONAL) {
+            Setter item = primitiveSetter(((OptionalType) columnType).getItemType(), target, setter);
+            if (item == null) {
+                return null;
+            }
+            return (obj, r) -> {
+                if (r.isOptionalItemPresent()) {
+                    item.set(obj, r.getOptionalItem());
+                }
+            };
+        }
+
+        if (columnType.getKind() != Type.Kind.PRIMITIVE || naturalClass((PrimitiveType) columnType) != box(target)) {
+            return null;
+        }
+
+        MethodHandle typed = setter.asType(MethodType.methodType(void.class, Object.class, target));
+        switch ((PrimitiveType) columnType) {
+            case Bool: return (obj, r) -> { typed.invokeExact(obj, r.getBool()); };
+            case Int8: return (obj, r) -> { typed.invokeExact(obj, r.getInt8()); };
+            case Int16: return (obj, r) -> { typed.invokeExact(obj, r.getInt16()); };
+            case Uint8: return (obj, r) -> { typed.invokeExact(obj, r.getUint8()); };
+            case Uint16: return (obj, r) -> { typed.invokeExact(obj, r.getUint16()); };
+            case Int32: return (obj, r) -> { typed.invokeExact(obj, r.getInt32()); };
+            case Uint32: return (obj, r) -> { typed.invokeExact(obj, r.getUint32()); };
+            case Int64: return (obj, r) -> { typed.invokeExact(obj, r.getInt64()); };
+            case Uint64: return (obj, r) -> { typed.invokeExact(obj, r.getUint64()); };
+            case Float: return (obj, r) -> { typed.invokeExact(obj, r.getFloat()); };
+            case Double: return (obj, r) -> { typed.invokeExact(obj, r.getDouble()); };
+            default: return null;
+        }
+    }
+
+    private static Reader adapt(Reader reader, Class<?> from, Class<?> to) {
+        if (to.isAssignableFrom(from)) {
+            return reader;
+        }
+        if (to == String.class && from == byte[].class) {
+            return r -> new String((byte[]) reader.read(r), StandardCharsets.UTF_8);
+        }
+        if (to == byte[].class && from == String.class) {
+            return r -> ((String) reader.read(r)).getBytes(StandardCharsets.UTF_8);
+        }
+        if (to == String.class && from == UUID.class) {
+            return r -> reader.read(r).toString();
+        }
+
+        int fromRank = integerRank(from);
+        int toRank = integerRank(to);
+        if (fromRank > 0 && toRank > fromRank) {
+            if (to == Short.class) {
+                return r -> ((Number) reader.read(r)).shortValue();
+            }
+            if (to == Integer.class) {
+                return r -> ((Number) reader.read(r)).intValue();
+            }
+            return r -> ((Number) reader.read(r)).longValue();
+        }
+        if (to == Double.class && (fromRank > 0 || from == Float.class)) {
+            return r -> ((Number) reader.read(r)).doubleValue();
+        }
+        return null;
+    }
+
+    private static int integerRank(Class<?> clazz) {
+        if (clazz == Byte.class) {
+            return 1;
+        }
+        if (clazz == Short.class) {
+            return 2;
+        }
+        if (clazz == Integer.class) {
+            return 3;
+        }
+        if (clazz == Long.class) {
+            return 4;
+        }
+        return 0;
+    }
+
+    private static Class<?> naturalClass(PrimitiveType type) {
+        switch (type) {
+            case Bool: return Boolean.class;
+            case Int8: return Byte.class;
+            case Int16: return Short.class;
+            case Uint8:
+            case Uint16:
+            case Int32: return Integer.class;
+            case Uint32:
+            case Int64:
+            case Uint64: return Long.class;
+            case Float: return Float.class;
+            case Double: return Double.class;
+            case Bytes:
+            case Yson: return byte[].class;
+            case Text:
+            case Json:
+            case JsonDocument: return String.class;
+            case Uuid: return UUID.class;
+            case Date:
+            case Date32: return LocalDate.class;
+            case Datetime:
+            case Datetime64: return LocalDateTime.class;
+            case Timestamp:
+            case Timestamp64: return Instant.class;
+            case Interval:
+            case Interval64: return Duration.class;
+            case TzDate:
+            case TzDatetime:
+            case TzTimestamp: return ZonedDateTime.class;
+            default: return null;
+        }
+    }
+
+    private static Reader primitiveReader(PrimitiveType type) {
+        switch (type) {
+            case Bool: return ValueReader::getBool;
+            case Int8: return ValueReader::getInt8;
+            case Uint8: return ValueReader::getUint8;
+            case Int16: return ValueReader::getInt16;
+            case Uint16: return ValueReader::getUint16;
+            case Int32: return ValueReader::getInt32;
+            case Uint32: return ValueReader::getUint32;
+            case Int64: return ValueReader::getInt64;
+            case Uint64: return ValueReader::getUint64;
+            case Float: return ValueReader::getFloat;
+            case Double: return ValueReader::getDouble;
+            case Bytes: return ValueReader::getBytes;
+            case Yson: return ValueReader::getYson;
+            case Text: return ValueReader::getText;
+            case Json: return ValueReader::getJson;
+            case JsonDocument: return ValueReader::getJsonDocument;
+            case Uuid: return ValueReader::getUuid;
+            case Date: return ValueReader::getDate;
+            case Date32: return ValueReader::getDate32;
+            case Datetime: return ValueReader::getDatetime;
+            case Datetime64: return ValueReader::getDatetime64;
+            case Timestamp: return ValueReader::getTimestamp;
+            case Timestamp64: return ValueReader::getTimestamp64;
+            case Interval: return ValueReader::getInterval;
+            case Interval64: return ValueReader::getInterval64;
+            case TzDate: return ValueReader::getTzDate;
+            case TzDatetime: return ValueReader::getTzDatetime;
+            case TzTimestamp: return ValueReader::getTzTimestamp;
+            default: return null;
+        }
+    }
+
+    /**
+     * @return YDB type for values of the java class or null if the class is not supported
+     */
+    static Type typeOf(Class<?> clazz) {
+        Class<?> boxed = box(clazz);
+        if (boxed == Boolean.class) {
+            return PrimitiveType.Bool;
+        }
+        if (boxed == Byte.class) {
+            return PrimitiveType.Int8;
+        }
+        if (boxed == Short.class) {
+            return PrimitiveType.Int16;
+        }
+        if (boxed == Integer.class) {
+            return PrimitiveType.Int32;
+        }
+        if (boxed == Long.class) {
+            return PrimitiveType.Int64;
+        }
+        if (boxed == Float.class) {
+            return PrimitiveType.Float;
+        }
+        if (boxed == Double.class) {
+            return PrimitiveType.Double;
+        }
+        if (boxed == String.class) {
+            return PrimitiveType.Text;
+        }
+        if (boxed == byte[].class) {
+            return PrimitiveType.Bytes;
+        }
+        if (boxed == UUID.class) {
+            return PrimitiveType.Uuid;
+        }
+        if (boxed == LocalDate.class) {
+            return PrimitiveType.Date;
+        }
+        if (boxed == LocalDateTime.class) {
+            return PrimitiveType.Datetime;
+        }
+        if (boxed == Instant.class) {
+            return PrimitiveType.Timestamp;
+        }
+        if (boxed == Duration.class) {
+            return PrimitiveType.Interval;
+        }
+        if (boxed == ZonedDateTime.class) {
+            return PrimitiveType.TzTimestamp;
+        }
+        if (boxed == BigDecimal.class) {
+            return DecimalType.getDefault();
+        }
+        return null;
+    }
+
+    static Writer writer(Class<?> clazz) {
+        Type type = typeOf(clazz);
+        if (type == null) {
+            return null;
+        }
+        if (type.getKind() == Type.Kind.DECIMAL) {
+            DecimalType decimal = (DecimalType) type;
+            return v -> decimal.newValue((BigDecimal) v);
+        }
+
+        switch ((PrimitiveType) type) {
+            case Bool: return v -> PrimitiveValue.newBool((Boolean) v);
+            case Int8: return v -> PrimitiveValue.newInt8((Byte) v);
+            case Int16: return v -> PrimitiveValue.newInt16((Short) v);
+            case Int32: return v -> PrimitiveValue.newInt32((Integer) v);
+            case Int64: return v -> PrimitiveValue.newInt64((Long) v);
+            case Float: return v -> PrimitiveValue.newFloat((Float) v);
+            case Double: return v -> PrimitiveValue.newDouble((Double) v);
+            case Text: return v -> PrimitiveValue.newText((String) v);
+            case Bytes: return v -> PrimitiveValue.newBytes((byte[]) v);
+            case Uuid: return v -> PrimitiveValue.newUuid((UUID) v);
+            case Date: return v -> PrimitiveValue.newDate((LocalDate) v);
+            case Datetime: return v -> PrimitiveValue.newDatetime((LocalDateTime) v);
+            case Timestamp: return v -> PrimitiveValue.newTimestamp((Instant) v);
+            case Interval: return v -> PrimitiveValue.newInterval((Duration) v);
+            case TzTimestamp: return v -> PrimitiveValue.newTzTimestamp((ZonedDateTime) v);
+            default: return null;
+        }
+    }
+}
@@ -1,9 +1,5 @@
 package tech.ydb.table.result.impl;
 
-import java.util.Map;
-
-import com.google.common.collect.Maps;
-
 import tech.ydb.proto.ValueProtos;
 import tech.ydb.table.result.ResultSetReader;
 import tech.ydb.table.result.ValueReader;
@@ -16,7 +12,7 @@ import tech.ydb.table.values.Type;
 final class ProtoResultSetReader implements ResultSetReader {
 
     private final ValueProtos.ResultSet rs;
-    private final Map<String, Integer> columnIndexes;
+    private final ResultSetSchema schema;
     private final AbstractValueReader[] readers;
 
     private int rowIndex = -1; // before first
@@ -24,14 +20,8 @@ final class ProtoResultSetReader implements ResultSetReader {
 
     ProtoResultSetReader(ValueProtos.ResultSet resultSet) {
         this.rs = resultSet;
-        this.columnIndexes = Maps.newHashMapWithExpectedSize(resultSet.getColumnsCount());
-        this.readers = new AbstractValueReader[resultSet.getColumnsCount()];
-
-        for (int i = 0; i < resultSet.getColumnsCount(); i++) {
-            ValueProtos.Column columnMeta = resultSet.getColumns(i);
-            this.columnIndexes.put(columnMeta.getName(), i);
-            this.readers[i] = ProtoValueReaders.forTypeImpl(columnMeta.getType());
-        }
+        this.schema = ResultSetSchema.of(resultSet);
+        this.readers = schema.createReaders();
     }
 
     @Override
@@ -83,16 +73,15 @@ final class ProtoResultSetReader implements ResultSetReader {
 
     @Override
     public String getColumnName(int index) {
-        if (index < 0 || index >= rs.getColumnsCount()) {
+        if (index < 0 || index >= readers.length) {
             throw new IllegalArgumentException("Column index: " + index + ", columns count: " + readers.length);
         }
-        return rs.getColumns(index).getName();
+        return schema.getColumnName(index);
     }
 
     @Override
     public int getColumnIndex(String name) {
-        Integer index = columnIndexes.get(name);
-        return index == null ? -1 : index;
+        return schema.getColumnIndex(name);
     }
 
     @Override
@@ -110,8 +99,8 @@ final class ProtoResultSetReader implements ResultSetReader {
 
     @Override
     public ValueReader getColumn(String name) {
-        Integer index = columnIndexes.get(name);
-        if (index == null) {
+        int index = schema.getColumnIndex(name);
+        if (index < 0) {
             throw new IllegalArgumentException("Unknown column '" + name + "'");
         }
         return getColumn(index);
@@ -122,8 +111,7 @@ final class ProtoResultSetReader implements ResultSetReader {
         if (index < 0 || index >= readers.length) {
             throw new IllegalArgumentException("Column index: " + index + ", columns count: " + readers.length);
         }
-        AbstractValueReader reader = readers[index];
-        return reader.getType();
+        return schema.getColumnType(index);
     }
 
     @Deprecated
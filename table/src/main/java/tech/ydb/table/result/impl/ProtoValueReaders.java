@@ -1,9 +1,13 @@
 package tech.ydb.table.result.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
 
 import tech.ydb.proto.ValueProtos;
 import tech.ydb.table.result.ResultSetReader;
@@ -14,6 +18,13 @@ import tech.ydb.table.result.ValueReader;
  * @author Sergey Polovko
  */
 public class ProtoValueReaders {
+    private static final int FACTORIES_CACHE_SIZE = 1024;
+
+    private static final Map<ValueProtos.Type, ReaderFactory> FACTORIES = CacheBuilder.newBuilder()
+            .maximumSize(FACTORIES_CACHE_SIZE)
+            .<ValueProtos.Type, ReaderFactory>build()
+            .asMap();
+
     private ProtoValueReaders() { }
 
     public static ResultSetReader forResultSet(ValueProtos.ResultSet resultSet) {
@@ -138,6 +149,92 @@ public class ProtoValueReaders {
         return new ProtoTupleValueReader(type, elementReaders);
     }
 
+    /**
+     * Returns the cached factory of readers of the type. The factory creates the same tree of readers as
+     * {@link #forTypeImpl(ValueProtos.Type)} without walking the type on every call
+     * @param type type of values
+     * @return factory of readers
+     */
+    static ReaderFactory factoryOf(ValueProtos.Type type) {
+        ReaderFactory factory = FACTORIES.get(type);
+        if (factory == null) {
+            // nested types are resolved without the cache, concurrent calls may build the same factory twice
+            factory = buildFactory(type);
+            FACTORIES.putIfAbsent(type, factory);
+        }
+        return factory;
+    }
+
+    private static ReaderFactory buildFactory(ValueProtos.Type type) {
+        switch (type.getTypeCase()) {
+            case TYPE_ID:
+            case DECIMAL_TYPE:
+                return () -> new ProtoPrimitiveValueReader(type);
+            case OPTIONAL_TYPE:
+                ReaderFactory item = buildFactory(type.getOptionalType().getItem());
+                return () -> new ProtoOptionalValueReader(type, item.create());
+            case TUPLE_TYPE:
+                ReaderFactory[] elements = buildFactories(type.getTupleType().getElementsList());
+                return () -> new ProtoTupleValueReader(type, create(elements));
+            case DICT_TYPE:
+                ReaderFactory key = buildFactory(type.getDictType().getKey());
+                ReaderFactory payload = buildFactory(type.getDictType().getPayload());
+                return () -> new ProtoDictValueReader(type, key.create(), payload.create());
+            case LIST_TYPE:
+                ReaderFactory listItem = buildFactory(type.getListType().getItem());
+                return () -> new ProtoListValueReader(type, listItem.create());
+            case STRUCT_TYPE:
+                ReaderFactory[] members = buildFactories(memberTypes(type.getStructType()));
+                return () -> new ProtoStructValueReader(type, create(members));
+            case VARIANT_TYPE:
+                ValueProtos.VariantType variantType = type.getVariantType();
+                if (!variantType.hasStructItems() && !variantType.hasTupleItems()) {
+                    throw new IllegalStateException("empty variant type");
+                }
+                ReaderFactory[] items = buildFactories(variantType.hasStructItems()
+                        ? memberTypes(variantType.getStructItems())
+                        : variantType.getTupleItems().getElementsList());
+                return () -> new ProtoVariantValueReader(type, create(items));
+            case VOID_TYPE:
+                return () -> ProtoVoidValueReader.INSTANCE;
+            case NULL_TYPE:
+                return () -> ProtoNullValueReader.INSTANCE;
+            default:
+                throw new IllegalStateException("unsupported type: " + type);
+        }
+    }
+
+    private static List<ValueProtos.Type> memberTypes(ValueProtos.StructType structType) {
+        List<ValueProtos.Type> types = new ArrayList<>(structType.getMembersCount());
+        for (ValueProtos.StructMember member : structType.getMembersList()) {
+            types.add(member.getType());
+        }
+        return types;
+    }
+
+    private static ReaderFactory[] buildFactories(List<ValueProtos.Type> types) {
+        ReaderFactory[] factories = new ReaderFactory[types.size()];
+        for (int i = 0; i < factories.length; i++) {
+            factories[i] = buildFactory(types.get(i));
+        }
+        return factories;
+    }
+
+    private static AbstractValueReader[] create(ReaderFactory[] factories) {
+        AbstractValueReader[] readers = new AbstractValueReader[factories.length];
+        for (int i = 0; i < factories.length; i++) {
+            readers[i] = factories[i].create();
+        }
+        return readers;
+    }
+
+    /**
+     * Factory of new readers of one type. Readers keep the current value, so they cannot be shared between cursors
+     */
+    interface ReaderFactory {
+        AbstractValueReader create();
+    }
+
     private static ProtoResultSetReader castAsProtoReader(ResultSetReader reader) {
         Preconditions.checkState(reader instanceof ProtoResultSetReader,
                 "Expect %s class to join from resultSets", ProtoResultSetReader.class);
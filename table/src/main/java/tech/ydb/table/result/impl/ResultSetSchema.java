@@ -0,0 +1,93 @@
+package tech.ydb.table.result.impl;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Maps;
+
+import tech.ydb.proto.ValueProtos;
+import tech.ydb.table.values.Type;
+import tech.ydb.table.values.proto.ProtoType;
+
+/**
+ * Immutable description of the columns of result set. Streaming reads (query streams, scan queries and read table)
+ * return a lot of parts with the same columns, so descriptors are cached by the list of columns and every part
+ * allocates only its own readers, which are created by the cached factories of column types.
+ */
+final class ResultSetSchema {
+    private static final int CACHE_SIZE = 256;
+
+    // concurrent cache, lookups of parts don't take a global lock
+    private static final Map<List<ValueProtos.Column>, ResultSetSchema> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_SIZE)
+            .<List<ValueProtos.Column>, ResultSetSchema>build()
+            .asMap();
+
+    private final String[] names;
+    private final Type[] types;
+    private final ProtoValueReaders.ReaderFactory[] factories;
+    private final Map<String, Integer> columnIndexes;
+
+    private ResultSetSchema(List<ValueProtos.Column> columns) {
+        this.names = new String[columns.size()];
+        this.types = new Type[columns.size()];
+        this.factories = new ProtoValueReaders.ReaderFactory[columns.size()];
+        Map<String, Integer> indexes = Maps.newHashMapWithExpectedSize(columns.size());
+
+        for (int idx = 0; idx < columns.size(); idx++) {
+            ValueProtos.Column column = columns.get(idx);
+            names[idx] = column.getName();
+            types[idx] = ProtoType.fromPb(column.getType());
+            factories[idx] = ProtoValueReaders.factoryOf(column.getType());
+            indexes.put(column.getName(), idx);
+        }
+
+        this.columnIndexes = Collections.unmodifiableMap(indexes);
+    }
+
+    static ResultSetSchema of(ValueProtos.ResultSet resultSet) {
+        List<ValueProtos.Column> columns = resultSet.getColumnsList();
+        ResultSetSchema schema = CACHE.get(columns);
+        if (schema == null) {
+            // concurrent parts may build the same schema twice, it is harmless
+            schema = new ResultSetSchema(columns);
+            CACHE.putIfAbsent(columns, schema);
+        }
+        return schema;
+    }
+
+    static int cacheSize() {
+        return CACHE.size();
+    }
+
+    int getColumnCount() {
+        return names.length;
+    }
+
+    String getColumnName(int index) {
+        return names[index];
+    }
+
+    Type getColumnType(int index) {
+        return types[index];
+    }
+
+    int getColumnIndex(String name) {
+        Integer index = columnIndexes.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Readers keep the current value, so every cursor needs its own tree of readers
+     * @return new readers of all columns
+     */
+    AbstractValueReader[] createReaders() {
+        AbstractValueReader[] readers = new AbstractValueReader[factories.length];
+        for (int idx = 0; idx < factories.length; idx++) {
+            readers[idx] = factories[idx].create();
+        }
+        return readers;
+    }
+}
@@ -15,6 +15,17 @@ public class DecimalValue implements Value<DecimalType> {
     private static final long HALF_LONG_MASK = 0xFFFFFFFFL;
     private static final long LONG_SIGN_BIT = 0x8000000000000000L;
     private static final long LONG_MAX_DIGITS = 18;
+    // max value of high part which can be multiplied by 10 without overflow of 127 bits
+    private static final long HIGH_MUL_10_LIMIT = Long.MAX_VALUE / 10;
+
+    private static final long[] LONG_POWERS_OF_TEN = new long[(int) LONG_MAX_DIGITS + 1];
+
+    static {
+        LONG_POWERS_OF_TEN[0] = 1;
+        for (int idx = 1; idx < LONG_POWERS_OF_TEN.length; idx++) {
+            LONG_POWERS_OF_TEN[idx] = LONG_POWERS_OF_TEN[idx - 1] * 10;
+        }
+    }
 
     private static final BigInteger BIGINT_TWO = BigInteger.valueOf(2);
 
@@ -98,12 +109,31 @@ public class DecimalValue implements Value<DecimalType> {
         return (high & LONG_SIGN_BIT) != 0;
     }
 
+    /**
+     * @return true if the unscaled value fits in {@code long}
+     */
+    public boolean isUnscaledLong() {
+        return (high == 0 && low >= 0) || (high == -1 && low < 0);
+    }
+
+    /**
+     * Returns the unscaled value as {@code long}
+     * @return unscaled value
+     * @throws ArithmeticException if the unscaled value doesn't fit in {@code long}
+     */
+    public long toUnscaledLong() {
+        if (!isUnscaledLong()) {
+            throw new ArithmeticException("Unscaled value of decimal " + this + " is out of long range");
+        }
+        return low;
+    }
+
     public BigInteger toUnscaledBigInteger() {
         if (isZero()) {
             return BigInteger.ZERO;
         }
 
-        if (high == 0 && low > 0) {
+        if (isUnscaledLong()) {
             return BigInteger.valueOf(low);
         }
 
@@ -118,6 +148,10 @@ public class DecimalValue implements Value<DecimalType> {
             return BigInteger.ZERO;
         }
 
+        if (isUnscaledLong() && type.getScale() <= LONG_MAX_DIGITS) {
+            return BigInteger.valueOf(roundUnscaledLong());
+        }
+
         BigInteger unscaled = toUnscaledBigInteger();
         if (type.getScale() == 0) {
             return unscaled;
@@ -145,14 +179,37 @@ public class DecimalValue implements Value<DecimalType> {
         if (isInf() || isNegativeInf() || isNan()) {
             return new BigDecimal(toUnscaledBigInteger()).setScale(type.getScale());
         }
+        if (isUnscaledLong()) {
+            return BigDecimal.valueOf(low, type.getScale());
+        }
 
         return new BigDecimal(toUnscaledBigInteger(), type.getScale());
     }
 
     public long toLong() {
+        if (isUnscaledLong() && type.getScale() <= LONG_MAX_DIGITS) {
+            return roundUnscaledLong();
+        }
         return toBigInteger().longValueExact();
     }
 
+    /**
+     * Divides the unscaled value fitted in long by 10^scale with rounding half away from zero
+     */
+    private long roundUnscaledLong() {
+        long divisor = LONG_POWERS_OF_TEN[type.getScale()];
+        long quotient = low / divisor;
+        long remainder = low % divisor;
+        long half = divisor / 2;
+        if (divisor > 1 && low > 0 && remainder >= half) {
+            return quotient + 1;
+        }
+        if (divisor > 1 && low < 0 && -remainder >= half) {
+            return quotient - 1;
+        }
+        return quotient;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -293,10 +350,61 @@ public class DecimalValue implements Value<DecimalType> {
         boolean isSpecial = isNan() || isInf() || isNegativeInf();
         boolean otherIsSpecial = decimal.isNan() || decimal.isInf() || decimal.isNegativeInf();
         if (isSpecial || otherIsSpecial || (getType().getScale() == decimal.getType().getScale())) {
-            return high != decimal.high ? Long.compare(high, decimal.high) : Long.compare(low, decimal.low);
+            return high != decimal.high ? Long.compare(high, decimal.high) : Long.compareUnsigned(low, decimal.low);
+        }
+
+        return compareWithDifferentScale(decimal);
+    }
+
+    private int compareWithDifferentScale(DecimalValue other) {
+        int sign = isZero() ? 0 : (isNegative() ? -1 : 1);
+        int otherSign = other.isZero() ? 0 : (other.isNegative() ? -1 : 1);
+        if (sign != otherSign || sign == 0) {
+            return Integer.compare(sign, otherSign);
+        }
+
+        // compare magnitudes, absolute values of decimals are always less than 2^127
+        long h1 = high;
+        long l1 = low;
+        long h2 = other.high;
+        long l2 = other.low;
+        if (sign < 0) {
+            h1 = ~h1;
+            l1 = ~l1 + 1;
+            if (l1 == 0) {
+                h1++;
+            }
+            h2 = ~h2;
+            l2 = ~l2 + 1;
+            if (l2 == 0) {
+                h2++;
+            }
         }
 
-        return toBigDecimal().compareTo(decimal.toBigDecimal());
+        int diff = getType().getScale() - other.getType().getScale();
+        int cmp = diff < 0 ? compareRescaled(h1, l1, -diff, h2, l2) : -compareRescaled(h2, l2, diff, h1, l1);
+        return sign * cmp;
+    }
+
+    /**
+     * Compares magnitude (h1, l1) multiplied by 10^times with magnitude (h2, l2) without allocations
+     */
+    private static int compareRescaled(long ah1, long al1, int times, long h2, long l2) {
+        long h1 = ah1;
+        long l1 = al1;
+        for (int idx = 0; idx < times; idx++) {
+            if (h1 > HIGH_MUL_10_LIMIT) {
+                return 1; // rescaled value is greater than any decimal
+            }
+            long lowLo = (l1 & HALF_LONG_MASK) * 10;
+            long lowHi = (l1 >>> 32) * 10 + (lowLo >>> 32);
+            h1 = h1 * 10 + (lowHi >>> 32);
+            l1 = (lowHi << 32) | (lowLo & HALF_LONG_MASK);
+            if (h1 < 0) {
+                return 1;
+            }
+        }
+        return h1 != h2 ? Long.compare(h1, h2) : Long.compareUnsigned(l1, l2);
     }
 
     /**
@@ -373,7 +481,7 @@ public class DecimalValue implements Value<DecimalType> {
         }
 
         boolean negative = value.signum() < 0;
-        if (bitLength > 128) {
+        if (bitLength > 127) {
             return negative ? type.getNegInf() : type.getInf();
         }
 
@@ -393,6 +501,10 @@ public class DecimalValue implements Value<DecimalType> {
     }
 
     private static DecimalValue fromUnsignedLong(DecimalType type, boolean positive, long value) {
+        return fromUnsignedLong(type, positive, value, type.getScale());
+    }
+
+    private static DecimalValue fromUnsignedLong(DecimalType type, boolean positive, long value, int multiplier) {
         if (value == 0) {
             return new DecimalValue(type, 0L, 0L);
         }
@@ -401,14 +513,15 @@ public class DecimalValue implements Value<DecimalType> {
         long lowHi = value >>> 32;
         long lowLo = value & HALF_LONG_MASK;
 
-        for (int scale = 0; scale < type.getScale(); scale += 1) {
+        for (int scale = 0; scale < multiplier; scale += 1) {
+            boolean overflow = high > HIGH_MUL_10_LIMIT;
             lowLo = lowLo * 10;
             lowHi = lowHi * 10 + (lowLo >>> 32);
             high = high * 10 + (lowHi >>> 32);
 
             lowLo = lowLo & HALF_LONG_MASK;
             lowHi = lowHi & HALF_LONG_MASK;
-            if ((high & LONG_SIGN_BIT) != 0) {
+            if (overflow || (high & LONG_SIGN_BIT) != 0) {
                 // number is too big, return infinite
                 return positive ? type.getInf() : type.getNegInf();
             }
@@ -477,28 +590,25 @@ public class DecimalValue implements Value<DecimalType> {
             return new DecimalValue(type, 0, 0);
         }
 
-        long accumulated = 0;
-        int accumulatedCount = 0;
+        // unsigned 128-bit magnitude of unscaled value
+        long high = 0;
+        long low = 0;
+        boolean overflow = false;
         boolean fractional = false; // after '.'
         int fractionalDigits = 0;
-        BigInteger unscaledValue = BigInteger.ZERO;
 
         while (cursor < end) {
             char ch = value.charAt(cursor);
             if (ch >= '0' && ch <= '9') {
-                if (accumulatedCount == DecimalValue.LONG_MAX_DIGITS) {
-                    if (unscaledValue.equals(BigInteger.ZERO)) {
-                        unscaledValue = BigInteger.valueOf(accumulated);
-                    } else {
-                        unscaledValue = unscaledValue.multiply(BigInteger.TEN.pow(accumulatedCount));
-                        unscaledValue = unscaledValue.add(BigInteger.valueOf(accumulated));
-                    }
-                    accumulated = 0;
-                    accumulatedCount = 0;
+                if (!overflow) {
+                    // (high, low) = (high, low) * 10 + digit
+                    long lowLo = (low & HALF_LONG_MASK) * 10 + (ch - '0');
+                    long lowHi = (low >>> 32) * 10 + (lowLo >>> 32);
+                    overflow = high > HIGH_MUL_10_LIMIT;
+                    high = high * 10 + (lowHi >>> 32);
+                    low = (lowHi << 32) | (lowLo & HALF_LONG_MASK);
+                    overflow = overflow || high < 0;
                 }
-                int digit = ch - '0';
-                accumulated = accumulated * 10 + digit;
-                ++accumulatedCount;
                 if (fractional) {
                     ++fractionalDigits;
                 }
@@ -514,30 +624,52 @@ public class DecimalValue implements Value<DecimalType> {
             ++cursor;
         }
 
-        if (accumulatedCount > 0) {
-            if (unscaledValue.equals(BigInteger.ZERO)) {
-                unscaledValue = BigInteger.valueOf(accumulated);
-            } else {
-                unscaledValue = unscaledValue.multiply(BigInteger.TEN.pow(accumulatedCount));
-                unscaledValue = unscaledValue.add(BigInteger.valueOf(accumulated));
-            }
+        int scaleAdjust = type.getScale() - fractionalDigits;
+        if (overflow && scaleAdjust < 0) {
+            // too long fractional part, fall back to slow path
+            BigDecimal parsed = new BigDecimal(value.substring(negative || value.charAt(0) == '+' ? 1 : 0));
+            return fromBigDecimal(type, negative ? parsed.negate() : parsed);
         }
 
-        int scaleAdjust = type.getScale() - fractionalDigits;
-        if (scaleAdjust > 0) {
-            unscaledValue = unscaledValue.multiply(BigInteger.TEN.pow(scaleAdjust));
-        } else if (scaleAdjust < 0) {
-            unscaledValue = unscaledValue.divide(BigInteger.TEN.pow(-scaleAdjust));
+        for (int idx = 0; idx < scaleAdjust && !overflow; idx++) {
+            long lowLo = (low & HALF_LONG_MASK) * 10;
+            long lowHi = (low >>> 32) * 10 + (lowLo >>> 32);
+            overflow = high > HIGH_MUL_10_LIMIT;
+            high = high * 10 + (lowHi >>> 32);
+            low = (lowHi << 32) | (lowLo & HALF_LONG_MASK);
+            overflow = overflow || high < 0;
         }
 
-        if (negative) {
-            unscaledValue = unscaledValue.negate();
+        if (overflow) {
+            return negative ? type.getNegInf() : type.getInf();
         }
 
-        return fromUnscaledBigInteger(type, unscaledValue);
+        for (int idx = 0; idx < -scaleAdjust && (high != 0 || low != 0); idx++) {
+            // (high, low) = (high, low) / 10
+            long remainder = high % 10;
+            high /= 10;
+            long lowHi = (low >>> 32) + (remainder << 32);
+            remainder = lowHi % 10;
+            long lowLo = (low & HALF_LONG_MASK) + (remainder << 32);
+            low = ((lowHi / 10) << 32) | (lowLo / 10);
+        }
+
+        if (negative && (high != 0 || low != 0)) {
+            high = ~high;
+            low = ~low;
+            if (++low == 0) {
+                high++;
+            }
+        }
+
+        return fromBits(type, high, low);
     }
 
     static DecimalValue fromBigInteger(DecimalType type, BigInteger value) {
+        if (value.bitLength() < 64) {
+            return fromLong(type, value.longValue());
+        }
+
         BigInteger rawValue = value;
         int scale = type.getScale();
         if (scale > 0) {
@@ -547,9 +679,19 @@ public class DecimalValue implements Value<DecimalType> {
     }
 
     static DecimalValue fromBigDecimal(DecimalType type, BigDecimal value) {
+        int scaleAdjust = type.getScale() - value.scale();
         BigInteger rawValue = value.unscaledValue();
+        if (rawValue.bitLength() < 64 && scaleAdjust > -LONG_POWERS_OF_TEN.length) {
+            // unscaled value which fits into long is rescaled without BigInteger arithmetic, the negation of
+            // Long.MIN_VALUE is still the correct unsigned magnitude
+            long unscaled = rawValue.longValue();
+            if (scaleAdjust < 0) {
+                return fromUnscaledLong(type, unscaled / LONG_POWERS_OF_TEN[-scaleAdjust]);
+            }
+            boolean positive = unscaled > 0;
+            return fromUnsignedLong(type, positive, positive ? unscaled : -unscaled, scaleAdjust);
+        }
 
-        int scaleAdjust = type.getScale() - value.scale();
         if (scaleAdjust > 0) {
             rawValue = rawValue.multiply(BigInteger.TEN.pow(scaleAdjust));
         } else if (scaleAdjust < 0) {
@@ -0,0 +1,238 @@
+package tech.ydb.table;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.grpc.GrpcReadStream;
+import tech.ydb.proto.ValueProtos;
+import tech.ydb.proto.table.YdbTable;
+import tech.ydb.table.description.KeyBound;
+import tech.ydb.table.description.KeyRange;
+import tech.ydb.table.description.TableDescription;
+import tech.ydb.table.query.ReadTablePart;
+import tech.ydb.table.result.ResultSetReader;
+import tech.ydb.table.settings.DescribeTableSettings;
+import tech.ydb.table.settings.ReadTableSettings;
+import tech.ydb.table.values.PrimitiveType;
+import tech.ydb.table.values.PrimitiveValue;
+import tech.ydb.table.values.TupleValue;
+import tech.ydb.table.values.proto.ProtoType;
+import tech.ydb.table.values.proto.ProtoValue;
+
+public class ParallelReadTableTest {
+    private static final int ROWS_COUNT = 30;
+    private static final int PART_SIZE = 3;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<MockedStream> streams = Collections.synchronizedList(new ArrayList<>());
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private static KeyRange range(Long from, Long to) {
+        return new KeyRange(
+                Optional.ofNullable(from).map(v -> KeyBound.inclusive(TupleValue.of(PrimitiveValue.newUint64(v)))),
+                Optional.ofNullable(to).map(v -> KeyBound.exclusive(TupleValue.of(PrimitiveValue.newUint64(v))))
+        );
+    }
+
+    private SessionSupplier supplier() {
+        TableDescription description = TableDescription.newBuilder()
+                .addNonnullColumn("id", PrimitiveType.Uint64)
+                .setPrimaryKey("id")
+                .addKeyRange(range(null, 10L))
+                .addKeyRange(range(10L, 20L))
+                .addKeyRange(range(20L, null))
+                .build();
+
+        Session session = new SessionStub() {
+            @Override
+            public CompletableFuture<Result<TableDescription>> describeTable(String path,
+                    DescribeTableSettings settings) {
+                Assert.assertTrue(settings.isIncludeShardKeyBounds());
+                return CompletableFuture.completedFuture(Result.success(description));
+            }
+
+            @Override
+            public GrpcReadStream<ReadTablePart> executeReadTable(String tablePath, ReadTableSettings settings) {
+                MockedStream stream = new MockedStream(settings);
+                streams.add(stream);
+                return stream;
+            }
+
+            @Override
+            public void close() {
+                // nothing
+            }
+        };
+
+        return new SessionSupplier() {
+            @Override
+            public CompletableFuture<Result<Session>> createSession(Duration duration) {
+                return CompletableFuture.completedFuture(Result.success(session));
+            }
+
+            @Override
+            public ScheduledExecutorService getScheduler() {
+                return scheduler;
+            }
+        };
+    }
+
+    private static List<Long> readKeys(ReadTablePart part, List<Long> keys) {
+        ResultSetReader rs = part.getResultSetReader();
+        while (rs.next()) {
+            keys.add(rs.getColumn("id").getUint64());
+        }
+        return keys;
+    }
+
+    @Test
+    public void orderedReadTest() {
+        ParallelReadTable read = ParallelReadTable.newBuilder(supplier(), "/local/table")
+                .parallelism(3)
+                .ordered(true)
+                .build();
+
+        List<Long> keys = new ArrayList<>();
+        CompletableFuture<Status> future = read.start(part -> readKeys(part, keys));
+
+        Assert.assertEquals(3, streams.size());
+        Assert.assertTrue(streams.get(0).settings.isOrdered());
+
+        // partitions are finished in the reversed order
+        streams.get(2).complete();
+        streams.get(1).complete();
+        Assert.assertTrue(keys.isEmpty());
+        Assert.assertFalse(future.isDone());
+
+        streams.get(0).complete();
+        Assert.assertEquals(Status.SUCCESS, future.join());
+
+        Assert.assertEquals(ROWS_COUNT, keys.size());
+        for (int idx = 0; idx < ROWS_COUNT; idx++) {
+            Assert.assertEquals(Long.valueOf(idx), keys.get(idx));
+        }
+    }
+
+    @Test
+    public void resumeAfterFailureTest() {
+        ParallelReadTable read = ParallelReadTable.newBuilder(supplier(), "/local/table")
+                .parallelism(2)
+                .retryConfig(status -> (retryCount, elapsed) -> retryCount < 3 ? 0 : -1)
+                .build();
+
+        List<Long> keys = new ArrayList<>();
+        CompletableFuture<Status> future = read.start(part -> readKeys(part, keys));
+
+        // only two partitions at the same time
+        Assert.assertEquals(2, streams.size());
+        streams.get(1).fail(1, Status.of(StatusCode.TRANSPORT_UNAVAILABLE));
+        Assert.assertEquals(3, keys.size());
+
+        // retry is scheduled, next stream continues after the last received key
+        MockedStream retried = waitStream(3);
+        Assert.assertFalse(retried.settings.isFromInclusive());
+        Assert.assertEquals(13, retried.from);
+        retried.complete();
+
+        streams.get(0).complete();
+        streams.get(3).complete();
+        Assert.assertEquals(Status.SUCCESS, future.join());
+
+        keys.sort(Long::compare);
+        Assert.assertEquals(ROWS_COUNT, keys.size());
+        for (int idx = 0; idx < ROWS_COUNT; idx++) {
+            Assert.assertEquals(Long.valueOf(idx), keys.get(idx));
+        }
+    }
+
+    @Test
+    public void cancelTest() {
+        ParallelReadTable read = ParallelReadTable.newBuilder(supplier(), "/local/table").build();
+        CompletableFuture<Status> future = read.start(part -> { });
+
+        read.cancel();
+        Assert.assertEquals(StatusCode.CLIENT_CANCELLED, future.join().getCode());
+        for (MockedStream stream : streams) {
+            Assert.assertTrue(stream.isCancelled);
+        }
+        Assert.assertThrows(IllegalStateException.class, () -> read.start(part -> { }));
+    }
+
+    private MockedStream waitStream(int count) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (true) {
+            if (streams.size() >= count && streams.get(count - 1).observer != null) {
+                return streams.get(count - 1);
+            }
+            Assert.assertTrue("stream is not created", System.currentTimeMillis() < deadline);
+            Thread.yield();
+        }
+    }
+
+    private static class MockedStream implements GrpcReadStream<ReadTablePart> {
+        private final ReadTableSettings settings;
+        private final long from;
+        private final long to;
+        private final CompletableFuture<Status> future = new CompletableFuture<>();
+        private volatile Observer<ReadTablePart> observer;
+        private volatile boolean isCancelled = false;
+
+        MockedStream(ReadTableSettings settings) {
+            this.settings = settings;
+            TupleValue fromKey = settings.getFromKey();
+            TupleValue toKey = settings.getToKey();
+            long first = fromKey == null ? 0 : fromKey.get(0).asData().getUint64();
+            this.from = fromKey == null || settings.isFromInclusive() ? first : first + 1;
+            this.to = toKey == null ? ROWS_COUNT : toKey.get(0).asData().getUint64();
+        }
+
+        @Override
+        public CompletableFuture<Status> start(Observer<ReadTablePart> partObserver) {
+            this.observer = partObserver;
+            return future;
+        }
+
+        @Override
+        public void cancel() {
+            isCancelled = true;
+            future.complete(Status.of(StatusCode.CLIENT_CANCELLED));
+        }
+
+        void complete() {
+            fail(Integer.MAX_VALUE, Status.SUCCESS);
+        }
+
+        void fail(int partsCount, Status status) {
+            long key = from;
+            for (int part = 0; part < partsCount && key < to; part++) {
+                ValueProtos.ResultSet.Builder rs = ValueProtos.ResultSet.newBuilder()
+                        .addColumns(ValueProtos.Column.newBuilder().setName("id").setType(ProtoType.getUint64()));
+                for (int idx = 0; idx < PART_SIZE && key < to; idx++, key++) {
+                    rs.addRows(ValueProtos.Value.newBuilder().addItems(ProtoValue.fromUint64(key)));
+                }
+                YdbTable.ReadTableResponse response = YdbTable.ReadTableResponse.newBuilder()
+                        .setResult(YdbTable.ReadTableResult.newBuilder().setResultSet(rs))
+                        .build();
+                observer.onNext(new ReadTablePart(response));
+            }
+            future.complete(status);
+        }
+    }
+}
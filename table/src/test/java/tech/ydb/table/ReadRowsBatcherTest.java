@@ -0,0 +1,181 @@
+package tech.ydb.table;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.proto.ValueProtos;
+import tech.ydb.proto.table.YdbTable;
+import tech.ydb.table.query.ReadRowsResult;
+import tech.ydb.table.settings.ReadRowsSettings;
+import tech.ydb.table.values.PrimitiveValue;
+import tech.ydb.table.values.StructValue;
+import tech.ydb.table.values.proto.ProtoType;
+import tech.ydb.table.values.proto.ProtoValue;
+
+public class ReadRowsBatcherTest {
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<ReadRowsSettings> requests = new ArrayList<>();
+    private volatile Status readStatus = Status.SUCCESS;
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private SessionSupplier supplier() {
+        Session session = new SessionStub() {
+            @Override
+            public CompletableFuture<Result<ReadRowsResult>> readRows(String path, ReadRowsSettings settings) {
+                Assert.assertEquals("/local/table", path);
+                requests.add(settings);
+                if (!readStatus.isSuccess()) {
+                    return CompletableFuture.completedFuture(Result.fail(readStatus));
+                }
+
+                // table has rows only with odd ids
+                ValueProtos.ResultSet.Builder rs = ValueProtos.ResultSet.newBuilder()
+                        .addColumns(ValueProtos.Column.newBuilder().setName("id")
+                                .setType(ProtoType.getOptional(ProtoType.getUint64())))
+                        .addColumns(ValueProtos.Column.newBuilder().setName("value").setType(ProtoType.getText()));
+                for (StructValue key : settings.getKeys()) {
+                    long id = key.getMemberValue(0).asData().getUint64();
+                    if (id % 2 == 1) {
+                        rs.addRows(ValueProtos.Value.newBuilder()
+                                .addItems(ProtoValue.fromUint64(id))
+                                .addItems(ProtoValue.fromText("value" + id)));
+                    }
+                }
+                YdbTable.ReadRowsResponse response = YdbTable.ReadRowsResponse.newBuilder().setResultSet(rs).build();
+                return CompletableFuture.completedFuture(Result.success(new ReadRowsResult(response)));
+            }
+
+            @Override
+            public void close() {
+                // nothing
+            }
+        };
+
+        return new SessionSupplier() {
+            @Override
+            public CompletableFuture<Result<Session>> createSession(Duration duration) {
+                return CompletableFuture.completedFuture(Result.success(session));
+            }
+
+            @Override
+            public ScheduledExecutorService getScheduler() {
+                return scheduler;
+            }
+        };
+    }
+
+    private static StructValue key(long id) {
+        return StructValue.of("id", PrimitiveValue.newUint64(id));
+    }
+
+    @Test
+    public void deduplicationTest() {
+        ReadRowsBatcher batcher = ReadRowsBatcher.newBuilder(supplier(), "/local/table")
+                .columns("value")
+                .maxDelay(Duration.ofHours(1))
+                .build();
+
+        CompletableFuture<Result<Optional<StructValue>>> f1 = batcher.readRow(key(1));
+        CompletableFuture<Result<Optional<StructValue>>> f2 = batcher.readRow(key(2));
+        CompletableFuture<Result<Optional<StructValue>>> f3 = batcher.readRow(key(1));
+        Assert.assertSame(f1, f3);
+        Assert.assertFalse(f1.isDone());
+
+        batcher.flush();
+        Assert.assertEquals(1, requests.size());
+        Assert.assertEquals(2, requests.get(0).getKeys().size());
+        // key column is added to match rows
+        Assert.assertEquals(2, requests.get(0).getColumns().size());
+
+        Optional<StructValue> row = f1.join().getValue();
+        Assert.assertTrue(row.isPresent());
+        Assert.assertEquals(2, row.get().getMembersCount());
+        Assert.assertFalse(f2.join().getValue().isPresent());
+
+        // empty batch is not sent
+        batcher.flush();
+        Assert.assertEquals(1, requests.size());
+    }
+
+    @Test
+    public void batchSizeTest() {
+        ReadRowsBatcher batcher = ReadRowsBatcher.newBuilder(supplier(), "/local/table")
+                .maxBatchSize(3)
+                .maxDelay(Duration.ofHours(1))
+                .build();
+
+        List<CompletableFuture<Result<Optional<StructValue>>>> futures = new ArrayList<>();
+        for (int id = 0; id < 7; id++) {
+            futures.add(batcher.readRow(key(id)));
+        }
+
+        Assert.assertEquals(2, requests.size());
+        for (int id = 0; id < 6; id++) {
+            Assert.assertEquals(id % 2 == 1, futures.get(id).join().getValue().isPresent());
+        }
+        Assert.assertFalse(futures.get(6).isDone());
+    }
+
+    @Test
+    public void delayTest() {
+        ReadRowsBatcher batcher = ReadRowsBatcher.newBuilder(supplier(), "/local/table")
+                .maxDelay(Duration.ofMillis(5))
+                .build();
+
+        CompletableFuture<Result<Optional<StructValue>>> f1 = batcher.readRow(key(1));
+        CompletableFuture<Result<Optional<StructValue>>> f2 = batcher.readRow(key(3));
+
+        Assert.assertTrue(f1.join().getValue().isPresent());
+        Assert.assertTrue(f2.join().getValue().isPresent());
+        Assert.assertEquals(1, requests.size());
+    }
+
+    @Test
+    public void keyTypeMismatchTest() {
+        ReadRowsBatcher batcher = ReadRowsBatcher.newBuilder(supplier(), "/local/table")
+                .maxDelay(Duration.ofHours(1))
+                .build();
+
+        CompletableFuture<Result<Optional<StructValue>>> f1 = batcher.readRow(key(1));
+        // only the lookup with the wrong key fails, the batch is sent without it
+        CompletableFuture<Result<Optional<StructValue>>> f2 = batcher.readRow(
+                StructValue.of("id", PrimitiveValue.newInt32(3)));
+        Assert.assertEquals(StatusCode.BAD_REQUEST, f2.join().getStatus().getCode());
+
+        batcher.flush();
+        Assert.assertEquals(1, requests.size());
+        Assert.assertEquals(1, requests.get(0).getKeys().size());
+        Assert.assertTrue(f1.join().getValue().isPresent());
+    }
+
+    @Test
+    public void errorTest() {
+        readStatus = Status.of(StatusCode.SCHEME_ERROR);
+        ReadRowsBatcher batcher = ReadRowsBatcher.newBuilder(supplier(), "/local/table")
+                .maxDelay(Duration.ofHours(1))
+                .build();
+
+        CompletableFuture<Result<Optional<StructValue>>> f1 = batcher.readRow(key(1));
+        CompletableFuture<Result<Optional<StructValue>>> f2 = batcher.readRow(key(2));
+        batcher.flush();
+
+        Assert.assertEquals(StatusCode.SCHEME_ERROR, f1.join().getStatus().getCode());
+        Assert.assertEquals(StatusCode.SCHEME_ERROR, f2.join().getStatus().getCode());
+    }
+}
@@ -0,0 +1,118 @@
+package tech.ydb.table.impl.pool;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PoolSizerTest {
+
+    private static class Handler implements WaitingQueue.Handler<Object> {
+        private final Queue<CompletableFuture<Object>> pending = new ArrayDeque<>();
+
+        @Override
+        public CompletableFuture<Object> create() {
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            pending.offer(future);
+            return future;
+        }
+
+        @Override
+        public void destroy(Object object) {
+            // nothing
+        }
+
+        void completeNext() {
+            pending.poll().complete(new Object());
+        }
+
+        void failNext() {
+            pending.poll().completeExceptionally(new RuntimeException("create failed"));
+        }
+    }
+
+    @Test
+    public void warmUpTest() {
+        Handler handler = new Handler();
+        WaitingQueue<Object> queue = new WaitingQueue<>(handler, 10);
+        PoolSizer sizer = new PoolSizer(queue, 0, 2, () -> 0L);
+
+        CompletableFuture<Integer> warmUp = sizer.warmUp(5);
+
+        // only two creations at the same time
+        Assert.assertEquals(2, handler.pending.size());
+        Assert.assertEquals(2, queue.getPendingCount());
+
+        handler.completeNext();
+        Assert.assertEquals(1, queue.getIdleCount());
+        Assert.assertEquals(2, handler.pending.size());
+
+        handler.completeNext();
+        handler.completeNext();
+        handler.completeNext();
+        Assert.assertEquals(1, handler.pending.size());
+        Assert.assertFalse(warmUp.isDone());
+
+        handler.completeNext();
+        Assert.assertEquals(Integer.valueOf(5), warmUp.join());
+        Assert.assertEquals(5, queue.getIdleCount());
+        Assert.assertEquals(5, queue.getTotalCount());
+
+        // pool is already warm
+        Assert.assertEquals(Integer.valueOf(0), sizer.warmUp(5).join());
+    }
+
+    @Test
+    public void warmUpStopsOnFailureTest() {
+        Handler handler = new Handler();
+        WaitingQueue<Object> queue = new WaitingQueue<>(handler, 10);
+        PoolSizer sizer = new PoolSizer(queue, 0, 1, () -> 0L);
+
+        CompletableFuture<Integer> warmUp = sizer.warmUp(3);
+        handler.completeNext();
+        handler.failNext();
+
+        Assert.assertEquals(Integer.valueOf(1), warmUp.join());
+        Assert.assertTrue(handler.pending.isEmpty());
+        Assert.assertEquals(1, queue.getTotalCount());
+    }
+
+    @Test
+    public void predictiveSizingTest() {
+        Handler handler = new Handler();
+        WaitingQueue<Object> queue = new WaitingQueue<>(handler, 20);
+        AtomicLong acquired = new AtomicLong();
+        PoolSizer sizer = new PoolSizer(queue, 1, 4, acquired::get);
+
+        // idle pool keeps min size
+        sizer.run();
+        Assert.assertEquals(1, handler.pending.size());
+        handler.completeNext();
+        Assert.assertEquals(1, queue.getIdleCount());
+
+        // four objects are in use, the acquire rate is stable
+        for (int idx = 0; idx < 4; idx++) {
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            queue.acquire(future);
+        }
+        while (!handler.pending.isEmpty()) {
+            handler.completeNext();
+        }
+        Assert.assertEquals(4, queue.getUsedCount());
+
+        acquired.addAndGet(4);
+        // 4 used objects, the acquire rate is growing (capped by 2x) and 10% of headroom
+        Assert.assertEquals(9, sizer.predictTarget());
+        acquired.addAndGet(4);
+        sizer.run();
+        Assert.assertEquals(4, handler.pending.size());
+        Assert.assertEquals(8, queue.getTotalCount());
+
+        // limit of parallel creations
+        sizer.run();
+        Assert.assertEquals(4, handler.pending.size());
+    }
+}
@@ -0,0 +1,193 @@
+package tech.ydb.table.mapper;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.ydb.proto.ValueProtos;
+import tech.ydb.table.query.Params;
+import tech.ydb.table.result.ResultSetReader;
+import tech.ydb.table.result.impl.ProtoValueReaders;
+import tech.ydb.table.values.DecimalType;
+import tech.ydb.table.values.PrimitiveType;
+import tech.ydb.table.values.PrimitiveValue;
+import tech.ydb.table.values.proto.ProtoType;
+import tech.ydb.table.values.proto.ProtoValue;
+
+public class RowMapperTest {
+
+    public static class Series {
+        private long id;
+        private String title;
+        @Column("release_year")
+        private Integer year;
+        private BigDecimal rating;
+        private transient String cached = "cached";
+
+        public Series() { }
+
+        public Series(long id, String title, Integer year, BigDecimal rating) {
+            this.id = id;
+            this.title = title;
+            this.year = year;
+            this.rating = rating;
+        }
+    }
+
+    public static class Counters {
+        private boolean active;
+        private int hits = -1;
+        private long total;
+        private double ratio;
+        private int misses;
+    }
+
+    public static class NoDefaultConstructor {
+        private final long id;
+
+        public NoDefaultConstructor(long id) {
+            this.id = id;
+        }
+    }
+
+    private static ValueProtos.Column newColumn(String name, ValueProtos.Type type) {
+        return ValueProtos.Column.newBuilder().setName(name).setType(type).build();
+    }
+
+    private static ValueProtos.Value newRow(ValueProtos.Value... columns) {
+        ValueProtos.Value.Builder builder = ValueProtos.Value.newBuilder();
+        for (ValueProtos.Value column : columns) {
+            builder.addItems(column);
+        }
+        return builder.build();
+    }
+
+    private static ResultSetReader seriesResultSet() {
+        DecimalType decimal = DecimalType.of(10, 2);
+        return ProtoValueReaders.forResultSet(ValueProtos.ResultSet.newBuilder()
+                .addColumns(newColumn("id", ProtoType.getUint64()))
+                .addColumns(newColumn("title", ProtoType.getOptional(ProtoType.getText())))
+                .addColumns(newColumn("release_year", ProtoType.getOptional(ProtoType.getUint16())))
+                .addColumns(newColumn("rating", ProtoType.getDecimal(10, 2)))
+                .addColumns(newColumn("unknown", ProtoType.getBool()))
+                .addRows(newRow(ProtoValue.fromUint64(1), ProtoValue.fromText("IT Crowd"),
+                        ProtoValue.fromUint16(2006), decimal.newValue("8.5").toPb(), ProtoValue.fromBool(true)))
+                .addRows(newRow(ProtoValue.fromUint64(2), ProtoValue.optional(),
+                        ProtoValue.optional(), decimal.newValue("7.25").toPb(), ProtoValue.fromBool(false)))
+                .build());
+    }
+
+    @Test
+    public void readAllTest() {
+        RowMapper<Series> mapper = RowMapper.of(Series.class);
+        Assert.assertSame(mapper, RowMapper.of(Series.class));
+
+        List<Series> list = mapper.readAll(seriesResultSet());
+        Assert.assertEquals(2, list.size());
+
+        Assert.assertEquals(1, list.get(0).id);
+        Assert.assertEquals("IT Crowd", list.get(0).title);
+        Assert.assertEquals(Integer.valueOf(2006), list.get(0).year);
+        Assert.assertEquals(new BigDecimal("8.50"), list.get(0).rating);
+        Assert.assertEquals("cached", list.get(0).cached);
+
+        Assert.assertEquals(2, list.get(1).id);
+        Assert.assertNull(list.get(1).title);
+        Assert.assertNull(list.get(1).year);
+        Assert.assertEquals(new BigDecimal("7.25"), list.get(1).rating);
+    }
+
+    @Test
+    public void readRowTest() {
+        RowMapper<Series> mapper = RowMapper.of(Series.class);
+        ResultSetReader rs = seriesResultSet();
+
+        Assert.assertTrue(rs.next());
+        Assert.assertEquals("IT Crowd", mapper.readRow(rs).title);
+        Assert.assertTrue(rs.next());
+        Assert.assertEquals(2, mapper.readRow(rs).id);
+        Assert.assertFalse(rs.next());
+    }
+
+    @Test
+    public void readRowOfDifferentSchemasTest() {
+        RowMapper<Series> mapper = RowMapper.of(Series.class);
+        ResultSetReader series = seriesResultSet();
+        ResultSetReader titles = ProtoValueReaders.forResultSet(ValueProtos.ResultSet.newBuilder()
+                .addColumns(newColumn("title", ProtoType.getText()))
+                .addColumns(newColumn("id", ProtoType.getUint64()))
+                .addRows(newRow(ProtoValue.fromText("Dark"), ProtoValue.fromUint64(3)))
+                .build());
+
+        // every new reader gets the binding by its columns
+        Assert.assertTrue(series.next());
+        Assert.assertEquals("IT Crowd", mapper.readRow(series).title);
+        Assert.assertTrue(titles.next());
+        Series dark = mapper.readRow(titles);
+        Assert.assertEquals("Dark", dark.title);
+        Assert.assertEquals(3, dark.id);
+        Assert.assertNull(dark.rating);
+
+        ResultSetReader other = seriesResultSet();
+        Assert.assertTrue(other.next());
+        Assert.assertTrue(other.next());
+        Assert.assertEquals(2, mapper.readRow(other).id);
+        Assert.assertTrue(series.next());
+        Assert.assertEquals(new BigDecimal("7.25"), mapper.readRow(series).rating);
+    }
+
+    @Test
+    public void readPrimitivesTest() {
+        ResultSetReader rs = ProtoValueReaders.forResultSet(ValueProtos.ResultSet.newBuilder()
+                .addColumns(newColumn("active", ProtoType.getBool()))
+                .addColumns(newColumn("hits", ProtoType.getOptional(ProtoType.getInt32())))
+                .addColumns(newColumn("total", ProtoType.getInt64()))
+                .addColumns(newColumn("ratio", ProtoType.getDouble()))
+                // Int16 is not the natural type of int field, the value is converted
+                .addColumns(newColumn("misses", ProtoType.getInt16()))
+                .addRows(newRow(ProtoValue.fromBool(true), ProtoValue.fromInt32(7), ProtoValue.fromInt64(100),
+                        ProtoValue.fromDouble(0.5), ProtoValue.fromInt16((short) 3)))
+                .addRows(newRow(ProtoValue.fromBool(false), ProtoValue.optional(), ProtoValue.fromInt64(-1),
+                        ProtoValue.fromDouble(1.5), ProtoValue.fromInt16((short) 4)))
+                .build());
+
+        List<Counters> list = RowMapper.of(Counters.class).readAll(rs);
+        Assert.assertEquals(2, list.size());
+
+        Assert.assertTrue(list.get(0).active);
+        Assert.assertEquals(7, list.get(0).hits);
+        Assert.assertEquals(100, list.get(0).total);
+        Assert.assertEquals(0.5, list.get(0).ratio, 0);
+        Assert.assertEquals(3, list.get(0).misses);
+
+        // empty optional keeps the default value of the field
+        Assert.assertFalse(list.get(1).active);
+        Assert.assertEquals(-1, list.get(1).hits);
+        Assert.assertEquals(-1, list.get(1).total);
+        Assert.assertEquals(1.5, list.get(1).ratio, 0);
+        Assert.assertEquals(4, list.get(1).misses);
+    }
+
+    @Test
+    public void toParamsTest() {
+        Params params = RowMapper.of(Series.class).toParams(new Series(5, "Dark", null, new BigDecimal("8.7")));
+
+        Assert.assertEquals(4, params.values().size());
+        Assert.assertEquals(PrimitiveValue.newInt64(5), params.values().get("$id"));
+        Assert.assertEquals(PrimitiveValue.newText("Dark").makeOptional(), params.values().get("$title"));
+        Assert.assertEquals(PrimitiveType.Int32.makeOptional().emptyValue(), params.values().get("$release_year"));
+        Assert.assertEquals(DecimalType.getDefault().newValue("8.7").makeOptional(), params.values().get("$rating"));
+    }
+
+    @Test
+    public void invalidMappingTest() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> RowMapper.of(NoDefaultConstructor.class));
+
+        ResultSetReader rs = ProtoValueReaders.forResultSet(ValueProtos.ResultSet.newBuilder()
+                .addColumns(newColumn("title", ProtoType.getInt64()))
+                .build());
+        Assert.assertThrows(IllegalArgumentException.class, () -> RowMapper.of(Series.class).readAll(rs));
+    }
+}
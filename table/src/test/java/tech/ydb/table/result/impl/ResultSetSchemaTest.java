@@ -0,0 +1,92 @@
+package tech.ydb.table.result.impl;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.ydb.proto.ValueProtos;
+import tech.ydb.table.result.ResultSetReader;
+import tech.ydb.table.values.PrimitiveType;
+import tech.ydb.table.values.proto.ProtoType;
+import tech.ydb.table.values.proto.ProtoValue;
+
+public class ResultSetSchemaTest {
+
+    private static ValueProtos.ResultSet part(String column, long... values) {
+        ValueProtos.ResultSet.Builder builder = ValueProtos.ResultSet.newBuilder()
+                .addColumns(ValueProtos.Column.newBuilder().setName("id").setType(ProtoType.getUint64()))
+                .addColumns(ValueProtos.Column.newBuilder().setName(column).setType(ProtoType.getText()));
+        for (long value : values) {
+            builder.addRows(ValueProtos.Value.newBuilder()
+                    .addItems(ProtoValue.fromUint64(value))
+                    .addItems(ProtoValue.fromText("v" + value)));
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void sharedSchemaTest() {
+        ValueProtos.ResultSet part1 = part("shared", 1, 2);
+        ValueProtos.ResultSet part2 = part("shared", 3);
+
+        ResultSetSchema schema = ResultSetSchema.of(part1);
+        Assert.assertSame(schema, ResultSetSchema.of(part2));
+        Assert.assertNotSame(schema, ResultSetSchema.of(part("other", 1)));
+
+        Assert.assertEquals(2, schema.getColumnCount());
+        Assert.assertEquals("shared", schema.getColumnName(1));
+        Assert.assertEquals(PrimitiveType.Uint64, schema.getColumnType(0));
+        Assert.assertEquals(1, schema.getColumnIndex("shared"));
+        Assert.assertEquals(-1, schema.getColumnIndex("unknown"));
+    }
+
+    @Test
+    public void independentReadersTest() {
+        ResultSetReader reader1 = ProtoValueReaders.forResultSet(part("readers", 1, 2));
+        ResultSetReader reader2 = ProtoValueReaders.forResultSet(part("readers", 3));
+
+        Assert.assertTrue(reader1.next());
+        Assert.assertTrue(reader2.next());
+
+        Assert.assertEquals(1, reader1.getColumn("id").getUint64());
+        Assert.assertEquals(3, reader2.getColumn("id").getUint64());
+        Assert.assertEquals("v1", reader1.getColumn(1).getText());
+        Assert.assertEquals("v3", reader2.getColumn(1).getText());
+
+        Assert.assertTrue(reader1.next());
+        Assert.assertFalse(reader2.next());
+        Assert.assertEquals("v2", reader1.getColumn("readers").getText());
+    }
+
+    @Test
+    public void nestedReadersTest() {
+        ValueProtos.Type listType = ProtoType.getOptional(ProtoType.getList(ProtoType.getUint64()));
+        Assert.assertSame(ProtoValueReaders.factoryOf(listType),
+                ProtoValueReaders.factoryOf(ProtoType.getOptional(ProtoType.getList(ProtoType.getUint64()))));
+
+        ValueProtos.ResultSet.Builder builder = ValueProtos.ResultSet.newBuilder()
+                .addColumns(ValueProtos.Column.newBuilder().setName("list").setType(listType));
+        ResultSetReader reader1 = ProtoValueReaders.forResultSet(builder.clone()
+                .addRows(ValueProtos.Value.newBuilder().addItems(ProtoValue.optional(
+                        ProtoValue.list(ProtoValue.fromUint64(1), ProtoValue.fromUint64(2)))))
+                .build());
+        ResultSetReader reader2 = ProtoValueReaders.forResultSet(builder.clone()
+                .addRows(ValueProtos.Value.newBuilder().addItems(ProtoValue.optional()))
+                .build());
+
+        // readers of nested types are not shared between cursors
+        Assert.assertTrue(reader1.next());
+        Assert.assertTrue(reader2.next());
+        Assert.assertFalse(reader2.getColumn(0).isOptionalItemPresent());
+        Assert.assertTrue(reader1.getColumn(0).isOptionalItemPresent());
+        Assert.assertEquals(2, reader1.getColumn(0).getListItemsCount());
+        Assert.assertEquals(2, reader1.getColumn(0).getListItem(1).getUint64());
+    }
+
+    @Test
+    public void boundedCacheTest() {
+        for (int idx = 0; idx < 1000; idx++) {
+            ResultSetSchema.of(part("column" + idx));
+        }
+        Assert.assertTrue(ResultSetSchema.cacheSize() <= 256);
+    }
+}
@@ -63,6 +63,15 @@ public class DecimalValueTest {
         orig = new BigDecimal("10000.52");
         dest = DecimalType.of(22, 9).newValue(orig).toBigDecimal();
         Assert.assertEquals(0, orig.compareTo(dest));
+
+        // unscaled values with 19 digits still fit into long
+        orig = BigDecimal.valueOf(Long.MAX_VALUE, 2);
+        dest = DecimalType.of(35, 10).newValue(orig).toBigDecimal();
+        Assert.assertEquals(0, orig.compareTo(dest));
+
+        orig = BigDecimal.valueOf(Long.MIN_VALUE, 2);
+        dest = DecimalType.of(35, 10).newValue(orig).toBigDecimal();
+        Assert.assertEquals(0, orig.compareTo(dest));
     }
 
     @Test
@@ -809,6 +818,52 @@ public class DecimalValueTest {
         Assert.assertEquals("-0.001234567890", newDecimal(-1234567890L, 12).toString());
     }
 
+    @Test
+    public void unscaledLong() {
+        DecimalType type = DecimalType.getDefault();
+        Assert.assertTrue(type.newValue("-12.5").isUnscaledLong());
+        Assert.assertEquals(-12_500_000_000L, type.newValue("-12.5").toUnscaledLong());
+        Assert.assertEquals(new BigDecimal("-12.500000000"), type.newValue("-12.5").toBigDecimal());
+        Assert.assertEquals(-13, type.newValue("-12.5").toLong());
+        Assert.assertEquals(12, type.newValue("12.499999999").toLong());
+
+        DecimalValue big = type.newValue("1234567890123.123456789");
+        Assert.assertFalse(big.isUnscaledLong());
+        Assert.assertThrows(ArithmeticException.class, big::toUnscaledLong);
+        Assert.assertFalse(type.getInf().isUnscaledLong());
+    }
+
+    @Test
+    public void parseOverflow() {
+        DecimalType type = DecimalType.of(35, 10);
+        Assert.assertEquals(type.getInf(), type.newValue("30596359913782656872233241783.02457699666"));
+        Assert.assertEquals(type.getNegInf(), type.newValue("-30596359913782656872233241783.02457699666"));
+        Assert.assertEquals(type.getInf(), type.newValue("1" + String.join("", Collections.nCopies(40, "0"))));
+        Assert.assertEquals(type.getInf(), type.newValue(new BigDecimal("1e40")));
+
+        // long fractional part is truncated
+        Assert.assertEquals(type.newValue("0.1234567891"),
+                type.newValue("0.12345678912345678912345678912345678912345"));
+        Assert.assertEquals(DecimalType.of(35, 35).getInf(), DecimalType.of(35, 35).newValue(44961509));
+    }
+
+    @Test
+    public void compareDifferentScales() {
+        DecimalValue v1 = DecimalType.of(22, 9).newValue("1.5");
+        DecimalValue v2 = DecimalType.of(35, 20).newValue("1.50000000000000000001");
+        DecimalValue v3 = DecimalType.of(10, 0).newValue("-2");
+
+        Assert.assertTrue(v1.compareTo(v2) < 0);
+        Assert.assertTrue(v2.compareTo(v1) > 0);
+        Assert.assertTrue(v3.compareTo(v1) < 0);
+        Assert.assertTrue(v3.compareTo(DecimalType.of(35, 30).newValue("-1.99999")) < 0);
+        Assert.assertEquals(0, v1.compareTo(DecimalType.of(35, 30).newValue("1.5")));
+
+        // unscaled values with the highest bit of low part
+        DecimalType type = DecimalType.of(35, 35);
+        Assert.assertTrue(type.newValue("0.0000000000000009194").compareTo(type.newValue("0.0000000000000007913")) > 0);
+    }
+
     private DecimalValue newDecimal(long value, int scale) {
         DecimalType type = DecimalType.of(DecimalType.MAX_PRECISION, scale);
         return type.newValueUnscaled(value);
@@ -0,0 +1,148 @@
+package tech.ydb.test.integration.fake;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.grpc.stub.StreamObserver;
+
+import tech.ydb.proto.StatusCodesProtos.StatusIds;
+import tech.ydb.proto.query.YdbQuery;
+import tech.ydb.proto.query.v1.QueryServiceGrpc;
+
+/**
+ * Fake implementation of the query service. Sessions are not validated, every query returns the same synthetic
+ * result set split to the configured parts
+ */
+class FakeQueryService extends QueryServiceGrpc.QueryServiceImplBase {
+    private final FaultInjector injector;
+    private final SyntheticData data;
+    private final int nodeId;
+    private final AtomicLong sessionsCounter = new AtomicLong();
+    private final AtomicLong txCounter = new AtomicLong();
+
+    FakeQueryService(FaultInjector injector, SyntheticData data, int nodeId) {
+        this.injector = injector;
+        this.data = data;
+        this.nodeId = nodeId;
+    }
+
+    private YdbQuery.TransactionMeta newTx() {
+        return YdbQuery.TransactionMeta.newBuilder()
+                .setId("fake-tx-" + txCounter.incrementAndGet())
+                .build();
+    }
+
+    @Override
+    public void createSession(YdbQuery.CreateSessionRequest request,
+            StreamObserver<YdbQuery.CreateSessionResponse> observer) {
+        StatusIds.StatusCode status = injector.nextStatus();
+        YdbQuery.CreateSessionResponse.Builder response = YdbQuery.CreateSessionResponse.newBuilder()
+                .setStatus(status);
+        if (status == StatusIds.StatusCode.SUCCESS) {
+            long id = sessionsCounter.incrementAndGet();
+            response.setSessionId("ydb://session/3?node_id=" + nodeId + "&id=fake-" + id).setNodeId(nodeId);
+        }
+        ResponseStream<YdbQuery.CreateSessionResponse> stream = new ResponseStream<>(observer);
+        injector.respond(stream, () -> stream.sendAndComplete(response.build()));
+    }
+
+    @Override
+    public void deleteSession(YdbQuery.DeleteSessionRequest request,
+            StreamObserver<YdbQuery.DeleteSessionResponse> observer) {
+        YdbQuery.DeleteSessionResponse response = YdbQuery.DeleteSessionResponse.newBuilder()
+                .setStatus(StatusIds.StatusCode.SUCCESS)
+                .build();
+        ResponseStream<YdbQuery.DeleteSessionResponse> stream = new ResponseStream<>(observer);
+        injector.respond(stream, () -> stream.sendAndComplete(response));
+    }
+
+    @Override
+    public void attachSession(YdbQuery.AttachSessionRequest request, StreamObserver<YdbQuery.SessionState> observer) {
+        // attach stream is kept open until the client cancels it or the server is closed
+        YdbQuery.SessionState state = YdbQuery.SessionState.newBuilder()
+                .setStatus(StatusIds.StatusCode.SUCCESS)
+                .build();
+        ResponseStream<YdbQuery.SessionState> stream = new ResponseStream<>(observer);
+        injector.respond(stream, () -> stream.send(state));
+    }
+
+    @Override
+    public void beginTransaction(YdbQuery.BeginTransactionRequest request,
+            StreamObserver<YdbQuery.BeginTransactionResponse> observer) {
+        StatusIds.StatusCode status = injector.nextStatus();
+        YdbQuery.BeginTransactionResponse.Builder response = YdbQuery.BeginTransactionResponse.newBuilder()
+                .setStatus(status);
+        if (status == StatusIds.StatusCode.SUCCESS) {
+            response.setTxMeta(newTx());
+        }
+        ResponseStream<YdbQuery.BeginTransactionResponse> stream = new ResponseStream<>(observer);
+        injector.respond(stream, () -> stream.sendAndComplete(response.build()));
+    }
+
+    @Override
+    public void commitTransaction(YdbQuery.CommitTransactionRequest request,
+            StreamObserver<YdbQuery.CommitTransactionResponse> observer) {
+        YdbQuery.CommitTransactionResponse response = YdbQuery.CommitTransactionResponse.newBuilder()
+                .setStatus(injector.nextStatus())
+                .build();
+        ResponseStream<YdbQuery.CommitTransactionResponse> stream = new ResponseStream<>(observer);
+        injector.respond(stream, () -> stream.sendAndComplete(response));
+    }
+
+    @Override
+    public void rollbackTransaction(YdbQuery.RollbackTransactionRequest request,
+            StreamObserver<YdbQuery.RollbackTransactionResponse> observer) {
+        YdbQuery.RollbackTransactionResponse response = YdbQuery.RollbackTransactionResponse.newBuilder()
+                .setStatus(StatusIds.StatusCode.SUCCESS)
+                .build();
+        ResponseStream<YdbQuery.RollbackTransactionResponse> stream = new ResponseStream<>(observer);
+        injector.respond(stream, () -> stream.sendAndComplete(response));
+    }
+
+    @Override
+    public void executeQuery(YdbQuery.ExecuteQueryRequest request,
+            StreamObserver<YdbQuery.ExecuteQueryResponsePart> observer) {
+        ResponseStream<YdbQuery.ExecuteQueryResponsePart> stream = new ResponseStream<>(observer);
+        StatusIds.StatusCode status = injector.nextStatus();
+        if (status != StatusIds.StatusCode.SUCCESS) {
+            YdbQuery.ExecuteQueryResponsePart error = YdbQuery.ExecuteQueryResponsePart.newBuilder()
+                    .setStatus(status)
+                    .build();
+            injector.respond(stream, () -> stream.sendAndComplete(error));
+            return;
+        }
+
+        boolean isNewTx = request.getTxControl().hasBeginTx() && !request.getTxControl().getCommitTx();
+        YdbQuery.TransactionMeta txMeta = isNewTx ? newTx() : null;
+        injector.respond(stream, () -> sendPart(stream, 0, txMeta));
+    }
+
+    private void sendPart(ResponseStream<YdbQuery.ExecuteQueryResponsePart> stream, int partIndex,
+            YdbQuery.TransactionMeta txMeta) {
+        int index = partIndex;
+        YdbQuery.TransactionMeta meta = txMeta;
+        while (true) {
+            YdbQuery.ExecuteQueryResponsePart.Builder part = YdbQuery.ExecuteQueryResponsePart.newBuilder()
+                    .setStatus(StatusIds.StatusCode.SUCCESS)
+                    .setResultSetIndex(0)
+                    .setResultSet(data.part(index));
+            if (meta != null) {
+                part.setTxMeta(meta);
+            }
+            stream.send(part.build());
+
+            index++;
+            meta = null;
+            if (index >= data.getPartsCount() || stream.isClosed()) {
+                stream.complete();
+                return;
+            }
+
+            if (!injector.isImmediate()) {
+                // every next part is a separate response with its own latency
+                int next = index;
+                injector.respond(stream, () -> sendPart(stream, next, null));
+                return;
+            }
+        }
+    }
+}
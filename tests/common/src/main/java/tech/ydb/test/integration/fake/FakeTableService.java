@@ -0,0 +1,122 @@
+package tech.ydb.test.integration.fake;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.Message;
+import io.grpc.stub.StreamObserver;
+
+import tech.ydb.proto.OperationProtos;
+import tech.ydb.proto.StatusCodesProtos.StatusIds;
+import tech.ydb.proto.table.YdbTable;
+import tech.ydb.proto.table.v1.TableServiceGrpc;
+
+/**
+ * Fake implementation of the table service. All operations are completed synchronously, every data query returns
+ * the same synthetic result set
+ */
+class FakeTableService extends TableServiceGrpc.TableServiceImplBase {
+    private final FaultInjector injector;
+    private final SyntheticData data;
+    private final int nodeId;
+    private final AtomicLong sessionsCounter = new AtomicLong();
+    private final AtomicLong txCounter = new AtomicLong();
+    private final AtomicLong operationsCounter = new AtomicLong();
+
+    FakeTableService(FaultInjector injector, SyntheticData data, int nodeId) {
+        this.injector = injector;
+        this.data = data;
+        this.nodeId = nodeId;
+    }
+
+    private OperationProtos.Operation operation(StatusIds.StatusCode status, Message result) {
+        OperationProtos.Operation.Builder operation = OperationProtos.Operation.newBuilder()
+                .setId("fake-operation-" + operationsCounter.incrementAndGet())
+                .setReady(true)
+                .setStatus(status);
+        if (status == StatusIds.StatusCode.SUCCESS && result != null) {
+            operation.setResult(Any.pack(result));
+        }
+        return operation.build();
+    }
+
+    private YdbTable.TransactionMeta newTx() {
+        return YdbTable.TransactionMeta.newBuilder()
+                .setId("fake-tx-" + txCounter.incrementAndGet())
+                .build();
+    }
+
+    private <T> void respond(StreamObserver<T> observer, T response) {
+        ResponseStream<T> stream = new ResponseStream<>(observer);
+        injector.respond(stream, () -> stream.sendAndComplete(response));
+    }
+
+    @Override
+    public void createSession(YdbTable.CreateSessionRequest request,
+            StreamObserver<YdbTable.CreateSessionResponse> observer) {
+        YdbTable.CreateSessionResult result = YdbTable.CreateSessionResult.newBuilder()
+                .setSessionId("ydb://session/3?node_id=" + nodeId + "&id=fake-" + sessionsCounter.incrementAndGet())
+                .build();
+        respond(observer, YdbTable.CreateSessionResponse.newBuilder()
+                .setOperation(operation(injector.nextStatus(), result))
+                .build());
+    }
+
+    @Override
+    public void deleteSession(YdbTable.DeleteSessionRequest request,
+            StreamObserver<YdbTable.DeleteSessionResponse> observer) {
+        respond(observer, YdbTable.DeleteSessionResponse.newBuilder()
+                .setOperation(operation(StatusIds.StatusCode.SUCCESS, null))
+                .build());
+    }
+
+    @Override
+    public void keepAlive(YdbTable.KeepAliveRequest request, StreamObserver<YdbTable.KeepAliveResponse> observer) {
+        YdbTable.KeepAliveResult result = YdbTable.KeepAliveResult.newBuilder()
+                .setSessionStatus(YdbTable.KeepAliveResult.SessionStatus.SESSION_STATUS_READY)
+                .build();
+        respond(observer, YdbTable.KeepAliveResponse.newBuilder()
+                .setOperation(operation(StatusIds.StatusCode.SUCCESS, result))
+                .build());
+    }
+
+    @Override
+    public void beginTransaction(YdbTable.BeginTransactionRequest request,
+            StreamObserver<YdbTable.BeginTransactionResponse> observer) {
+        YdbTable.BeginTransactionResult result = YdbTable.BeginTransactionResult.newBuilder()
+                .setTxMeta(newTx())
+                .build();
+        respond(observer, YdbTable.BeginTransactionResponse.newBuilder()
+                .setOperation(operation(injector.nextStatus(), result))
+                .build());
+    }
+
+    @Override
+    public void commitTransaction(YdbTable.CommitTransactionRequest request,
+            StreamObserver<YdbTable.CommitTransactionResponse> observer) {
+        respond(observer, YdbTable.CommitTransactionResponse.newBuilder()
+                .setOperation(operation(injector.nextStatus(), YdbTable.CommitTransactionResult.getDefaultInstance()))
+                .build());
+    }
+
+    @Override
+    public void rollbackTransaction(YdbTable.RollbackTransactionRequest request,
+            StreamObserver<YdbTable.RollbackTransactionResponse> observer) {
+        respond(observer, YdbTable.RollbackTransactionResponse.newBuilder()
+                .setOperation(operation(StatusIds.StatusCode.SUCCESS, null))
+                .build());
+    }
+
+    @Override
+    public void executeDataQuery(YdbTable.ExecuteDataQueryRequest request,
+            StreamObserver<YdbTable.ExecuteDataQueryResponse> observer) {
+        YdbTable.ExecuteQueryResult.Builder result = YdbTable.ExecuteQueryResult.newBuilder()
+                .addResultSets(data.all());
+        if (request.getTxControl().hasBeginTx() && !request.getTxControl().getCommitTx()) {
+            result.setTxMeta(newTx());
+        }
+        respond(observer, YdbTable.ExecuteDataQueryResponse.newBuilder()
+                .setOperation(operation(injector.nextStatus(), result.build()))
+                .build());
+    }
+}
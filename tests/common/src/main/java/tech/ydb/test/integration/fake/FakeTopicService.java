@@ -0,0 +1,278 @@
+package tech.ydb.test.integration.fake;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.protobuf.ByteString;
+import io.grpc.stub.StreamObserver;
+
+import tech.ydb.core.utils.ProtobufUtils;
+import tech.ydb.proto.StatusCodesProtos.StatusIds;
+import tech.ydb.proto.topic.YdbTopic;
+import tech.ydb.proto.topic.YdbTopic.StreamReadMessage;
+import tech.ydb.proto.topic.YdbTopic.StreamWriteMessage;
+import tech.ydb.proto.topic.v1.TopicServiceGrpc;
+
+/**
+ * Fake implementation of the topic service. Every topic has the only partition, written messages are acknowledged
+ * and dropped, readers get an infinite sequence of synthetic messages limited only by the read budget
+ */
+class FakeTopicService extends TopicServiceGrpc.TopicServiceImplBase {
+    private static final long PARTITION_ID = 0;
+    private static final long PARTITION_SESSION_ID = 1;
+
+    private final FaultInjector injector;
+    private final int messagesPerBatch;
+    private final ByteString messageData;
+    private final AtomicLong sessionsCounter = new AtomicLong();
+
+    FakeTopicService(FaultInjector injector, int messagesPerBatch, int messageSize) {
+        this.injector = injector;
+        this.messagesPerBatch = messagesPerBatch;
+        this.messageData = ByteString.copyFrom(new byte[messageSize]);
+    }
+
+    private String nextSessionId() {
+        return "fake-topic-session-" + sessionsCounter.incrementAndGet();
+    }
+
+    @Override
+    public StreamObserver<StreamWriteMessage.FromClient> streamWrite(
+            StreamObserver<StreamWriteMessage.FromServer> observer) {
+        return new WriteStream(new ResponseStream<>(observer));
+    }
+
+    @Override
+    public StreamObserver<StreamReadMessage.FromClient> streamRead(
+            StreamObserver<StreamReadMessage.FromServer> observer) {
+        return new ReadStream(new ResponseStream<>(observer));
+    }
+
+    private class WriteStream implements StreamObserver<StreamWriteMessage.FromClient> {
+        private final ResponseStream<StreamWriteMessage.FromServer> stream;
+        private final AtomicLong nextOffset = new AtomicLong();
+
+        WriteStream(ResponseStream<StreamWriteMessage.FromServer> stream) {
+            this.stream = stream;
+        }
+
+        private void reply(StreamWriteMessage.FromServer.Builder response) {
+            StatusIds.StatusCode status = injector.nextStatus();
+            if (status != StatusIds.StatusCode.SUCCESS) {
+                // server closes the stream after an error
+                StreamWriteMessage.FromServer error = StreamWriteMessage.FromServer.newBuilder()
+                        .setStatus(status)
+                        .build();
+                injector.respond(stream, () -> stream.sendAndComplete(error));
+                return;
+            }
+
+            StreamWriteMessage.FromServer message = response.setStatus(StatusIds.StatusCode.SUCCESS).build();
+            injector.respond(stream, () -> stream.send(message));
+        }
+
+        @Override
+        public void onNext(StreamWriteMessage.FromClient message) {
+            if (message.hasInitRequest()) {
+                reply(StreamWriteMessage.FromServer.newBuilder()
+                        .setInitResponse(StreamWriteMessage.InitResponse.newBuilder()
+                                .setSessionId(nextSessionId())
+                                .setPartitionId(PARTITION_ID)
+                                .setLastSeqNo(0)
+                        )
+                );
+                return;
+            }
+
+            if (message.hasWriteRequest()) {
+                StreamWriteMessage.WriteResponse.Builder response = StreamWriteMessage.WriteResponse.newBuilder()
+                        .setPartitionId(PARTITION_ID);
+                for (StreamWriteMessage.WriteRequest.MessageData msg: message.getWriteRequest().getMessagesList()) {
+                    response.addAcks(StreamWriteMessage.WriteResponse.WriteAck.newBuilder()
+                            .setSeqNo(msg.getSeqNo())
+                            .setWritten(StreamWriteMessage.WriteResponse.WriteAck.Written.newBuilder()
+                                    .setOffset(nextOffset.getAndIncrement())
+                            )
+                    );
+                }
+                reply(StreamWriteMessage.FromServer.newBuilder().setWriteResponse(response));
+            }
+        }
+
+        @Override
+        public void onError(Throwable th) {
+            // client has cancelled the stream
+        }
+
+        @Override
+        public void onCompleted() {
+            stream.complete();
+        }
+    }
+
+    private class ReadStream implements StreamObserver<StreamReadMessage.FromClient> {
+        private final ResponseStream<StreamReadMessage.FromServer> stream;
+
+        // guarded by this
+        private long bytesBudget = 0;
+        private boolean isPartitionStarted = false;
+        private boolean isSending = false;
+        private long nextOffset = 0;
+
+        ReadStream(ResponseStream<StreamReadMessage.FromServer> stream) {
+            this.stream = stream;
+        }
+
+        private void send(StreamReadMessage.FromServer.Builder message) {
+            StreamReadMessage.FromServer response = message.setStatus(StatusIds.StatusCode.SUCCESS).build();
+            injector.respond(stream, () -> stream.send(response));
+        }
+
+        @Override
+        public void onNext(StreamReadMessage.FromClient message) {
+            if (message.hasInitRequest()) {
+                StatusIds.StatusCode status = injector.nextStatus();
+                if (status != StatusIds.StatusCode.SUCCESS) {
+                    StreamReadMessage.FromServer error = StreamReadMessage.FromServer.newBuilder()
+                            .setStatus(status)
+                            .build();
+                    injector.respond(stream, () -> stream.sendAndComplete(error));
+                    return;
+                }
+
+                String path = message.getInitRequest().getTopicsReadSettingsCount() > 0
+                        ? message.getInitRequest().getTopicsReadSettings(0).getPath()
+                        : "";
+                StreamReadMessage.FromServer init = StreamReadMessage.FromServer.newBuilder()
+                        .setStatus(StatusIds.StatusCode.SUCCESS)
+                        .setInitResponse(StreamReadMessage.InitResponse.newBuilder().setSessionId(nextSessionId()))
+                        .build();
+                StreamReadMessage.FromServer start = StreamReadMessage.FromServer.newBuilder()
+                        .setStatus(StatusIds.StatusCode.SUCCESS)
+                        .setStartPartitionSessionRequest(StreamReadMessage.StartPartitionSessionRequest.newBuilder()
+                                .setPartitionSession(StreamReadMessage.PartitionSession.newBuilder()
+                                        .setPartitionSessionId(PARTITION_SESSION_ID)
+                                        .setPartitionId(PARTITION_ID)
+                                        .setPath(path)
+                                )
+                                .setCommittedOffset(0)
+                                .setPartitionOffsets(YdbTopic.OffsetsRange.newBuilder()
+                                        .setStart(0)
+                                        .setEnd(Long.MAX_VALUE)
+                                )
+                        )
+                        .build();
+                // both messages are sent together to keep their order
+                injector.respond(stream, () -> {
+                    stream.send(init);
+                    stream.send(start);
+                });
+                return;
+            }
+
+            if (message.hasStartPartitionSessionResponse()) {
+                synchronized (this) {
+                    isPartitionStarted = true;
+                }
+                sendBatches();
+                return;
+            }
+
+            if (message.hasReadRequest()) {
+                synchronized (this) {
+                    bytesBudget += message.getReadRequest().getBytesSize();
+                }
+                sendBatches();
+                return;
+            }
+
+            if (message.hasCommitOffsetRequest()) {
+                StreamReadMessage.CommitOffsetResponse.Builder response = StreamReadMessage.CommitOffsetResponse
+                        .newBuilder();
+                for (StreamReadMessage.CommitOffsetRequest.PartitionCommitOffset commit
+                        : message.getCommitOffsetRequest().getCommitOffsetsList()) {
+                    long committed = 0;
+                    for (YdbTopic.OffsetsRange range: commit.getOffsetsList()) {
+                        committed = Math.max(committed, range.getEnd());
+                    }
+                    response.addPartitionsCommittedOffsets(StreamReadMessage.CommitOffsetResponse
+                            .PartitionCommittedOffset.newBuilder()
+                            .setPartitionSessionId(commit.getPartitionSessionId())
+                            .setCommittedOffset(committed)
+                    );
+                }
+                send(StreamReadMessage.FromServer.newBuilder().setCommitOffsetResponse(response));
+            }
+        }
+
+        private synchronized boolean tryStartSending() {
+            if (isSending || !isPartitionStarted || bytesBudget <= 0 || stream.isClosed()) {
+                return false;
+            }
+            isSending = true;
+            return true;
+        }
+
+        private void sendBatches() {
+            if (!tryStartSending()) {
+                return;
+            }
+
+            if (injector.isImmediate()) {
+                do {
+                    sendNextBatch();
+                } while (tryStartSending());
+                return;
+            }
+
+            // continue while the client has the read budget
+            injector.respond(stream, () -> {
+                sendNextBatch();
+                sendBatches();
+            });
+        }
+
+        private synchronized void sendNextBatch() {
+            Instant now = Instant.now();
+            StreamReadMessage.ReadResponse.Batch.Builder batch = StreamReadMessage.ReadResponse.Batch.newBuilder()
+                    .setProducerId("fake-producer")
+                    .setCodec(YdbTopic.Codec.CODEC_RAW_VALUE)
+                    .setWrittenAt(ProtobufUtils.instantToProto(now));
+            for (int idx = 0; idx < messagesPerBatch; idx++) {
+                batch.addMessageData(StreamReadMessage.ReadResponse.MessageData.newBuilder()
+                        .setOffset(nextOffset)
+                        .setSeqNo(nextOffset + 1)
+                        .setCreatedAt(ProtobufUtils.instantToProto(now))
+                        .setData(messageData)
+                        .setUncompressedSize(messageData.size())
+                );
+                nextOffset++;
+            }
+
+            long bytesSize = (long) messagesPerBatch * messageData.size();
+            stream.send(StreamReadMessage.FromServer.newBuilder()
+                    .setStatus(StatusIds.StatusCode.SUCCESS)
+                    .setReadResponse(StreamReadMessage.ReadResponse.newBuilder()
+                            .setBytesSize(bytesSize)
+                            .addPartitionData(StreamReadMessage.ReadResponse.PartitionData.newBuilder()
+                                    .setPartitionSessionId(PARTITION_SESSION_ID)
+                                    .addBatches(batch)
+                            )
+                    )
+                    .build());
+
+            bytesBudget -= bytesSize;
+            isSending = false;
+        }
+
+        @Override
+        public void onError(Throwable th) {
+            // client has cancelled the stream
+        }
+
+        @Override
+        public void onCompleted() {
+            stream.complete();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package tech.ydb.test.integration.fake;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Preconditions;
+import io.grpc.Grpc;
+import io.grpc.HandlerRegistry;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerMethodDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.impl.pool.EndpointRecord;
+import tech.ydb.proto.StatusCodesProtos.StatusIds;
+import tech.ydb.proto.discovery.v1.DiscoveryServiceGrpc;
+import tech.ydb.test.integration.docker.DiscoveryServiceProxy;
+
+/**
+ * In-process gRPC server which implements the minimal subset of YDB API: discovery, query and table sessions with
+ * synthetic result sets, topic writing with acknowledgements and topic reading of synthetic messages. The server
+ * doesn't store any data and is intended for load testing of the SDK itself, latency, errors and throughput of the
+ * server can be configured.
+ */
+public class FakeYdbServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(FakeYdbServer.class);
+
+    private static final String DATABASE = "/local";
+
+    private final ScheduledExecutorService[] schedulers;
+    private final FaultInjector injector;
+    private final Server server;
+    private final EndpointRecord endpoint;
+
+    private FakeYdbServer(Builder builder) throws IOException {
+        this.schedulers = new ScheduledExecutorService[builder.schedulerThreads];
+        for (int idx = 0; idx < schedulers.length; idx++) {
+            String name = "fake-ydb-server-scheduler-" + idx;
+            schedulers[idx] = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        this.injector = new FaultInjector(schedulers, builder.latency, builder.latencyJitter, builder.errorRate,
+                builder.errorCode, builder.maxResponsesPerSecond);
+
+        SyntheticData data = new SyntheticData(builder.resultSetRows, builder.resultSetPartRows, builder.payloadSize);
+        this.server = Grpc.newServerBuilderForPort(builder.port, InsecureServerCredentials.create())
+                .permitKeepAliveTime(10, TimeUnit.SECONDS)
+                .permitKeepAliveWithoutCalls(true)
+                .addService(new FakeQueryService(injector, data, builder.nodeId))
+                .addService(new FakeTableService(injector, data, builder.nodeId))
+                .addService(new FakeTopicService(injector, builder.topicBatchMessages, builder.topicMessageSize))
+                .fallbackHandlerRegistry(new DiscoveryRegistry())
+                .build();
+
+        try {
+            server.start();
+        } catch (IOException ex) {
+            shutdownSchedulers();
+            throw ex;
+        }
+        logger.info("fake ydb server started on port {}", server.getPort());
+
+        endpoint = new EndpointRecord(InetAddress.getLoopbackAddress().getHostName(), server.getPort());
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public EndpointRecord endpoint() {
+        return endpoint;
+    }
+
+    public String database() {
+        return DATABASE;
+    }
+
+    public String connectionString() {
+        return "grpc://" + endpoint.getHostAndPort() + DATABASE;
+    }
+
+    /**
+     * @return count of requests which were handled with fault injection
+     */
+    public long getRequestsCount() {
+        return injector.getRequestsCount();
+    }
+
+    /**
+     * @return count of requests which were failed by error injection
+     */
+    public long getErrorsCount() {
+        return injector.getErrorsCount();
+    }
+
+    @Override
+    public void close() {
+        server.shutdownNow();
+        try {
+            server.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            logger.error("cannot await fake server closing", ex);
+            Thread.currentThread().interrupt();
+        }
+        shutdownSchedulers();
+    }
+
+    private void shutdownSchedulers() {
+        for (ScheduledExecutorService scheduler: schedulers) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private class DiscoveryRegistry extends HandlerRegistry {
+        @Override
+        public ServerMethodDefinition<?, ?> lookupMethod(String methodName, String authority) {
+            if (DiscoveryServiceGrpc.getListEndpointsMethod().getFullMethodName().equals(methodName)) {
+                return new DiscoveryServiceProxy(endpoint).toMethodDefinition();
+            }
+            return null;
+        }
+    }
+
+    public static class Builder {
+        private int port = 0;
+        private int nodeId = 1;
+        private Duration latency = Duration.ZERO;
+        private Duration latencyJitter = Duration.ZERO;
+        private double errorRate = 0;
+        private StatusCode errorCode = StatusCode.OVERLOADED;
+        private int maxResponsesPerSecond = 0;
+        private int resultSetRows = 100;
+        private int resultSetPartRows = 1000;
+        private int payloadSize = 16;
+        private int topicBatchMessages = 10;
+        private int topicMessageSize = 1024;
+        private int schedulerThreads = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+        private Builder() { }
+
+        /**
+         * Set port of the server. Default value is {@code 0} that means any free port
+         *
+         * @param port port of the server
+         * @return builder
+         */
+        public Builder withPort(int port) {
+            Preconditions.checkArgument(port >= 0, "port must be non-negative");
+            this.port = port;
+            return this;
+        }
+
+        public Builder withNodeId(int nodeId) {
+            this.nodeId = nodeId;
+            return this;
+        }
+
+        /**
+         * Set latency of every response. Real latency is a random value in range [latency, latency + jitter)
+         *
+         * @param latency minimal latency of the response
+         * @param jitter maximal random addition to the latency
+         * @return builder
+         */
+        public Builder withLatency(Duration latency, Duration jitter) {
+            Preconditions.checkArgument(latency != null && !latency.isNegative(), "latency must be non-negative");
+            Preconditions.checkArgument(jitter != null && !jitter.isNegative(), "jitter must be non-negative");
+            this.latency = latency;
+            this.latencyJitter = jitter;
+            return this;
+        }
+
+        /**
+         * Set probability of failing of requests. Failed requests get the response with the given status code
+         *
+         * @param rate probability of error, value in range [0, 1]
+         * @param code status code of injected errors
+         * @return builder
+         */
+        public Builder withErrorRate(double rate, StatusCode code) {
+            Preconditions.checkArgument(rate >= 0 && rate <= 1, "error rate must be in range [0, 1]");
+            Preconditions.checkArgument(code != null && code != StatusCode.SUCCESS
+                    && StatusIds.StatusCode.forNumber(code.getCode()) != null,
+                    "error code must be a server status code, but got %s", code);
+            this.errorRate = rate;
+            this.errorCode = code;
+            return this;
+        }
+
+        /**
+         * Set maximal count of responses per second, excess responses are delayed. Default value is {@code 0} that
+         * means unlimited throughput
+         *
+         * @param count maximal count of responses per second
+         * @return builder
+         */
+        public Builder withMaxResponsesPerSecond(int count) {
+            Preconditions.checkArgument(count >= 0, "max responses per second must be non-negative");
+            this.maxResponsesPerSecond = count;
+            return this;
+        }
+
+        /**
+         * Set size of the synthetic result set, which is returned by every query
+         *
+         * @param rowsCount count of rows in the result set
+         * @param rowsPerPart count of rows in one part of the query stream
+         * @param payloadSize size of text column in every row
+         * @return builder
+         */
+        public Builder withResultSet(int rowsCount, int rowsPerPart, int payloadSize) {
+            Preconditions.checkArgument(rowsCount >= 0, "rows count must be non-negative");
+            Preconditions.checkArgument(rowsPerPart > 0, "rows per part must be positive");
+            Preconditions.checkArgument(payloadSize >= 0, "payload size must be non-negative");
+            this.resultSetRows = rowsCount;
+            this.resultSetPartRows = rowsPerPart;
+            this.payloadSize = payloadSize;
+            return this;
+        }
+
+        /**
+         * Set size of synthetic topic messages, which are sent to readers
+         *
+         * @param messagesPerBatch count of messages in one read response
+         * @param messageSize size of one message in bytes
+         * @return builder
+         */
+        public Builder withTopicMessages(int messagesPerBatch, int messageSize) {
+            Preconditions.checkArgument(messagesPerBatch > 0, "messages per batch must be positive");
+            Preconditions.checkArgument(messageSize > 0, "message size must be positive");
+            this.topicBatchMessages = messagesPerBatch;
+            this.topicMessageSize = messageSize;
+            return this;
+        }
+
+        /**
+         * Set count of threads which send the delayed responses. Every stream is served by one of these threads, so
+         * its responses keep their order. Default value is the count of processors, but not more than {@code 4}
+         *
+         * @param count count of scheduler threads
+         * @return builder
+         */
+        public Builder withSchedulerThreads(int count) {
+            Preconditions.checkArgument(count > 0, "scheduler threads count must be positive");
+            this.schedulerThreads = count;
+            return this;
+        }
+
+        public FakeYdbServer build() throws IOException {
+            return new FakeYdbServer(this);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package tech.ydb.test.integration.fake;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import tech.ydb.core.StatusCode;
+import tech.ydb.proto.StatusCodesProtos.StatusIds;
+
+/**
+ * Shared source of injected latency, errors and throughput limits for all fake services
+ */
+class FaultInjector {
+    private final ScheduledExecutorService[] schedulers;
+    private final long latencyNanos;
+    private final long jitterNanos;
+    private final double errorRate;
+    private final StatusIds.StatusCode errorCode;
+    private final long intervalNanos;
+
+    private final LongAdder requestsCount = new LongAdder();
+    private final LongAdder errorsCount = new LongAdder();
+
+    // guarded by this
+    private long nextSlotNanos;
+
+    FaultInjector(ScheduledExecutorService[] schedulers, Duration latency, Duration jitter, double errorRate,
+            StatusCode errorCode, int maxResponsesPerSecond) {
+        this.schedulers = schedulers;
+        this.latencyNanos = latency.toNanos();
+        this.jitterNanos = jitter.toNanos();
+        this.errorRate = errorRate;
+        this.errorCode = StatusIds.StatusCode.forNumber(errorCode.getCode());
+        this.intervalNanos = maxResponsesPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxResponsesPerSecond : 0;
+        this.nextSlotNanos = System.nanoTime();
+    }
+
+    long getRequestsCount() {
+        return requestsCount.sum();
+    }
+
+    long getErrorsCount() {
+        return errorsCount.sum();
+    }
+
+    boolean isImmediate() {
+        return latencyNanos == 0 && jitterNanos == 0 && intervalNanos == 0;
+    }
+
+    /**
+     * Registers a new request and decides its status
+     *
+     * @return injected error code or {@code SUCCESS}
+     */
+    StatusIds.StatusCode nextStatus() {
+        requestsCount.increment();
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            errorsCount.increment();
+            return errorCode;
+        }
+        return StatusIds.StatusCode.SUCCESS;
+    }
+
+    /**
+     * Runs the response action after the injected latency and not earlier than the throughput limit allows. Responses
+     * of the same stream are never reordered by the latency jitter
+     *
+     * @param stream stream of the response
+     * @param response action which sends the response
+     */
+    void respond(ResponseStream<?> stream, Runnable response) {
+        if (isImmediate()) {
+            response.run();
+            return;
+        }
+
+        long now = System.nanoTime();
+        long delay = latencyNanos;
+        if (jitterNanos > 0) {
+            delay += ThreadLocalRandom.current().nextLong(jitterNanos);
+        }
+        if (intervalNanos > 0) {
+            delay = Math.max(delay, nextSlotDelay(now));
+        }
+        // every stream is bound to one single threaded scheduler, which runs the tasks with the same deadline in the
+        // order of submission
+        int idx = Math.floorMod(System.identityHashCode(stream), schedulers.length);
+        schedulers[idx].schedule(response, stream.reserveDelivery(now, delay), TimeUnit.NANOSECONDS);
+    }
+
+    private synchronized long nextSlotDelay(long now) {
+        long slot = nextSlotNanos - now > 0 ? nextSlotNanos : now;
+        nextSlotNanos = slot + intervalNanos;
+        return slot - now;
+    }
+}
@@ -0,0 +1,60 @@
+package tech.ydb.test.integration.fake;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+/**
+ * Thread safe wrapper of the server stream observer. Responses are sent from the scheduler threads, so all calls are
+ * serialized and the responses for already closed or cancelled streams are skipped
+ * @param <T> type of the response message
+ */
+class ResponseStream<T> {
+    private final StreamObserver<T> observer;
+    private boolean isClosed = false;
+    private long lastDeliveryNanos = Long.MIN_VALUE;
+
+    ResponseStream(StreamObserver<T> observer) {
+        this.observer = observer;
+    }
+
+    /**
+     * Moves the delivery time of the next response so that it is not earlier than the previous one
+     *
+     * @param now current time in nanoseconds
+     * @param delay requested delay in nanoseconds
+     * @return delay of the response delivery
+     */
+    synchronized long reserveDelivery(long now, long delay) {
+        long deliveryAt = now + delay;
+        if (lastDeliveryNanos != Long.MIN_VALUE && deliveryAt - lastDeliveryNanos < 0) {
+            deliveryAt = lastDeliveryNanos;
+        }
+        lastDeliveryNanos = deliveryAt;
+        return deliveryAt - now;
+    }
+
+    synchronized boolean isClosed() {
+        if (!isClosed && observer instanceof ServerCallStreamObserver) {
+            isClosed = ((ServerCallStreamObserver<T>) observer).isCancelled();
+        }
+        return isClosed;
+    }
+
+    synchronized void send(T message) {
+        if (!isClosed()) {
+            observer.onNext(message);
+        }
+    }
+
+    synchronized void complete() {
+        if (!isClosed()) {
+            isClosed = true;
+            observer.onCompleted();
+        }
+    }
+
+    synchronized void sendAndComplete(T message) {
+        send(message);
+        complete();
+    }
+}
@@ -0,0 +1,58 @@
+package tech.ydb.test.integration.fake;
+
+import java.util.Arrays;
+
+import tech.ydb.proto.ValueProtos;
+
+/**
+ * Generator of synthetic result sets with columns {@code id Int64} and {@code payload Text}
+ */
+class SyntheticData {
+    private static final ValueProtos.Column ID_COLUMN = ValueProtos.Column.newBuilder()
+            .setName("id")
+            .setType(ValueProtos.Type.newBuilder().setTypeId(ValueProtos.Type.PrimitiveTypeId.INT64))
+            .build();
+    private static final ValueProtos.Column PAYLOAD_COLUMN = ValueProtos.Column.newBuilder()
+            .setName("payload")
+            .setType(ValueProtos.Type.newBuilder().setTypeId(ValueProtos.Type.PrimitiveTypeId.UTF8))
+            .build();
+
+    private final int rowsCount;
+    private final int rowsPerPart;
+    private final String payload;
+
+    SyntheticData(int rowsCount, int rowsPerPart, int payloadSize) {
+        this.rowsCount = rowsCount;
+        this.rowsPerPart = rowsPerPart;
+        char[] chars = new char[payloadSize];
+        Arrays.fill(chars, 'x');
+        this.payload = new String(chars);
+    }
+
+    int getPartsCount() {
+        return Math.max(1, (rowsCount + rowsPerPart - 1) / rowsPerPart);
+    }
+
+    ValueProtos.ResultSet part(int partIndex) {
+        long from = (long) partIndex * rowsPerPart;
+        long to = Math.min(rowsCount, from + rowsPerPart);
+        return resultSet(from, to);
+    }
+
+    ValueProtos.ResultSet all() {
+        return resultSet(0, rowsCount);
+    }
+
+    private ValueProtos.ResultSet resultSet(long from, long to) {
+        ValueProtos.ResultSet.Builder rs = ValueProtos.ResultSet.newBuilder()
+                .addColumns(ID_COLUMN)
+                .addColumns(PAYLOAD_COLUMN);
+        for (long id = from; id < to; id++) {
+            rs.addRows(ValueProtos.Value.newBuilder()
+                    .addItems(ValueProtos.Value.newBuilder().setInt64Value(id))
+                    .addItems(ValueProtos.Value.newBuilder().setTextValue(payload))
+            );
+        }
+        return rs.build();
+    }
+}
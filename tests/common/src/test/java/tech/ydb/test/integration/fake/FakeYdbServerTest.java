@@ -0,0 +1,102 @@
+package tech.ydb.test.integration.fake;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.grpc.GrpcRequestSettings;
+import tech.ydb.core.grpc.GrpcTransport;
+import tech.ydb.proto.StatusCodesProtos.StatusIds;
+import tech.ydb.proto.query.YdbQuery;
+import tech.ydb.proto.query.v1.QueryServiceGrpc;
+import tech.ydb.proto.table.YdbTable;
+import tech.ydb.proto.table.v1.TableServiceGrpc;
+
+public class FakeYdbServerTest {
+    private static final GrpcRequestSettings SETTINGS = GrpcRequestSettings.newBuilder().build();
+
+    private static YdbQuery.CreateSessionResponse createQuerySession(GrpcTransport transport) {
+        return transport.unaryCall(QueryServiceGrpc.getCreateSessionMethod(), SETTINGS,
+                YdbQuery.CreateSessionRequest.getDefaultInstance()).join().getValue();
+    }
+
+    @Test
+    public void querySessionTest() throws IOException {
+        try (FakeYdbServer server = FakeYdbServer.newBuilder().withNodeId(5).build()) {
+            try (GrpcTransport transport = GrpcTransport.forConnectionString(server.connectionString()).build()) {
+                YdbQuery.CreateSessionResponse session = createQuerySession(transport);
+                Assert.assertEquals(StatusIds.StatusCode.SUCCESS, session.getStatus());
+                Assert.assertEquals(5, session.getNodeId());
+                Assert.assertFalse(session.getSessionId().isEmpty());
+
+                YdbQuery.CreateSessionResponse next = createQuerySession(transport);
+                Assert.assertNotEquals(session.getSessionId(), next.getSessionId());
+            }
+            Assert.assertEquals(2, server.getRequestsCount());
+            Assert.assertEquals(0, server.getErrorsCount());
+        }
+    }
+
+    @Test
+    public void executeQueryTest() throws IOException {
+        FakeYdbServer.Builder builder = FakeYdbServer.newBuilder()
+                .withResultSet(25, 10, 4)
+                .withSchedulerThreads(2)
+                .withLatency(Duration.ofMillis(1), Duration.ofMillis(2));
+        try (FakeYdbServer server = builder.build()) {
+            try (GrpcTransport transport = GrpcTransport.forConnectionString(server.connectionString()).build()) {
+                AtomicInteger parts = new AtomicInteger();
+                AtomicInteger rows = new AtomicInteger();
+                YdbQuery.ExecuteQueryRequest request = YdbQuery.ExecuteQueryRequest.newBuilder()
+                        .setSessionId("session")
+                        .build();
+                Status status = transport.readStreamCall(QueryServiceGrpc.getExecuteQueryMethod(), SETTINGS, request)
+                        .start(part -> {
+                            Assert.assertEquals(StatusIds.StatusCode.SUCCESS, part.getStatus());
+                            // parts are never reordered by latency jitter
+                            Assert.assertEquals(parts.getAndIncrement() * 10L,
+                                    part.getResultSet().getRows(0).getItems(0).getInt64Value());
+                            rows.addAndGet(part.getResultSet().getRowsCount());
+                        }).join();
+
+                Assert.assertTrue(status.isSuccess());
+                Assert.assertEquals(3, parts.get());
+                Assert.assertEquals(25, rows.get());
+            }
+        }
+    }
+
+    @Test
+    public void errorInjectionTest() throws IOException {
+        FakeYdbServer.Builder builder = FakeYdbServer.newBuilder().withErrorRate(1, StatusCode.UNAVAILABLE);
+        try (FakeYdbServer server = builder.build()) {
+            try (GrpcTransport transport = GrpcTransport.forConnectionString(server.connectionString()).build()) {
+                Assert.assertEquals(StatusIds.StatusCode.UNAVAILABLE, createQuerySession(transport).getStatus());
+
+                YdbTable.CreateSessionResponse tableSession = transport.unaryCall(
+                        TableServiceGrpc.getCreateSessionMethod(), SETTINGS,
+                        YdbTable.CreateSessionRequest.getDefaultInstance()
+                ).join().getValue();
+                Assert.assertEquals(StatusIds.StatusCode.UNAVAILABLE, tableSession.getOperation().getStatus());
+            }
+            Assert.assertEquals(2, server.getErrorsCount());
+        }
+    }
+
+    @Test
+    public void builderValidationTest() {
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> FakeYdbServer.newBuilder().withErrorRate(2, StatusCode.OVERLOADED));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> FakeYdbServer.newBuilder().withErrorRate(0.5, StatusCode.CLIENT_CANCELLED));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> FakeYdbServer.newBuilder().withTopicMessages(10, 0));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> FakeYdbServer.newBuilder().withSchedulerThreads(0));
+    }
+}
@@ -21,10 +21,12 @@ import tech.ydb.topic.settings.CreateTopicSettings;
 import tech.ydb.topic.settings.DescribeConsumerSettings;
 import tech.ydb.topic.settings.DescribeTopicSettings;
 import tech.ydb.topic.settings.DropTopicSettings;
+import tech.ydb.topic.settings.PartitionedWriterSettings;
 import tech.ydb.topic.settings.ReadEventHandlersSettings;
 import tech.ydb.topic.settings.ReaderSettings;
 import tech.ydb.topic.settings.WriterSettings;
 import tech.ydb.topic.write.AsyncWriter;
+import tech.ydb.topic.write.PartitionedWriter;
 import tech.ydb.topic.write.SyncWriter;
 
 
@@ -162,6 +164,14 @@ public interface TopicClient extends AutoCloseable {
      */
     AsyncWriter createAsyncWriter(WriterSettings settings);
 
+    /**
+     * Create async topic writer which distributes messages between all active partitions of the topic.
+     *
+     * @param settings  {@link PartitionedWriterSettings}
+     * @return topic {@link PartitionedWriter}
+     */
+    PartitionedWriter createPartitionedWriter(PartitionedWriterSettings settings);
+
     @Override
     void close();
 
@@ -198,5 +208,14 @@ public interface TopicClient extends AutoCloseable {
          */
         Builder setCompressionPoolThreadCount(Integer compressionPoolThreadCount);
 
+        /**
+         * Set limit of stream reconnects per second shared by all readers and writers of the client.
+         * Reconnects exceeding the limit are postponed, it smooths reconnect storms after a cluster restart.
+         * Default value is {@code 0} that turns off this limit.
+         * @param maxReconnectsPerSecond maximum count of reconnects per second
+         * @return settings builder
+         */
+        Builder setMaxReconnectsPerSecond(int maxReconnectsPerSecond);
+
     }
 }
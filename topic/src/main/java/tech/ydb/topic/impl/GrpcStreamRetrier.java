@@ -4,25 +4,20 @@ import java.util.Random;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 
 import org.slf4j.Logger;
 
+import tech.ydb.common.retry.RetryConfig;
+import tech.ydb.common.retry.RetryPolicy;
 import tech.ydb.core.Status;
 
 /**
  * @author Nikolay Perfilov
  */
 public abstract class GrpcStreamRetrier {
-    // TODO: add retry policy
-    private static final int MAX_RECONNECT_COUNT = 0; // Inf
-    private static final int EXP_BACKOFF_BASE_MS = 256;
-    private static final int EXP_BACKOFF_CEILING_MS = 40000; // 40 sec (max delays would be 40-80 sec)
-    private static final int EXP_BACKOFF_MAX_POWER = 7;
     private static final int ID_LENGTH = 6;
     private static final char[] ID_ALPHABET = "abcdefghijklmnopqrstuvwxyzABSDEFGHIJKLMNOPQRSTUVWXYZ1234567890"
             .toCharArray();
@@ -30,19 +25,25 @@ public abstract class GrpcStreamRetrier {
     protected final String id;
     protected final AtomicBoolean isReconnecting = new AtomicBoolean(false);
     protected final AtomicBoolean isStopped = new AtomicBoolean(false);
-    protected final AtomicInteger reconnectCounter = new AtomicInteger(0);
 
     private final ScheduledExecutorService scheduler;
     private final BiConsumer<Status, Throwable> errorsHandler;
+    private final RetryConfig retryConfig;
+    private final ReconnectLimiter limiter;
+    private final RetryState state = new RetryState();
 
     protected GrpcStreamRetrier(
             String id,
             ScheduledExecutorService scheduler,
-            BiConsumer<Status, Throwable> errorsHandler
+            BiConsumer<Status, Throwable> errorsHandler,
+            RetryConfig retryConfig,
+            ReconnectLimiter limiter
     ) {
         this.scheduler = scheduler;
         this.id = id == null ? generateRandomId(ID_LENGTH) : id;
         this.errorsHandler = errorsHandler;
+        this.retryConfig = retryConfig;
+        this.limiter = limiter;
     }
 
     protected abstract Logger getLogger();
@@ -58,40 +59,44 @@ public abstract class GrpcStreamRetrier {
                 .toString();
     }
 
-    private void tryScheduleReconnect() {
-        int currentReconnectCounter = reconnectCounter.get() + 1;
-        if (MAX_RECONNECT_COUNT > 0 && currentReconnectCounter > MAX_RECONNECT_COUNT) {
+    protected void resetRetries() {
+        state.reset();
+    }
+
+    private void tryScheduleReconnect(RetryPolicy policy) {
+        if (!isReconnecting.compareAndSet(false, true)) {
+            getLogger().info("[{}] should reconnect {} stream, but reconnect is already in progress", id,
+                    getStreamName());
+            return;
+        }
+
+        long delayMs = policy != null ? state.nextRetryMs(policy) : -1;
+        if (delayMs < 0) {
             if (isStopped.compareAndSet(false, true)) {
-                String errorMessage = "[" + id + "] Maximum retry count (" + MAX_RECONNECT_COUNT
-                        + ") exceeded. Shutting down " + getStreamName();
+                String errorMessage = "[" + id + "] Retry is not allowed after " + state.retryNumber()
+                        + " attempt(s). Shutting down " + getStreamName();
                 getLogger().error(errorMessage);
                 shutdownImpl(errorMessage);
-                return;
             } else {
-                getLogger().info("[{}] Maximum retry count ({}}) exceeded. Need to shutdown {} but it's already " +
-                                "shut down.", id, MAX_RECONNECT_COUNT, getStreamName());
+                getLogger().info("[{}] Retry is not allowed. Need to shutdown {} but it's already shut down.",
+                        id, getStreamName());
             }
+            return;
         }
-        if (isReconnecting.compareAndSet(false, true)) {
-            reconnectCounter.set(currentReconnectCounter);
-            int delayMs = currentReconnectCounter <= EXP_BACKOFF_MAX_POWER
-                    ? EXP_BACKOFF_BASE_MS * (1 << currentReconnectCounter)
-                    : EXP_BACKOFF_CEILING_MS;
-            // Add jitter
-            delayMs = delayMs + ThreadLocalRandom.current().nextInt(delayMs);
-            getLogger().warn("[{}] Retry #{}. Scheduling {} reconnect in {}ms...", id, currentReconnectCounter,
-                    getStreamName(), delayMs);
-            try {
-                scheduler.schedule(this::reconnect, delayMs, TimeUnit.MILLISECONDS);
-            } catch (RejectedExecutionException exception) {
-                String errorMessage = "[" + id + "] Couldn't schedule reconnect: scheduler is already shut down. " +
-                        "Shutting down " + getStreamName();
-                getLogger().error(errorMessage);
-                shutdownImpl(errorMessage);
-            }
-        } else {
-            getLogger().info("[{}] should reconnect {} stream, but reconnect is already in progress", id,
-                    getStreamName());
+
+        getLogger().warn("[{}] Retry #{}. Scheduling {} reconnect in {}ms...", id, state.retryNumber(),
+                getStreamName(), delayMs);
+        scheduleReconnect(delayMs);
+    }
+
+    private void scheduleReconnect(long delayMs) {
+        try {
+            scheduler.schedule(this::reconnect, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException exception) {
+            String errorMessage = "[" + id + "] Couldn't schedule reconnect: scheduler is already shut down. " +
+                    "Shutting down " + getStreamName();
+            getLogger().error(errorMessage);
+            shutdownImpl(errorMessage);
         }
     }
 
@@ -101,7 +106,15 @@ public abstract class GrpcStreamRetrier {
             return;
         }
 
-        getLogger().info("[{}] {} reconnect #{} started", id, getStreamName(), reconnectCounter.get());
+        long waitMs = limiter.tryAcquireOrDelay();
+        if (waitMs > 0) {
+            getLogger().debug("[{}] {} reconnect is postponed for {}ms by the reconnects limit", id, getStreamName(),
+                    waitMs);
+            scheduleReconnect(waitMs);
+            return;
+        }
+
+        getLogger().info("[{}] {} reconnect #{} started", id, getStreamName(), state.retryNumber());
         if (!isReconnecting.compareAndSet(true, false)) {
             getLogger().warn("Couldn't reset reconnect flag. Shouldn't happen");
         }
@@ -153,7 +166,9 @@ public abstract class GrpcStreamRetrier {
         }
 
         if (!isStopped.get()) {
-            tryScheduleReconnect();
+            tryScheduleReconnect(status != null
+                    ? retryConfig.getStatusRetryPolicy(status)
+                    : retryConfig.getThrowableRetryPolicy(th));
         } else  {
             getLogger().info("[{}] {} is already stopped, no need to schedule reconnect", id, getStreamName());
         }
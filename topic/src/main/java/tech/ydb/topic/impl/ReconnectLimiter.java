@@ -0,0 +1,71 @@
+package tech.ydb.topic.impl;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limiter of stream reconnects shared by all readers and writers of one topic client. It smooths reconnect
+ * storms after a cluster restart: streams that exceed the rate postpone their reconnect instead of hitting the
+ * server all at once. Allows a burst of up to one second worth of reconnects.
+ */
+public class ReconnectLimiter {
+    public static final ReconnectLimiter UNLIMITED = new ReconnectLimiter(0);
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoTime;
+    // theoretical time of the next permit (GCRA)
+    private final AtomicLong nextPermitAt;
+
+    public ReconnectLimiter(int maxReconnectsPerSecond) {
+        this(maxReconnectsPerSecond, System::nanoTime);
+    }
+
+    ReconnectLimiter(int maxReconnectsPerSecond, LongSupplier nanoTime) {
+        this.intervalNanos = maxReconnectsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxReconnectsPerSecond : 0;
+        this.burstNanos = TimeUnit.SECONDS.toNanos(1) - intervalNanos;
+        this.nanoTime = nanoTime;
+        this.nextPermitAt = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    /**
+     * Tries to take a permit for the reconnect.
+     *
+     * @return {@code 0} if the permit is taken and reconnect may be started right now, otherwise the delay in
+     * milliseconds after which the caller should try again
+     */
+    public long tryAcquire() {
+        if (intervalNanos <= 0) {
+            return 0;
+        }
+
+        long now = nanoTime.getAsLong();
+        while (true) {
+            long next = nextPermitAt.get();
+            long waitNanos = next - burstNanos - now;
+            if (waitNanos > 0) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            }
+            if (nextPermitAt.compareAndSet(next, Math.max(next, now) + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Tries to take a permit for the reconnect, see {@link #tryAcquire()}. The delay is extended by a random jitter
+     * up to its own length, so the streams waiting for the permit don't retry at the same moment.
+     *
+     * @return {@code 0} if the permit is taken and reconnect may be started right now, otherwise the delay in
+     * milliseconds after which the caller should try again
+     */
+    public long tryAcquireOrDelay() {
+        long waitMs = tryAcquire();
+        if (waitMs > 0) {
+            waitMs += ThreadLocalRandom.current().nextLong(waitMs);
+        }
+        return waitMs;
+    }
+}
@@ -0,0 +1,63 @@
+package tech.ydb.topic.impl;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import tech.ydb.common.retry.RetryPolicy;
+
+/**
+ * State of reconnect attempts of one topic stream. Delays of the retry policy are decorrelated with jitter, so
+ * streams that were broken at the same moment don't reconnect in synchronized waves.
+ */
+class RetryState {
+    private final AtomicInteger count = new AtomicInteger();
+    private volatile long startedAt = 0;
+    private volatile long firstDelayMs = 0;
+    private volatile long prevDelayMs = 0;
+
+    /**
+     * Returns delay of the next retry by the given policy.
+     *
+     * @param policy retry policy
+     * @return delay in milliseconds, {@code 0} for the immediate retry or negative number if retry is not allowed
+     */
+    public long nextRetryMs(RetryPolicy policy) {
+        int retryNumber = count.getAndIncrement();
+        if (retryNumber == 0) {
+            startedAt = System.currentTimeMillis();
+            firstDelayMs = 0;
+            prevDelayMs = 0;
+        }
+
+        long delayMs = policy.nextRetryMs(retryNumber, System.currentTimeMillis() - startedAt);
+        if (delayMs <= 0) {
+            return delayMs;
+        }
+
+        if (firstDelayMs <= 0) {
+            firstDelayMs = delayMs;
+        } else {
+            delayMs = decorrelatedJitter(firstDelayMs, prevDelayMs, delayMs);
+        }
+        prevDelayMs = delayMs;
+        return delayMs;
+    }
+
+    public int retryNumber() {
+        return count.get();
+    }
+
+    public void reset() {
+        count.set(0);
+    }
+
+    /**
+     * Decorrelated jitter: the next delay is a random value between the base delay and three times the previous
+     * delay, but never longer than the delay of the retry policy.
+     */
+    static long decorrelatedJitter(long baseMs, long prevMs, long policyMs) {
+        long upper = Math.max(baseMs + 1, prevMs * 3);
+        long delay = ThreadLocalRandom.current().nextLong(baseMs, upper);
+        return Math.min(delay, policyMs);
+    }
+}
@@ -14,6 +14,7 @@ public class TopicClientBuilderImpl implements TopicClient.Builder {
     protected final TopicRpc topicRpc;
     protected Integer compressionExecutorThreadCount;
     protected Executor compressionExecutor;
+    protected int maxReconnectsPerSecond = 0;
 
     public TopicClientBuilderImpl(TopicRpc topicRpc) {
         this.topicRpc = topicRpc;
@@ -31,6 +32,12 @@ public class TopicClientBuilderImpl implements TopicClient.Builder {
         return this;
     }
 
+    @Override
+    public TopicClientBuilderImpl setMaxReconnectsPerSecond(int maxReconnectsPerSecond) {
+        this.maxReconnectsPerSecond = maxReconnectsPerSecond;
+        return this;
+    }
+
     @Override
     public TopicClient build() {
         return new TopicClientImpl(this);
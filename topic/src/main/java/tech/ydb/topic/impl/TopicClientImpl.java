@@ -45,14 +45,17 @@ import tech.ydb.topic.settings.CreateTopicSettings;
 import tech.ydb.topic.settings.DescribeConsumerSettings;
 import tech.ydb.topic.settings.DescribeTopicSettings;
 import tech.ydb.topic.settings.DropTopicSettings;
+import tech.ydb.topic.settings.PartitionedWriterSettings;
 import tech.ydb.topic.settings.PartitioningSettings;
 import tech.ydb.topic.settings.ReadEventHandlersSettings;
 import tech.ydb.topic.settings.ReaderSettings;
 import tech.ydb.topic.settings.TopicClientOperationSettings;
 import tech.ydb.topic.settings.WriterSettings;
 import tech.ydb.topic.write.AsyncWriter;
+import tech.ydb.topic.write.PartitionedWriter;
 import tech.ydb.topic.write.SyncWriter;
 import tech.ydb.topic.write.impl.AsyncWriterImpl;
+import tech.ydb.topic.write.impl.PartitionedWriterImpl;
 import tech.ydb.topic.write.impl.SyncWriterImpl;
 
 /**
@@ -66,10 +69,14 @@ public class TopicClientImpl implements TopicClient {
     private final Executor compressionExecutor;
     private final ExecutorService defaultCompressionExecutorService;
     private final CodecRegistry codecRegistry;
+    private final ReconnectLimiter reconnectLimiter;
 
     TopicClientImpl(TopicClientBuilderImpl builder) {
         this.topicRpc = builder.topicRpc;
         this.codecRegistry = new CodecRegistry();
+        this.reconnectLimiter = builder.maxReconnectsPerSecond > 0
+                ? new ReconnectLimiter(builder.maxReconnectsPerSecond)
+                : ReconnectLimiter.UNLIMITED;
         if (builder.compressionExecutor != null) {
             this.defaultCompressionExecutorService = null;
             this.compressionExecutor = builder.compressionExecutor;
@@ -372,12 +379,12 @@ public class TopicClientImpl implements TopicClient {
 
     @Override
     public SyncReader createSyncReader(ReaderSettings settings) {
-        return new SyncReaderImpl(topicRpc, settings, codecRegistry);
+        return new SyncReaderImpl(topicRpc, settings, codecRegistry, reconnectLimiter);
     }
 
     @Override
     public AsyncReader createAsyncReader(ReaderSettings settings, ReadEventHandlersSettings handlersSettings) {
-        return new AsyncReaderImpl(topicRpc, settings, handlersSettings, codecRegistry);
+        return new AsyncReaderImpl(topicRpc, settings, handlersSettings, codecRegistry, reconnectLimiter);
     }
 
     @Override
@@ -399,12 +406,18 @@ public class TopicClientImpl implements TopicClient {
 
     @Override
     public SyncWriter createSyncWriter(WriterSettings settings) {
-        return new SyncWriterImpl(topicRpc, settings, compressionExecutor, codecRegistry);
+        return new SyncWriterImpl(topicRpc, settings, compressionExecutor, codecRegistry, reconnectLimiter);
     }
 
     @Override
     public AsyncWriter createAsyncWriter(WriterSettings settings) {
-        return new AsyncWriterImpl(topicRpc, settings, compressionExecutor, codecRegistry);
+        return new AsyncWriterImpl(topicRpc, settings, compressionExecutor, codecRegistry, reconnectLimiter);
+    }
+
+    @Override
+    public PartitionedWriter createPartitionedWriter(PartitionedWriterSettings settings) {
+        return new PartitionedWriterImpl(topicRpc, settings, compressionExecutor, codecRegistry,
+                reconnectLimiter);
     }
 
     @Override
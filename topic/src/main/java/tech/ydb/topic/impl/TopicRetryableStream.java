@@ -18,6 +18,7 @@ public abstract class TopicRetryableStream<R extends Message, W extends Message>
     private final Logger logger;
     private final RetryConfig retryConfig;
     private final ScheduledExecutorService scheduler;
+    private final ReconnectLimiter limiter;
 
     private final AtomicReference<TopicStream<R, W>> realStream = new AtomicReference<>();
     private final AtomicInteger streamCount = new AtomicInteger(0);
@@ -26,10 +27,16 @@ public abstract class TopicRetryableStream<R extends Message, W extends Message>
     private volatile boolean isClosed = false;
 
     public TopicRetryableStream(Logger logger, String debugId, RetryConfig config, ScheduledExecutorService scheduler) {
+        this(logger, debugId, config, scheduler, ReconnectLimiter.UNLIMITED);
+    }
+
+    public TopicRetryableStream(Logger logger, String debugId, RetryConfig config, ScheduledExecutorService scheduler,
+            ReconnectLimiter limiter) {
         this.debugId = debugId;
         this.logger = logger;
         this.retryConfig = config;
         this.scheduler = scheduler;
+        this.limiter = limiter;
     }
 
     protected abstract TopicStream<R, W> createNewStream(String debugId);
@@ -112,7 +119,7 @@ public abstract class TopicRetryableStream<R extends Message, W extends Message>
         if (nextRetryMs == 0) { // retry immediately
             logger.warn("[{}] retry #{}. Retry immediately...", debugId, state.retryNumber());
             onRetry(status);
-            start();
+            restart();
             return;
         }
 
@@ -120,32 +127,29 @@ public abstract class TopicRetryableStream<R extends Message, W extends Message>
         logger.warn("[{}] retry #{}. Scheduling reconnect in {}ms...", debugId, state.retryNumber(), nextRetryMs);
         onRetry(status);
 
-        try {
-            scheduler.schedule(this::start, nextRetryMs, TimeUnit.MILLISECONDS);
-        } catch (Exception ex) {
-            logger.error("[{}] cannot schedule reconnect, stopping", debugId, ex);
-            onClose(status);
-        }
+        scheduleRestart(status, nextRetryMs);
     }
 
-    private static class RetryState {
-        private final AtomicInteger count = new AtomicInteger();
-        private volatile long startedAt = 0;
-
-        public long nextRetryMs(RetryPolicy policy) {
-            int retryNumber = count.getAndIncrement();
-            if (retryNumber == 0) {
-                startedAt = System.currentTimeMillis();
-            }
-            return policy.nextRetryMs(retryNumber, System.currentTimeMillis() - startedAt);
+    private void restart() {
+        if (isClosed) {
+            return;
         }
 
-        public int retryNumber() {
-            return count.get();
+        long waitMs = limiter.tryAcquireOrDelay();
+        if (waitMs > 0) {
+            logger.debug("[{}] reconnect is postponed for {}ms by the reconnects limit", debugId, waitMs);
+            scheduleRestart(null, waitMs);
+            return;
         }
+        start();
+    }
 
-        public void reset() {
-            count.set(0);
+    private void scheduleRestart(Status status, long delayMs) {
+        try {
+            scheduler.schedule(this::restart, delayMs, TimeUnit.MILLISECONDS);
+        } catch (Exception ex) {
+            logger.error("[{}] cannot schedule reconnect, stopping", debugId, ex);
+            onClose(status != null ? status : Status.of(StatusCode.CLIENT_INTERNAL_ERROR, ex));
         }
     }
 }
@@ -1,5 +1,7 @@
 package tech.ydb.topic.read.events;
 
+import java.util.concurrent.CompletableFuture;
+
 import tech.ydb.topic.read.impl.events.SessionStartedEvent;
 
 /**
@@ -10,6 +12,18 @@ public interface ReadEventHandler {
 
     void onMessages(DataReceivedEvent event);
 
+    /**
+     * Asynchronous variant of {@link #onMessages(DataReceivedEvent)}. The next messages of the same partition session
+     * are not delivered until the returned future is completed, so the handler can suspend reading of one partition
+     * without blocking a thread of the handler executor
+     * @param event event with messages
+     * @return future which is completed when the handler is ready for the next messages of the partition session
+     */
+    default CompletableFuture<Void> onMessagesAsync(DataReceivedEvent event) {
+        onMessages(event);
+        return CompletableFuture.completedFuture(null);
+    }
+
     default void onCommitResponse(CommitOffsetAcknowledgementEvent event) { }
 
 
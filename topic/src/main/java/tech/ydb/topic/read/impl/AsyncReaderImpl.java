@@ -16,6 +16,7 @@ import tech.ydb.common.transaction.YdbTransaction;
 import tech.ydb.core.Status;
 import tech.ydb.topic.TopicRpc;
 import tech.ydb.topic.description.CodecRegistry;
+import tech.ydb.topic.impl.ReconnectLimiter;
 import tech.ydb.topic.impl.SerialExecutor;
 import tech.ydb.topic.read.AsyncReader;
 import tech.ydb.topic.read.PartitionOffsets;
@@ -47,8 +48,9 @@ public class AsyncReaderImpl extends ReaderImpl implements AsyncReader {
     public AsyncReaderImpl(TopicRpc topicRpc,
                            ReaderSettings settings,
                            ReadEventHandlersSettings handlersSettings,
-                           @Nonnull CodecRegistry codecRegistry) {
-        super(topicRpc, settings, codecRegistry);
+                           @Nonnull CodecRegistry codecRegistry,
+                           ReconnectLimiter limiter) {
+        super(topicRpc, settings, codecRegistry, limiter);
         this.eventHandler = handlersSettings.getEventHandler();
 
         if (handlersSettings.getExecutor() != null) {
@@ -89,14 +91,15 @@ public class AsyncReaderImpl extends ReaderImpl implements AsyncReader {
 
     @Override
     protected CompletableFuture<Void> handleDataReceivedEvent(DataReceivedEvent event) {
-        return CompletableFuture.runAsync(() -> {
+        return CompletableFuture.supplyAsync(() -> {
             try {
-                eventHandler.onMessages(event);
+                CompletableFuture<Void> handled = eventHandler.onMessagesAsync(event);
+                return handled != null ? handled : CompletableFuture.<Void>completedFuture(null);
             } catch (Throwable th) {
                 logUserThrowableAndStopWorking(th, "onMessages");
                 throw th;
             }
-        }, handlerExecutor);
+        }, handlerExecutor).thenCompose(handled -> handled);
     }
 
     @Override
@@ -0,0 +1,72 @@
+package tech.ydb.topic.read.impl;
+
+/**
+ * Arithmetic of the read budget. The bytes of one ReadResponse are split between its partitions, so that every
+ * partition can return its part of the budget independently of the others. Lag-based weights of partition sessions
+ * decide only the order of delivery, the budget requested from the server is common for all partitions.
+ */
+final class ReadBudget {
+    private static final long MAX_WEIGHT = 1000;
+    private static final long LAG_UNIT_MILLIS = 1000;
+
+    private ReadBudget() { }
+
+    /**
+     * Weight of the partition session in the budget of the reader. A partition which reads fresh messages has the
+     * maximal weight, otherwise the weight is inversely proportional to one second plus the lag (one half for a lag of
+     * one second, one third for two seconds), so a partition with a large backlog cannot take the budget of
+     * partitions with low latency.
+     *
+     * @param lagMillis time between writing of the last received message and its receiving
+     * @return weight of the partition session, always positive
+     */
+    static long weight(long lagMillis) {
+        long lag = Math.max(0, lagMillis);
+        return Math.max(1, MAX_WEIGHT * LAG_UNIT_MILLIS / (LAG_UNIT_MILLIS + lag));
+    }
+
+    /**
+     * @param total total count of bytes
+     * @param weight weight of the item
+     * @param weightsSum sum of weights of all items
+     * @return count of bytes for the item
+     */
+    static long share(long total, long weight, long weightsSum) {
+        if (weightsSum <= 0) {
+            return total;
+        }
+        return (long) ((double) total * weight / weightsSum);
+    }
+
+    /**
+     * Apportions {@code total} bytes in proportion to the given weights. The remainder of the integer division goes to
+     * the last item, so the sum of the result is always equal to {@code total}. If all weights are zero, the bytes are
+     * split equally.
+     *
+     * @param total total count of bytes
+     * @param weights weight of each item, for example size of its messages
+     * @return count of bytes for each item
+     */
+    static long[] split(long total, long[] weights) {
+        long[] shares = new long[weights.length];
+        if (weights.length == 0) {
+            return shares;
+        }
+
+        long weightsSum = 0;
+        for (long weight: weights) {
+            weightsSum += weight;
+        }
+
+        long rest = total;
+        for (int idx = 0; idx < weights.length - 1; idx++) {
+            long share = weightsSum > 0
+                    ? (long) ((double) total * weights[idx] / weightsSum)
+                    : total / weights.length;
+            shares[idx] = Math.min(share, rest);
+            rest -= shares[idx];
+        }
+        shares[weights.length - 1] = rest;
+        return shares;
+    }
+}
@@ -1,5 +1,7 @@
 package tech.ydb.topic.read.impl;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -7,6 +9,7 @@ import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -38,6 +41,13 @@ public abstract class ReadPartitionSession {
     private final Queue<Batch> readingQueue = new ConcurrentLinkedQueue<>();
     private final AtomicBoolean isReadingNow = new AtomicBoolean();
 
+    // Part of the read budget held by the messages of this partition session which are not read yet
+    private final AtomicLong budgetBytes = new AtomicLong();
+    private volatile long lagMillis = 0;
+    // Weight of the partition in the sum of weights of the read session, is changed under lock of this object
+    private volatile long weight = ReadBudget.weight(0);
+    private volatile boolean isPaused = false;
+
     ReadPartitionSession(String traceID, ReadSession session, PartitionSession partition, long lastCommittedOffset) {
         this.traceID = traceID;
         this.session = session;
@@ -46,6 +56,7 @@ public abstract class ReadPartitionSession {
         this.decoder = session.getMessageDecoder();
         this.committer = new MessageCommitterImpl(this, lastCommittedOffset);
         this.lastReadOffset = lastCommittedOffset;
+        session.addWeight(weight);
     }
 
     @Override
@@ -71,8 +82,52 @@ public abstract class ReadPartitionSession {
         committer.confirmCommit(committedOffset);
     }
 
+    void holdBudget(long bytes) {
+        budgetBytes.addAndGet(bytes);
+    }
+
+    void releaseBudget(long bytes) {
+        budgetBytes.addAndGet(-bytes);
+    }
+
+    long getBudgetBytes() {
+        return budgetBytes.get();
+    }
+
+    long getLagMillis() {
+        return lagMillis;
+    }
+
+    long getWeight() {
+        return weight;
+    }
+
+    private synchronized void updateLag(long lag) {
+        lagMillis = lag;
+        if (isStopped) {
+            return;
+        }
+        long newWeight = ReadBudget.weight(lag);
+        if (newWeight != weight) {
+            session.addWeight(newWeight - weight);
+            weight = newWeight;
+        }
+    }
+
+    void resume() {
+        if (isPaused) {
+            isPaused = false;
+            sendDataToReadersIfNeeded();
+        }
+    }
+
     public void stop() {
-        isStopped = true;
+        synchronized (this) {
+            if (!isStopped) {
+                session.addWeight(-weight);
+            }
+            isStopped = true;
+        }
         committer.failPendingCommits();
         // complete all read futures
         for (Batch batch: readingQueue) {
@@ -88,6 +143,7 @@ public abstract class ReadPartitionSession {
             return CompletableFuture.completedFuture(null);
         }
 
+        Instant receivedAt = Instant.now();
         List<CompletableFuture<Void>> batchFutures = new LinkedList<>();
         for (YdbTopic.StreamReadMessage.ReadResponse.Batch batch: batchList) {
             if (batch.getMessageDataCount() == 0) {
@@ -96,6 +152,7 @@ public abstract class ReadPartitionSession {
             }
 
             BatchMeta meta = new BatchMeta(batch);
+            updateLag(Math.max(0, Duration.between(meta.getWrittenAt(), receivedAt).toMillis()));
             List<MessageImpl> messages = new ArrayList<>();
             for (YdbTopic.StreamReadMessage.ReadResponse.MessageData msg: batch.getMessageDataList()) {
                 if (lastReadOffset > msg.getOffset()) {
@@ -147,6 +204,26 @@ public abstract class ReadPartitionSession {
                 }
                 return;
             }
+
+            if (session.isOverBudgetShare(this)) {
+                // The consumer of this partition falls behind, partitions within their shares are delivered first.
+                // The partition is marked as paused before the check, so it is resumed by the delivery it waits for
+                isPaused = true;
+                session.addPausedPartition(this);
+                if (session.hasOtherDeliveries()) {
+                    if (logger.isTraceEnabled()) {
+                        logger.trace("[{}] Delivery is paused: {} bytes of read budget are held", traceID,
+                                budgetBytes.get());
+                    }
+                    isReadingNow.set(false);
+                    if (!isPaused) {
+                        sendDataToReadersIfNeeded();
+                    }
+                    return;
+                }
+                isPaused = false;
+            }
+
             next = readingQueue.poll();
 
             batchesToRead.add(next);
@@ -177,6 +254,7 @@ public abstract class ReadPartitionSession {
                                     messagesToRead.get(0).getOffset(),
                                     messagesToRead.get(messagesToRead.size() - 1).getOffset());
             }
+            session.onDeliveryStarted();
             handleDataReceivedEvent(event).whenComplete((res, th) -> {
                 if (th != null) {
                     logger.error("[{}] DataReceivedEvent callback with {} message(s) (offsets {}-{}) finished"
@@ -189,9 +267,11 @@ public abstract class ReadPartitionSession {
                             messagesToRead.get(0).getOffset(),
                             messagesToRead.get(messagesToRead.size() - 1).getOffset());
                 }
+                session.onDeliveryFinished();
                 isReadingNow.set(false);
                 batchesToRead.forEach(Batch::complete);
                 sendDataToReadersIfNeeded();
+                session.resumePausedPartitions();
             });
         } else {
             if (logger.isTraceEnabled()) {
@@ -2,12 +2,14 @@ package tech.ydb.topic.read.impl;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
@@ -59,6 +61,11 @@ public final class ReadSession extends SessionBase<YdbTopic.StreamReadMessage.Fr
     private final Map<Long, PartitionSession> partitions = new ConcurrentHashMap<>();
     private final Map<Long, ReadPartitionSession> partSessions = new ConcurrentHashMap<>();
 
+    // Delivery prioritization state, so the checks don't iterate over all partition sessions
+    private final AtomicLong weightsSum = new AtomicLong(0);
+    private final AtomicInteger deliveriesCount = new AtomicInteger(0);
+    private final Set<ReadPartitionSession> pausedSessions = ConcurrentHashMap.newKeySet();
+
     public ReadSession(TopicRpc rpc, ReaderImpl reader, MessageDecoder decoder, String id, ReaderSettings settings) {
         super(rpc.readSession(id), id);
         this.reader = reader;
@@ -108,6 +115,7 @@ public final class ReadSession extends SessionBase<YdbTopic.StreamReadMessage.Fr
 
         partSessions.values().forEach(ReadPartitionSession::stop);
         partSessions.clear();
+        pausedSessions.clear();
 
         partitions.values().forEach(reader::handleClosePartitionSession);
         partitions.clear();
@@ -250,6 +258,7 @@ public final class ReadSession extends SessionBase<YdbTopic.StreamReadMessage.Fr
             if (rps != null) {
                 logger.info("[{}] Received force StopPartitionSessionRequest for {} ", streamId, rps.getPartition());
                 rps.stop();
+                resumePausedPartitions();
             }
 
             reader.handleClosePartitionSession(partition);
@@ -288,6 +297,7 @@ public final class ReadSession extends SessionBase<YdbTopic.StreamReadMessage.Fr
                     ReadPartitionSession session = partSessions.remove(psid);
                     if (session != null) {
                         session.stop();
+                        resumePausedPartitions();
                     }
                 }
             }
@@ -297,39 +307,104 @@ public final class ReadSession extends SessionBase<YdbTopic.StreamReadMessage.Fr
     private void onReadResponse(YdbTopic.StreamReadMessage.ReadResponse response) {
         final long responseBytesSize = response.getBytesSize();
         logger.debug("[{}] Received ReadResponse of {} bytes", streamId, responseBytesSize);
-        List<CompletableFuture<Void>> batchReadFutures = new ArrayList<>();
 
-        for (YdbTopic.StreamReadMessage.ReadResponse.PartitionData data: response.getPartitionDataList()) {
-            long psid = data.getPartitionSessionId();
-            ReadPartitionSession session = partSessions.get(data.getPartitionSessionId());
+        // Each partition returns its part of the read budget as soon as its own batches are read, so a slow
+        // partition doesn't hold the bytes of the partitions that are already processed
+        List<YdbTopic.StreamReadMessage.ReadResponse.PartitionData> dataList = response.getPartitionDataList();
+        if (dataList.isEmpty()) {
+            releaseReadBudget(responseBytesSize);
+            return;
+        }
+
+        long[] dataSizes = new long[dataList.size()];
+        for (int idx = 0; idx < dataSizes.length; idx++) {
+            for (YdbTopic.StreamReadMessage.ReadResponse.Batch batch: dataList.get(idx).getBatchesList()) {
+                for (YdbTopic.StreamReadMessage.ReadResponse.MessageData msg: batch.getMessageDataList()) {
+                    dataSizes[idx] += msg.getData().size();
+                }
+            }
+        }
+        long[] shares = ReadBudget.split(responseBytesSize, dataSizes);
+
+        for (int idx = 0; idx < dataSizes.length; idx++) {
+            YdbTopic.StreamReadMessage.ReadResponse.PartitionData data = dataList.get(idx);
+            final long psid = data.getPartitionSessionId();
+            final long share = shares[idx];
+            ReadPartitionSession session = partSessions.get(psid);
             if (session == null) {
                 logger.warn("[{}] Received PartitionData for unknown(most likely already closed) PartitionSessionId={}",
                         streamId, psid);
-                // TODO: release memory buffer
+                releaseReadBudget(share);
                 continue;
             }
 
+            session.holdBudget(share);
             // Completes when all messages from a batch are read by user
-            batchReadFutures.add(session.addBatches(data.getBatchesList()));
+            session.addBatches(data.getBatchesList()).whenComplete((res, th) -> {
+                if (th != null) {
+                    logger.error("[{}] Exception while waiting for batches to be read:", streamId, th);
+                    return;
+                }
+                logger.trace("[{}] Finished handling {} bytes of partition session {}", streamId, share, psid);
+                session.releaseBudget(share);
+                releaseReadBudget(share);
+            });
         }
+    }
 
-        CompletableFuture.allOf(batchReadFutures.toArray(new CompletableFuture<?>[0]))
-                .whenComplete((res, th) -> {
-                    if (th != null) {
-                        logger.error("[{}] Exception while waiting for batches to be read:", streamId, th);
-                        return;
-                    }
-                    if (isStopped()) {
-                        logger.trace("[{}] Finished handling ReadResponse of {} bytes. Read session is already " +
-                                "closed -- no need to send ReadRequest", streamId, responseBytesSize);
-                        return;
-                    }
+    private void releaseReadBudget(long bytes) {
+        if (isStopped()) {
+            logger.trace("[{}] Released {} bytes of read budget. Read session is already closed -- no need to send "
+                    + "ReadRequest", streamId, bytes);
+            return;
+        }
 
-                    logger.trace("[{}] Finished handling ReadResponse of {} bytes. Sending ReadRequest...",
-                            streamId, responseBytesSize);
-                    this.sizeBytesToRequest.addAndGet(responseBytesSize);
-                    sendReadRequest();
-                });
+        logger.trace("[{}] Released {} bytes of read budget. Sending ReadRequest...", streamId, bytes);
+        this.sizeBytesToRequest.addAndGet(bytes);
+        sendReadRequest();
+    }
+
+    void addWeight(long delta) {
+        weightsSum.addAndGet(delta);
+    }
+
+    /**
+     * Checks whether the partition session holds more than its lag-weighted share of the read budget. The share only
+     * decides the order of delivery: the partitions over their shares wait while the others deliver messages, the
+     * read budget requested from the server is still common for all partitions
+     */
+    boolean isOverBudgetShare(ReadPartitionSession session) {
+        long share = ReadBudget.share(maxMemoryUsageBytes, session.getWeight(), weightsSum.get());
+        return session.getBudgetBytes() > share;
+    }
+
+    void onDeliveryStarted() {
+        deliveriesCount.incrementAndGet();
+    }
+
+    void onDeliveryFinished() {
+        deliveriesCount.decrementAndGet();
+    }
+
+    /**
+     * @return true if any partition session is delivering messages now. It is called by a partition session which
+     * is not delivering, so the count contains only the other partitions
+     */
+    boolean hasOtherDeliveries() {
+        return deliveriesCount.get() > 0;
+    }
+
+    void addPausedPartition(ReadPartitionSession session) {
+        pausedSessions.add(session);
+    }
+
+    void resumePausedPartitions() {
+        Iterator<ReadPartitionSession> it = pausedSessions.iterator();
+        while (it.hasNext()) {
+            ReadPartitionSession session = it.next();
+            it.remove();
+            session.resume();
+        }
     }
 
     protected void onCommitOffsetResponse(YdbTopic.StreamReadMessage.CommitOffsetResponse response) {
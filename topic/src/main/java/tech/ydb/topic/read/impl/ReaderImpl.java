@@ -19,6 +19,7 @@ import tech.ydb.core.Status;
 import tech.ydb.topic.TopicRpc;
 import tech.ydb.topic.description.CodecRegistry;
 import tech.ydb.topic.impl.GrpcStreamRetrier;
+import tech.ydb.topic.impl.ReconnectLimiter;
 import tech.ydb.topic.read.PartitionOffsets;
 import tech.ydb.topic.read.PartitionSession;
 import tech.ydb.topic.read.events.DataReceivedEvent;
@@ -40,8 +41,10 @@ public abstract class ReaderImpl extends GrpcStreamRetrier {
     private final CompletableFuture<Void> sessionReady = new CompletableFuture<>();
     private volatile ReadSession session = null;
 
-    public ReaderImpl(TopicRpc topicRpc, ReaderSettings settings, @Nonnull CodecRegistry codecRegistry) {
-        super(settings.getLogPrefix(), topicRpc.getScheduler(), settings.getErrorsHandler());
+    public ReaderImpl(TopicRpc topicRpc, ReaderSettings settings, @Nonnull CodecRegistry codecRegistry,
+            ReconnectLimiter limiter) {
+        super(settings.getLogPrefix(), topicRpc.getScheduler(), settings.getErrorsHandler(),
+                settings.getRetryConfig(), limiter);
 
         Executor decompressionExecutor = settings.getDecompressionExecutor();
         if (decompressionExecutor != null) {
@@ -99,7 +102,7 @@ public abstract class ReaderImpl extends GrpcStreamRetrier {
 
     void onSessionStarted(String sessionId) {
         sessionReady.complete(null);
-        reconnectCounter.set(0);
+        resetRetries();
         handleSessionStarted(sessionId);
     }
 
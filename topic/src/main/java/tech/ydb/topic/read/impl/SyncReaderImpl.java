@@ -20,6 +20,7 @@ import org.slf4j.LoggerFactory;
 import tech.ydb.core.Status;
 import tech.ydb.topic.TopicRpc;
 import tech.ydb.topic.description.CodecRegistry;
+import tech.ydb.topic.impl.ReconnectLimiter;
 import tech.ydb.topic.read.Message;
 import tech.ydb.topic.read.PartitionOffsets;
 import tech.ydb.topic.read.PartitionSession;
@@ -43,8 +44,9 @@ public class SyncReaderImpl extends ReaderImpl implements SyncReader {
     private int currentMessageIndex = 0;
     private volatile String sessionId = null;
 
-    public SyncReaderImpl(TopicRpc topicRpc, ReaderSettings settings, @Nonnull CodecRegistry codecRegistry) {
-        super(topicRpc, settings, codecRegistry);
+    public SyncReaderImpl(TopicRpc topicRpc, ReaderSettings settings, @Nonnull CodecRegistry codecRegistry,
+            ReconnectLimiter limiter) {
+        super(topicRpc, settings, codecRegistry, limiter);
     }
 
     private static class MessageBatchWrapper {
@@ -79,8 +81,9 @@ public class SyncReaderImpl extends ReaderImpl implements SyncReader {
             throw new RuntimeException("Reader was stopped");
         }
 
-        queueLock.lock();
-
+        Message result;
+        // waiting can be interrupted, it is important for virtual threads
+        queueLock.lockInterruptibly();
         try {
             if (batchesInQueue.isEmpty()) {
                 long millisToWait = TimeUnit.MILLISECONDS.convert(timeout, unit);
@@ -103,7 +106,7 @@ public class SyncReaderImpl extends ReaderImpl implements SyncReader {
 
             logger.trace("Taking a message with index {} from batch", currentMessageIndex);
             MessageBatchWrapper currentBatch = batchesInQueue.element();
-            Message result = currentBatch.messages.get(currentMessageIndex);
+            result = currentBatch.messages.get(currentMessageIndex);
             currentMessageIndex++;
             if (currentMessageIndex >= currentBatch.messages.size()) {
                 logger.debug("Batch is read. signalling core reader impl");
@@ -111,26 +114,28 @@ public class SyncReaderImpl extends ReaderImpl implements SyncReader {
                 currentMessageIndex = 0;
                 currentBatch.future.complete(null);
             }
-            if (receiveSettings.getTransaction() != null) {
-                // TODO: Implement batching for message committing
-                List<PartitionOffsets> offsets = Collections.singletonList(new PartitionOffsets(
-                        result.getPartitionSession(),
-                        Collections.singletonList(result.getRangeToCommit())
-                ));
-                Status updateStatus = updateOffsetsInTransaction(
-                        receiveSettings.getTransaction(),
-                        Collections.singletonMap(result.getPartitionSession().getPath(), offsets),
-                        UpdateOffsetsInTransactionSettings.newBuilder().build()
-                ).join();
-                if (!updateStatus.isSuccess()) {
-                    throw new RuntimeException("Couldn't add message offset " + result.getOffset() + " to transaction "
-                            + receiveSettings.getTransaction().getId() + ": " + updateStatus);
-                }
-            }
-            return result;
         } finally {
             queueLock.unlock();
         }
+
+        // the request to the server is made without the queue lock, so incoming batches are not blocked
+        if (receiveSettings.getTransaction() != null) {
+            // TODO: Implement batching for message committing
+            List<PartitionOffsets> offsets = Collections.singletonList(new PartitionOffsets(
+                    result.getPartitionSession(),
+                    Collections.singletonList(result.getRangeToCommit())
+            ));
+            Status updateStatus = updateOffsetsInTransaction(
+                    receiveSettings.getTransaction(),
+                    Collections.singletonMap(result.getPartitionSession().getPath(), offsets),
+                    UpdateOffsetsInTransactionSettings.newBuilder().build()
+            ).join();
+            if (!updateStatus.isSuccess()) {
+                throw new RuntimeException("Couldn't add message offset " + result.getOffset() + " to transaction "
+                        + receiveSettings.getTransaction().getId() + ": " + updateStatus);
+            }
+        }
+        return result;
     }
 
     @Override
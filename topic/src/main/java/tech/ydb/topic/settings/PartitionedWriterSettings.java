@@ -0,0 +1,97 @@
+package tech.ydb.topic.settings;
+
+import java.time.Duration;
+
+/**
+ * Settings of {@link tech.ydb.topic.write.PartitionedWriter}.
+ */
+public class PartitionedWriterSettings {
+    private static final Duration DEFAULT_PARTITIONS_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+    public enum RoutingMode {
+        /**
+         * Messages with the same key are written to the same partition. The hash of the key is looked up in the key
+         * ranges of active partitions, so a split of a partition moves only the keys of the split partition. Topics
+         * without key ranges use the hash modulo the count of active partitions. Messages without key are
+         * distributed in round-robin order
+         */
+        KEY_HASH,
+        /**
+         * All messages are distributed between active partitions in round-robin order, keys are ignored
+         */
+        ROUND_ROBIN,
+    }
+
+    private final WriterSettings writerSettings;
+    private final RoutingMode routingMode;
+    private final Duration partitionsRefreshInterval;
+
+    private PartitionedWriterSettings(Builder builder) {
+        this.writerSettings = builder.writerSettings;
+        this.routingMode = builder.routingMode;
+        this.partitionsRefreshInterval = builder.partitionsRefreshInterval;
+    }
+
+    public static Builder newBuilder(WriterSettings writerSettings) {
+        return new Builder(writerSettings);
+    }
+
+    public WriterSettings getWriterSettings() {
+        return writerSettings;
+    }
+
+    public RoutingMode getRoutingMode() {
+        return routingMode;
+    }
+
+    public Duration getPartitionsRefreshInterval() {
+        return partitionsRefreshInterval;
+    }
+
+    /**
+     * BUILDER
+     */
+    public static class Builder {
+        private final WriterSettings writerSettings;
+        private RoutingMode routingMode = RoutingMode.KEY_HASH;
+        private Duration partitionsRefreshInterval = DEFAULT_PARTITIONS_REFRESH_INTERVAL;
+
+        private Builder(WriterSettings writerSettings) {
+            if (writerSettings == null) {
+                throw new NullPointerException("WriterSettings must not be null");
+            }
+            if (writerSettings.getMessageGroupId() != null || writerSettings.getPartitionId() != null) {
+                throw new IllegalArgumentException("Partitioned writer doesn't support MessageGroupId and "
+                        + "PartitionId in WriterSettings");
+            }
+            this.writerSettings = writerSettings;
+        }
+
+        /**
+         * Set the way how messages are distributed between partitions. Default value is {@link RoutingMode#KEY_HASH}
+         *
+         * @param mode routing mode
+         * @return settings builder
+         */
+        public Builder setRoutingMode(RoutingMode mode) {
+            this.routingMode = mode;
+            return this;
+        }
+
+        /**
+         * Set interval of topic partitions refreshing. Writer periodically describes the topic to follow the
+         * partitions created by auto-partitioning. Zero or negative value disables refreshing.
+         *
+         * @param interval refresh interval
+         * @return settings builder
+         */
+        public Builder setPartitionsRefreshInterval(Duration interval) {
+            this.partitionsRefreshInterval = interval;
+            return this;
+        }
+
+        public PartitionedWriterSettings build() {
+            return new PartitionedWriterSettings(this);
+        }
+    }
+}
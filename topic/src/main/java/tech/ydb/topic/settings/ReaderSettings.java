@@ -9,6 +9,7 @@ import javax.annotation.Nullable;
 
 import com.google.common.collect.ImmutableList;
 
+import tech.ydb.common.retry.RetryConfig;
 import tech.ydb.core.Status;
 import tech.ydb.topic.read.events.DataReceivedEvent;
 
@@ -27,6 +28,7 @@ public class ReaderSettings {
     private final long partitionMaxInFlightBytes;
     private final Executor decompressionExecutor;
     private final BiConsumer<Status, Throwable> errorsHandler;
+    private final RetryConfig retryConfig;
 
     private ReaderSettings(Builder builder) {
         this.logPrefix = builder.logPrefix;
@@ -38,6 +40,7 @@ public class ReaderSettings {
         this.partitionMaxInFlightBytes = builder.partitionMaxInFlightBytes;
         this.decompressionExecutor = builder.decompressionExecutor;
         this.errorsHandler = builder.errorsHandler;
+        this.retryConfig = builder.retryConfig;
     }
 
     public String getLogPrefix() {
@@ -61,6 +64,10 @@ public class ReaderSettings {
         return errorsHandler;
     }
 
+    public RetryConfig getRetryConfig() {
+        return retryConfig;
+    }
+
     public long getMaxMemoryUsageBytes() {
         return maxMemoryUsageBytes;
     }
@@ -95,6 +102,7 @@ public class ReaderSettings {
         private int maxBatchSize = 0;
         private Executor decompressionExecutor = null;
         private BiConsumer<Status, Throwable> errorsHandler = null;
+        private RetryConfig retryConfig = TopicRetryConfig.FOREVER;
 
         /**
          * Sets a prefix to be used in log messages of a reader. If is {@code null}, an autogenerated value will be
@@ -178,6 +186,29 @@ public class ReaderSettings {
             return this;
         }
 
+        /**
+         * Set retry configuration for the reader's underlying stream connection.
+         * Controls how the reader reconnects when the stream is interrupted.
+         * <p>
+         * The default value is {@link TopicRetryConfig#FOREVER}, which retries any disconnection
+         * indefinitely with exponential backoff (up to ~65 seconds between attempts).
+         * <p>
+         * Use {@link TopicRetryConfig#NEVER} to disable retries and shut down the reader on the first error.
+         * Use {@link TopicRetryConfig#STANDARD} to retry only transient errors and treat
+         * permanent status codes (e.g. {@code UNAUTHORIZED}, {@code SCHEME_ERROR}) as terminal.
+         *
+         * @param config retry configuration, must not be {@code null}
+         * @return settings builder
+         * @throws NullPointerException if {@code config} is {@code null}
+         */
+        public Builder setRetryConfig(RetryConfig config) {
+            if (config == null) {
+                throw new NullPointerException("RetryConfig must not be null");
+            }
+            this.retryConfig = config;
+            return this;
+        }
+
         /**
          * Set executor for decompression tasks.
          * If not set, default executor will be used.
@@ -1,5 +1,6 @@
 package tech.ydb.topic.settings;
 
+import java.nio.file.Path;
 import java.util.function.BiConsumer;
 
 import tech.ydb.common.retry.RetryConfig;
@@ -26,6 +27,8 @@ public class WriterSettings {
     private final int maxSendBufferMessagesCount;
     private final RetryConfig retryConfig;
     private final BiConsumer<Status, Throwable> errorsHandler;
+    private final Path spillDirectory;
+    private final long maxSpillSize;
 
     private WriterSettings(Builder builder) {
         this.logPrefix = builder.logPrefix;
@@ -39,6 +42,8 @@ public class WriterSettings {
         this.maxSendBufferMessagesCount = builder.maxSendBufferMessagesCount;
         this.retryConfig = builder.retryConfig;
         this.errorsHandler = builder.errorsHandler;
+        this.spillDirectory = builder.spillDirectory;
+        this.maxSpillSize = builder.maxSpillSize;
     }
 
     public static Builder newBuilder() {
@@ -89,6 +94,14 @@ public class WriterSettings {
         return maxSendBufferMessagesCount;
     }
 
+    public Path getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public long getMaxSpillSize() {
+        return maxSpillSize;
+    }
+
     /**
      * BUILDER
      */
@@ -104,6 +117,8 @@ public class WriterSettings {
         private int maxSendBufferMessagesCount = MAX_IN_FLIGHT_COUNT_DEFAULT;
         private RetryConfig retryConfig = TopicRetryConfig.FOREVER;
         private BiConsumer<Status, Throwable> errorsHandler = null;
+        private Path spillDirectory = null;
+        private long maxSpillSize = 0;
 
         /**
          * Sets a prefix to be used in log messages of a writer. If is {@code null}, an autogenerated value will be
@@ -228,6 +243,25 @@ public class WriterSettings {
             return this;
         }
 
+        /**
+         * Enable spilling of messages to disk when the send buffer is full.
+         * Instead of blocking or rejecting new messages, writer appends them to memory-mapped segment files in the
+         * given directory and sends them after the messages from the buffer. Spilled messages which were not
+         * confirmed by server stay on disk and are sent by the next writer with the same spill directory.
+         * The directory must be used by only one writer at the same time. Transactional messages are never spilled.
+         * @param directory  directory for segment files, will be created if it doesn't exist
+         * @param maxSizeBytes  max disk usage of segment files in bytes
+         * @return settings builder
+         */
+        public Builder setSpillDirectory(Path directory, long maxSizeBytes) {
+            if (maxSizeBytes <= 0) {
+                throw new IllegalArgumentException("Max spill size must be positive, but was " + maxSizeBytes);
+            }
+            this.spillDirectory = directory;
+            this.maxSpillSize = maxSizeBytes;
+            return this;
+        }
+
         public Builder setErrorsHandler(BiConsumer<Status, Throwable> handler) {
             this.errorsHandler = handler;
             return this;
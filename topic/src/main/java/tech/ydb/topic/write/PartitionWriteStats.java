@@ -0,0 +1,81 @@
+package tech.ydb.topic.write;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the write statistics of one partition of {@link PartitionedWriter}
+ */
+public class PartitionWriteStats {
+    private final long partitionId;
+    private final boolean active;
+    private final long writtenMessages;
+    private final long writtenBytes;
+    private final long failedMessages;
+    private final Duration uptime;
+
+    public PartitionWriteStats(long partitionId, boolean active, long writtenMessages, long writtenBytes,
+            long failedMessages, Duration uptime) {
+        this.partitionId = partitionId;
+        this.active = active;
+        this.writtenMessages = writtenMessages;
+        this.writtenBytes = writtenBytes;
+        this.failedMessages = failedMessages;
+        this.uptime = uptime;
+    }
+
+    public long getPartitionId() {
+        return partitionId;
+    }
+
+    /**
+     * @return {@code true} if the writer routes new messages to this partition
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * @return count of messages confirmed by server
+     */
+    public long getWrittenMessages() {
+        return writtenMessages;
+    }
+
+    /**
+     * @return total size of uncompressed data of messages confirmed by server
+     */
+    public long getWrittenBytes() {
+        return writtenBytes;
+    }
+
+    /**
+     * @return count of messages completed with error
+     */
+    public long getFailedMessages() {
+        return failedMessages;
+    }
+
+    /**
+     * @return time since the writer of this partition was created
+     */
+    public Duration getUptime() {
+        return uptime;
+    }
+
+    public double getMessagesPerSecond() {
+        long millis = uptime.toMillis();
+        return millis > 0 ? writtenMessages * 1000.0d / millis : 0;
+    }
+
+    public double getBytesPerSecond() {
+        long millis = uptime.toMillis();
+        return millis > 0 ? writtenBytes * 1000.0d / millis : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionWriteStats{partitionId=" + partitionId + ", active=" + active
+                + ", messages=" + writtenMessages + ", bytes=" + writtenBytes + ", failed=" + failedMessages
+                + ", uptime=" + uptime + "}";
+    }
+}
@@ -0,0 +1,66 @@
+package tech.ydb.topic.write;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import tech.ydb.topic.settings.SendSettings;
+
+/**
+ * Asynchronous writer which distributes messages between all active partitions of the topic. Every partition is
+ * served by its own write session, but all sessions share one send buffer and one compression executor.
+ */
+public interface PartitionedWriter {
+
+    /**
+     * Describes the topic and initializes write sessions to all active partitions. Non-blocking
+     * @return {@link CompletableFuture} which completes when all write sessions are initialized
+     */
+    CompletableFuture<Void> init();
+
+    /**
+     * Send message to a partition selected by the routing mode. Non-blocking
+     * @param message message data to write
+     * @return {@link CompletableFuture} with {@link WriteAck} for write acknowledgement
+     */
+    default CompletableFuture<WriteAck> send(Message message) throws QueueOverflowException {
+        return send(null, message, null);
+    }
+
+    /**
+     * Send message with key to a partition selected by the routing mode. Non-blocking
+     * @param key message key, can be null
+     * @param message message data to write
+     * @return {@link CompletableFuture} with {@link WriteAck} for write acknowledgement
+     */
+    default CompletableFuture<WriteAck> send(String key, Message message) throws QueueOverflowException {
+        return send(key, message, null);
+    }
+
+    /**
+     * Send message with key to a partition selected by the routing mode. Non-blocking
+     * @param key message key, can be null
+     * @param message message data to write
+     * @param settings send settings
+     * @return {@link CompletableFuture} with {@link WriteAck} for write acknowledgement
+     */
+    CompletableFuture<WriteAck> send(String key, Message message, SendSettings settings)
+            throws QueueOverflowException;
+
+    /**
+     * Returns future which completes when all messages accepted by writer are confirmed by server
+     * @return {@link CompletableFuture} for flush operation
+     */
+    CompletableFuture<Void> flush();
+
+    /**
+     * Returns write statistics of partitions which have write sessions. Sessions of partitions which became
+     * inactive are removed as soon as all their messages are written
+     * @return map of partition id to {@link PartitionWriteStats}
+     */
+    Map<Long, PartitionWriteStats> getPartitionStats();
+
+    /**
+     * Stops all write sessions and makes cleanup in background. Non-blocking
+     */
+    CompletableFuture<Void> shutdown();
+}
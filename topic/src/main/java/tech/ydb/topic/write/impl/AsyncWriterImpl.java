@@ -7,6 +7,7 @@ import javax.annotation.Nonnull;
 
 import tech.ydb.topic.TopicRpc;
 import tech.ydb.topic.description.CodecRegistry;
+import tech.ydb.topic.impl.ReconnectLimiter;
 import tech.ydb.topic.settings.SendSettings;
 import tech.ydb.topic.settings.WriterSettings;
 import tech.ydb.topic.write.AsyncWriter;
@@ -24,8 +25,9 @@ public class AsyncWriterImpl implements AsyncWriter {
     public AsyncWriterImpl(TopicRpc topicRpc,
                            WriterSettings settings,
                            Executor compressionExecutor,
-                           @Nonnull CodecRegistry codecRegistry) {
-        this.impl = new WriterImpl(topicRpc, settings, compressionExecutor, codecRegistry);
+                           @Nonnull CodecRegistry codecRegistry,
+                           ReconnectLimiter limiter) {
+        this.impl = new WriterImpl(topicRpc, settings, compressionExecutor, codecRegistry, null, limiter);
     }
 
     @Override
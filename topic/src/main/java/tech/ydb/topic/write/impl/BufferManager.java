@@ -162,6 +162,31 @@ public class BufferManager {
         }
     }
 
+    /**
+     * Reserves space for the message if the buffer has it. Unlike {@link #tryAcquire(long)} doesn't treat the lack
+     * of space as an error
+     * @param messageSize size of message
+     * @return true if the space was reserved
+     */
+    public boolean tryReserve(long messageSize) {
+        if (closed != null || !countAvailable.tryAcquire()) {
+            return false;
+        }
+
+        int messageBlocks = calculateBlocksCount(messageSize, blockBitsCount);
+        if (!blocksAvailable.tryAcquire(messageBlocks)) {
+            countAvailable.release();
+            return false;
+        }
+
+        if (closed != null) {
+            blocksAvailable.release(messageBlocks);
+            countAvailable.release();
+            return false;
+        }
+        return true;
+    }
+
     public void releaseMessage(long messageSize) {
         int blocks = calculateBlocksCount(messageSize, blockBitsCount);
         blocksAvailable.release(blocks);
@@ -0,0 +1,128 @@
+package tech.ydb.topic.write.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import tech.ydb.proto.topic.YdbTopic.DescribeTopicResult;
+
+/**
+ * Immutable snapshot of active partitions of the topic, which selects the partition for the message key. If the
+ * partitions have key ranges (topics with auto-partitioning), the MD5 hash of the key is looked up in these ranges,
+ * so a split of one partition moves only the keys of this partition. Otherwise the hash is taken modulo the count
+ * of partitions.
+ */
+final class PartitionRouter {
+    static final PartitionRouter EMPTY = new PartitionRouter(new long[0], null);
+
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("MD5 is not supported", ex);
+        }
+    });
+
+    private final long[] partitionIds; // ordered by key ranges or by id
+    private final byte[][] fromBounds; // null if partitions have no key ranges
+
+    private PartitionRouter(long[] partitionIds, byte[][] fromBounds) {
+        this.partitionIds = partitionIds;
+        this.fromBounds = fromBounds;
+    }
+
+    static PartitionRouter of(List<DescribeTopicResult.PartitionInfo> partitions) {
+        if (partitions.isEmpty()) {
+            return EMPTY;
+        }
+
+        boolean hasKeyRanges = partitions.stream().allMatch(DescribeTopicResult.PartitionInfo::hasKeyRange)
+                && partitions.stream().anyMatch(p -> p.getKeyRange().hasFromBound());
+
+        List<DescribeTopicResult.PartitionInfo> sorted = new ArrayList<>(partitions);
+        if (hasKeyRanges) {
+            sorted.sort(Comparator.comparing(PartitionRouter::fromBound, PartitionRouter::compareKeys));
+        } else {
+            sorted.sort(Comparator.comparingLong(DescribeTopicResult.PartitionInfo::getPartitionId));
+        }
+
+        long[] ids = new long[sorted.size()];
+        byte[][] bounds = hasKeyRanges ? new byte[sorted.size()][] : null;
+        for (int idx = 0; idx < ids.length; idx++) {
+            ids[idx] = sorted.get(idx).getPartitionId();
+            if (bounds != null) {
+                bounds[idx] = fromBound(sorted.get(idx));
+            }
+        }
+        return new PartitionRouter(ids, bounds);
+    }
+
+    private static byte[] fromBound(DescribeTopicResult.PartitionInfo partition) {
+        // absent from bound means the start of keys space
+        return partition.getKeyRange().hasFromBound() ? partition.getKeyRange().getFromBound().toByteArray()
+                : new byte[0];
+    }
+
+    int size() {
+        return partitionIds.length;
+    }
+
+    long[] partitionIds() {
+        return partitionIds.clone();
+    }
+
+    boolean contains(long partitionId) {
+        for (long id : partitionIds) {
+            if (id == partitionId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    long byIndex(int counter) {
+        return partitionIds[Math.floorMod(counter, partitionIds.length)];
+    }
+
+    long byKey(String key) {
+        byte[] hash = keyHash(key);
+        if (fromBounds == null) {
+            int h = ((hash[0] & 0xFF) << 24) | ((hash[1] & 0xFF) << 16) | ((hash[2] & 0xFF) << 8) | (hash[3] & 0xFF);
+            return byIndex(h);
+        }
+
+        // last partition which from bound is not greater than the hash
+        int low = 0;
+        int high = fromBounds.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (compareKeys(fromBounds[mid], hash) <= 0) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return partitionIds[low];
+    }
+
+    static byte[] keyHash(String key) {
+        MessageDigest md5 = MD5.get();
+        md5.reset();
+        return md5.digest(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Compares keys lexicographically as unsigned bytes, like the server compares partition bounds */
+    static int compareKeys(byte[] a, byte[] b) {
+        int len = Math.min(a.length, b.length);
+        for (int idx = 0; idx < len; idx++) {
+            int cmp = Integer.compare(a[idx] & 0xFF, b[idx] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(a.length, b.length);
+    }
+}
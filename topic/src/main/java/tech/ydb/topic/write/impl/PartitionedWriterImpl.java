@@ -0,0 +1,333 @@
+package tech.ydb.topic.write.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tech.ydb.core.Issue;
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.UnexpectedResultException;
+import tech.ydb.core.grpc.GrpcRequestSettings;
+import tech.ydb.proto.topic.YdbTopic.DescribeTopicRequest;
+import tech.ydb.proto.topic.YdbTopic.DescribeTopicResult;
+import tech.ydb.topic.TopicRpc;
+import tech.ydb.topic.description.CodecRegistry;
+import tech.ydb.topic.impl.DebugTools;
+import tech.ydb.topic.impl.ReconnectLimiter;
+import tech.ydb.topic.settings.PartitionedWriterSettings;
+import tech.ydb.topic.settings.SendSettings;
+import tech.ydb.topic.settings.WriterSettings;
+import tech.ydb.topic.write.InitResult;
+import tech.ydb.topic.write.Message;
+import tech.ydb.topic.write.PartitionWriteStats;
+import tech.ydb.topic.write.PartitionedWriter;
+import tech.ydb.topic.write.QueueOverflowException;
+import tech.ydb.topic.write.WriteAck;
+
+public class PartitionedWriterImpl implements PartitionedWriter {
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedWriterImpl.class);
+
+    private final String debugId;
+    private final TopicRpc rpc;
+    private final WriterSettings baseSettings;
+    private final PartitionedWriterSettings.RoutingMode routingMode;
+    private final Duration refreshInterval;
+    private final Executor compressionExecutor;
+    private final CodecRegistry codecRegistry;
+    private final ReconnectLimiter limiter;
+    private final BufferManager buffer;
+
+    private final Map<Long, PartitionWriter> writers = new ConcurrentHashMap<>();
+    private final AtomicInteger roundRobinCounter = new AtomicInteger();
+    private final AtomicBoolean isClosed = new AtomicBoolean(false);
+
+    private volatile PartitionRouter router = PartitionRouter.EMPTY;
+    private volatile ScheduledFuture<?> refreshFuture = null;
+
+    public PartitionedWriterImpl(TopicRpc rpc, PartitionedWriterSettings settings, Executor compressionExecutor,
+            @Nonnull CodecRegistry codecRegistry, ReconnectLimiter limiter) {
+        this.baseSettings = settings.getWriterSettings();
+        this.debugId = DebugTools.createDebugId(baseSettings.getLogPrefix());
+        this.rpc = rpc;
+        this.routingMode = settings.getRoutingMode();
+        this.refreshInterval = settings.getPartitionsRefreshInterval();
+        this.compressionExecutor = compressionExecutor;
+        this.codecRegistry = codecRegistry;
+        this.limiter = limiter;
+        this.buffer = new BufferManager(debugId, baseSettings);
+
+        logger.info("Partitioned writer with id {} created for topic \"{}\" with producerId \"{}\"",
+                debugId, baseSettings.getTopicPath(), baseSettings.getProducerId());
+    }
+
+    @Override
+    public CompletableFuture<Void> init() {
+        ensureNotClosed();
+        logger.info("[{}] init called", debugId);
+        return describeTopic().thenCompose(result -> {
+            if (!result.isSuccess()) {
+                CompletableFuture<Void> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new UnexpectedResultException(
+                        "Cannot describe topic " + baseSettings.getTopicPath(), result.getStatus()
+                ));
+                return failed;
+            }
+
+            List<CompletableFuture<InitResult>> inits = updatePartitions(result.getValue());
+            scheduleRefresh();
+            return CompletableFuture.allOf(inits.toArray(new CompletableFuture<?>[0]));
+        });
+    }
+
+    @Override
+    public CompletableFuture<WriteAck> send(String key, Message message, SendSettings settings)
+            throws QueueOverflowException {
+        while (true) {
+            ensureNotClosed();
+            PartitionRouter current = router;
+            if (current.size() == 0) {
+                throw new IllegalStateException("Partitioned writer is not initialized yet");
+            }
+
+            long partitionId = selectPartition(current, key);
+            PartitionWriter writer = writers.get(partitionId);
+            if (writer != null) {
+                try {
+                    return writer.send(message, settings);
+                } catch (IllegalStateException ex) {
+                    // writer of partition was stopped by concurrent update of the partitions, try to route again
+                    if (current == router && writers.get(partitionId) == writer) {
+                        throw ex;
+                    }
+                }
+            } else if (current == router) {
+                throw new IllegalStateException("Partition " + partitionId + " doesn't have a writer");
+            }
+            logger.debug("[{}] partition {} is not active anymore, reroute message", debugId, partitionId);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> flush() {
+        return CompletableFuture.allOf(writers.values().stream()
+                .map(w -> w.impl.flush())
+                .toArray(CompletableFuture<?>[]::new));
+    }
+
+    @Override
+    public Map<Long, PartitionWriteStats> getPartitionStats() {
+        Map<Long, PartitionWriteStats> stats = new HashMap<>();
+        for (PartitionWriter writer : writers.values()) {
+            stats.put(writer.partitionId, writer.stats());
+        }
+        return Collections.unmodifiableMap(stats);
+    }
+
+    @Override
+    public CompletableFuture<Void> shutdown() {
+        if (!isClosed.compareAndSet(false, true)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        logger.info("[{}] shutdown called", debugId);
+        ScheduledFuture<?> refresh = refreshFuture;
+        if (refresh != null) {
+            refresh.cancel(false);
+        }
+
+        return CompletableFuture.allOf(writers.values().stream()
+                .map(w -> w.impl.shutdown())
+                .toArray(CompletableFuture<?>[]::new)
+        ).whenComplete((v, th) -> {
+            buffer.close(Status.SUCCESS.withIssues(Issue.of("Closed by client", Issue.Severity.INFO)));
+        });
+    }
+
+    private void ensureNotClosed() {
+        if (isClosed.get()) {
+            throw new IllegalStateException("Partitioned writer is already stopped");
+        }
+    }
+
+    private long selectPartition(PartitionRouter current, String key) {
+        if (key != null && routingMode == PartitionedWriterSettings.RoutingMode.KEY_HASH) {
+            return current.byKey(key);
+        }
+        return current.byIndex(roundRobinCounter.getAndIncrement());
+    }
+
+    private CompletableFuture<Result<DescribeTopicResult>> describeTopic() {
+        DescribeTopicRequest request = DescribeTopicRequest.newBuilder()
+                .setPath(baseSettings.getTopicPath())
+                .build();
+        GrpcRequestSettings settings = GrpcRequestSettings.newBuilder()
+                .withDeadline(Duration.ofMinutes(1))
+                .build();
+        return rpc.describeTopic(request, settings);
+    }
+
+    private void scheduleRefresh() {
+        if (refreshInterval == null || refreshInterval.isZero() || refreshInterval.isNegative()) {
+            return;
+        }
+        long millis = refreshInterval.toMillis();
+        refreshFuture = rpc.getScheduler().scheduleWithFixedDelay(this::refresh, millis, millis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void refresh() {
+        if (isClosed.get()) {
+            return;
+        }
+        describeTopic().whenComplete((result, th) -> {
+            if (th != null) {
+                logger.warn("[{}] cannot refresh partitions of topic {}", debugId, baseSettings.getTopicPath(), th);
+                return;
+            }
+            if (!result.isSuccess()) {
+                logger.warn("[{}] cannot refresh partitions of topic {}, got {}", debugId,
+                        baseSettings.getTopicPath(), result.getStatus());
+                return;
+            }
+            updatePartitions(result.getValue());
+        });
+    }
+
+    private synchronized List<CompletableFuture<InitResult>> updatePartitions(DescribeTopicResult description) {
+        List<CompletableFuture<InitResult>> inits = new ArrayList<>();
+        if (isClosed.get()) {
+            return inits;
+        }
+
+        List<DescribeTopicResult.PartitionInfo> partitions = description.getPartitionsList();
+        // Servers without auto-partitioning support don't report active flag
+        boolean hasActiveFlag = partitions.stream().anyMatch(DescribeTopicResult.PartitionInfo::getActive);
+        PartitionRouter active = PartitionRouter.of(partitions.stream()
+                .filter(p -> !hasActiveFlag || p.getActive())
+                .collect(Collectors.toList()));
+
+        for (long id : active.partitionIds()) {
+            PartitionWriter writer = writers.get(id);
+            if (writer != null && writer.isFailed) {
+                // failed writer must fail its messages and release its share of the buffer before the replacement
+                logger.info("[{}] replace failed writer of partition {}", debugId, id);
+                writer.isActive = false;
+                writer.impl.shutdown();
+            }
+            if (writer == null || writer.isFailed) {
+                logger.info("[{}] start writing to partition {}", debugId, id);
+                writer = new PartitionWriter(id);
+                writers.put(id, writer);
+                inits.add(writer.init());
+            }
+        }
+
+        // new messages are routed only to active partitions
+        router = active;
+
+        for (PartitionWriter writer : writers.values()) {
+            if (writer.isActive && !active.contains(writer.partitionId)) {
+                logger.info("[{}] partition {} is not active anymore, stop writing to it", debugId,
+                        writer.partitionId);
+                writer.isActive = false;
+                writer.impl.flush()
+                        .handle((v, th) -> null)
+                        .thenCompose(v -> writer.impl.shutdown())
+                        .whenComplete((status, th) -> {
+                            // writer of inactive partition is removed when all its messages are written
+                            if (writers.remove(writer.partitionId, writer)) {
+                                logger.info("[{}] writer of inactive partition {} is stopped with {}", debugId,
+                                        writer.partitionId, status);
+                            }
+                        });
+            }
+        }
+
+        return inits;
+    }
+
+    private WriterSettings partitionSettings(long partitionId) {
+        WriterSettings.Builder builder = WriterSettings.newBuilder()
+                .setTopicPath(baseSettings.getTopicPath())
+                .setPartitionId(partitionId)
+                .setDirectWrite(baseSettings.isDirectWrite())
+                .setCodec(baseSettings.getCodec())
+                .setMaxSendBufferMemorySize(baseSettings.getMaxSendBufferMemorySize())
+                .setMaxSendBufferMessagesCount(baseSettings.getMaxSendBufferMessagesCount())
+                .setRetryConfig(baseSettings.getRetryConfig())
+                .setErrorsHandler(baseSettings.getErrorsHandler());
+
+        if (baseSettings.getProducerId() != null) {
+            builder.setProducerId(baseSettings.getProducerId());
+        }
+        if (baseSettings.getLogPrefix() != null) {
+            builder.setLogPrefix(baseSettings.getLogPrefix() + "-p" + partitionId);
+        }
+        return builder.build();
+    }
+
+    private class PartitionWriter {
+        private final long partitionId;
+        private final WriterImpl impl;
+        private final Instant createdAt = Instant.now();
+
+        private final LongAdder writtenMessages = new LongAdder();
+        private final LongAdder writtenBytes = new LongAdder();
+        private final LongAdder failedMessages = new LongAdder();
+
+        private volatile boolean isActive = true;
+        private volatile boolean isFailed = false;
+
+        PartitionWriter(long partitionId) {
+            this.partitionId = partitionId;
+            this.impl = new WriterImpl(rpc, partitionSettings(partitionId), compressionExecutor, codecRegistry,
+                    buffer, limiter);
+        }
+
+        CompletableFuture<InitResult> init() {
+            return impl.init().whenComplete((result, th) -> {
+                if (th != null) {
+                    // failed writer will be replaced by the next refresh of partitions
+                    logger.warn("[{}] cannot init writer of partition {}", debugId, partitionId, th);
+                    isFailed = true;
+                }
+            });
+        }
+
+        CompletableFuture<WriteAck> send(Message message, SendSettings settings) throws QueueOverflowException {
+            long size = message.getData().length;
+            return impl.nonblockingSend(message, settings).whenComplete((ack, th) -> {
+                if (th != null) {
+                    failedMessages.increment();
+                } else {
+                    writtenMessages.increment();
+                    writtenBytes.add(size);
+                }
+            });
+        }
+
+        PartitionWriteStats stats() {
+            return new PartitionWriteStats(partitionId, isActive, writtenMessages.sum(), writtenBytes.sum(),
+                    failedMessages.sum(), Duration.between(createdAt, Instant.now()));
+        }
+    }
+}
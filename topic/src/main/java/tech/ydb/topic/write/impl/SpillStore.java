@@ -0,0 +1,477 @@
+package tech.ydb.topic.write.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tech.ydb.topic.description.MetadataItem;
+import tech.ydb.topic.write.Message;
+
+/**
+ * Append-only store of messages which didn't fit into the send buffer. Messages are written to memory-mapped
+ * segment files of the fixed size (a quarter of the max store size, but no more than 64 MB), every segment starts
+ * with the header [magic][count of acked records] and contains records [length][crc32][payload]. Records are read
+ * in the order of appending, a segment is deleted when all its records are read and acked.
+ * <p>
+ * On opening the store scans existing segments up to the first broken record and replays all records after the
+ * acked ones. Written data survives the crash of the process, {@link #close()} forces it to the storage device.
+ */
+class SpillStore {
+    // use logger from WriterImpl
+    private static final Logger logger = LoggerFactory.getLogger(WriterImpl.class);
+
+    private static final int MAGIC = 0x5944424C; // YDBL
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final long MAX_SEGMENT_SIZE = 64 * 1024 * 1024; // 64 MB
+    // max size is split at least into this count of segments to reuse disk space before all messages are acked
+    private static final int MIN_SEGMENTS_COUNT = 4;
+    private static final String SEGMENT_SUFFIX = ".spill";
+
+    private final String debugId;
+    private final Path directory;
+    private final long maxSize;
+    private final int segmentSize;
+
+    // segments with unacked records in order of appending, last one is used for writing
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long nextSegmentIndex = 0;
+    private int unreadCount = 0;
+    private boolean isClosed = false;
+
+    private SpillStore(String debugId, Path directory, long maxSize) {
+        this.debugId = debugId;
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.segmentSize = (int) Math.min(maxSize / MIN_SEGMENTS_COUNT, MAX_SEGMENT_SIZE);
+    }
+
+    static SpillStore open(String debugId, Path directory, long maxSize) throws IOException {
+        if (maxSize / MIN_SEGMENTS_COUNT <= HEADER_SIZE + RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Spill size " + maxSize + " is too small");
+        }
+
+        SpillStore store = new SpillStore(debugId, directory, maxSize);
+        Files.createDirectories(directory);
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        Collections.sort(files);
+
+        for (Path file : files) {
+            store.recover(file);
+        }
+
+        if (store.unreadCount > 0) {
+            logger.info("[{}] recovered {} unacked messages from {}", debugId, store.unreadCount, directory);
+        }
+        return store;
+    }
+
+    synchronized boolean isEmpty() {
+        return unreadCount == 0;
+    }
+
+    synchronized int size() {
+        return unreadCount;
+    }
+
+    synchronized long getUsedSize() {
+        long used = 0;
+        for (Segment segment : segments) {
+            used += segment.buffer.capacity();
+        }
+        return used;
+    }
+
+    /**
+     * Serializes the message and appends it to the end of the store. The message is serialized only if the store has
+     * enough space for it
+     * @param message message to append
+     * @return false if the store doesn't have enough space for the message
+     * @throws UncheckedIOException if the new segment cannot be created
+     */
+    synchronized boolean append(Message message) {
+        if (!isClosed && !hasSpace(RECORD_HEADER_SIZE + serializedSize(message))) {
+            return false;
+        }
+        return append(serialize(message));
+    }
+
+    /**
+     * Appends the serialized message to the end of the store
+     * @param payload message serialized by {@link #serialize(Message)}
+     * @return false if the store doesn't have enough space for the message
+     * @throws UncheckedIOException if the new segment cannot be created
+     */
+    synchronized boolean append(byte[] payload) {
+        if (isClosed) {
+            throw new IllegalStateException("Spill store " + directory + " was closed");
+        }
+
+        int recordSize = RECORD_HEADER_SIZE + payload.length;
+        if (!hasSpace(recordSize)) {
+            return false;
+        }
+
+        Segment last = segments.peekLast();
+        if (last == null || last.writePosition + recordSize > last.buffer.capacity()) {
+            try {
+                last = createSegment();
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot create spill segment in " + directory, ex);
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+
+        ByteBuffer buffer = last.buffer.duplicate();
+        buffer.position(last.writePosition);
+        buffer.putInt(payload.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+
+        last.writePosition += recordSize;
+        last.recordsCount++;
+        unreadCount++;
+        return true;
+    }
+
+    /**
+     * @return data size of the next unread message or -1 if the store is empty
+     */
+    synchronized int nextSize() {
+        Segment segment = firstUnread();
+        if (segment == null) {
+            return -1;
+        }
+        // payload starts with the data length
+        return segment.buffer.getInt(segment.readPosition + RECORD_HEADER_SIZE);
+    }
+
+    /**
+     * Reads the next message, the message must be acked by {@link Entry#ack()} after its confirmation by server
+     * @return next unread message or null if the store is empty
+     */
+    synchronized Entry poll() {
+        Segment segment = firstUnread();
+        if (segment == null) {
+            return null;
+        }
+
+        ByteBuffer buffer = segment.buffer.duplicate();
+        buffer.position(segment.readPosition);
+        Message message = readRecord(buffer);
+        segment.readPosition = buffer.position();
+        segment.readCount++;
+        unreadCount--;
+
+        notifyAll();
+        return new Entry(segment, message);
+    }
+
+    /**
+     * Waits until the store has space for the message of the given size or becomes empty
+     * @param payloadSize size of the serialized message
+     * @param timeout max time to wait
+     * @param unit timeout unit
+     * @return true if the message can be appended or the store is empty
+     * @throws InterruptedException if the current thread was interrupted
+     */
+    synchronized boolean awaitSpace(int payloadSize, long timeout, TimeUnit unit) throws InterruptedException {
+        int recordSize = RECORD_HEADER_SIZE + payloadSize;
+        long startedAt = System.nanoTime();
+        long timeoutNanos = unit.toNanos(timeout);
+        while (!isClosed && unreadCount > 0 && !hasSpace(recordSize)) {
+            long waitNanos = timeoutNanos - (System.nanoTime() - startedAt);
+            if (waitNanos <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, waitNanos);
+        }
+        return true;
+    }
+
+    synchronized void close() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        for (Segment segment : segments) {
+            segment.buffer.force();
+        }
+        segments.clear();
+        notifyAll();
+    }
+
+    private synchronized void ack(Segment segment) {
+        if (isClosed) {
+            return;
+        }
+
+        segment.ackedCount++;
+        segment.buffer.putInt(4, segment.ackedCount);
+
+        // the segment for writing is kept while it has space
+        boolean isSealed = segment != segments.peekLast() || segment.writePosition + RECORD_HEADER_SIZE
+                >= segment.buffer.capacity();
+        if (segment.ackedCount >= segment.recordsCount && (isSealed || unreadCount == 0)) {
+            segments.remove(segment);
+            deleteSegment(segment);
+            notifyAll();
+        }
+    }
+
+    private Segment firstUnread() {
+        if (isClosed || unreadCount == 0) {
+            return null;
+        }
+        for (Segment segment : segments) {
+            if (segment.readCount < segment.recordsCount) {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasSpace(int recordSize) {
+        if (recordSize > segmentSize - HEADER_SIZE) {
+            return false;
+        }
+        Segment last = segments.peekLast();
+        if (last != null && last.writePosition + recordSize <= last.buffer.capacity()) {
+            return true;
+        }
+        return getUsedSize() + segmentSize <= maxSize;
+    }
+
+    private Segment createSegment() throws IOException {
+        Path file = directory.resolve(String.format("%020d%s", nextSegmentIndex++, SEGMENT_SUFFIX));
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, 0);
+
+        Segment segment = new Segment(file, buffer);
+        segments.addLast(segment);
+        logger.debug("[{}] created spill segment {}", debugId, file);
+        return segment;
+    }
+
+    private void recover(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        try {
+            long index = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            nextSegmentIndex = Math.max(nextSegmentIndex, index + 1);
+        } catch (NumberFormatException ex) {
+            logger.warn("[{}] skip unknown file {} in spill directory", debugId, file);
+            return;
+        }
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                logger.warn("[{}] skip spill segment {} with invalid size {}", debugId, file, channel.size());
+                return;
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+
+        if (buffer.getInt(0) != MAGIC) {
+            logger.warn("[{}] skip spill segment {} with invalid header", debugId, file);
+            return;
+        }
+
+        Segment segment = new Segment(file, buffer);
+        int acked = buffer.getInt(4);
+
+        // scan records up to the first empty or broken one
+        ByteBuffer scan = buffer.duplicate();
+        scan.position(HEADER_SIZE);
+        while (scan.remaining() >= RECORD_HEADER_SIZE) {
+            int position = scan.position();
+            int length = scan.getInt();
+            int checksum = scan.getInt();
+            if (length <= 0 || length > scan.remaining()) {
+                break;
+            }
+
+            byte[] payload = new byte[length];
+            scan.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload, 0, length);
+            if ((int) crc.getValue() != checksum) {
+                logger.warn("[{}] spill segment {} has broken record at position {}", debugId, file, position);
+                break;
+            }
+
+            segment.recordsCount++;
+            if (segment.recordsCount <= acked) {
+                segment.readPosition = scan.position();
+                segment.readCount++;
+            }
+        }
+        segment.ackedCount = segment.readCount;
+        // recovered segments are never used for writing
+        segment.writePosition = buffer.capacity();
+
+        if (segment.readCount >= segment.recordsCount) {
+            deleteSegment(segment);
+            return;
+        }
+
+        segments.addLast(segment);
+        unreadCount += segment.recordsCount - segment.readCount;
+    }
+
+    private void deleteSegment(Segment segment) {
+        try {
+            Files.deleteIfExists(segment.file);
+            logger.debug("[{}] deleted spill segment {}", debugId, segment.file);
+        } catch (IOException ex) {
+            logger.warn("[{}] cannot delete spill segment {}", debugId, segment.file, ex);
+        }
+    }
+
+    /**
+     * @param message message to serialize
+     * @return length of the result of {@link #serialize(Message)} for the message
+     */
+    static int serializedSize(Message message) {
+        int size = 4 + 8 + 8 + 4 + 4; // data length, seqNo, timestamp and count of metadata items
+        for (MetadataItem item : message.getMetadataItems()) {
+            size += 4 + item.getKey().getBytes(StandardCharsets.UTF_8).length + 4;
+            if (item.getValue() != null) {
+                size += item.getValue().length;
+            }
+        }
+        return size + message.getData().length;
+    }
+
+    static byte[] serialize(Message message) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(message.getData().length + 64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(message.getData().length);
+            out.writeLong(message.getSeqNo() != null ? message.getSeqNo() : -1);
+            out.writeLong(message.getCreateTimestamp().getEpochSecond());
+            out.writeInt(message.getCreateTimestamp().getNano());
+
+            out.writeInt(message.getMetadataItems().size());
+            for (MetadataItem item : message.getMetadataItems()) {
+                byte[] key = item.getKey().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(key.length);
+                out.write(key);
+                byte[] value = item.getValue();
+                out.writeInt(value != null ? value.length : -1);
+                if (value != null) {
+                    out.write(value);
+                }
+            }
+
+            out.write(message.getData());
+        } catch (IOException ex) {
+            // ByteArrayOutputStream doesn't throw IOException
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Message readRecord(ByteBuffer buffer) {
+        buffer.getInt(); // length
+        buffer.getInt(); // crc32
+
+        try {
+            Message.Builder builder = Message.newBuilder();
+            byte[] data = new byte[buffer.getInt()];
+            long seqNo = buffer.getLong();
+            if (seqNo >= 0) {
+                builder.setSeqNo(seqNo);
+            }
+            long seconds = buffer.getLong();
+            int nanos = buffer.getInt();
+            builder.setCreateTimestamp(Instant.ofEpochSecond(seconds, nanos));
+
+            int itemsCount = buffer.getInt();
+            for (int idx = 0; idx < itemsCount; idx++) {
+                byte[] key = new byte[buffer.getInt()];
+                buffer.get(key);
+                int valueLength = buffer.getInt();
+                byte[] value = null;
+                if (valueLength >= 0) {
+                    value = new byte[valueLength];
+                    buffer.get(value);
+                }
+                builder.addMetadataItem(new MetadataItem(new String(key, StandardCharsets.UTF_8), value));
+            }
+
+            buffer.get(data);
+            return builder.setData(data).build();
+        } catch (BufferUnderflowException | IllegalArgumentException ex) {
+            throw new IllegalStateException("Spill record has invalid format", ex);
+        }
+    }
+
+    private static class Segment {
+        private final Path file;
+        private final MappedByteBuffer buffer;
+
+        private int writePosition = HEADER_SIZE;
+        private int readPosition = HEADER_SIZE;
+        private int recordsCount = 0;
+        private int readCount = 0;
+        private int ackedCount = 0;
+
+        Segment(Path file, MappedByteBuffer buffer) {
+            this.file = file;
+            this.buffer = buffer;
+        }
+    }
+
+    class Entry {
+        private final Segment segment;
+        private final Message message;
+
+        Entry(Segment segment, Message message) {
+            this.segment = segment;
+            this.message = message;
+        }
+
+        Message getMessage() {
+            return message;
+        }
+
+        /**
+         * Marks the message as written, it will not be replayed after restart
+         */
+        void ack() {
+            SpillStore.this.ack(segment);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import javax.annotation.Nonnull;
 
 import tech.ydb.topic.TopicRpc;
 import tech.ydb.topic.description.CodecRegistry;
+import tech.ydb.topic.impl.ReconnectLimiter;
 import tech.ydb.topic.settings.SendSettings;
 import tech.ydb.topic.settings.WriterSettings;
 import tech.ydb.topic.write.InitResult;
@@ -25,8 +26,9 @@ public class SyncWriterImpl implements SyncWriter {
     public SyncWriterImpl(TopicRpc topicRpc,
                           WriterSettings settings,
                           Executor compressionExecutor,
-                          @Nonnull CodecRegistry codecRegistry) {
-        this.impl = new WriterImpl(topicRpc, settings, compressionExecutor, codecRegistry);
+                          @Nonnull CodecRegistry codecRegistry,
+                          ReconnectLimiter limiter) {
+        this.impl = new WriterImpl(topicRpc, settings, compressionExecutor, codecRegistry, null, limiter);
     }
 
     @Override
@@ -43,7 +45,11 @@ public class SyncWriterImpl implements SyncWriter {
     public void send(Message message, SendSettings sendSettings) {
         try {
             impl.blockingSend(message, sendSettings);
-        } catch (InterruptedException | QueueOverflowException ex) {
+        } catch (InterruptedException ex) {
+            // keep the interruption visible to the caller, it is used to cancel blocked virtual threads
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Cannot send a message", ex);
+        } catch (QueueOverflowException ex) {
             throw new RuntimeException("Cannot send a message", ex);
         }
     }
@@ -11,6 +11,7 @@ import tech.ydb.proto.topic.YdbTopic;
 import tech.ydb.proto.topic.YdbTopic.StreamWriteMessage.FromClient;
 import tech.ydb.proto.topic.YdbTopic.StreamWriteMessage.FromServer;
 import tech.ydb.topic.TopicRpc;
+import tech.ydb.topic.impl.ReconnectLimiter;
 import tech.ydb.topic.impl.TopicRetryableStream;
 import tech.ydb.topic.impl.TopicStream;
 import tech.ydb.topic.settings.WriterSettings;
@@ -38,8 +39,9 @@ public final class WriteSession extends TopicRetryableStream<FromServer, FromCli
     private final MessageSender sender;
     private final BiConsumer<Status, Throwable> errorsHandler;
 
-    public WriteSession(String debugId, TopicRpc rpc, WriterSettings settings, Listener controller) {
-        super(logger, debugId, settings.getRetryConfig(), rpc.getScheduler());
+    public WriteSession(String debugId, TopicRpc rpc, WriterSettings settings, Listener controller,
+            ReconnectLimiter limiter) {
+        super(logger, debugId, settings.getRetryConfig(), rpc.getScheduler(), limiter);
         this.listener = controller;
         this.streamFactory = WriteStreamFactory.of(rpc, settings);
         this.sender = new MessageSender(debugId, settings.getCodec(), this::send);
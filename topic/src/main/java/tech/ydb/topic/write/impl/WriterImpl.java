@@ -20,6 +20,7 @@ import tech.ydb.core.UnexpectedResultException;
 import tech.ydb.topic.TopicRpc;
 import tech.ydb.topic.description.CodecRegistry;
 import tech.ydb.topic.impl.DebugTools;
+import tech.ydb.topic.impl.ReconnectLimiter;
 import tech.ydb.topic.impl.SerialRunnable;
 import tech.ydb.topic.settings.SendSettings;
 import tech.ydb.topic.settings.WriterSettings;
@@ -51,9 +52,19 @@ public class WriterImpl {
                       WriterSettings settings,
                       Executor compressionExecutor,
                       @Nonnull CodecRegistry codecRegistry) {
+        this(topicRpc, settings, compressionExecutor, codecRegistry, null, ReconnectLimiter.UNLIMITED);
+    }
+
+    WriterImpl(TopicRpc topicRpc,
+               WriterSettings settings,
+               Executor compressionExecutor,
+               @Nonnull CodecRegistry codecRegistry,
+               BufferManager sharedBuffer,
+               ReconnectLimiter limiter) {
         this.debugId = DebugTools.createDebugId(settings.getLogPrefix());
-        this.stream = new WriteSession(debugId, topicRpc, settings, new ListenerImpl());
-        this.writeQueue = new WriterQueue(debugId, settings, codecRegistry, compressionExecutor, sendTask);
+        this.stream = new WriteSession(debugId, topicRpc, settings, new ListenerImpl(), limiter);
+        this.writeQueue = new WriterQueue(debugId, settings, codecRegistry, compressionExecutor, sendTask,
+                sharedBuffer);
 
         logger.info("Writer with id {} created for topic \"{}\" with producerId \"{}\" and messageGroupId \"{}\"",
                 debugId, settings.getTopicPath(), settings.getProducerId(), settings.getMessageGroupId());
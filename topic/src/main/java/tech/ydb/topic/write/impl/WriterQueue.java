@@ -1,6 +1,9 @@
 package tech.ydb.topic.write.impl;
 
+import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.Iterator;
@@ -41,9 +44,11 @@ public class WriterQueue {
 
     private final String debugId;
     private final BufferManager buffer;
+    private final boolean isBufferOwner;
     private final Codec codec;
     private final Executor compressionExecutor;
     private final Runnable readyNotify;
+    private final SpillStore spill;
 
     // Messages that are taken into send buffer, are already compressed and are waiting for being sent
     private final Queue<EnqueuedMessage> queue = new ConcurrentLinkedQueue<>();
@@ -55,10 +60,28 @@ public class WriterQueue {
     // Future for flush method
     private volatile EnqueuedMessage lastAcceptedMessage = null;
 
+    // Futures of spilled messages in order of spilling, guarded by spillLock
+    private final Object spillLock = new Object();
+    private final Queue<CompletableFuture<WriteAck>> spilledFutures = new ArrayDeque<>();
+    // Count of messages from the previous writer at the head of the spill store, guarded by spillLock
+    private int recoveredCount = 0;
+    private volatile CompletableFuture<WriteAck> lastSpilledFuture = null;
+    private volatile boolean isClosed = false;
+
     public WriterQueue(String debugId, WriterSettings settings, CodecRegistry codecRegistry,
             Executor compressionExecutor, Runnable readyNotify) {
+        this(debugId, settings, codecRegistry, compressionExecutor, readyNotify, null);
+    }
+
+    /**
+     * Creates a writer queue which uses the given buffer manager instead of its own one. A shared buffer is not
+     * closed together with the queue, the messages dropped on close are returned to it instead.
+     */
+    WriterQueue(String debugId, WriterSettings settings, CodecRegistry codecRegistry,
+            Executor compressionExecutor, Runnable readyNotify, BufferManager sharedBuffer) {
         this.debugId = debugId;
-        this.buffer = new BufferManager(debugId, settings);
+        this.isBufferOwner = sharedBuffer == null;
+        this.buffer = isBufferOwner ? new BufferManager(debugId, settings) : sharedBuffer;
 
         this.codec = codecRegistry.getCodec(settings.getCodec());
         if (codec == null) {
@@ -66,20 +89,39 @@ public class WriterQueue {
         }
         this.compressionExecutor = compressionExecutor;
         this.readyNotify = readyNotify;
+        this.spill = openSpill(debugId, settings);
+        this.recoveredCount = spill != null ? spill.size() : 0;
+    }
+
+    private static SpillStore openSpill(String debugId, WriterSettings settings) {
+        if (settings.getSpillDirectory() == null) {
+            return null;
+        }
+        try {
+            return SpillStore.open(debugId, settings.getSpillDirectory(), settings.getMaxSpillSize());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open spill directory " + settings.getSpillDirectory(), ex);
+        }
     }
 
     CompletableFuture<Void> flush() {
+        CompletableFuture<WriteAck> last = lastSpilledFuture;
         EnqueuedMessage local = lastAcceptedMessage;
-        if (local == null) {
-            return CompletableFuture.completedFuture(null);
+        if (last == null || last.isDone()) {
+            if (local == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            last = local.getAckFuture();
         }
         CompletableFuture<Void> flushFuture = new CompletableFuture<>();
         // ackFuture can be failed, but flushFuture must be always successful
-        local.getAckFuture().whenComplete((ack, th) -> flushFuture.complete(null));
+        last.whenComplete((ack, th) -> flushFuture.complete(null));
         return flushFuture;
     }
 
     SentMessage nextMessageToSend() {
+        refillFromSpill();
+
         Iterator<EnqueuedMessage> it = queue.iterator();
         while (it.hasNext()) {
             EnqueuedMessage next = it.next();
@@ -153,10 +195,14 @@ public class WriterQueue {
             buffer.releaseMessage(sentMsg.getBufferSize());
             msg.confirm(ack);
         }
+        refillFromSpill();
     }
 
     void close(Status status) {
-        buffer.close(status);
+        isClosed = true;
+        if (isBufferOwner) {
+            buffer.close(status);
+        }
 
         while (!queue.isEmpty()) {
             RuntimeException ex = new RuntimeException("Message sending was cancelled with " + status);
@@ -165,6 +211,9 @@ public class WriterQueue {
                 EnqueuedMessage next = it.next();
                 next.close(ex);
                 it.remove();
+                if (!isBufferOwner) {
+                    buffer.releaseMessage(next.getBufferSize());
+                }
             }
         }
 
@@ -173,8 +222,23 @@ public class WriterQueue {
                     status);
             Iterator<EncodedMsg> it = sent.iterator();
             while (it.hasNext()) {
-                it.next().close(ex);
+                EncodedMsg msg = it.next();
+                msg.close(ex);
                 it.remove();
+                if (!isBufferOwner && msg.getSentMessage() != null) {
+                    buffer.releaseMessage(msg.getSentMessage().getBufferSize());
+                }
+            }
+        }
+
+        if (spill != null) {
+            synchronized (spillLock) {
+                RuntimeException ex = new RuntimeException("Message was spilled to disk and will be sent by the "
+                        + "next writer with the same spill directory, writer was stopped with " + status);
+                while (!spilledFutures.isEmpty()) {
+                    spilledFutures.poll().completeExceptionally(ex);
+                }
+                spill.close();
             }
         }
     }
@@ -211,18 +275,45 @@ public class WriterQueue {
             }
         }
 
+        refillFromSpill();
         return resend;
     }
 
     CompletableFuture<WriteAck> enqueue(Message message, YdbTransaction tx) throws QueueOverflowException,
             InterruptedException {
         long msgSize = Math.min(message.getData().length, buffer.getMaxSize());
+        if (spill != null && tx == null) {
+            while (true) {
+                CompletableFuture<WriteAck> future = acceptOrSpill(message, msgSize);
+                if (future != null) {
+                    return future;
+                }
+                if (spill.isEmpty()) {
+                    break;
+                }
+                spill.awaitSpace(SpillStore.serializedSize(message), Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+        }
+
         buffer.acquire(msgSize);
         return accept(message, tx, msgSize);
     }
 
     CompletableFuture<WriteAck> tryEnqueue(Message message, YdbTransaction tx) throws QueueOverflowException {
         long msgSize = Math.min(message.getData().length, buffer.getMaxSize());
+        if (spill != null && tx == null) {
+            CompletableFuture<WriteAck> future = acceptOrSpill(message, msgSize);
+            if (future != null) {
+                return future;
+            }
+            if (!spill.isEmpty()) {
+                String errorMsg = "[" + debugId + "] Rejecting a message of " + msgSize
+                        + " bytes: not enough space in message queue and spill store";
+                logger.warn(errorMsg);
+                throw new QueueOverflowException(errorMsg);
+            }
+        }
+
         buffer.tryAcquire(msgSize);
         return accept(message, tx, msgSize);
     }
@@ -230,10 +321,104 @@ public class WriterQueue {
     CompletableFuture<WriteAck> tryEnqueue(Message message, YdbTransaction tx, long timeout, TimeUnit unit)
             throws QueueOverflowException, InterruptedException, TimeoutException {
         long msgSize = Math.min(message.getData().length, buffer.getMaxSize());
-        buffer.tryAcquire(msgSize, timeout, unit);
+        long expireAt = System.nanoTime() + unit.toNanos(timeout);
+        if (spill != null && tx == null) {
+            int payloadSize = -1;
+            while (true) {
+                CompletableFuture<WriteAck> future = acceptOrSpill(message, msgSize);
+                if (future != null) {
+                    return future;
+                }
+                if (spill.isEmpty()) {
+                    break;
+                }
+                if (payloadSize < 0) {
+                    payloadSize = SpillStore.serializedSize(message);
+                }
+                if (!spill.awaitSpace(payloadSize, expireAt - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    String errorMsg = "[" + debugId + "] Rejecting a message of " + msgSize
+                            + " bytes: not enough space in message queue and spill store";
+                    logger.warn(errorMsg);
+                    throw new TimeoutException(errorMsg);
+                }
+            }
+        }
+
+        buffer.tryAcquire(msgSize, expireAt - System.nanoTime(), TimeUnit.NANOSECONDS);
         return accept(message, tx, msgSize);
     }
 
+    /**
+     * Takes the message into the send buffer if it has space and there are no spilled messages before, otherwise
+     * appends the message to the spill store to keep the order of messages. The message is serialized only when it
+     * is written to the spill store.
+     * @return future of message ack or null if both send buffer and spill store are full
+     */
+    private CompletableFuture<WriteAck> acceptOrSpill(Message message, long msgSize) {
+        synchronized (spillLock) {
+            if (spill.isEmpty() && buffer.tryReserve(msgSize)) {
+                return accept(message, null, msgSize);
+            }
+
+            if (!spill.append(message)) {
+                return null;
+            }
+
+            logger.trace("[{}] message of {} bytes was spilled to disk", debugId, msgSize);
+            CompletableFuture<WriteAck> future = new CompletableFuture<>();
+            spilledFutures.add(future);
+            lastSpilledFuture = future;
+            return future;
+        }
+    }
+
+    /**
+     * Moves spilled messages into the send buffer while it has space. Messages are encoded again, so their size in
+     * the buffer is counted the same way as for new messages.
+     */
+    private void refillFromSpill() {
+        if (spill == null) {
+            return;
+        }
+
+        synchronized (spillLock) {
+            while (!isClosed) {
+                int size = spill.nextSize();
+                if (size < 0) {
+                    return;
+                }
+
+                long msgSize = Math.min(size, buffer.getMaxSize());
+                if (!buffer.tryReserve(msgSize)) {
+                    return;
+                }
+
+                SpillStore.Entry entry = spill.poll();
+                CompletableFuture<WriteAck> userFuture = null;
+                if (recoveredCount > 0) {
+                    recoveredCount--;
+                } else {
+                    userFuture = spilledFutures.poll();
+                }
+
+                CompletableFuture<WriteAck> target = userFuture;
+                accept(entry.getMessage(), null, msgSize).whenComplete((ack, th) -> {
+                    // messages cancelled by writer closing stay in the spill store
+                    if (!isClosed) {
+                        entry.ack();
+                    }
+                    if (target != null) {
+                        if (th != null) {
+                            target.completeExceptionally(th);
+                        } else {
+                            target.complete(ack);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
 
     private CompletableFuture<WriteAck> accept(Message message, YdbTransaction tx, long msgSize) {
         EnqueuedMessage msg = new EnqueuedMessage(new MessageMeta(message, tx), msgSize);
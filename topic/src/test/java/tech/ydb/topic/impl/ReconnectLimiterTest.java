@@ -0,0 +1,58 @@
+package tech.ydb.topic.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ReconnectLimiterTest {
+    @Test
+    public void unlimitedTest() {
+        for (int idx = 0; idx < 1000; idx++) {
+            Assert.assertEquals(0, ReconnectLimiter.UNLIMITED.tryAcquire());
+        }
+    }
+
+    @Test
+    public void burstAndRateTest() {
+        AtomicLong clock = new AtomicLong(0);
+        ReconnectLimiter limiter = new ReconnectLimiter(10, clock::get);
+
+        // one second worth of reconnects is allowed at once
+        for (int idx = 0; idx < 10; idx++) {
+            Assert.assertEquals(0, limiter.tryAcquire());
+        }
+        Assert.assertEquals(100, limiter.tryAcquire());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(60));
+        Assert.assertEquals(40, limiter.tryAcquire());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(40));
+        Assert.assertEquals(0, limiter.tryAcquire());
+        Assert.assertEquals(100, limiter.tryAcquire());
+
+        // permits are restored after the pause
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        for (int idx = 0; idx < 10; idx++) {
+            Assert.assertEquals(0, limiter.tryAcquire());
+        }
+        Assert.assertTrue(limiter.tryAcquire() > 0);
+    }
+
+    @Test
+    public void delayJitterTest() {
+        AtomicLong clock = new AtomicLong(0);
+        ReconnectLimiter limiter = new ReconnectLimiter(10, clock::get);
+
+        for (int idx = 0; idx < 10; idx++) {
+            Assert.assertEquals(0, limiter.tryAcquireOrDelay());
+        }
+        // the delay is in range [100, 200) ms
+        for (int idx = 0; idx < 100; idx++) {
+            long delay = limiter.tryAcquireOrDelay();
+            Assert.assertTrue("unexpected delay " + delay, delay >= 100 && delay < 200);
+        }
+        Assert.assertEquals(0, ReconnectLimiter.UNLIMITED.tryAcquireOrDelay());
+    }
+}
@@ -0,0 +1,39 @@
+package tech.ydb.topic.impl;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.ydb.common.retry.RetryPolicy;
+
+public class RetryStateTest {
+    @Test
+    public void decorrelatedJitterTest() {
+        RetryPolicy policy = (retryCount, elapsed) -> retryCount < 10 ? 100L << retryCount : -1;
+        RetryState state = new RetryState();
+
+        // the first delay is taken from the policy as is
+        Assert.assertEquals(100, state.nextRetryMs(policy));
+
+        long prev = 100;
+        for (int retry = 1; retry < 10; retry++) {
+            long delay = state.nextRetryMs(policy);
+            Assert.assertTrue("delay " + delay, delay >= 100);
+            Assert.assertTrue("delay " + delay, delay <= Math.min(100L << retry, prev * 3));
+            prev = delay;
+        }
+
+        Assert.assertEquals(-1, state.nextRetryMs(policy));
+        Assert.assertEquals(11, state.retryNumber());
+
+        state.reset();
+        Assert.assertEquals(100, state.nextRetryMs(policy));
+    }
+
+    @Test
+    public void immediateRetryTest() {
+        RetryState state = new RetryState();
+        Assert.assertEquals(0, state.nextRetryMs((retryCount, elapsed) -> 0));
+        Assert.assertEquals(0, state.nextRetryMs((retryCount, elapsed) -> 0));
+        Assert.assertEquals(2, state.retryNumber());
+    }
+}
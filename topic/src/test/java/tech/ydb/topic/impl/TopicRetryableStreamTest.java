@@ -80,7 +80,12 @@ public class TopicRetryableStreamTest {
         final List<Empty> receivedMessages = new ArrayList<>();
 
         TestStream(List<StreamHandle> handles, RetryConfig retryConfig, ScheduledExecutorService scheduler) {
-            super(logger, "test", retryConfig, scheduler);
+            this(handles, retryConfig, scheduler, ReconnectLimiter.UNLIMITED);
+        }
+
+        TestStream(List<StreamHandle> handles, RetryConfig retryConfig, ScheduledExecutorService scheduler,
+                ReconnectLimiter limiter) {
+            super(logger, "test", retryConfig, scheduler, limiter);
             this.handles = handles;
         }
 
@@ -323,4 +328,26 @@ public class TopicRetryableStreamTest {
 
         Mockito.verify(h3.grpc).start(Mockito.any());
     }
+
+    @Test
+    public void reconnectLimiterPostponesRetryTest() {
+        StreamHandle h1 = new StreamHandle();
+        StreamHandle h2 = new StreamHandle();
+        ScheduledExecutorService scheduler = mockScheduler();
+        RetryConfig config = status -> (retryCount, elapsed) -> 0;
+
+        // limiter with stopped clock and the only permit
+        ReconnectLimiter limiter = new ReconnectLimiter(1, () -> 0L);
+        Assert.assertEquals(0, limiter.tryAcquire());
+
+        TestStream retryable = new TestStream(Arrays.asList(h1, h2), config, scheduler, limiter);
+        retryable.start();
+        h1.complete(Status.of(StatusCode.UNAVAILABLE));
+
+        Assert.assertEquals(1, retryable.retryStatuses.size());
+        Mockito.verify(h2.grpc, Mockito.never()).start(Mockito.any());
+        Mockito.verify(scheduler)
+                .schedule(Mockito.any(Runnable.class), Mockito.longThat(delay -> delay >= 1000 && delay < 2000),
+                        Mockito.eq(TimeUnit.MILLISECONDS));
+    }
 }
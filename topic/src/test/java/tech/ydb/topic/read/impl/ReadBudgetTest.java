@@ -0,0 +1,33 @@
+package tech.ydb.topic.read.impl;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ReadBudgetTest {
+    @Test
+    public void splitTest() {
+        Assert.assertArrayEquals(new long[0], ReadBudget.split(100, new long[0]));
+        Assert.assertArrayEquals(new long[] { 100 }, ReadBudget.split(100, new long[] { 10 }));
+
+        // bytes are split in proportion of the messages size
+        Assert.assertArrayEquals(new long[] { 25, 75 }, ReadBudget.split(100, new long[] { 10, 30 }));
+        // remainder goes to the last partition
+        Assert.assertArrayEquals(new long[] { 33, 33, 34 }, ReadBudget.split(100, new long[] { 1, 1, 1 }));
+        // empty partitions are split equally
+        Assert.assertArrayEquals(new long[] { 50, 50 }, ReadBudget.split(100, new long[] { 0, 0 }));
+        Assert.assertArrayEquals(new long[] { 0, 100 }, ReadBudget.split(100, new long[] { 0, 5 }));
+    }
+
+    @Test
+    public void lagWeightTest() {
+        Assert.assertEquals(1000, ReadBudget.weight(0));
+        Assert.assertEquals(1000, ReadBudget.weight(-50)); // clock skew
+        Assert.assertEquals(500, ReadBudget.weight(1000));
+        Assert.assertEquals(333, ReadBudget.weight(2000));
+        Assert.assertEquals(1, ReadBudget.weight(Long.MAX_VALUE / 2));
+
+        Assert.assertEquals(500, ReadBudget.share(1000, 500, 1000));
+        Assert.assertEquals(666, ReadBudget.share(1000, 1000, 1500));
+        Assert.assertEquals(1000, ReadBudget.share(1000, 1, 0));
+    }
+}
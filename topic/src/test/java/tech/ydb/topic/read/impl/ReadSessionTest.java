@@ -0,0 +1,266 @@
+package tech.ydb.topic.read.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.protobuf.ByteString;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import tech.ydb.core.Status;
+import tech.ydb.core.grpc.GrpcReadStream;
+import tech.ydb.core.grpc.GrpcReadWriteStream;
+import tech.ydb.core.utils.ProtobufUtils;
+import tech.ydb.proto.StatusCodesProtos;
+import tech.ydb.proto.topic.YdbTopic;
+import tech.ydb.proto.topic.YdbTopic.StreamReadMessage.FromClient;
+import tech.ydb.proto.topic.YdbTopic.StreamReadMessage.FromServer;
+import tech.ydb.proto.topic.YdbTopic.StreamReadMessage.ReadResponse;
+import tech.ydb.topic.TopicRpc;
+import tech.ydb.topic.description.Codec;
+import tech.ydb.topic.description.CodecRegistry;
+import tech.ydb.topic.read.events.DataReceivedEvent;
+import tech.ydb.topic.read.events.StartPartitionSessionEvent;
+import tech.ydb.topic.settings.ReaderSettings;
+import tech.ydb.topic.settings.TopicReadSettings;
+
+public class ReadSessionTest {
+    private final StreamMock stream = new StreamMock();
+    private final ReaderImpl reader = Mockito.mock(ReaderImpl.class);
+    private final List<DataReceivedEvent> events = new ArrayList<>();
+    private final List<CompletableFuture<Void>> handled = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        Mockito.doAnswer(inv -> {
+            inv.getArgument(0, StartPartitionSessionEvent.class).confirm();
+            return null;
+        }).when(reader).handleStartPartitionSessionRequest(Mockito.any());
+        Mockito.when(reader.handleDataReceivedEvent(Mockito.any())).thenAnswer(inv -> {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            events.add(inv.getArgument(0, DataReceivedEvent.class));
+            handled.add(future);
+            return future;
+        });
+    }
+
+    private ReadSession startSession() {
+        TopicRpc rpc = Mockito.mock(TopicRpc.class);
+        Mockito.when(rpc.readSession(Mockito.anyString())).thenReturn(stream);
+
+        ReaderSettings settings = ReaderSettings.newBuilder()
+                .setConsumerName("consumer")
+                .addTopic(TopicReadSettings.newBuilder().setPath("/local/topic").build())
+                .setMaxMemoryUsageBytes(1000)
+                .setMaxBatchSize(1)
+                .build();
+        MessageDecoder decoder = new MessageDecoder(1000, Runnable::run, new CodecRegistry());
+        ReadSession session = new ReadSession(rpc, reader, decoder, "test", settings);
+        session.startAndInitialize();
+
+        stream.receive(FromServer.newBuilder().setInitResponse(
+                YdbTopic.StreamReadMessage.InitResponse.newBuilder().setSessionId("test-session").build()));
+        stream.startPartitionSession(1);
+        stream.startPartitionSession(2);
+        Assert.assertEquals(1000, stream.requestedBytes());
+        return session;
+    }
+
+    private static ReadResponse.PartitionData partitionData(long psid, int... sizes) {
+        return partitionData(psid, Instant.EPOCH, sizes);
+    }
+
+    /** Creates partition data with a batch of one message for each size */
+    private static ReadResponse.PartitionData partitionData(long psid, Instant writtenAt, int... sizes) {
+        ReadResponse.PartitionData.Builder data = ReadResponse.PartitionData.newBuilder().setPartitionSessionId(psid);
+        long offset = 0;
+        for (int size : sizes) {
+            data.addBatches(ReadResponse.Batch.newBuilder()
+                    .setCodec(Codec.RAW)
+                    .setWrittenAt(ProtobufUtils.instantToProto(writtenAt))
+                    .addMessageData(ReadResponse.MessageData.newBuilder()
+                            .setOffset(offset++)
+                            .setData(ByteString.copyFrom(new byte[size]))));
+        }
+        return data.build();
+    }
+
+    private static long partitionOf(DataReceivedEvent event) {
+        return event.getPartitionSession().getId();
+    }
+
+    @Test
+    public void releaseBudgetPerPartitionTest() {
+        ReadSession session = startSession();
+
+        stream.receive(FromServer.newBuilder().setReadResponse(ReadResponse.newBuilder()
+                .setBytesSize(400)
+                .addPartitionData(partitionData(1, 30))
+                .addPartitionData(partitionData(2, 10))));
+        Assert.assertEquals(2, events.size());
+
+        // the fast partition returns its share without waiting for the slow one
+        handled.get(1).complete(null);
+        Assert.assertEquals(100, stream.requestedBytes());
+
+        handled.get(0).complete(null);
+        Assert.assertEquals(300, stream.requestedBytes());
+        session.shutdown();
+    }
+
+    @Test
+    public void releaseEmptyResponseTest() {
+        ReadSession session = startSession();
+
+        stream.receive(FromServer.newBuilder().setReadResponse(ReadResponse.newBuilder().setBytesSize(200)));
+        Assert.assertEquals(200, stream.requestedBytes());
+        Assert.assertTrue(events.isEmpty());
+        session.shutdown();
+    }
+
+    @Test
+    public void releaseUnknownPartitionTest() {
+        ReadSession session = startSession();
+
+        stream.receive(FromServer.newBuilder().setReadResponse(ReadResponse.newBuilder()
+                .setBytesSize(300)
+                .addPartitionData(partitionData(1, 10))
+                .addPartitionData(partitionData(5, 20))));
+        Assert.assertEquals(200, stream.requestedBytes());
+
+        handled.get(0).complete(null);
+        Assert.assertEquals(100, stream.requestedBytes());
+        session.shutdown();
+    }
+
+    @Test
+    public void pauseLaggingPartitionTest() {
+        ReadSession session = startSession();
+
+        // partition 1 holds 900 bytes, which is more than its half of the budget
+        stream.receive(FromServer.newBuilder().setReadResponse(ReadResponse.newBuilder()
+                .setBytesSize(1000)
+                .addPartitionData(partitionData(1, 45, 45))
+                .addPartitionData(partitionData(2, 5, 5))));
+        Assert.assertEquals(2, events.size());
+
+        // partition 2 is delivering, so the next messages of partition 1 are postponed
+        handled.get(0).complete(null);
+        Assert.assertEquals(2, events.size());
+
+        handled.get(1).complete(null);
+        Assert.assertEquals(3, events.size());
+        Assert.assertEquals(2, partitionOf(events.get(2)));
+
+        // partition 2 has nothing more to read and returns its budget, partition 1 is resumed
+        handled.get(2).complete(null);
+        Assert.assertEquals(100, stream.requestedBytes());
+        Assert.assertEquals(4, events.size());
+        Assert.assertEquals(1, partitionOf(events.get(3)));
+
+        handled.get(3).complete(null);
+        Assert.assertEquals(900, stream.requestedBytes());
+        session.shutdown();
+    }
+
+    @Test
+    public void lagWeightedShareTest() {
+        ReadSession session = startSession();
+
+        // partition 2 is one hour behind, so its share is too small even for one message
+        stream.receive(FromServer.newBuilder().setReadResponse(ReadResponse.newBuilder()
+                .setBytesSize(300)
+                .addPartitionData(partitionData(1, Instant.now(), 10, 10))
+                .addPartitionData(partitionData(2, Instant.now().minus(Duration.ofHours(1)), 10, 10))));
+        Assert.assertEquals(1, events.size());
+
+        handled.get(0).complete(null);
+        Assert.assertEquals(2, events.size());
+        Assert.assertEquals(1, partitionOf(events.get(1)));
+
+        // partition 1 is read and the lagging one is resumed
+        handled.get(1).complete(null);
+        Assert.assertEquals(150, stream.requestedBytes());
+        Assert.assertEquals(3, events.size());
+        Assert.assertEquals(2, partitionOf(events.get(2)));
+        session.shutdown();
+    }
+
+    @Test
+    public void shareWithinBudgetTest() {
+        ReadSession session = startSession();
+
+        // both partitions hold no more than their shares and are delivered independently
+        stream.receive(FromServer.newBuilder().setReadResponse(ReadResponse.newBuilder()
+                .setBytesSize(600)
+                .addPartitionData(partitionData(1, 10, 10))
+                .addPartitionData(partitionData(2, 10, 10))));
+        Assert.assertEquals(2, events.size());
+
+        handled.get(0).complete(null);
+        Assert.assertEquals(3, events.size());
+        Assert.assertEquals(1, partitionOf(events.get(2)));
+        session.shutdown();
+    }
+
+    private static class StreamMock implements GrpcReadWriteStream<FromServer, FromClient> {
+        private final CompletableFuture<Status> future = new CompletableFuture<>();
+        private final List<FromClient> messages = new ArrayList<>();
+        private GrpcReadStream.Observer<FromServer> observer = null;
+
+        void receive(FromServer.Builder message) {
+            observer.onNext(message.setStatus(StatusCodesProtos.StatusIds.StatusCode.SUCCESS).build());
+        }
+
+        void startPartitionSession(long psid) {
+            receive(FromServer.newBuilder().setStartPartitionSessionRequest(
+                    YdbTopic.StreamReadMessage.StartPartitionSessionRequest.newBuilder()
+                            .setPartitionSession(YdbTopic.StreamReadMessage.PartitionSession.newBuilder()
+                                    .setPartitionSessionId(psid)
+                                    .setPartitionId(psid)
+                                    .setPath("/local/topic"))
+                            .build()));
+        }
+
+        /** Returns bytes of the last ReadRequest */
+        long requestedBytes() {
+            for (int idx = messages.size() - 1; idx >= 0; idx--) {
+                if (messages.get(idx).hasReadRequest()) {
+                    return messages.get(idx).getReadRequest().getBytesSize();
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public String authToken() {
+            return "token";
+        }
+
+        @Override
+        public void sendNext(FromClient message) {
+            messages.add(message);
+        }
+
+        @Override
+        public void close() {
+            future.complete(Status.SUCCESS);
+        }
+
+        @Override
+        public CompletableFuture<Status> start(GrpcReadStream.Observer<FromServer> observer) {
+            this.observer = observer;
+            return future;
+        }
+
+        @Override
+        public void cancel() {
+            future.complete(Status.SUCCESS);
+        }
+    }
+}
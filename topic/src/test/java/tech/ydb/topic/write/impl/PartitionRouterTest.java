@@ -0,0 +1,130 @@
+package tech.ydb.topic.write.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.protobuf.ByteString;
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.ydb.proto.topic.YdbTopic.DescribeTopicResult;
+import tech.ydb.proto.topic.YdbTopic.PartitionKeyRange;
+
+public class PartitionRouterTest {
+
+    static DescribeTopicResult.PartitionInfo partition(long id, Integer from, Integer to) {
+        PartitionKeyRange.Builder range = PartitionKeyRange.newBuilder();
+        if (from != null) {
+            range.setFromBound(ByteString.copyFrom(new byte[] { from.byteValue() }));
+        }
+        if (to != null) {
+            range.setToBound(ByteString.copyFrom(new byte[] { to.byteValue() }));
+        }
+        return DescribeTopicResult.PartitionInfo.newBuilder()
+                .setPartitionId(id)
+                .setActive(true)
+                .setKeyRange(range.build())
+                .build();
+    }
+
+    static DescribeTopicResult.PartitionInfo partition(long id) {
+        return DescribeTopicResult.PartitionInfo.newBuilder().setPartitionId(id).setActive(true).build();
+    }
+
+    /** Finds a key which hash starts with a byte in range [from, to) */
+    static String keyInRange(String prefix, int from, int to) {
+        for (int idx = 0; ; idx++) {
+            String key = prefix + idx;
+            int first = PartitionRouter.keyHash(key)[0] & 0xFF;
+            if (first >= from && first < to) {
+                return key;
+            }
+        }
+    }
+
+    @Test
+    public void compareKeysTest() {
+        Assert.assertEquals(0, PartitionRouter.compareKeys(new byte[0], new byte[0]));
+        Assert.assertTrue(PartitionRouter.compareKeys(new byte[0], new byte[] { 0x00 }) < 0);
+        Assert.assertTrue(PartitionRouter.compareKeys(new byte[] { 0x7F }, new byte[] { (byte) 0x80 }) < 0);
+        Assert.assertTrue(PartitionRouter.compareKeys(new byte[] { (byte) 0xFF }, new byte[] { 0x01, 0x02 }) > 0);
+        Assert.assertTrue(PartitionRouter.compareKeys(new byte[] { 0x01 }, new byte[] { 0x01, 0x00 }) < 0);
+    }
+
+    @Test
+    public void keyRangesRoutingTest() {
+        // partitions are unordered in the description
+        PartitionRouter router = PartitionRouter.of(Arrays.asList(
+                partition(5, 0x80, null),
+                partition(3, null, 0x40),
+                partition(4, 0x40, 0x80)
+        ));
+
+        Assert.assertEquals(3, router.size());
+        Assert.assertArrayEquals(new long[] { 3, 4, 5 }, router.partitionIds());
+
+        Assert.assertEquals(3, router.byKey(keyInRange("a", 0x00, 0x40)));
+        Assert.assertEquals(4, router.byKey(keyInRange("b", 0x40, 0x80)));
+        Assert.assertEquals(5, router.byKey(keyInRange("c", 0x80, 0x100)));
+        Assert.assertEquals(5, router.byKey(keyInRange("d", 0xC0, 0x100)));
+    }
+
+    @Test
+    public void splitMovesOnlyKeysOfSplitPartitionTest() {
+        PartitionRouter before = PartitionRouter.of(Arrays.asList(
+                partition(0, null, 0x80),
+                partition(1, 0x80, null)
+        ));
+        // partition 1 is split to partitions 2 and 3
+        PartitionRouter after = PartitionRouter.of(Arrays.asList(
+                partition(0, null, 0x80),
+                partition(2, 0x80, 0xC0),
+                partition(3, 0xC0, null)
+        ));
+
+        for (int idx = 0; idx < 1000; idx++) {
+            String key = "key-" + idx;
+            long was = before.byKey(key);
+            long now = after.byKey(key);
+            if (was == 0) {
+                Assert.assertEquals(0, now);
+            } else {
+                Assert.assertTrue("key " + key + " routed to " + now, now == 2 || now == 3);
+            }
+        }
+    }
+
+    @Test
+    public void noKeyRangesRoutingTest() {
+        PartitionRouter router = PartitionRouter.of(Arrays.asList(partition(2), partition(0), partition(1)));
+        Assert.assertArrayEquals(new long[] { 0, 1, 2 }, router.partitionIds());
+
+        Map<Long, Integer> counts = new HashMap<>();
+        for (int idx = 0; idx < 3000; idx++) {
+            String key = "key-" + idx;
+            long id = router.byKey(key);
+            Assert.assertEquals(id, router.byKey(key));
+            counts.merge(id, 1, Integer::sum);
+        }
+
+        Assert.assertEquals(3, counts.size());
+        for (int count : counts.values()) {
+            Assert.assertTrue("unbalanced routing " + counts, count > 800 && count < 1200);
+        }
+    }
+
+    @Test
+    public void roundRobinTest() {
+        PartitionRouter router = PartitionRouter.of(Arrays.asList(partition(7), partition(8)));
+        Assert.assertEquals(7, router.byIndex(0));
+        Assert.assertEquals(8, router.byIndex(1));
+        Assert.assertEquals(7, router.byIndex(2));
+        Assert.assertEquals(8, router.byIndex(-1));
+
+        Assert.assertTrue(router.contains(8));
+        Assert.assertFalse(router.contains(9));
+        Assert.assertEquals(0, PartitionRouter.of(Collections.emptyList()).size());
+    }
+}
@@ -0,0 +1,352 @@
+package tech.ydb.topic.write.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.grpc.GrpcReadStream;
+import tech.ydb.core.grpc.GrpcReadWriteStream;
+import tech.ydb.core.grpc.GrpcRequestSettings;
+import tech.ydb.proto.StatusCodesProtos;
+import tech.ydb.proto.topic.YdbTopic;
+import tech.ydb.proto.topic.YdbTopic.DescribeTopicRequest;
+import tech.ydb.proto.topic.YdbTopic.DescribeTopicResult;
+import tech.ydb.proto.topic.YdbTopic.StreamWriteMessage.FromClient;
+import tech.ydb.proto.topic.YdbTopic.StreamWriteMessage.FromServer;
+import tech.ydb.topic.TopicRpc;
+import tech.ydb.topic.description.Codec;
+import tech.ydb.topic.description.CodecRegistry;
+import tech.ydb.topic.impl.ReconnectLimiter;
+import tech.ydb.topic.settings.PartitionedWriterSettings;
+import tech.ydb.topic.settings.TopicRetryConfig;
+import tech.ydb.topic.settings.WriterSettings;
+import tech.ydb.topic.write.Message;
+import tech.ydb.topic.write.PartitionWriteStats;
+import tech.ydb.topic.write.WriteAck;
+
+import static tech.ydb.topic.write.impl.PartitionRouterTest.keyInRange;
+import static tech.ydb.topic.write.impl.PartitionRouterTest.partition;
+
+public class PartitionedWriterImplTest {
+    private static final Message MSG = Message.of(new byte[] { 0x00, 0x01, 0x02 });
+
+    private final List<StreamMock> streams = new ArrayList<>();
+    private final AtomicReference<DescribeTopicResult> description = new AtomicReference<>();
+    private TopicRpc rpc;
+    private ScheduledExecutorService scheduler;
+
+    @Before
+    public void setup() {
+        scheduler = Mockito.mock(ScheduledExecutorService.class);
+        rpc = Mockito.mock(TopicRpc.class);
+        Mockito.when(rpc.getScheduler()).thenReturn(scheduler);
+        Mockito.when(rpc.writeSession(Mockito.any(String.class))).thenAnswer(inv -> {
+            StreamMock stream = new StreamMock();
+            streams.add(stream);
+            return stream;
+        });
+        Mockito.when(rpc.describeTopic(Mockito.any(DescribeTopicRequest.class),
+                Mockito.any(GrpcRequestSettings.class)))
+                .thenAnswer(inv -> CompletableFuture.completedFuture(Result.success(description.get())));
+    }
+
+    private void describe(DescribeTopicResult.PartitionInfo... partitions) {
+        description.set(DescribeTopicResult.newBuilder().addAllPartitions(Arrays.asList(partitions)).build());
+    }
+
+    private static DescribeTopicResult.PartitionInfo inactive(DescribeTopicResult.PartitionInfo partition) {
+        return partition.toBuilder().setActive(false).build();
+    }
+
+    private PartitionedWriterImpl createWriter(PartitionedWriterSettings.RoutingMode mode) {
+        WriterSettings settings = WriterSettings.newBuilder()
+                .setTopicPath("/test/topic")
+                .setProducerId("test-producer")
+                .setCodec(Codec.RAW)
+                .setRetryConfig(TopicRetryConfig.NEVER)
+                .build();
+        PartitionedWriterSettings partitioned = PartitionedWriterSettings.newBuilder(settings)
+                .setRoutingMode(mode)
+                .setPartitionsRefreshInterval(Duration.ofSeconds(10))
+                .build();
+        return new PartitionedWriterImpl(rpc, partitioned, Runnable::run, new CodecRegistry(),
+                ReconnectLimiter.UNLIMITED);
+    }
+
+    private Runnable refreshTask() {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(scheduler).scheduleWithFixedDelay(task.capture(), Mockito.eq(10000L), Mockito.eq(10000L),
+                Mockito.eq(TimeUnit.MILLISECONDS));
+        return task.getValue();
+    }
+
+    private StreamMock stream(long partitionId) {
+        StreamMock last = null;
+        for (StreamMock stream : streams) {
+            if (stream.partitionId() == partitionId) {
+                last = stream;
+            }
+        }
+        Assert.assertNotNull("No stream for partition " + partitionId, last);
+        return last;
+    }
+
+    private static List<Long> writtenSeqNo(StreamMock stream) {
+        List<Long> seqNo = new ArrayList<>();
+        for (FromClient msg : stream.messages) {
+            if (msg.hasWriteRequest()) {
+                for (YdbTopic.StreamWriteMessage.WriteRequest.MessageData data : msg.getWriteRequest()
+                        .getMessagesList()) {
+                    seqNo.add(data.getSeqNo());
+                }
+            }
+        }
+        return seqNo;
+    }
+
+    @Test
+    public void keyRoutingTest() throws Exception {
+        describe(partition(0, null, 0x80), partition(1, 0x80, null));
+        PartitionedWriterImpl writer = createWriter(PartitionedWriterSettings.RoutingMode.KEY_HASH);
+
+        CompletableFuture<Void> init = writer.init();
+        Assert.assertEquals(2, streams.size());
+        Assert.assertFalse(init.isDone());
+        stream(0).sendInitResponse(0);
+        stream(1).sendInitResponse(10);
+        Assert.assertTrue(init.isDone());
+
+        String low = keyInRange("low", 0x00, 0x80);
+        String high = keyInRange("high", 0x80, 0x100);
+
+        CompletableFuture<WriteAck> m1 = writer.send(low, MSG);
+        CompletableFuture<WriteAck> m2 = writer.send(high, MSG);
+        CompletableFuture<WriteAck> m3 = writer.send(low, MSG);
+
+        Assert.assertEquals(Arrays.asList(1L, 2L), writtenSeqNo(stream(0)));
+        Assert.assertEquals(Arrays.asList(11L), writtenSeqNo(stream(1)));
+
+        CompletableFuture<Void> flush = writer.flush();
+        stream(0).sendAckResponse(1, 100);
+        stream(1).sendAckResponse(11, 200);
+        Assert.assertFalse(flush.isDone());
+        stream(0).sendAckResponse(2, 101);
+        Assert.assertTrue(flush.isDone());
+
+        Assert.assertEquals(100, m1.join().getDetails().getOffset());
+        Assert.assertEquals(200, m2.join().getDetails().getOffset());
+        Assert.assertEquals(101, m3.join().getDetails().getOffset());
+
+        Map<Long, PartitionWriteStats> stats = writer.getPartitionStats();
+        Assert.assertEquals(2, stats.size());
+        Assert.assertEquals(2, stats.get(0L).getWrittenMessages());
+        Assert.assertEquals(6, stats.get(0L).getWrittenBytes());
+        Assert.assertEquals(1, stats.get(1L).getWrittenMessages());
+        Assert.assertEquals(0, stats.get(1L).getFailedMessages());
+
+        writer.shutdown();
+        Assert.assertTrue(stream(0).isClosed);
+        Assert.assertTrue(stream(1).isClosed);
+    }
+
+    @Test
+    public void roundRobinTest() throws Exception {
+        describe(partition(0), partition(1), partition(2));
+        PartitionedWriterImpl writer = createWriter(PartitionedWriterSettings.RoutingMode.ROUND_ROBIN);
+
+        writer.init();
+        stream(0).sendInitResponse(0);
+        stream(1).sendInitResponse(0);
+        stream(2).sendInitResponse(0);
+
+        String key = keyInRange("key", 0x00, 0x100);
+        for (int idx = 0; idx < 6; idx++) {
+            writer.send(key, MSG);
+        }
+
+        Assert.assertEquals(2, writtenSeqNo(stream(0)).size());
+        Assert.assertEquals(2, writtenSeqNo(stream(1)).size());
+        Assert.assertEquals(2, writtenSeqNo(stream(2)).size());
+    }
+
+    @Test
+    public void splitTest() throws Exception {
+        describe(partition(0, null, 0x80), partition(1, 0x80, null));
+        PartitionedWriterImpl writer = createWriter(PartitionedWriterSettings.RoutingMode.KEY_HASH);
+
+        writer.init();
+        Runnable refresh = refreshTask();
+        stream(0).sendInitResponse(0);
+        stream(1).sendInitResponse(0);
+
+        String low = keyInRange("low", 0x00, 0x80);
+        String middle = keyInRange("middle", 0x80, 0xC0);
+        String high = keyInRange("high", 0xC0, 0x100);
+
+        CompletableFuture<WriteAck> pending = writer.send(high, MSG);
+        Assert.assertEquals(Arrays.asList(1L), writtenSeqNo(stream(1)));
+
+        // partition 1 is split to partitions 2 and 3
+        describe(partition(0, null, 0x80), inactive(partition(1, 0x80, null)),
+                partition(2, 0x80, 0xC0), partition(3, 0xC0, null));
+        refresh.run();
+
+        Assert.assertEquals(4, streams.size());
+        stream(2).sendInitResponse(0);
+        stream(3).sendInitResponse(1);
+
+        writer.send(low, MSG);
+        writer.send(middle, MSG);
+        writer.send(high, MSG);
+
+        Assert.assertEquals(Arrays.asList(1L), writtenSeqNo(stream(0)));
+        Assert.assertEquals(Arrays.asList(1L), writtenSeqNo(stream(1)));
+        Assert.assertEquals(Arrays.asList(1L), writtenSeqNo(stream(2)));
+        Assert.assertEquals(Arrays.asList(2L), writtenSeqNo(stream(3)));
+
+        // writer of inactive partition is kept until all its messages are written
+        Assert.assertFalse(writer.getPartitionStats().get(1L).isActive());
+        Assert.assertFalse(stream(1).isClosed);
+        CompletableFuture<Void> flush = writer.flush();
+
+        stream(1).sendAckResponse(1, 10);
+        Assert.assertTrue(pending.isDone());
+        Assert.assertTrue(stream(1).isClosed);
+        stream(1).close(Status.SUCCESS);
+
+        Assert.assertFalse(writer.getPartitionStats().containsKey(1L));
+        Assert.assertEquals(3, writer.getPartitionStats().size());
+        Assert.assertFalse(flush.isDone());
+
+        writer.shutdown();
+    }
+
+    @Test
+    public void initFailureOnRefreshTest() throws Exception {
+        describe(partition(0, null, 0x80), partition(1, 0x80, null));
+        PartitionedWriterImpl writer = createWriter(PartitionedWriterSettings.RoutingMode.KEY_HASH);
+
+        writer.init();
+        Runnable refresh = refreshTask();
+        stream(0).sendInitResponse(0);
+        stream(1).sendInitResponse(0);
+
+        describe(partition(0, null, 0x80), inactive(partition(1, 0x80, null)), partition(2, 0x80, null));
+        refresh.run();
+        Assert.assertEquals(3, streams.size());
+
+        String high = keyInRange("high", 0x80, 0x100);
+        CompletableFuture<WriteAck> pending = writer.send(high, MSG);
+
+        StreamMock failed = stream(2);
+        failed.close(Status.of(StatusCode.UNAUTHORIZED));
+        Assert.assertThrows(IllegalStateException.class, () -> writer.send(high, MSG));
+
+        // next refresh replaces the failed writer, its messages are failed
+        refresh.run();
+        Assert.assertEquals(4, streams.size());
+        Assert.assertNotSame(failed, stream(2));
+        Assert.assertTrue(pending.isCompletedExceptionally());
+        stream(2).sendInitResponse(0);
+
+        CompletableFuture<WriteAck> ack = writer.send(high, MSG);
+        Assert.assertEquals(Arrays.asList(1L), writtenSeqNo(stream(2)));
+        stream(2).sendAckResponse(1, 1);
+        Assert.assertEquals(1, ack.join().getDetails().getOffset());
+
+        writer.shutdown();
+    }
+
+    @Test
+    public void sendBeforeInitTest() {
+        describe(partition(0));
+        PartitionedWriterImpl writer = createWriter(PartitionedWriterSettings.RoutingMode.KEY_HASH);
+
+        IllegalStateException ex = Assert.assertThrows(IllegalStateException.class, () -> writer.send(MSG));
+        Assert.assertEquals("Partitioned writer is not initialized yet", ex.getMessage());
+
+        writer.shutdown();
+        ex = Assert.assertThrows(IllegalStateException.class, () -> writer.send(MSG));
+        Assert.assertEquals("Partitioned writer is already stopped", ex.getMessage());
+    }
+
+    private static class StreamMock implements GrpcReadWriteStream<FromServer, FromClient> {
+        private final CompletableFuture<Status> future = new CompletableFuture<>();
+        private final List<FromClient> messages = new ArrayList<>();
+        private GrpcReadStream.Observer<FromServer> observer = null;
+        private boolean isClosed = false;
+
+        long partitionId() {
+            return messages.isEmpty() ? -1 : messages.get(0).getInitRequest().getPartitionId();
+        }
+
+        void sendInitResponse(long lastSeqNo) {
+            observer.onNext(FromServer.newBuilder()
+                    .setStatus(StatusCodesProtos.StatusIds.StatusCode.SUCCESS)
+                    .setInitResponse(YdbTopic.StreamWriteMessage.InitResponse.newBuilder()
+                            .setLastSeqNo(lastSeqNo)
+                            .setSessionId("test-session")
+                            .build())
+                    .build());
+        }
+
+        void sendAckResponse(long seqNo, long offset) {
+            observer.onNext(FromServer.newBuilder()
+                    .setStatus(StatusCodesProtos.StatusIds.StatusCode.SUCCESS)
+                    .setWriteResponse(YdbTopic.StreamWriteMessage.WriteResponse.newBuilder()
+                            .addAcks(YdbTopic.StreamWriteMessage.WriteResponse.WriteAck.newBuilder()
+                                    .setSeqNo(seqNo)
+                                    .setWritten(YdbTopic.StreamWriteMessage.WriteResponse.WriteAck.Written.newBuilder()
+                                            .setOffset(offset)
+                                            .build())
+                                    .build())
+                            .build())
+                    .build()
+            );
+        }
+
+        void close(Status status) {
+            future.complete(status);
+        }
+
+        @Override
+        public String authToken() {
+            return "token";
+        }
+
+        @Override
+        public void sendNext(FromClient message) {
+            messages.add(message);
+        }
+
+        @Override
+        public void close() {
+            this.isClosed = true;
+        }
+
+        @Override
+        public CompletableFuture<Status> start(GrpcReadStream.Observer<FromServer> observer) {
+            this.observer = observer;
+            return future;
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
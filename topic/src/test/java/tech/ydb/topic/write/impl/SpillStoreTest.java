@@ -0,0 +1,168 @@
+package tech.ydb.topic.write.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import tech.ydb.topic.description.MetadataItem;
+import tech.ydb.topic.write.Message;
+
+public class SpillStoreTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static Message message(int idx) {
+        return Message.newBuilder()
+                .setData(("message" + idx).getBytes())
+                .setCreateTimestamp(Instant.ofEpochSecond(1000 + idx, idx))
+                .build();
+    }
+
+    private static String read(SpillStore.Entry entry) {
+        return new String(entry.getMessage().getData());
+    }
+
+    private static long segmentsCount(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    public void appendAndPollTest() throws IOException {
+        Path dir = folder.getRoot().toPath();
+        SpillStore store = SpillStore.open("test", dir, 1024);
+        Assert.assertTrue(store.isEmpty());
+        Assert.assertEquals(-1, store.nextSize());
+        Assert.assertNull(store.poll());
+
+        Message msg = Message.newBuilder()
+                .setData(new byte[] { 0x01, 0x02, 0x03 })
+                .setSeqNo(15)
+                .setCreateTimestamp(Instant.ofEpochSecond(100, 200))
+                .addMetadataItem(new MetadataItem("key", new byte[] { 0x10 }))
+                .build();
+        byte[] payload = SpillStore.serialize(msg);
+        Assert.assertEquals(payload.length, SpillStore.serializedSize(msg));
+        Assert.assertEquals(SpillStore.serialize(message(1)).length, SpillStore.serializedSize(message(1)));
+
+        Assert.assertTrue(store.append(payload));
+        Assert.assertTrue(store.append(message(1)));
+        Assert.assertEquals(2, store.size());
+        Assert.assertEquals(3, store.nextSize());
+
+        SpillStore.Entry entry = store.poll();
+        Message polled = entry.getMessage();
+        Assert.assertArrayEquals(msg.getData(), polled.getData());
+        Assert.assertEquals(Long.valueOf(15), polled.getSeqNo());
+        Assert.assertEquals(msg.getCreateTimestamp(), polled.getCreateTimestamp());
+        Assert.assertEquals(1, polled.getMetadataItems().size());
+        Assert.assertEquals("key", polled.getMetadataItems().get(0).getKey());
+        Assert.assertArrayEquals(new byte[] { 0x10 }, polled.getMetadataItems().get(0).getValue());
+
+        SpillStore.Entry entry2 = store.poll();
+        Assert.assertEquals("message1", read(entry2));
+        Assert.assertNull(entry2.getMessage().getSeqNo());
+        Assert.assertTrue(store.isEmpty());
+
+        // segment is deleted after acking of all records
+        entry.ack();
+        Assert.assertEquals(1, segmentsCount(dir));
+        entry2.ack();
+        Assert.assertEquals(0, segmentsCount(dir));
+        Assert.assertEquals(0, store.getUsedSize());
+
+        store.close();
+        Assert.assertThrows(IllegalStateException.class, () -> store.append(payload));
+    }
+
+    @Test
+    public void boundedSizeTest() throws IOException, InterruptedException {
+        SpillStore store = SpillStore.open("test", folder.getRoot().toPath(), 400);
+
+        int count = 0;
+        while (store.append(SpillStore.serialize(message(count)))) {
+            count++;
+        }
+        Assert.assertTrue(count > 0);
+        Assert.assertEquals(400, store.getUsedSize());
+
+        // message larger than segment is never spilled
+        byte[] large = SpillStore.serialize(Message.of(new byte[200]));
+        Assert.assertFalse(store.awaitSpace(large.length, 10, TimeUnit.MILLISECONDS));
+
+        for (int idx = 0; idx < count; idx++) {
+            Assert.assertEquals("message" + idx, read(store.poll()));
+        }
+        // empty store doesn't block waiters
+        Assert.assertTrue(store.awaitSpace(large.length, 10, TimeUnit.MILLISECONDS));
+        Assert.assertFalse(store.append(large));
+        store.close();
+    }
+
+    @Test
+    public void recoveryTest() throws IOException {
+        Path dir = folder.getRoot().toPath();
+        SpillStore store = SpillStore.open("test", dir, 1024);
+        for (int idx = 0; idx < 5; idx++) {
+            Assert.assertTrue(store.append(SpillStore.serialize(message(idx))));
+        }
+
+        store.poll().ack();
+        store.poll().ack();
+        store.poll(); // read but not acked
+        store.close();
+
+        SpillStore recovered = SpillStore.open("test", dir, 1024);
+        Assert.assertEquals(3, recovered.size());
+        Assert.assertEquals("message2", read(recovered.poll()));
+        Assert.assertEquals("message3", read(recovered.poll()));
+
+        // new messages are written after recovered ones
+        Assert.assertTrue(recovered.append(SpillStore.serialize(message(5))));
+        Assert.assertEquals("message4", read(recovered.poll()));
+        SpillStore.Entry last = recovered.poll();
+        Assert.assertEquals("message5", read(last));
+        Assert.assertEquals(Instant.ofEpochSecond(1005, 5), last.getMessage().getCreateTimestamp());
+        recovered.close();
+    }
+
+    @Test
+    public void brokenRecordTest() throws IOException {
+        Path dir = folder.getRoot().toPath();
+        SpillStore store = SpillStore.open("test", dir, 1024);
+        int firstSize = SpillStore.serialize(message(0)).length;
+        for (int idx = 0; idx < 3; idx++) {
+            Assert.assertTrue(store.append(SpillStore.serialize(message(idx))));
+        }
+        store.close();
+
+        // corrupt the last byte of the second record
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.findFirst().get();
+        }
+        int position = 8 + 8 + firstSize + 8 + SpillStore.serialize(message(1)).length - 1;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0x7F }), position);
+        }
+
+        // only records before the broken one are recovered
+        SpillStore recovered = SpillStore.open("test", dir, 1024);
+        Assert.assertEquals(1, recovered.size());
+        Assert.assertEquals("message0", read(recovered.poll()));
+        Assert.assertNull(recovered.poll());
+        recovered.close();
+    }
+}
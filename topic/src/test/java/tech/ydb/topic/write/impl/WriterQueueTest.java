@@ -12,7 +12,9 @@ import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.function.ThrowingRunnable;
+import org.junit.rules.TemporaryFolder;
 
+import tech.ydb.core.Status;
 import tech.ydb.topic.description.Codec;
 import tech.ydb.topic.description.CodecRegistry;
 import tech.ydb.topic.settings.WriterSettings;
@@ -31,6 +33,9 @@ public class WriterQueueTest {
     @Rule
     public final HideLoggersRule hideLogger = new HideLoggersRule();
 
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
     private static Message smallMsg(int seqNo) {
         return Message.newBuilder().setData(SMALL_MSG.getData()).setSeqNo(seqNo).build();
     }
@@ -341,4 +346,75 @@ public class WriterQueueTest {
         Assert.assertEquals(WriteAck.State.WRITTEN, f4.join().getState());
         Assert.assertEquals(WriteAck.State.WRITTEN, f5.join().getState());
     }
+
+    @Test
+    public void testSharedBufferIsReleasedOnClose() throws QueueOverflowException {
+        WriterSettings settings = WriterSettings.newBuilder()
+                .setTopicPath("/test")
+                .setCodec(Codec.RAW)
+                .setMaxSendBufferMemorySize(12)
+                .build();
+
+        BufferManager shared = new BufferManager("shared", settings);
+        WriterQueue q1 = new WriterQueue("q1", settings, new CodecRegistry(), null, () -> { }, shared);
+        WriterQueue q2 = new WriterQueue("q2", settings, new CodecRegistry(), null, () -> { }, shared);
+
+        CompletableFuture<WriteAck> f1 = q1.tryEnqueue(smallMsg(10), null);
+        CompletableFuture<WriteAck> f2 = q1.tryEnqueue(smallMsg(20), null);
+        assertOverflow("[shared] Rejecting a message of 5 bytes: not enough space in message queue. "
+                + "Buffer currently has 2 messages with 2 / 12 bytes available",
+                () -> q2.tryEnqueue(smallMsg(10), null));
+
+        Assert.assertEquals(10, q1.nextMessageToSend().getSeqNo()); // one message is sent, one is still in queue
+        q1.close(Status.SUCCESS);
+
+        Assert.assertTrue(f1.isCompletedExceptionally());
+        Assert.assertTrue(f2.isCompletedExceptionally());
+
+        // closing of one queue doesn't close the shared buffer
+        q2.tryEnqueue(smallMsg(10), null);
+        q2.tryEnqueue(smallMsg(20), null);
+        Assert.assertEquals(20, assertSendAll(q2, 2));
+    }
+
+    @Test
+    public void testSpillToDisk() throws QueueOverflowException {
+        WriterSettings settings = WriterSettings.newBuilder()
+                .setTopicPath("/test")
+                .setCodec(Codec.RAW)
+                .setMaxSendBufferMemorySize(12)
+                .setSpillDirectory(folder.getRoot().toPath(), 1024)
+                .build();
+
+        WriterQueue q = new WriterQueue("test", settings, new CodecRegistry(), null, () -> { });
+        CompletableFuture<WriteAck> f1 = q.tryEnqueue(smallMsg(10), null);
+        CompletableFuture<WriteAck> f2 = q.tryEnqueue(smallMsg(20), null);
+        CompletableFuture<WriteAck> f3 = q.tryEnqueue(smallMsg(30), null); // spilled
+        CompletableFuture<WriteAck> f4 = q.tryEnqueue(smallMsg(40), null); // spilled
+        CompletableFuture<WriteAck> f5 = q.tryEnqueue(smallMsg(50), null); // spilled
+
+        Assert.assertEquals(20, assertSendAll(q, 2));
+        q.confirmAck(new WriteAck(10, WriteAck.State.WRITTEN, null, null)); // free one message
+        Assert.assertTrue(f1.isDone());
+
+        // spilled messages are sent in order after buffered ones
+        Assert.assertEquals(30, assertSendAll(q, 1));
+        q.confirmAck(new WriteAck(30, WriteAck.State.WRITTEN, null, null));
+        Assert.assertTrue(f2.isDone());
+        Assert.assertEquals(30, f3.join().getSeqNo());
+        Assert.assertEquals(50, assertSendAll(q, 2));
+
+        q.close(Status.SUCCESS);
+        Assert.assertTrue(f4.isCompletedExceptionally());
+        Assert.assertTrue(f5.isCompletedExceptionally());
+
+        // unconfirmed spilled messages are sent by the next writer
+        WriterQueue next = new WriterQueue("test", settings, new CodecRegistry(), null, () -> { });
+        Assert.assertTrue(next.updateSeqNo(30).isEmpty());
+        Assert.assertEquals(50, assertSendAll(next, 2));
+        next.confirmAck(new WriteAck(50, WriteAck.State.WRITTEN, null, null));
+        next.close(Status.SUCCESS);
+
+        Assert.assertEquals(0, folder.getRoot().list().length);
+    }
 }